@@ -2,6 +2,7 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.5.7"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "dev.cristianinbits"
@@ -18,18 +19,37 @@ repositories {
 	mavenCentral()
 }
 
+// Generadores de carga contra la API (no forman parte del artefacto)
+val loadtest: SourceSet by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output
+	runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[loadtest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadtest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
 	implementation("org.springframework.boot:spring-boot-starter-validation")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	implementation("org.springframework.boot:spring-boot-starter-cache")
 	implementation("org.springframework.boot:spring-boot-starter-web")
 
+	implementation("com.github.ben-manes.caffeine:caffeine")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+
 	implementation("org.flywaydb:flyway-core")
 	implementation("org.flywaydb:flyway-database-postgresql")
-	runtimeOnly("org.postgresql:postgresql")
+	implementation("org.postgresql:postgresql")
 
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
+	testImplementation("org.springframework.boot:spring-boot-testcontainers")
+	testImplementation("org.testcontainers:junit-jupiter")
+	testImplementation("org.testcontainers:postgresql")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 
+	"loadtestImplementation"("org.testcontainers:postgresql")
+
 	compileOnly("org.projectlombok:lombok")
 	annotationProcessor("org.projectlombok:lombok")
 }
@@ -37,3 +57,45 @@ dependencies {
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+// Microbenchmarks de CPU del camino de las peticiones (src/jmh). Con el
+// perfilador gc se publica también la tasa de asignación por operación.
+// Resultados en build/results/jmh/. Filtrar con -Pjmh.includes=ReviewAnswer
+jmh {
+	jmhVersion = "1.37"
+	profilers = listOf("gc")
+	resultFormat = "JSON"
+	fork = 1
+	warmupIterations = 3
+	warmup = "2s"
+	iterations = 5
+	timeOnIteration = "2s"
+	includeTests = false
+	(project.findProperty("jmh.includes") as String?)?.let { includes = listOf(it) }
+}
+
+// Compara hilos de plataforma y el perfil "vthreads" en los endpoints de repaso.
+// Cada modo corre en un proceso hijo (o en -Dbench.urls=modo=URL,...), aparte del
+// generador de carga. Necesita la base de datos de docker-compose; opciones con
+// -Dbench.* y -Dspring.*
+tasks.register<JavaExec>("threadModelBenchmark") {
+	group = "benchmark"
+	description = "Compara hilos de plataforma y virtuales en los endpoints de repaso"
+	classpath = loadtest.runtimeClasspath
+	mainClass = "dev.cristianinbits.flashcards.loadtest.ThreadModelBenchmark"
+	systemProperties(System.getProperties()
+		.filterKeys { it.toString().startsWith("bench.") || it.toString().startsWith("spring.") }
+		.mapKeys { it.key.toString() })
+}
+
+// Prueba de carga por escalones de usuarios hasta la saturación de un nodo.
+// -Dload.target=URL|embedded|testcontainers; resto de opciones con -Dload.*
+tasks.register<JavaExec>("loadTest") {
+	group = "benchmark"
+	description = "Simula sesiones de repaso contra la API y localiza el punto de saturación"
+	classpath = loadtest.runtimeClasspath
+	mainClass = "dev.cristianinbits.flashcards.loadtest.ReviewLoadTest"
+	systemProperties(System.getProperties()
+		.filterKeys { it.toString().startsWith("load.") || it.toString().startsWith("spring.") }
+		.mapKeys { it.key.toString() })
+}
@@ -0,0 +1,73 @@
+package dev.cristianinbits.flashcards.card.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import dev.cristianinbits.flashcards.card.dto.CardDto;
+
+/**
+ * Serialización JSON de {@code Page<CardDto>}, la respuesta de
+ * {@code GET /api/decks/{deckId}/cards}, con un {@code ObjectMapper}
+ * configurado como el de Spring Boot.
+ *
+ * {@code stream} escribe sobre un flujo descartado, como cuando Spring MVC
+ * vuelca la respuesta; {@code bytes} materializa además el cuerpo completo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CardPageSerializationBenchmark {
+
+    @Param({ "20", "100" })
+    public int size;
+
+    private final OutputStream sink = OutputStream.nullOutputStream();
+    private ObjectWriter writer;
+    private Page<CardDto> page;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        var deckId = UUID.randomUUID();
+        var now = OffsetDateTime.of(2025, 1, 15, 10, 30, 0, 0, ZoneOffset.UTC);
+        var content = new ArrayList<CardDto>(size);
+        for (int i = 0; i < size; i++) {
+            content.add(new CardDto(UUID.randomUUID(), deckId,
+                    "Pregunta " + i + ": ¿qué complejidad tiene buscar en un HashMap?",
+                    "Respuesta " + i + ": O(1) amortizado",
+                    "java,colecciones", i % 5 == 0, now.minusDays(i), now.minusHours(i)));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "createdAt")), 10_000);
+    }
+
+    @Benchmark
+    public void stream() throws IOException {
+        writer.writeValue(sink, page);
+    }
+
+    @Benchmark
+    public byte[] bytes() throws IOException {
+        return writer.writeValueAsBytes(page);
+    }
+}
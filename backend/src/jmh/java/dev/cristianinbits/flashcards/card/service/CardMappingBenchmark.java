@@ -0,0 +1,73 @@
+package dev.cristianinbits.flashcards.card.service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import dev.cristianinbits.flashcards.card.domain.Card;
+import dev.cristianinbits.flashcards.card.dto.CardDto;
+import dev.cristianinbits.flashcards.deck.domain.Deck;
+
+/**
+ * Mapeo de entidades {@link Card} a {@link CardDto} con {@code Page.map}: el
+ * coste que evitan los listados de {@link CardService} al proyectar
+ * directamente a {@link CardDto} en la consulta.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CardMappingBenchmark {
+
+    @Param({ "20", "100" })
+    public int size;
+
+    private Card card;
+    private Page<Card> page;
+
+    @Setup
+    public void setUp() {
+        var deck = new Deck();
+        deck.setId(UUID.randomUUID());
+        deck.setName("Benchmark");
+        var now = OffsetDateTime.of(2025, 1, 15, 10, 30, 0, 0, ZoneOffset.UTC);
+        var cards = new ArrayList<Card>(size);
+        for (int i = 0; i < size; i++) {
+            var c = new Card();
+            c.setId(UUID.randomUUID());
+            c.setDeck(deck);
+            c.setFront("Pregunta " + i + ": ¿qué devuelve Math.floorMod(-7, 3)?");
+            c.setBack("Respuesta " + i + ": 2");
+            c.setTags("java,math");
+            c.setCreatedAt(now.minusDays(i));
+            c.setUpdatedAt(now.minusHours(i));
+            cards.add(c);
+        }
+        card = cards.get(0);
+        page = new PageImpl<>(List.copyOf(cards), PageRequest.of(0, size), 10_000);
+    }
+
+    @Benchmark
+    public CardDto toDto() {
+        return CardService.toDto(card);
+    }
+
+    @Benchmark
+    public Page<CardDto> mapPage() {
+        return page.map(CardService::toDto);
+    }
+}
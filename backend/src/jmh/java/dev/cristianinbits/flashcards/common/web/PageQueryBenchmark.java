@@ -0,0 +1,53 @@
+package dev.cristianinbits.flashcards.common.web;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Pageable;
+
+import dev.cristianinbits.flashcards.card.api.CardsPageQuery;
+
+/**
+ * Traducción de los parámetros de paginación a {@link Pageable}
+ * ({@link PageQuery#toPageable} y {@link CardsPageQuery#toPageable}) con el
+ * orden por defecto y con órdenes explícitos.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageQueryBenchmark {
+
+    private static final Set<String> ALLOWED = Set.of("createdAt", "updatedAt", "front", "back", "name");
+
+    /** Orden recibido; {@code default} equivale a no enviar {@code sort}. */
+    @Param({ "default", "front", "updatedAt,DESC" })
+    public String sort;
+
+    private PageQuery pageQuery;
+    private CardsPageQuery cardsQuery;
+
+    @Setup
+    public void setUp() {
+        String s = "default".equals(sort) ? null : sort;
+        pageQuery = new PageQuery(3, 50, s, null, null);
+        cardsQuery = new CardsPageQuery(3, 50, s, "capital", null, null, null, "substring", null, null);
+    }
+
+    @Benchmark
+    public Pageable pageQuery() {
+        return pageQuery.toPageable(ALLOWED);
+    }
+
+    @Benchmark
+    public Pageable cardsPageQuery() {
+        return cardsQuery.toPageable(ALLOWED);
+    }
+}
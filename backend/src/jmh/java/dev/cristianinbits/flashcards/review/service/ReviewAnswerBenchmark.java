@@ -0,0 +1,100 @@
+package dev.cristianinbits.flashcards.review.service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import dev.cristianinbits.flashcards.card.domain.Card;
+import dev.cristianinbits.flashcards.deck.domain.Deck;
+import dev.cristianinbits.flashcards.review.domain.CardSrsState;
+import dev.cristianinbits.flashcards.review.domain.ReviewEvent;
+import dev.cristianinbits.flashcards.review.srs.Sm2Algorithm;
+
+/**
+ * Parte de CPU de {@code ReviewService.registerEventOnce}: la regla SM-2 y la
+ * construcción del evento con sus snapshots.
+ *
+ * Cada llamada parte de uno de {@link #STATES} estados iniciales distintos
+ * (nuevas, en aprendizaje y maduras) para no medir siempre la misma rama.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReviewAnswerBenchmark {
+
+    private static final int STATES = 64;
+
+    private final Sm2Algorithm sm2 = new Sm2Algorithm();
+    private final int[] intervals = new int[STATES];
+    private final int[] eases = new int[STATES];
+    private final int[] repetitions = new int[STATES];
+    private final short[] results = new short[STATES];
+    private final OffsetDateTime now = OffsetDateTime.of(2025, 1, 15, 10, 30, 0, 0, ZoneOffset.UTC);
+
+    private Card card;
+    private CardSrsState srs;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        var deck = new Deck();
+        deck.setId(UUID.randomUUID());
+        deck.setName("Benchmark");
+        card = new Card();
+        card.setId(UUID.randomUUID());
+        card.setDeck(deck);
+        card.setFront("¿Cuál es la capital de Portugal?");
+        card.setBack("Lisboa");
+        card.setTags("geografia,europa");
+        card.setCreatedAt(now.minusDays(30));
+        card.setUpdatedAt(now.minusDays(2));
+        srs = ReviewService.newSrsState(card, sm2, now.minusDays(1));
+
+        var rnd = new Random(42);
+        for (int i = 0; i < STATES; i++) {
+            intervals[i] = switch (i % 3) {
+                case 0 -> 0;
+                case 1 -> 1 + rnd.nextInt(20);
+                default -> 21 + rnd.nextInt(300);
+            };
+            eases[i] = Sm2Algorithm.MIN_EASE + rnd.nextInt(Sm2Algorithm.MAX_EASE - Sm2Algorithm.MIN_EASE + 1);
+            repetitions[i] = intervals[i] == 0 ? 0 : 1 + rnd.nextInt(10);
+            results[i] = (short) (rnd.nextInt(10) < 8 ? 1 : 0);
+        }
+    }
+
+    /** Restaura un estado inicial y devuelve el resultado a aplicar. */
+    private short reset() {
+        int i = next++ & (STATES - 1);
+        srs.setIntervalDays(intervals[i]);
+        srs.setEaseHundredths(eases[i]);
+        srs.setRepetitions(repetitions[i]);
+        srs.setDueAt(now);
+        return results[i];
+    }
+
+    /** Solo la regla SM-2 sobre primitivos. */
+    @Benchmark
+    public int sm2Apply() {
+        short result = reset();
+        sm2.apply(srs, result);
+        return srs.getIntervalDays() + srs.getEaseHundredths();
+    }
+
+    /** Regla SM-2, nuevo vencimiento y evento con snapshots previo y nuevo. */
+    @Benchmark
+    public ReviewEvent applyAnswer() {
+        short result = reset();
+        return ReviewService.applyAnswer(sm2, srs, card, null, result, 1_500, now);
+    }
+}
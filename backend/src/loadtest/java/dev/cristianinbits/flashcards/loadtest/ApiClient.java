@@ -0,0 +1,154 @@
+package dev.cristianinbits.flashcards.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cliente HTTP mínimo de la API que mide cada llamada por endpoint.
+ *
+ * Las mediciones solo se acumulan mientras {@link #recording(boolean)} está
+ * activo, de modo que el calentamiento no contamina los resultados.
+ */
+final class ApiClient {
+
+    /** Latencias y errores de un endpoint. */
+    static final class EndpointStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+    }
+
+    /** Respuesta ya decodificada; {@code body} es {@code null} si no era JSON. */
+    record Response(int status, JsonNode body) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private final URI base;
+    private final HttpClient http;
+    private final ObjectMapper json = new ObjectMapper();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    ApiClient(URI base) {
+        this.base = base;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    void recording(boolean on) {
+        recording = on;
+    }
+
+    /** @return mediciones por endpoint, ordenadas por nombre */
+    Map<String, EndpointStats> stats() {
+        return new TreeMap<>(stats);
+    }
+
+    void reset() {
+        stats.clear();
+    }
+
+    ObjectMapper json() {
+        return json;
+    }
+
+    Response get(String endpoint, String path) {
+        return send(endpoint, HttpRequest.newBuilder(base.resolve(path)).GET());
+    }
+
+    Response post(String endpoint, String path, Object body) {
+        return send(endpoint, withJson(HttpRequest.newBuilder(base.resolve(path)), "POST", body));
+    }
+
+    Response put(String endpoint, String path, Object body) {
+        return send(endpoint, withJson(HttpRequest.newBuilder(base.resolve(path)), "PUT", body));
+    }
+
+    Response delete(String endpoint, String path) {
+        return send(endpoint, HttpRequest.newBuilder(base.resolve(path)).DELETE());
+    }
+
+    /** Envía un cuerpo de texto tal cual (p. ej. una importación JSONL). */
+    Response postText(String endpoint, String path, String contentType, String body) {
+        return send(endpoint, HttpRequest.newBuilder(base.resolve(path))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    /** Descarga un cuerpo de texto sin interpretarlo (p. ej. una exportación). */
+    String getText(String path) {
+        try {
+            var res = http.send(HttpRequest.newBuilder(base.resolve(path)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (res.statusCode() != 200) {
+                throw new IllegalStateException("GET " + path + " -> " + res.statusCode());
+            }
+            return res.body();
+        } catch (IOException ex) {
+            throw new IllegalStateException("GET " + path, ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido", ex);
+        }
+    }
+
+    private HttpRequest.Builder withJson(HttpRequest.Builder b, String method, Object body) {
+        try {
+            return b.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body)));
+        } catch (IOException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    private Response send(String endpoint, HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        int status;
+        byte[] bytes;
+        try {
+            var res = http.send(request.timeout(Duration.ofSeconds(60)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            status = res.statusCode();
+            bytes = res.body();
+        } catch (IOException ex) {
+            status = 0;
+            bytes = new byte[0];
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido", ex);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (recording) {
+            var s = stats.computeIfAbsent(endpoint, k -> new EndpointStats());
+            s.latency.record(elapsed);
+            if (status < 200 || status >= 300) {
+                s.errors.increment();
+            }
+        }
+        JsonNode body = null;
+        if (bytes.length > 0) {
+            try {
+                body = json.readTree(bytes);
+            } catch (IOException ignored) {
+                // Cuerpo no JSON (p. ej. errores del contenedor): basta con el estado
+            }
+        }
+        return new Response(status, body);
+    }
+}
@@ -0,0 +1,62 @@
+package dev.cristianinbits.flashcards.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latencias seguro entre hilos, con cubos logarítmicos en
+ * microsegundos (precisión del 5 %) y memoria fija.
+ */
+final class LatencyHistogram {
+
+    private static final double BASE = 1.05;
+    private static final double LOG_BASE = Math.log(BASE);
+    /** 1,05^400 µs ≈ 300 s. */
+    private static final int BUCKETS = 400;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    void record(long nanos) {
+        long us = Math.max(1, nanos / 1_000);
+        counts.incrementAndGet(Math.min(BUCKETS - 1, (int) (Math.log(us) / LOG_BASE)));
+        count.incrementAndGet();
+        sumMicros.addAndGet(us);
+        maxMicros.accumulateAndGet(us, Math::max);
+    }
+
+    long count() {
+        return count.get();
+    }
+
+    double meanMillis() {
+        long n = count.get();
+        return n == 0 ? 0 : sumMicros.get() / 1_000.0 / n;
+    }
+
+    double maxMillis() {
+        return maxMicros.get() / 1_000.0;
+    }
+
+    /**
+     * @param quantile cuantil entre 0 y 1
+     * @return límite superior del cubo que contiene el cuantil, en milisegundos
+     */
+    double percentileMillis(double quantile) {
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * n);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(Math.pow(BASE, i + 1), maxMicros.get()) / 1_000.0;
+            }
+        }
+        return maxMillis();
+    }
+}
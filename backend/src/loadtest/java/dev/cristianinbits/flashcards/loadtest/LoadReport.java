@@ -0,0 +1,77 @@
+package dev.cristianinbits.flashcards.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Formato de los resultados de los generadores de carga.
+ */
+final class LoadReport {
+
+    /** Resumen de un escalón de carga. */
+    record Step(int users, double sessionsPerSec, double requestsPerSec, double p99Millis, long requests,
+            long errors) {
+
+        double errorRatio() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    private LoadReport() {
+    }
+
+    /** Formatea los resultados por endpoint de una ejecución. */
+    static String endpoints(String title, int users, Duration duration, long sessions, ApiClient api) {
+        double secs = duration.toMillis() / 1_000.0;
+        var out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "== %s: %d usuarios, %.0f s, %.1f sesiones/s%n",
+                title, users, secs, sessions / secs));
+        out.append(String.format(Locale.ROOT, "%-16s %10s %10s %9s %9s %9s %9s %9s %8s%n",
+                "endpoint", "llamadas", "req/s", "media ms", "p50 ms", "p95 ms", "p99 ms", "max ms", "errores"));
+        api.stats().forEach((endpoint, s) -> {
+            var h = s.latency;
+            out.append(String.format(Locale.ROOT, "%-16s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %8d%n",
+                    endpoint, h.count(), h.count() / secs, h.meanMillis(), h.percentileMillis(0.50),
+                    h.percentileMillis(0.95), h.percentileMillis(0.99), h.maxMillis(), s.errors.sum()));
+        });
+        return out.toString();
+    }
+
+    /**
+     * Resume un escalón: el p99 es el peor de los endpoints medidos.
+     */
+    static Step step(int users, Duration duration, long sessions, ApiClient api) {
+        double secs = duration.toMillis() / 1_000.0;
+        long requests = 0;
+        long errors = 0;
+        double p99 = 0;
+        for (var s : api.stats().values()) {
+            requests += s.latency.count();
+            errors += s.errors.sum();
+            p99 = Math.max(p99, s.latency.percentileMillis(0.99));
+        }
+        return new Step(users, sessions / secs, requests / secs, p99, requests, errors);
+    }
+
+    /** Tabla de escalones con la marca del punto de saturación, si lo hay. */
+    static String steps(List<Step> steps, int saturatedAt) {
+        var out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-10s %12s %10s %10s %9s%n",
+                "usuarios", "sesiones/s", "req/s", "p99 ms", "errores"));
+        for (int i = 0; i < steps.size(); i++) {
+            var s = steps.get(i);
+            out.append(String.format(Locale.ROOT, "%-10d %12.1f %10.1f %10.2f %8.2f%%%s%n",
+                    s.users(), s.sessionsPerSec(), s.requestsPerSec(), s.p99Millis(), s.errorRatio() * 100,
+                    i == saturatedAt ? "  <- saturación" : ""));
+        }
+        if (saturatedAt < 0) {
+            out.append("Sin saturación en los escalones probados\n");
+        } else {
+            var best = steps.get(Math.max(0, saturatedAt - 1));
+            out.append(String.format(Locale.ROOT, "Punto de saturación: ~%d usuarios, %.1f sesiones/s%n",
+                    best.users(), best.sessionsPerSec()));
+        }
+        return out.toString();
+    }
+}
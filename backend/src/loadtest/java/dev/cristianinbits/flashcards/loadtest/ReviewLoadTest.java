@@ -0,0 +1,184 @@
+package dev.cristianinbits.flashcards.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import dev.cristianinbits.flashcards.FlashcardsBackendApplication;
+
+/**
+ * Prueba de carga de extremo a extremo: usuarios simulados que repiten
+ * sesiones de repaso ({@link ReviewSessionWorkload}) contra la API HTTP real,
+ * en escalones de concurrencia crecientes, para localizar el punto de
+ * saturación de un nodo.
+ *
+ * Un escalón se considera saturado cuando las sesiones por segundo crecen
+ * menos de {@code load.min-gain} respecto al anterior, el p99 supera
+ * {@code load.p99-slo} o los errores superan el 1 %.
+ *
+ * Destino ({@code load.target}):
+ * <ul>
+ * <li>una URL, p. ej. {@code http://localhost:8080} (por defecto): un nodo ya
+ * arrancado</li>
+ * <li>{@code embedded}: arranca la aplicación en este proceso contra la base
+ * de datos de {@code application.yml} ({@code docker compose up -d})</li>
+ * <li>{@code testcontainers}: arranca además un PostgreSQL 16 desechable con
+ * Testcontainers (requiere Docker)</li>
+ * </ul>
+ *
+ * Resto de propiedades del sistema: {@code load.steps} (usuarios por
+ * escalón, por defecto {@code 25,50,100,200,400,800}), {@code load.decks}
+ * (mazos sembrados, 10), {@code load.cards} (tarjetas por mazo, 500),
+ * {@code load.events} (respuestas por sesión, 10), {@code load.think-ms}
+ * (pausa media entre respuestas, 0), {@code load.ramp-up},
+ * {@code load.warmup} y {@code load.duration} (segundos por escalón: 5, 10 y
+ * 30), {@code load.min-gain} (0.05), {@code load.p99-slo} (ms, sin límite) y
+ * {@code load.profiles} (perfiles de la aplicación embebida, p. ej.
+ * {@code vthreads}).
+ *
+ * Uso: {@code ./gradlew loadTest -Dload.target=testcontainers -Dload.think-ms=2000}
+ */
+public final class ReviewLoadTest {
+
+    private ReviewLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String target = System.getProperty("load.target", "http://localhost:8080");
+        int[] steps = Arrays.stream(System.getProperty("load.steps", "25,50,100,200,400,800").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        int decks = Integer.getInteger("load.decks", 10);
+        int cards = Integer.getInteger("load.cards", 500);
+        int events = Integer.getInteger("load.events", 10);
+        var think = Duration.ofMillis(Integer.getInteger("load.think-ms", 0));
+        var rampUp = Duration.ofSeconds(Integer.getInteger("load.ramp-up", 5));
+        var warmup = Duration.ofSeconds(Integer.getInteger("load.warmup", 10));
+        var duration = Duration.ofSeconds(Integer.getInteger("load.duration", 30));
+        double minGain = Double.parseDouble(System.getProperty("load.min-gain", "0.05"));
+        double p99Slo = Double.parseDouble(System.getProperty("load.p99-slo", "0"));
+
+        try (var node = Node.start(target, System.getProperty("load.profiles", ""))) {
+            var api = new ApiClient(node.baseUrl());
+            var workloads = new ArrayList<ReviewSessionWorkload>(decks);
+            String prefix = "load-" + System.currentTimeMillis() + "-";
+            for (int i = 0; i < decks; i++) {
+                workloads.add(ReviewSessionWorkload.seed(api, prefix + i, cards, events));
+            }
+            try {
+                var results = new ArrayList<LoadReport.Step>();
+                int saturatedAt = -1;
+                for (int users : steps) {
+                    long sessions = runStep(api, workloads, users, think, rampUp, warmup, duration);
+                    System.out.println(LoadReport.endpoints("escalón", users, duration, sessions, api));
+                    var step = LoadReport.step(users, duration, sessions, api);
+                    results.add(step);
+                    if (saturated(results, minGain, p99Slo)) {
+                        saturatedAt = results.size() - 1;
+                        break;
+                    }
+                }
+                System.out.println(LoadReport.steps(results, saturatedAt));
+            } finally {
+                for (var w : workloads) {
+                    api.delete("cleanup", "/api/decks/" + w.deckId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Ejecuta un escalón: arranca los usuarios escalonados a lo largo de
+     * {@code rampUp}, descarta el calentamiento y mide durante {@code duration}.
+     *
+     * @return sesiones completadas durante la medición
+     */
+    private static long runStep(ApiClient api, List<ReviewSessionWorkload> workloads, int users, Duration think,
+            Duration rampUp, Duration warmup, Duration duration) throws InterruptedException {
+        api.recording(false);
+        api.reset();
+        long deadline = System.nanoTime() + rampUp.plus(warmup).plus(duration).toNanos();
+        long gapNanos = users == 0 ? 0 : rampUp.toNanos() / users;
+        var threads = new ArrayList<Thread>(users);
+        for (int i = 0; i < users; i++) {
+            threads.add(workloads.get(i % workloads.size()).startUser("user-" + i, deadline, think));
+            if (gapNanos > 0) {
+                Thread.sleep(Duration.ofNanos(gapNanos));
+            }
+        }
+        Thread.sleep(warmup);
+        workloads.forEach(ReviewSessionWorkload::resetSessions);
+        api.recording(true);
+        for (var t : threads) {
+            t.join();
+        }
+        api.recording(false);
+        return workloads.stream().mapToLong(ReviewSessionWorkload::sessions).sum();
+    }
+
+    private static boolean saturated(List<LoadReport.Step> results, double minGain, double p99Slo) {
+        var last = results.get(results.size() - 1);
+        if (last.errorRatio() > 0.01 || (p99Slo > 0 && last.p99Millis() > p99Slo)) {
+            return true;
+        }
+        if (results.size() < 2) {
+            return false;
+        }
+        var prev = results.get(results.size() - 2);
+        return last.sessionsPerSec() < prev.sessionsPerSec() * (1 + minGain);
+    }
+
+    /** Nodo bajo prueba: externo, embebido o embebido sobre Testcontainers. */
+    private record Node(URI baseUrl, ConfigurableApplicationContext app, PostgreSQLContainer<?> db)
+            implements AutoCloseable {
+
+        static Node start(String target, String profiles) {
+            if (!target.equals("embedded") && !target.equals("testcontainers")) {
+                return new Node(URI.create(target), null, null);
+            }
+            PostgreSQLContainer<?> db = null;
+            var builder = new SpringApplicationBuilder(FlashcardsBackendApplication.class)
+                    .properties("server.port=0");
+            if (!profiles.isBlank()) {
+                builder.profiles(profiles.split(","));
+            }
+            if (target.equals("testcontainers")) {
+                db = new PostgreSQLContainer<>("postgres:16-alpine")
+                        .withDatabaseName("flashcards")
+                        .withUsername("flashcards")
+                        .withPassword("flashcards");
+                db.start();
+                builder.properties(
+                        "spring.datasource.url=" + db.getJdbcUrl(),
+                        "spring.datasource.username=" + db.getUsername(),
+                        "spring.datasource.password=" + db.getPassword());
+            }
+            try {
+                var app = builder.run();
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                return new Node(URI.create("http://localhost:" + port), app, db);
+            } catch (RuntimeException ex) {
+                if (db != null) {
+                    db.stop();
+                }
+                throw ex;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (app != null) {
+                app.close();
+            }
+            if (db != null) {
+                db.stop();
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package dev.cristianinbits.flashcards.loadtest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Carga de repaso contra la API: cada usuario simulado repite
+ * {@code createSession → dueCards → registerEventInSession ×N → finishSession}
+ * sobre un mazo sembrado con {@link #seed}.
+ *
+ * Si el mazo se queda sin tarjetas pendientes, los eventos se registran sobre
+ * tarjetas elegidas al azar para que la carga de escritura no decaiga.
+ */
+final class ReviewSessionWorkload {
+
+    private final ApiClient api;
+    private final String deckId;
+    private final List<String> cardIds;
+    private final int eventsPerSession;
+    private final LongAdder sessions = new LongAdder();
+
+    private ReviewSessionWorkload(ApiClient api, String deckId, List<String> cardIds, int eventsPerSession) {
+        this.api = api;
+        this.deckId = deckId;
+        this.cardIds = cardIds;
+        this.eventsPerSession = eventsPerSession;
+    }
+
+    /**
+     * Crea un mazo con {@code cards} tarjetas mediante la importación masiva y
+     * recupera sus identificadores con la exportación.
+     */
+    static ReviewSessionWorkload seed(ApiClient api, String name, int cards, int eventsPerSession) {
+        var deck = api.post("seed", "/api/decks", Map.of("name", name, "description", "Carga sintética"));
+        if (!deck.ok()) {
+            throw new IllegalStateException("No se pudo crear el mazo: " + deck.status());
+        }
+        String deckId = deck.body().get("id").asText();
+        var jsonl = new StringBuilder(cards * 64);
+        for (int i = 0; i < cards; i++) {
+            jsonl.append("{\"front\":\"Pregunta ").append(i)
+                    .append("\",\"back\":\"Respuesta ").append(i)
+                    .append("\",\"tags\":\"carga\"}\n");
+        }
+        var report = api.postText("seed", "/api/decks/" + deckId + "/cards/import?format=jsonl",
+                "application/x-ndjson", jsonl.toString());
+        if (!report.ok()) {
+            throw new IllegalStateException("No se pudo importar las tarjetas: " + report.status());
+        }
+        var ids = new ArrayList<String>(cards);
+        for (String line : api.getText("/api/decks/" + deckId + "/export?format=jsonl").split("\n")) {
+            if (!line.isBlank()) {
+                try {
+                    ids.add(api.json().readTree(line).get("id").asText());
+                } catch (IOException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+        }
+        return new ReviewSessionWorkload(api, deckId, List.copyOf(ids), eventsPerSession);
+    }
+
+    String deckId() {
+        return deckId;
+    }
+
+    /** @return sesiones completadas desde el último {@link #resetSessions()} */
+    long sessions() {
+        return sessions.sum();
+    }
+
+    void resetSessions() {
+        sessions.reset();
+    }
+
+    /**
+     * Lanza {@code users} usuarios simulados, cada uno en su hilo virtual, hasta
+     * agotar {@code duration}.
+     *
+     * @param thinkTime pausa media entre respuestas (exponencial); cero para
+     *                  ir a máxima velocidad
+     */
+    void run(int users, Duration duration, Duration thinkTime) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        var threads = new ArrayList<Thread>(users);
+        for (int i = 0; i < users; i++) {
+            threads.add(startUser("user-" + i, deadline, thinkTime));
+        }
+        for (var t : threads) {
+            t.join();
+        }
+    }
+
+    /**
+     * Arranca un usuario simulado que repite sesiones hasta {@code deadline}
+     * (según {@link System#nanoTime()}).
+     */
+    Thread startUser(String name, long deadline, Duration thinkTime) {
+        return Thread.ofVirtual().name(name).start(() -> {
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                session(thinkTime);
+            }
+        });
+    }
+
+    /** Repite una sesión completa de repaso. */
+    void session(Duration thinkTime) {
+        var rnd = ThreadLocalRandom.current();
+        long started = System.nanoTime();
+        var created = api.post("createSession", "/api/decks/" + deckId + "/reviews", Map.of());
+        if (!created.ok()) {
+            return;
+        }
+        String sessionId = created.body().get("id").asText();
+
+        var due = api.get("dueCards", "/api/decks/" + deckId + "/cards/due?limit=" + eventsPerSession);
+        var cards = new ArrayList<String>(eventsPerSession);
+        if (due.ok() && due.body() != null) {
+            for (JsonNode c : due.body()) {
+                cards.add(c.get("id").asText());
+            }
+        }
+        while (cards.size() < eventsPerSession) {
+            cards.add(cardIds.get(rnd.nextInt(cardIds.size())));
+        }
+
+        int correct = 0;
+        int incorrect = 0;
+        for (String cardId : cards) {
+            pause(thinkTime);
+            int result = rnd.nextInt(10) < 8 ? 1 : 0;
+            var event = api.post("registerEvent", "/api/reviews/" + sessionId + "/events",
+                    Map.of("cardId", cardId, "result", result, "elapsedMs", 500 + rnd.nextInt(4_000)));
+            if (event.ok()) {
+                if (result == 1) {
+                    correct++;
+                } else {
+                    incorrect++;
+                }
+            }
+        }
+
+        long seconds = Duration.ofNanos(System.nanoTime() - started).toSeconds();
+        var finished = api.put("finishSession", "/api/reviews/" + sessionId + "/finish", Map.of(
+                "totalCards", correct + incorrect,
+                "correct", correct,
+                "incorrect", incorrect,
+                "durationSec", seconds));
+        if (finished.ok()) {
+            sessions.increment();
+        }
+    }
+
+    private static void pause(Duration mean) {
+        if (mean.isZero()) {
+            return;
+        }
+        double u = ThreadLocalRandom.current().nextDouble();
+        long nanos = (long) (-Math.log(1 - u) * mean.toNanos());
+        try {
+            Thread.sleep(Duration.ofNanos(Math.min(nanos, mean.toNanos() * 10)));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
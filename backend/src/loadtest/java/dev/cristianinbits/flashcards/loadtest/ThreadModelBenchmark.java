@@ -0,0 +1,184 @@
+package dev.cristianinbits.flashcards.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import dev.cristianinbits.flashcards.FlashcardsBackendApplication;
+
+/**
+ * Compara hilos de plataforma y el perfil {@code vthreads} en los endpoints
+ * de repaso.
+ *
+ * Para cada modo usa un nodo aparte del generador de carga, de modo que sus
+ * hilos, su GC y su JIT no compiten con los de la aplicación medida: o bien
+ * una URL externa ({@code bench.urls}), o bien la aplicación arrancada en un
+ * proceso hijo (puerto libre, misma base de datos que {@code application.yml}
+ * o la indicada con {@code -Dspring.*}, salida en
+ * {@code build/bench-<modo>.log}). Siembra un mazo, calienta, mide y, si el
+ * nodo es propio, lo detiene. Al final imprime la tabla de cada modo.
+ *
+ * Se configura con propiedades del sistema:
+ * <ul>
+ * <li>{@code bench.modes}: modos a comparar (por defecto
+ * {@code platform,vthreads})</li>
+ * <li>{@code bench.urls}: nodos ya arrancados por modo, p. ej.
+ * {@code platform=http://host-a:8080,vthreads=http://host-b:8080}; los modos
+ * sin URL se arrancan en un proceso hijo</li>
+ * <li>{@code bench.jvm-args}: opciones de la JVM del proceso hijo, separadas
+ * por espacios (p. ej. {@code -Xmx2g})</li>
+ * <li>{@code bench.users}: usuarios simultáneos (por defecto 500)</li>
+ * <li>{@code bench.cards}: tarjetas del mazo (por defecto 2000)</li>
+ * <li>{@code bench.events}: respuestas por sesión (por defecto 10)</li>
+ * <li>{@code bench.warmup} y {@code bench.duration}: segundos de
+ * calentamiento y de medición (por defecto 15 y 60)</li>
+ * </ul>
+ *
+ * Uso: {@code ./gradlew threadModelBenchmark -Dbench.users=2000}
+ */
+public final class ThreadModelBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private ThreadModelBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var modes = List.of(System.getProperty("bench.modes", "platform,vthreads").split(","));
+        var urls = parseUrls(System.getProperty("bench.urls", ""));
+        int users = Integer.getInteger("bench.users", 500);
+        int cards = Integer.getInteger("bench.cards", 2_000);
+        int events = Integer.getInteger("bench.events", 10);
+        var warmup = Duration.ofSeconds(Integer.getInteger("bench.warmup", 15));
+        var duration = Duration.ofSeconds(Integer.getInteger("bench.duration", 60));
+
+        var reports = new ArrayList<String>();
+        for (String raw : modes) {
+            var mode = raw.trim();
+            try (var node = Node.start(mode, urls.get(mode))) {
+                reports.add(run(node.baseUrl(), mode, users, cards, events, warmup, duration));
+            }
+        }
+        System.out.println();
+        reports.forEach(System.out::println);
+    }
+
+    private static String run(URI baseUrl, String mode, int users, int cards, int events, Duration warmup,
+            Duration duration) throws InterruptedException {
+        var api = new ApiClient(baseUrl);
+        var workload = ReviewSessionWorkload.seed(api, "bench-" + mode + "-" + System.currentTimeMillis(),
+                cards, events);
+        try {
+            workload.run(users, warmup, Duration.ZERO);
+            api.reset();
+            workload.resetSessions();
+            api.recording(true);
+            workload.run(users, duration, Duration.ZERO);
+            api.recording(false);
+            return LoadReport.endpoints(mode, users, duration, workload.sessions(), api);
+        } finally {
+            api.delete("cleanup", "/api/decks/" + workload.deckId());
+        }
+    }
+
+    private static Map<String, URI> parseUrls(String spec) {
+        var urls = new HashMap<String, URI>();
+        for (String entry : spec.split(",")) {
+            int eq = entry.indexOf('=');
+            if (eq > 0) {
+                urls.put(entry.substring(0, eq).trim(), URI.create(entry.substring(eq + 1).trim()));
+            }
+        }
+        return urls;
+    }
+
+    /** Nodo bajo prueba: externo o arrancado en un proceso hijo. */
+    private record Node(URI baseUrl, Process process) implements AutoCloseable {
+
+        static Node start(String mode, URI external) throws IOException, InterruptedException {
+            if (external != null) {
+                return new Node(external, null);
+            }
+            int port;
+            try (var socket = new ServerSocket(0)) {
+                port = socket.getLocalPort();
+            }
+            var command = new ArrayList<String>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            for (String opt : System.getProperty("bench.jvm-args", "").trim().split("\\s+")) {
+                if (!opt.isEmpty()) {
+                    command.add(opt);
+                }
+            }
+            // Las propiedades spring.* del benchmark (p. ej. la URL de la base de datos) pasan al hijo.
+            System.getProperties().stringPropertyNames().stream()
+                    .filter(k -> k.startsWith("spring."))
+                    .forEach(k -> command.add("-D" + k + "=" + System.getProperty(k)));
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(FlashcardsBackendApplication.class.getName());
+            command.add("--server.port=" + port);
+            if (!mode.equals("platform")) {
+                command.add("--spring.profiles.active=" + mode);
+            }
+
+            var log = Path.of("build", "bench-" + mode + ".log");
+            Files.createDirectories(log.getParent());
+            var process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(log.toFile())
+                    .start();
+            var node = new Node(URI.create("http://localhost:" + port), process);
+            try {
+                node.awaitReady(log);
+                return node;
+            } catch (IOException | InterruptedException | RuntimeException ex) {
+                node.close();
+                throw ex;
+            }
+        }
+
+        private void awaitReady(Path log) throws IOException, InterruptedException {
+            var http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+            var health = HttpRequest.newBuilder(baseUrl.resolve("/api/health")).timeout(Duration.ofSeconds(2))
+                    .GET().build();
+            long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("La aplicación terminó al arrancar; ver " + log);
+                }
+                try {
+                    if (http.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return;
+                    }
+                } catch (IOException ex) {
+                    // Aún no escucha.
+                }
+                Thread.sleep(500);
+            }
+            throw new IllegalStateException("La aplicación no arrancó en " + STARTUP_TIMEOUT + "; ver " + log);
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            if (process == null) {
+                return;
+            }
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+}
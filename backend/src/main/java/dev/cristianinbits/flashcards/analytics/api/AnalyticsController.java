@@ -0,0 +1,130 @@
+package dev.cristianinbits.flashcards.analytics.api;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import dev.cristianinbits.flashcards.analytics.dto.DailyReviewsDto;
+import dev.cristianinbits.flashcards.analytics.dto.IntervalCountDto;
+import dev.cristianinbits.flashcards.analytics.dto.RetentionPointDto;
+import dev.cristianinbits.flashcards.analytics.dto.RollupRebuildDto;
+import dev.cristianinbits.flashcards.analytics.service.AnalyticsService;
+import dev.cristianinbits.flashcards.analytics.service.ReviewRollupRebuilder;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Controlador REST de analítica de repaso, servida desde los agregados
+ * diarios. Las fechas son días UTC en formato ISO ({@code 2025-01-31}).
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    /** Consultas sobre los agregados. */
+    private final AnalyticsService service;
+
+    /** Reconstrucción de los agregados. */
+    private final ReviewRollupRebuilder rebuilder;
+
+    /**
+     * Actividad diaria de un mazo.
+     *
+     * Endpoint: {@code GET /api/decks/{deckId}/analytics/heatmap?from=&to=}
+     *
+     * @param deckId identificador del mazo
+     * @param from   primer día (por defecto, 365 días antes de {@code to})
+     * @param to     último día (por defecto, hoy)
+     * @return días con actividad, en orden cronológico
+     * @throws NoSuchElementException si el mazo no existe
+     */
+    @GetMapping("/decks/{deckId}/analytics/heatmap")
+    public List<DailyReviewsDto> heatmap(@PathVariable UUID deckId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return service.heatmap(deckId, from, to);
+    }
+
+    /**
+     * Curva de retención de un mazo por tramo de intervalo.
+     *
+     * Endpoint: {@code GET /api/decks/{deckId}/analytics/retention?from=&to=}
+     *
+     * @param deckId identificador del mazo
+     * @param from   primer día (por defecto, 365 días antes de {@code to})
+     * @param to     último día (por defecto, hoy)
+     * @return un punto por tramo de intervalo
+     * @throws NoSuchElementException si el mazo no existe
+     */
+    @GetMapping("/decks/{deckId}/analytics/retention")
+    public List<RetentionPointDto> retention(@PathVariable UUID deckId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return service.retention(deckId, from, to);
+    }
+
+    /**
+     * Distribución de los nuevos intervalos de un mazo.
+     *
+     * Endpoint: {@code GET /api/decks/{deckId}/analytics/intervals?from=&to=}
+     *
+     * @param deckId identificador del mazo
+     * @param from   primer día (por defecto, 365 días antes de {@code to})
+     * @param to     último día (por defecto, hoy)
+     * @return respuestas por tramo de intervalo
+     * @throws NoSuchElementException si el mazo no existe
+     */
+    @GetMapping("/decks/{deckId}/analytics/intervals")
+    public List<IntervalCountDto> intervals(@PathVariable UUID deckId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return service.intervals(deckId, from, to);
+    }
+
+    /**
+     * Lanza la reconstrucción de los agregados diarios desde
+     * {@code review_events}.
+     *
+     * Endpoint: {@code POST /api/analytics/rollups/rebuild?from=&to=}
+     *
+     * @param from primer día (por defecto, el del primer evento); los meses
+     *             archivados se omiten
+     * @param to   último día (por defecto, el del último evento)
+     * @return estado inicial, con código {@code 202 Accepted}
+     * @throws IllegalArgumentException si el rango es inválido o está archivado
+     * @throws IllegalStateException    si ya hay una reconstrucción en curso
+     */
+    @PostMapping("/analytics/rollups/rebuild")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public RollupRebuildDto rebuild(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return rebuilder.start(from, to);
+    }
+
+    /**
+     * Estado de la última reconstrucción de este nodo.
+     *
+     * Endpoint: {@code GET /api/analytics/rollups/rebuild}
+     *
+     * @return estado de la reconstrucción
+     * @throws NoSuchElementException si no se ha lanzado ninguna
+     */
+    @GetMapping("/analytics/rollups/rebuild")
+    public RollupRebuildDto rebuildStatus() {
+        return rebuilder.status()
+                .orElseThrow(() -> new NoSuchElementException("No se ha lanzado ninguna reconstrucción"));
+    }
+}
@@ -0,0 +1,28 @@
+package dev.cristianinbits.flashcards.analytics.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Propiedades de los agregados diarios de repaso (prefijo
+ * {@code flashcards.analytics}).
+ *
+ * @param foldInterval        intervalo de consolidación de
+ *                            {@code review_rollup_delta} en
+ *                            {@code review_daily_rollup}
+ * @param rebuildChunkDays    días que recalcula cada tramo de la
+ *                            reconstrucción
+ * @param rebuildParallelism  tramos que se recalculan a la vez (cada uno con
+ *                            su propia conexión)
+ * @param maxRangeDays        amplitud máxima del rango de fechas de una
+ *                            consulta
+ */
+@ConfigurationProperties(prefix = "flashcards.analytics")
+public record AnalyticsProperties(
+        @DefaultValue("10s") Duration foldInterval,
+        @DefaultValue("7") int rebuildChunkDays,
+        @DefaultValue("4") int rebuildParallelism,
+        @DefaultValue("1096") int maxRangeDays
+) { }
@@ -0,0 +1,58 @@
+package dev.cristianinbits.flashcards.analytics.domain;
+
+/**
+ * Tramos de intervalo (en días) de los agregados diarios. El código de cada
+ * tramo es su ordinal y debe coincidir con la función SQL
+ * {@code review_interval_bucket} (migración V016).
+ */
+public enum IntervalBucket {
+    NEW(0, 0),
+    D1(1, 1),
+    D2_3(2, 3),
+    D4_7(4, 7),
+    D8_14(8, 14),
+    D15_30(15, 30),
+    D31_90(31, 90),
+    D91_180(91, 180),
+    D181_PLUS(181, null);
+
+    private static final IntervalBucket[] BY_CODE = values();
+
+    private final int minDays;
+    private final Integer maxDays;
+
+    IntervalBucket(int minDays, Integer maxDays) {
+        this.minDays = minDays;
+        this.maxDays = maxDays;
+    }
+
+    /** @return primer día del tramo */
+    public int minDays() {
+        return minDays;
+    }
+
+    /** @return último día del tramo, o {@code null} si no tiene límite */
+    public Integer maxDays() {
+        return maxDays;
+    }
+
+    /** @return etiqueta legible, p. ej. {@code 4-7} o {@code 181+} */
+    public String label() {
+        if (maxDays == null) {
+            return minDays + "+";
+        }
+        return minDays == maxDays ? Integer.toString(minDays) : minDays + "-" + maxDays;
+    }
+
+    /**
+     * @param code código almacenado en base de datos
+     * @return tramo correspondiente
+     * @throws IllegalArgumentException si el código no es válido
+     */
+    public static IntervalBucket of(int code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Tramo de intervalo desconocido: " + code);
+        }
+        return BY_CODE[code];
+    }
+}
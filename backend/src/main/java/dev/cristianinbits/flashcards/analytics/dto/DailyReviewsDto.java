@@ -0,0 +1,15 @@
+package dev.cristianinbits.flashcards.analytics.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Actividad de repaso de un mazo en un día (UTC), para mapas de calor.
+ *
+ * @param day       día
+ * @param reviews   respuestas registradas
+ * @param correct   aciertos
+ * @param incorrect fallos
+ * @param elapsedMs tiempo total de respuesta en milisegundos
+ */
+public record DailyReviewsDto(LocalDate day, long reviews, long correct, long incorrect, long elapsedMs) {
+}
@@ -0,0 +1,12 @@
+package dev.cristianinbits.flashcards.analytics.dto;
+
+/**
+ * Número de respuestas cuyo nuevo intervalo cae en un tramo.
+ *
+ * @param bucket  tramo, p. ej. {@code 4-7}
+ * @param minDays primer día del tramo
+ * @param maxDays último día del tramo (nulo si no tiene límite)
+ * @param count   respuestas
+ */
+public record IntervalCountDto(String bucket, int minDays, Integer maxDays, long count) {
+}
@@ -0,0 +1,18 @@
+package dev.cristianinbits.flashcards.analytics.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Punto de la curva de retención: proporción de aciertos de las tarjetas
+ * repasadas tras un intervalo del tramo indicado.
+ *
+ * @param bucket    tramo del intervalo anterior, p. ej. {@code 4-7}
+ * @param minDays   primer día del tramo
+ * @param maxDays   último día del tramo (nulo si no tiene límite)
+ * @param reviews   respuestas del tramo
+ * @param correct   aciertos del tramo
+ * @param retention {@code correct / reviews}, con cuatro decimales
+ */
+public record RetentionPointDto(String bucket, int minDays, Integer maxDays, long reviews, long correct,
+        BigDecimal retention) {
+}
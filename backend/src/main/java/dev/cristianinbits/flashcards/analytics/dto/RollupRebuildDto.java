@@ -0,0 +1,29 @@
+package dev.cristianinbits.flashcards.analytics.dto;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Estado de una reconstrucción de los agregados diarios.
+ *
+ * @param state      {@code RUNNING}, {@code COMPLETED} o {@code FAILED}
+ * @param from       primer día recalculado
+ * @param to         último día recalculado
+ * @param chunks     tramos en los que se divide el rango
+ * @param done       tramos terminados
+ * @param failed     tramos fallidos
+ * @param message    primer error, si lo hay
+ * @param startedAt  inicio
+ * @param finishedAt fin (nulo si sigue en curso)
+ */
+public record RollupRebuildDto(
+        String state,
+        LocalDate from,
+        LocalDate to,
+        int chunks,
+        int done,
+        int failed,
+        String message,
+        OffsetDateTime startedAt,
+        OffsetDateTime finishedAt) {
+}
@@ -0,0 +1,226 @@
+package dev.cristianinbits.flashcards.analytics.repo;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import dev.cristianinbits.flashcards.analytics.dto.DailyReviewsDto;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Acceso a los agregados diarios de repaso (migración V016).
+ *
+ * Las lecturas combinan {@code review_daily_rollup} con los incrementos aún no
+ * consolidados de {@code review_rollup_delta} en una sola sentencia, de modo
+ * que ven un estado consistente sin tocar {@code review_events}.
+ *
+ * La consolidación y la reconstrucción por tramos se excluyen mediante un
+ * bloqueo consultivo: los tramos lo toman compartido (pueden ejecutarse en
+ * paralelo) y la consolidación en exclusiva. Así, un tramo recalcula desde
+ * {@code review_events} y descarta los incrementos de sus días sin que una
+ * consolidación concurrente sume encima eventos que ya ha contado.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReviewRollupRepository {
+
+    /** Fila agregada por tramo de intervalo. */
+    public record BucketTotals(int bucket, long reviews, long correct) {
+    }
+
+    /** Primer y último día (UTC) con eventos de repaso. */
+    public record DayRange(LocalDate first, LocalDate last) {
+    }
+
+    private static final String LOCK_EXCLUSIVE =
+            "SELECT pg_advisory_xact_lock(hashtext('review_daily_rollup'))";
+    private static final String LOCK_SHARED =
+            "SELECT pg_advisory_xact_lock_shared(hashtext('review_daily_rollup'))";
+
+    private static final String RANGE = """
+            SELECT %1$s, SUM(reviews) AS reviews, SUM(correct) AS correct, SUM(elapsed_ms) AS elapsed_ms
+            FROM (
+                SELECT %1$s, reviews, correct, elapsed_ms
+                FROM review_daily_rollup
+                WHERE deck_id = :deckId AND day BETWEEN :from AND :to
+                UNION ALL
+                SELECT %1$s, reviews, correct, elapsed_ms
+                FROM review_rollup_delta
+                WHERE deck_id = :deckId AND day BETWEEN :from AND :to
+            ) r
+            GROUP BY %1$s
+            ORDER BY %1$s
+            """;
+
+    private static final String BY_DAY = RANGE.formatted("day");
+    private static final String BY_PREV_BUCKET = RANGE.formatted("prev_bucket");
+    private static final String BY_NEW_BUCKET = RANGE.formatted("new_bucket");
+
+    private static final String FOLD = """
+            WITH moved AS (
+                DELETE FROM review_rollup_delta
+                RETURNING deck_id, day, prev_bucket, new_bucket, reviews, correct, elapsed_ms
+            ),
+            agg AS (
+                SELECT deck_id, day, prev_bucket, new_bucket,
+                       SUM(reviews) AS reviews, SUM(correct) AS correct, SUM(elapsed_ms) AS elapsed_ms
+                FROM moved
+                GROUP BY deck_id, day, prev_bucket, new_bucket
+            )
+            INSERT INTO review_daily_rollup AS r (deck_id, day, prev_bucket, new_bucket, reviews, correct, elapsed_ms)
+            SELECT a.deck_id, a.day, a.prev_bucket, a.new_bucket, a.reviews, a.correct, a.elapsed_ms
+            FROM agg a
+            JOIN decks d ON d.id = a.deck_id
+            ON CONFLICT (deck_id, day, prev_bucket, new_bucket) DO UPDATE
+            SET reviews    = r.reviews + EXCLUDED.reviews,
+                correct    = r.correct + EXCLUDED.correct,
+                elapsed_ms = r.elapsed_ms + EXCLUDED.elapsed_ms
+            """;
+
+    /**
+     * Recalcula un tramo de días desde {@code review_events}: sustituye sus filas
+     * agregadas, borra las que ya no tienen eventos y descarta los incrementos
+     * pendientes de esos días (ya incluidos en el recálculo). Una sola sentencia,
+     * para que todo use la misma instantánea.
+     */
+    private static final String REBUILD_CHUNK = """
+            WITH fresh AS (
+                SELECT c.deck_id,
+                       (e.answered_at AT TIME ZONE 'UTC')::date AS day,
+                       review_interval_bucket(e.prev_interval) AS prev_bucket,
+                       review_interval_bucket(e.new_interval) AS new_bucket,
+                       COUNT(*) AS reviews,
+                       COUNT(*) FILTER (WHERE e.result = 1) AS correct,
+                       COALESCE(SUM(e.elapsed_ms), 0) AS elapsed_ms
+                FROM review_events e
+                JOIN cards c ON c.id = e.card_id
+                WHERE e.answered_at >= :fromTs AND e.answered_at < :toTs
+                GROUP BY 1, 2, 3, 4
+            ),
+            dropped AS (
+                DELETE FROM review_rollup_delta
+                WHERE day >= :fromDay AND day < :toDay
+            ),
+            stale AS (
+                DELETE FROM review_daily_rollup r
+                WHERE r.day >= :fromDay AND r.day < :toDay
+                  AND NOT EXISTS (SELECT 1 FROM fresh f
+                                  WHERE f.deck_id = r.deck_id AND f.day = r.day
+                                    AND f.prev_bucket = r.prev_bucket AND f.new_bucket = r.new_bucket)
+            )
+            INSERT INTO review_daily_rollup AS r (deck_id, day, prev_bucket, new_bucket, reviews, correct, elapsed_ms)
+            SELECT deck_id, day, prev_bucket, new_bucket, reviews, correct, elapsed_ms
+            FROM fresh
+            ON CONFLICT (deck_id, day, prev_bucket, new_bucket) DO UPDATE
+            SET reviews    = EXCLUDED.reviews,
+                correct    = EXCLUDED.correct,
+                elapsed_ms = EXCLUDED.elapsed_ms
+            """;
+
+    private static final String EVENT_RANGE = """
+            SELECT (MIN(answered_at) AT TIME ZONE 'UTC')::date AS first_day,
+                   (MAX(answered_at) AT TIME ZONE 'UTC')::date AS last_day
+            FROM review_events
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Actividad diaria de un mazo.
+     *
+     * @param deckId mazo
+     * @param from   primer día (incluido)
+     * @param to     último día (incluido)
+     * @return días con actividad, en orden cronológico
+     */
+    public List<DailyReviewsDto> findDaily(UUID deckId, LocalDate from, LocalDate to) {
+        return jdbc.query(BY_DAY, rangeParams(deckId, from, to), (rs, i) -> {
+            long reviews = rs.getLong("reviews");
+            long correct = rs.getLong("correct");
+            return new DailyReviewsDto(rs.getObject("day", LocalDate.class), reviews, correct, reviews - correct,
+                    rs.getLong("elapsed_ms"));
+        });
+    }
+
+    /**
+     * Respuestas de un mazo agrupadas por el tramo del intervalo anterior.
+     *
+     * @param deckId mazo
+     * @param from   primer día (incluido)
+     * @param to     último día (incluido)
+     * @return totales por tramo, en orden de tramo
+     */
+    public List<BucketTotals> findByPrevBucket(UUID deckId, LocalDate from, LocalDate to) {
+        return jdbc.query(BY_PREV_BUCKET, rangeParams(deckId, from, to),
+                (rs, i) -> new BucketTotals(rs.getInt("prev_bucket"), rs.getLong("reviews"), rs.getLong("correct")));
+    }
+
+    /**
+     * Respuestas de un mazo agrupadas por el tramo del nuevo intervalo.
+     *
+     * @param deckId mazo
+     * @param from   primer día (incluido)
+     * @param to     último día (incluido)
+     * @return totales por tramo, en orden de tramo
+     */
+    public List<BucketTotals> findByNewBucket(UUID deckId, LocalDate from, LocalDate to) {
+        return jdbc.query(BY_NEW_BUCKET, rangeParams(deckId, from, to),
+                (rs, i) -> new BucketTotals(rs.getInt("new_bucket"), rs.getLong("reviews"), rs.getLong("correct")));
+    }
+
+    /**
+     * Consolida los incrementos pendientes. Debe ejecutarse en una transacción.
+     *
+     * @return filas agregadas insertadas o actualizadas
+     */
+    public int fold() {
+        jdbc.getJdbcTemplate().execute(LOCK_EXCLUSIVE);
+        return jdbc.getJdbcTemplate().update(FOLD);
+    }
+
+    /**
+     * Recalcula los agregados de un tramo de días. Debe ejecutarse en una
+     * transacción.
+     *
+     * @param from primer día (incluido)
+     * @param to   día siguiente al último (excluido)
+     * @return filas agregadas escritas
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        jdbc.getJdbcTemplate().execute(LOCK_SHARED);
+        var params = new MapSqlParameterSource()
+                .addValue("fromDay", from)
+                .addValue("toDay", to)
+                .addValue("fromTs", from.atStartOfDay().atOffset(ZoneOffset.UTC))
+                .addValue("toTs", to.atStartOfDay().atOffset(ZoneOffset.UTC));
+        return jdbc.update(REBUILD_CHUNK, params);
+    }
+
+    /**
+     * Recorre {@code review_events} completa; solo para la reconstrucción.
+     *
+     * @return primer y último día con eventos de repaso, si hay alguno
+     */
+    public Optional<DayRange> findEventDayRange() {
+        return jdbc.getJdbcTemplate().query(EVENT_RANGE, rs -> {
+            rs.next();
+            var first = rs.getObject("first_day", LocalDate.class);
+            var last = rs.getObject("last_day", LocalDate.class);
+            return first == null ? Optional.empty() : Optional.of(new DayRange(first, last));
+        });
+    }
+
+    private static MapSqlParameterSource rangeParams(UUID deckId, LocalDate from, LocalDate to) {
+        return new MapSqlParameterSource()
+                .addValue("deckId", deckId)
+                .addValue("from", from)
+                .addValue("to", to);
+    }
+}
@@ -0,0 +1,130 @@
+package dev.cristianinbits.flashcards.analytics.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.cristianinbits.flashcards.analytics.config.AnalyticsProperties;
+import dev.cristianinbits.flashcards.analytics.domain.IntervalBucket;
+import dev.cristianinbits.flashcards.analytics.dto.DailyReviewsDto;
+import dev.cristianinbits.flashcards.analytics.dto.IntervalCountDto;
+import dev.cristianinbits.flashcards.analytics.dto.RetentionPointDto;
+import dev.cristianinbits.flashcards.analytics.repo.ReviewRollupRepository;
+import dev.cristianinbits.flashcards.deck.service.DeckLookup;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Consultas de analítica de repaso por mazo. Solo leen los agregados diarios
+ * ({@link ReviewRollupRepository}), nunca {@code review_events}, de modo que no
+ * compiten con el registro de respuestas.
+ *
+ * Los rangos son de días UTC, ambos extremos incluidos. Por defecto abarcan
+ * los últimos 365 días.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AnalyticsService {
+
+    private static final int DEFAULT_RANGE_DAYS = 365;
+
+    private final DeckLookup decks;
+    private final ReviewRollupRepository rollups;
+    private final AnalyticsProperties properties;
+
+    /**
+     * Actividad diaria de un mazo, para mapas de calor.
+     *
+     * @param deckId identificador del mazo
+     * @param from   primer día (opcional)
+     * @param to     último día (opcional; por defecto, hoy)
+     * @return días con actividad, en orden cronológico
+     * @throws NoSuchElementException   si el mazo no existe
+     * @throws IllegalArgumentException si el rango no es válido
+     */
+    public List<DailyReviewsDto> heatmap(UUID deckId, @Nullable LocalDate from, @Nullable LocalDate to) {
+        requireDeck(deckId);
+        var end = endOrToday(to);
+        return rollups.findDaily(deckId, startOrDefault(from, end), end);
+    }
+
+    /**
+     * Curva de retención de un mazo: proporción de aciertos según el intervalo
+     * transcurrido desde el repaso anterior.
+     *
+     * @param deckId identificador del mazo
+     * @param from   primer día (opcional)
+     * @param to     último día (opcional; por defecto, hoy)
+     * @return un punto por tramo de intervalo con respuestas, en orden de tramo
+     * @throws NoSuchElementException   si el mazo no existe
+     * @throws IllegalArgumentException si el rango no es válido
+     */
+    public List<RetentionPointDto> retention(UUID deckId, @Nullable LocalDate from, @Nullable LocalDate to) {
+        requireDeck(deckId);
+        var end = endOrToday(to);
+        return rollups.findByPrevBucket(deckId, startOrDefault(from, end), end).stream()
+                .map(t -> {
+                    var b = IntervalBucket.of(t.bucket());
+                    var retention = t.reviews() == 0 ? BigDecimal.ZERO
+                            : BigDecimal.valueOf(t.correct()).divide(BigDecimal.valueOf(t.reviews()), 4,
+                                    RoundingMode.HALF_UP);
+                    return new RetentionPointDto(b.label(), b.minDays(), b.maxDays(), t.reviews(), t.correct(),
+                            retention);
+                })
+                .toList();
+    }
+
+    /**
+     * Distribución de los nuevos intervalos asignados en las respuestas de un
+     * mazo.
+     *
+     * @param deckId identificador del mazo
+     * @param from   primer día (opcional)
+     * @param to     último día (opcional; por defecto, hoy)
+     * @return respuestas por tramo de intervalo, en orden de tramo
+     * @throws NoSuchElementException   si el mazo no existe
+     * @throws IllegalArgumentException si el rango no es válido
+     */
+    public List<IntervalCountDto> intervals(UUID deckId, @Nullable LocalDate from, @Nullable LocalDate to) {
+        requireDeck(deckId);
+        var end = endOrToday(to);
+        return rollups.findByNewBucket(deckId, startOrDefault(from, end), end).stream()
+                .map(t -> {
+                    var b = IntervalBucket.of(t.bucket());
+                    return new IntervalCountDto(b.label(), b.minDays(), b.maxDays(), t.reviews());
+                })
+                .toList();
+    }
+
+    private void requireDeck(UUID deckId) {
+        if (decks.find(deckId).isEmpty()) {
+            throw new NoSuchElementException("Deck no encontrado: " + deckId);
+        }
+    }
+
+    private static LocalDate endOrToday(@Nullable LocalDate to) {
+        return to != null ? to : LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private LocalDate startOrDefault(@Nullable LocalDate from, LocalDate to) {
+        var start = from != null ? from : to.minusDays(DEFAULT_RANGE_DAYS - 1);
+        if (start.isAfter(to)) {
+            throw new IllegalArgumentException("El rango de fechas es inválido: from > to");
+        }
+        if (ChronoUnit.DAYS.between(start, to) >= properties.maxRangeDays()) {
+            throw new IllegalArgumentException(
+                    "El rango de fechas no puede superar " + properties.maxRangeDays() + " días");
+        }
+        return start;
+    }
+}
@@ -0,0 +1,33 @@
+package dev.cristianinbits.flashcards.analytics.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.cristianinbits.flashcards.analytics.repo.ReviewRollupRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Consolida periódicamente en {@code review_daily_rollup} los incrementos que
+ * el trigger de {@code review_events} deja en {@code review_rollup_delta}, con
+ * la cadencia de {@code flashcards.analytics.fold-interval}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReviewRollupFolder {
+
+    private final ReviewRollupRepository rollups;
+
+    /**
+     * Vuelca los incrementos pendientes.
+     *
+     * @return filas agregadas insertadas o actualizadas
+     */
+    @Scheduled(fixedDelayString = "${flashcards.analytics.fold-interval:10s}",
+            initialDelayString = "${flashcards.analytics.fold-interval:10s}")
+    @Transactional
+    public int fold() {
+        return rollups.fold();
+    }
+}
@@ -0,0 +1,173 @@
+package dev.cristianinbits.flashcards.analytics.service;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.cristianinbits.flashcards.analytics.config.AnalyticsProperties;
+import dev.cristianinbits.flashcards.analytics.dto.RollupRebuildDto;
+import dev.cristianinbits.flashcards.analytics.repo.ReviewRollupRepository;
+import dev.cristianinbits.flashcards.review.repo.ReviewEventPartitionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reconstrucción de los agregados diarios desde {@code review_events}, para
+ * cargar el histórico o corregir desviaciones.
+ *
+ * El rango se divide en tramos de {@code rebuild-chunk-days} días que se
+ * recalculan en paralelo ({@code rebuild-parallelism}), cada uno en su propia
+ * transacción corta; así no se mantiene una transacción larga sobre la tabla
+ * de eventos. Solo se admite una reconstrucción a la vez por nodo.
+ *
+ * El rango se recorta al primer mes con partición enganchada de
+ * {@code review_events}: recalcular un mes archivado no encontraría eventos y
+ * borraría sus agregados, que ya son el único registro de ese mes.
+ */
+@Slf4j
+@Component
+public class ReviewRollupRebuilder {
+
+    private final ReviewRollupRepository rollups;
+    private final ReviewEventPartitionRepository partitions;
+    private final AnalyticsProperties properties;
+    private final TransactionTemplate tx;
+    private final AtomicReference<Job> current = new AtomicReference<>();
+
+    public ReviewRollupRebuilder(ReviewRollupRepository rollups, ReviewEventPartitionRepository partitions,
+            AnalyticsProperties properties, PlatformTransactionManager txManager) {
+        this.rollups = rollups;
+        this.partitions = partitions;
+        this.properties = properties;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    /**
+     * Lanza la reconstrucción en segundo plano.
+     *
+     * @param from primer día (incluido); por defecto, el del primer evento. Si
+     *             es anterior al primer mes no archivado, se recorta a él
+     * @param to   último día (incluido); por defecto, el del último evento
+     * @return estado inicial de la reconstrucción
+     * @throws IllegalArgumentException si {@code from} es posterior a {@code to}
+     *                                  o si todo el rango está archivado
+     * @throws IllegalStateException    si ya hay una reconstrucción en curso
+     */
+    public RollupRebuildDto start(@Nullable LocalDate from, @Nullable LocalDate to) {
+        var running = current.get();
+        if (running != null && running.finishedAt == null) {
+            throw new IllegalStateException("Ya hay una reconstrucción de agregados en curso");
+        }
+        if (from == null || to == null) {
+            var range = rollups.findEventDayRange();
+            if (from == null) {
+                from = range.map(ReviewRollupRepository.DayRange::first).orElse(LocalDate.now(ZoneOffset.UTC));
+            }
+            if (to == null) {
+                to = range.map(ReviewRollupRepository.DayRange::last).orElse(LocalDate.now(ZoneOffset.UTC));
+            }
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("El rango de fechas es inválido: from > to");
+        }
+        var retained = partitions.findOldestAttachedMonth().map(YearMonth::atDay1);
+        if (retained.isPresent() && from.isBefore(retained.get())) {
+            if (to.isBefore(retained.get())) {
+                throw new IllegalArgumentException(
+                        "El rango está archivado: los eventos se conservan desde " + retained.get());
+            }
+            log.info("Reconstrucción de agregados recortada a {}: los meses anteriores están archivados",
+                    retained.get());
+            from = retained.get();
+        }
+
+        var chunks = split(from, to.plusDays(1), Math.max(1, properties.rebuildChunkDays()));
+        var job = new Job(from, to, chunks.size());
+        if (!current.compareAndSet(running, job)) {
+            throw new IllegalStateException("Ya hay una reconstrucción de agregados en curso");
+        }
+        Thread.ofPlatform().name("rollup-rebuild").daemon().start(() -> run(job, chunks));
+        return job.toDto();
+    }
+
+    /** @return estado de la última reconstrucción de este nodo, si la hay */
+    public Optional<RollupRebuildDto> status() {
+        return Optional.ofNullable(current.get()).map(Job::toDto);
+    }
+
+    private void run(Job job, List<LocalDate[]> chunks) {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, properties.rebuildParallelism()),
+                Thread.ofPlatform().name("rollup-rebuild-", 0).daemon().factory());
+        try {
+            var futures = chunks.stream()
+                    .map(c -> CompletableFuture.runAsync(() -> rebuildChunk(job, c[0], c[1]), pool))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).exceptionally(ex -> null).join();
+        } finally {
+            pool.shutdown();
+            job.finishedAt = OffsetDateTime.now(ZoneOffset.UTC);
+            log.info("Reconstrucción de agregados {}..{}: {} tramos, {} fallidos", job.from, job.to, job.chunks,
+                    job.failed.get());
+        }
+    }
+
+    private void rebuildChunk(Job job, LocalDate from, LocalDate to) {
+        try {
+            tx.executeWithoutResult(status -> rollups.rebuild(from, to));
+            job.done.incrementAndGet();
+        } catch (RuntimeException ex) {
+            log.warn("No se pudo reconstruir el tramo {}..{} de agregados", from, to, ex);
+            job.failed.incrementAndGet();
+            job.message.compareAndSet(null, from + ": " + ex.getMessage());
+        }
+    }
+
+    /** Divide {@code [from, end)} en tramos de {@code days} días. */
+    private static List<LocalDate[]> split(LocalDate from, LocalDate end, int days) {
+        var chunks = new ArrayList<LocalDate[]>();
+        for (var d = from; d.isBefore(end); d = d.plusDays(days)) {
+            var next = d.plusDays(days);
+            chunks.add(new LocalDate[] { d, next.isAfter(end) ? end : next });
+        }
+        return chunks;
+    }
+
+    /** Progreso de una reconstrucción. */
+    private static final class Job {
+        final LocalDate from;
+        final LocalDate to;
+        final int chunks;
+        final AtomicInteger done = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicReference<String> message = new AtomicReference<>();
+        final OffsetDateTime startedAt = OffsetDateTime.now(ZoneOffset.UTC);
+        volatile OffsetDateTime finishedAt;
+
+        Job(LocalDate from, LocalDate to, int chunks) {
+            this.from = from;
+            this.to = to;
+            this.chunks = chunks;
+        }
+
+        RollupRebuildDto toDto() {
+            var finished = finishedAt;
+            String state = finished == null ? "RUNNING" : failed.get() > 0 ? "FAILED" : "COMPLETED";
+            return new RollupRebuildDto(state, from, to, chunks, done.get(), failed.get(), message.get(),
+                    startedAt, finished);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package dev.cristianinbits.flashcards.card.api;
 
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +18,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -24,8 +27,11 @@ import org.springframework.validation.annotation.Validated;
 
 import dev.cristianinbits.flashcards.card.dto.CardCreateRequest;
 import dev.cristianinbits.flashcards.card.dto.CardDto;
+import dev.cristianinbits.flashcards.card.dto.CardTagCountDto;
 import dev.cristianinbits.flashcards.card.dto.CardUpdateRequest;
+import dev.cristianinbits.flashcards.card.repo.CardSearchRepository;
 import dev.cristianinbits.flashcards.card.service.CardService;
+import dev.cristianinbits.flashcards.common.web.CursorPage;
 
 import jakarta.validation.Valid;
 
@@ -82,16 +88,37 @@ public class CardController {
      * Endpoint: {@code GET /api/decks/{deckId}/cards}
      *
      * @param deckId identificador del mazo
-     * @param q      parámetros de paginación y ordenación
+     * @param q      parámetros de paginación y ordenación; con
+     *               {@code withTotal=false} se omiten los totales
      * @return página de tarjetas pertenecientes al mazo indicado
      * @throws NoSuchElementException   si el mazo no existe
      * @throws IllegalArgumentException si el campo de orden indicado no está
      *                                  permitido
      */
     @GetMapping("/decks/{deckId}/cards")
-    public Page<CardDto> listByDeck(@PathVariable UUID deckId, @Valid CardsPageQuery q) {
+    public Slice<CardDto> listByDeck(@PathVariable UUID deckId, @Valid CardsPageQuery q) {
         Pageable pageable = q.toPageable(ALLOWED_SORTS);
-        return service.listByDeck(deckId, pageable);
+        return service.listByDeck(deckId, pageable, q.withTotalOrDefault());
+    }
+
+    /**
+     * Lista las tarjetas de un mazo con paginación por cursor.
+     *
+     * Endpoint: {@code GET /api/decks/{deckId}/cards?keyset=true[&cursor=...]}
+     *
+     * Solo admite ordenar por {@code createdAt} (por defecto descendente); la
+     * siguiente página se pide enviando el {@code nextCursor} recibido.
+     *
+     * @param deckId identificador del mazo
+     * @param q      parámetros de tamaño, orden y cursor
+     * @return página de tarjetas con el cursor de la siguiente
+     * @throws NoSuchElementException   si el mazo no existe
+     * @throws IllegalArgumentException si el orden o el cursor no son válidos
+     */
+    @GetMapping(value = "/decks/{deckId}/cards", params = "keyset=true")
+    public CursorPage<CardDto> listByDeckKeyset(@PathVariable UUID deckId, @Valid CardsPageQuery q) {
+        boolean asc = q.keysetAscending("createdAt");
+        return service.listByDeck(deckId, q.cursorOrFirst(asc), asc, q.sizeOrDefault());
     }
 
     /**
@@ -99,17 +126,96 @@ public class CardController {
      *
      * Endpoint: {@code GET /api/decks/{deckId}/cards/search}
      *
+     * Por defecto ({@code mode=substring}) se usa la coincidencia parcial en el
+     * anverso o el reverso y el orden de {@code sort}. Con {@code mode=fts} el
+     * texto se busca con el motor de texto completo de PostgreSQL y los
+     * resultados se ordenan por relevancia, con casamiento por prefijo
+     * ({@code prefix}) y configuración de idioma ({@code lang}); se ignora
+     * {@code sort}. Con {@code mode=index} se usa el índice invertido en
+     * memoria, si está activo.
+     *
      * @param deckId identificador del mazo
-     * @param q      parámetros de consulta con paginación, ordenación y filtros
+     * @param q      parámetros de consulta con paginación, ordenación y filtros;
+     *               con {@code withTotal=false} se omiten los totales
      * @return página de tarjetas que cumplen los criterios de búsqueda
      * @throws NoSuchElementException   si el mazo no existe
      * @throws IllegalArgumentException si el campo de orden indicado no está
      *                                  permitido
      */
     @GetMapping("/decks/{deckId}/cards/search")
-    public Page<CardDto> search(@PathVariable UUID deckId, @Valid CardsPageQuery q) {
+    public Slice<CardDto> search(@PathVariable UUID deckId, @Valid CardsPageQuery q) {
         Pageable pageable = q.toPageable(ALLOWED_SORTS);
-        return service.search(deckId, q.qOrNull(), q.tagOrNull(), pageable);
+        if (q.isMode("index")) {
+            return service.searchIndexed(deckId, q.qOrNull(), q.tagOrNull(), pageable);
+        }
+        if (q.isMode("fts")) {
+            return service.searchFullText(deckId, q.qOrNull(), q.tagOrNull(),
+                    CardSearchRepository.Language.parse(q.lang()), q.prefixOrDefault(),
+                    pageable, q.withTotalOrDefault());
+        }
+        return service.search(deckId, q.qOrNull(), q.tagOrNull(), pageable, q.withTotalOrDefault());
+    }
+
+    /**
+     * Busca tarjetas en todos los mazos con el índice invertido en memoria.
+     *
+     * Endpoint: {@code GET /api/cards/search}
+     *
+     * Cada palabra de {@code q} debe aparecer como prefijo de algún término del
+     * anverso, el reverso o las etiquetas; los resultados se ordenan de la
+     * tarjeta creada o editada más recientemente a la más antigua. Requiere
+     * {@code flashcards.search.index.enabled=true}.
+     *
+     * @param q parámetros de texto, etiqueta y paginación ({@code page},
+     *          {@code size})
+     * @return porción de tarjetas que cumplen los criterios
+     * @throws IllegalStateException si el índice no está disponible
+     */
+    @GetMapping("/cards/search")
+    public Slice<CardDto> searchAll(@Valid CardsPageQuery q) {
+        return service.searchIndexed(null, q.qOrNull(), q.tagOrNull(),
+                PageRequest.of(q.pageOrDefault(), q.sizeOrDefault()));
+    }
+
+    /**
+     * Busca tarjetas dentro de un mazo con paginación por cursor.
+     *
+     * Endpoint:
+     * {@code GET /api/decks/{deckId}/cards/search?keyset=true[&cursor=...]}
+     *
+     * Usa la coincidencia parcial: la búsqueda por relevancia no tiene una clave
+     * de orden estable sobre la que construir el cursor.
+     *
+     * @param deckId identificador del mazo
+     * @param q      parámetros de filtros, tamaño, orden y cursor
+     * @return página de tarjetas con el cursor de la siguiente
+     * @throws NoSuchElementException   si el mazo no existe
+     * @throws IllegalArgumentException si el orden o el cursor no son válidos, o
+     *                                  si se pide {@code mode=fts}
+     */
+    @GetMapping(value = "/decks/{deckId}/cards/search", params = "keyset=true")
+    public CursorPage<CardDto> searchKeyset(@PathVariable UUID deckId, @Valid CardsPageQuery q) {
+        if (q.isMode("fts") || q.isMode("index")) {
+            throw new IllegalArgumentException("La paginación por cursor solo admite mode=substring");
+        }
+        boolean asc = q.keysetAscending("createdAt");
+        return service.search(deckId, q.qOrNull(), q.tagOrNull(), q.cursorOrFirst(asc), asc, q.sizeOrDefault());
+    }
+
+    /**
+     * Devuelve las etiquetas de un mazo con su número de tarjetas (facetas).
+     *
+     * Endpoint: {@code GET /api/decks/{deckId}/tags}
+     *
+     * @param deckId identificador del mazo
+     * @param limit  número máximo de etiquetas (por defecto 100, máximo 500)
+     * @return etiquetas ordenadas de la más usada a la menos usada
+     * @throws NoSuchElementException si el mazo no existe
+     */
+    @GetMapping("/decks/{deckId}/tags")
+    public List<CardTagCountDto> tagFacets(@PathVariable UUID deckId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return service.tagFacets(deckId, limit);
     }
 
     /**
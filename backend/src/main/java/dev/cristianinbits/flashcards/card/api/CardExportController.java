@@ -0,0 +1,60 @@
+package dev.cristianinbits.flashcards.card.api;
+
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import dev.cristianinbits.flashcards.card.bulk.CardExportFormat;
+import dev.cristianinbits.flashcards.card.service.CardExportService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Controlador REST para la exportación completa de un mazo.
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class CardExportController {
+
+    /** Servicio de exportación. */
+    private final CardExportService service;
+
+    /**
+     * Descarga todas las tarjetas de un mazo en una sola respuesta, por orden de
+     * creación.
+     *
+     * Endpoint: {@code GET /api/decks/{id}/export?format=jsonl|csv&srs=false}
+     *
+     * @param id     identificador del mazo
+     * @param format formato de salida ({@code jsonl} por defecto o {@code csv})
+     * @param srs    si se incluye el estado SRS de cada tarjeta
+     * @return respuesta en streaming con el fichero de exportación
+     * @throws NoSuchElementException   si el mazo no existe
+     * @throws IllegalArgumentException si el formato no está soportado
+     */
+    @GetMapping("/decks/{id}/export")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable UUID id,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean srs) {
+        var f = CardExportFormat.parse(format);
+        var body = service.export(id, f, srs);
+        var disposition = ContentDisposition.attachment()
+                .filename("deck-" + id + "." + f.extension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(f.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+}
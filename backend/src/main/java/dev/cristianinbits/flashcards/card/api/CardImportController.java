@@ -0,0 +1,96 @@
+package dev.cristianinbits.flashcards.card.api;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import dev.cristianinbits.flashcards.card.bulk.CardImportFormat;
+import dev.cristianinbits.flashcards.card.bulk.CardImportRegistry;
+import dev.cristianinbits.flashcards.card.dto.CardImportReportDto;
+import dev.cristianinbits.flashcards.card.service.CardImportService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Controlador REST para la importación masiva de tarjetas.
+ *
+ * El fichero se envía como cuerpo de la petición (sin multipart) y se procesa
+ * en streaming mientras se recibe. El progreso de las importaciones en curso
+ * se puede consultar desde otra conexión.
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class CardImportController {
+
+    /** Servicio de importación. */
+    private final CardImportService service;
+
+    /** Progreso de las importaciones de este nodo. */
+    private final CardImportRegistry registry;
+
+    /**
+     * Importa en un mazo las tarjetas del cuerpo de la petición.
+     *
+     * Endpoint: {@code POST /api/decks/{deckId}/cards/import?format=csv|jsonl|tsv}
+     *
+     * Si no se indica {@code format}, se deduce del {@code Content-Type}
+     * ({@code text/csv}, {@code application/x-ndjson},
+     * {@code text/tab-separated-values}). Los registros erróneos se descartan y
+     * se detallan en el informe.
+     *
+     * @param deckId      identificador del mazo de destino
+     * @param format      formato del fichero (opcional)
+     * @param contentType tipo de contenido de la petición
+     * @param body        contenido del fichero (UTF-8)
+     * @return informe final de la importación
+     * @throws NoSuchElementException   si el mazo no existe
+     * @throws IllegalArgumentException si el formato no se puede determinar
+     */
+    @PostMapping("/decks/{deckId}/cards/import")
+    public CardImportReportDto importCards(@PathVariable UUID deckId,
+            @RequestParam(required = false) String format,
+            @RequestHeader(name = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body) {
+        return service.importCards(deckId, CardImportFormat.resolve(format, contentType), body);
+    }
+
+    /**
+     * Lista las importaciones en curso y las últimas terminadas de un mazo en
+     * este nodo.
+     *
+     * Endpoint: {@code GET /api/decks/{deckId}/imports}
+     *
+     * @param deckId identificador del mazo
+     * @return importaciones, de la más reciente a la más antigua
+     */
+    @GetMapping("/decks/{deckId}/imports")
+    public List<CardImportReportDto> listByDeck(@PathVariable UUID deckId) {
+        return registry.findByDeck(deckId);
+    }
+
+    /**
+     * Obtiene el progreso de una importación.
+     *
+     * Endpoint: {@code GET /api/imports/{id}}
+     *
+     * @param id identificador de la importación
+     * @return progreso de la importación
+     * @throws NoSuchElementException si no está registrada en este nodo
+     */
+    @GetMapping("/imports/{id}")
+    public CardImportReportDto get(@PathVariable UUID id) {
+        return registry.find(id)
+                .orElseThrow(() -> new NoSuchElementException("Importación no encontrada: " + id));
+    }
+}
@@ -5,6 +5,8 @@ import org.springframework.data.domain.*;
 
 import java.util.Set;
 
+import dev.cristianinbits.flashcards.common.web.Cursor;
+
 /**
  * Parámetros de consulta para listar y buscar tarjetas con paginación,
  * ordenación y filtros.
@@ -18,14 +20,32 @@ import java.util.Set;
  * @param sort criterio de orden en el formato "campo,asc|desc"; por defecto
  *             "createdAt,desc"
  * @param q    filtro de texto parcial para buscar en el contenido (opcional)
- * @param tag  filtro por etiqueta (opcional)
+ * @param tag  filtro por etiqueta exacta, sin distinguir mayúsculas (opcional)
+ * @param withTotal si es {@code false}, se devuelve un {@link Slice} sin
+ *             totales y se evita la consulta {@code COUNT(*)}; por defecto
+ *             {@code true}
+ * @param cursor token de la página siguiente en paginación por cursor
+ *             ({@code keyset=true}); si es nulo se empieza por el principio
+ * @param mode modo de búsqueda de {@code q}: {@code substring}
+ *             (coincidencia parcial, orden según {@code sort}; por defecto),
+ *             {@code fts} (texto completo ordenado por relevancia) o
+ *             {@code index} (índice invertido en memoria, por prefijo)
+ * @param lang configuración de idioma del modo {@code fts}: {@code simple}
+ *             (por defecto), {@code spanish} o {@code english}
+ * @param prefix si es {@code true} (por defecto), en modo {@code fts} cada
+ *             término casa también como prefijo
  */
 public record CardsPageQuery(
         @PositiveOrZero Integer page,
         @Min(1) @Max(100) Integer size,
         @Pattern(regexp = "^[A-Za-z_][A-Za-z0-9_]*(,(?i)(asc|desc))?$", message = "Formato de orden inválido. Usa 'campo,asc' o 'campo,desc'") String sort,
         @Size(max = 200) String q,
-        @Size(max = 200) String tag) {
+        @Size(max = 200) String tag,
+        Boolean withTotal,
+        @Size(max = 200) String cursor,
+        @Pattern(regexp = "(?i)fts|substring|index", message = "Modo de búsqueda inválido. Usa 'fts', 'substring' o 'index'") String mode,
+        @Pattern(regexp = "(?i)simple|spanish|english", message = "Idioma inválido. Usa 'simple', 'spanish' o 'english'") String lang,
+        Boolean prefix) {
 
     /**
      * Devuelve el número de página o el valor por defecto si no se especifica.
@@ -73,6 +93,68 @@ public record CardsPageQuery(
         return normOrNull(tag);
     }
 
+    /**
+     * Indica si se pidió explícitamente el modo de búsqueda indicado.
+     *
+     * @param value modo ({@code fts}, {@code substring} o {@code index})
+     * @return {@code true} si {@code mode} coincide, sin distinguir mayúsculas
+     */
+    public boolean isMode(String value) {
+        return mode != null && mode.trim().equalsIgnoreCase(value);
+    }
+
+    /**
+     * Devuelve si los términos deben casar como prefijo en modo {@code fts}.
+     *
+     * @return valor de {@code prefix}, por defecto {@code true}
+     */
+    public boolean prefixOrDefault() {
+        return prefix == null || prefix;
+    }
+
+    /**
+     * Indica si la respuesta debe incluir el total de elementos y páginas.
+     *
+     * @return {@code false} solo si se pidió explícitamente {@code withTotal=false}
+     */
+    public boolean withTotalOrDefault() {
+        return withTotal == null || withTotal;
+    }
+
+    /**
+     * Indica si el orden solicitado para paginación por cursor es ascendente.
+     *
+     * La paginación por cursor solo admite ordenar por la clave del cursor; si
+     * no se indica orden, se usa descendente.
+     *
+     * @param keyProperty propiedad que forma la clave del cursor (p. ej.
+     *                    {@code createdAt})
+     * @return {@code true} si el orden es ascendente
+     * @throws IllegalArgumentException si se pide ordenar por otra propiedad
+     */
+    public boolean keysetAscending(String keyProperty) {
+        if (sort == null || sort.isBlank()) {
+            return false;
+        }
+        String[] parts = sort.trim().split(",", 2);
+        if (!keyProperty.equals(parts[0].trim())) {
+            throw new IllegalArgumentException("La paginación por cursor solo admite orden por " + keyProperty);
+        }
+        return parts.length == 1 || "asc".equalsIgnoreCase(parts[1].trim());
+    }
+
+    /**
+     * Devuelve la posición indicada en {@code cursor} o, si no hay, la de inicio.
+     *
+     * @param ascending sentido del recorrido
+     * @return posición a partir de la cual leer
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    public Cursor cursorOrFirst(boolean ascending) {
+        var c = Cursor.decodeOrNull(cursor);
+        return (c != null) ? c : Cursor.first(ascending);
+    }
+
     /**
      * Construye un {@link Pageable} a partir de los parámetros de la consulta y
      * valida el campo de ordenación.
@@ -0,0 +1,51 @@
+package dev.cristianinbits.flashcards.card.bulk;
+
+import java.util.Locale;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Formatos de la exportación de mazos. Ambos se pueden volver a importar con
+ * {@link CardImportFormat#JSONL} y {@link CardImportFormat#CSV}.
+ */
+public enum CardExportFormat {
+    /** Un objeto JSON por línea. */
+    JSONL("application/x-ndjson", "jsonl"),
+    /** CSV (RFC 4180) con fila de cabecera. */
+    CSV("text/csv;charset=UTF-8", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    CardExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /** @return tipo de contenido de la respuesta */
+    public String contentType() {
+        return contentType;
+    }
+
+    /** @return extensión del fichero descargado */
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * @param value nombre del formato ({@code jsonl}, {@code ndjson} o
+     *              {@code csv}); nulo para {@link #JSONL}
+     * @return formato correspondiente
+     * @throws IllegalArgumentException si no está soportado
+     */
+    public static CardExportFormat parse(@Nullable String value) {
+        if (value == null || value.isBlank()) {
+            return JSONL;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "jsonl", "ndjson" -> JSONL;
+            case "csv" -> CSV;
+            default -> throw new IllegalArgumentException("Formato de exportación no soportado: " + value);
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package dev.cristianinbits.flashcards.card.bulk;
+
+import dev.cristianinbits.flashcards.card.dto.CardDto;
+import dev.cristianinbits.flashcards.review.dto.CardSrsStateDto;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Fila de la exportación de un mazo.
+ *
+ * @param card tarjeta
+ * @param srs  estado SRS de la tarjeta (nulo si no se ha pedido)
+ */
+public record CardExportRow(CardDto card, @Nullable CardSrsStateDto srs) {
+}
@@ -0,0 +1,53 @@
+package dev.cristianinbits.flashcards.card.bulk;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Escritura incremental de las filas de una exportación. No retiene filas: cada
+ * una se serializa al recibirla.
+ */
+public interface CardExportWriter {
+
+    /**
+     * Serializa una fila.
+     *
+     * @param row fila a escribir
+     * @throws IOException si falla la escritura (p. ej. el cliente se ha
+     *                     desconectado)
+     */
+    void write(CardExportRow row) throws IOException;
+
+    /**
+     * Vacía los datos pendientes hacia la salida.
+     *
+     * @throws IOException si falla la escritura
+     */
+    void finish() throws IOException;
+
+    /**
+     * Crea un escritor para el formato indicado y escribe la cabecera, si la
+     * hay.
+     *
+     * @param format  formato de salida
+     * @param out     salida de la respuesta
+     * @param mapper  mapeador JSON, para {@link CardExportFormat#JSONL}
+     * @param withSrs si las filas incluyen el estado SRS
+     * @return escritor listo para recibir filas
+     * @throws IOException si falla la escritura de la cabecera
+     */
+    static CardExportWriter open(CardExportFormat format, OutputStream out, ObjectMapper mapper, boolean withSrs)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        return switch (format) {
+            case JSONL -> new JsonLinesExportWriter(writer, mapper);
+            case CSV -> new CsvExportWriter(writer, withSrs);
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package dev.cristianinbits.flashcards.card.bulk;
+
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+/**
+ * Formatos de fichero admitidos por la importación masiva de tarjetas.
+ */
+public enum CardImportFormat {
+    /**
+     * CSV (RFC 4180) separado por comas, con comillas dobles opcionales. Si la
+     * primera fila empieza por {@code front}, se toma como cabecera y las
+     * columnas se asignan por nombre ({@code front}, {@code back},
+     * {@code tags}, {@code latex}); si no, se usa ese orden.
+     */
+    CSV,
+    /**
+     * Un objeto JSON por línea:
+     * {@code {"front": "...", "back": "...", "tags": "a,b" | ["a", "b"], "latex": false}}.
+     */
+    JSONL,
+    /**
+     * Texto separado por tabuladores al estilo de la exportación de notas de
+     * Anki: columnas anverso, reverso y etiquetas (separadas por espacios);
+     * las líneas que empiezan por {@code #} son cabeceras y se ignoran.
+     */
+    TSV;
+
+    /**
+     * Determina el formato a partir del parámetro explícito o, en su defecto,
+     * del tipo de contenido de la petición.
+     *
+     * @param value       nombre del formato (insensible a mayúsculas), puede ser
+     *                    nulo
+     * @param contentType tipo de contenido de la petición, puede ser nulo
+     * @return formato correspondiente
+     * @throws IllegalArgumentException si no se puede determinar
+     */
+    public static CardImportFormat resolve(@Nullable String value, @Nullable String contentType) {
+        if (value != null && !value.isBlank()) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Formato de importación no soportado: " + value);
+            }
+        }
+        if (contentType != null) {
+            var type = MediaType.parseMediaType(contentType);
+            switch (type.getSubtype().toLowerCase(Locale.ROOT)) {
+                case "csv":
+                    return CSV;
+                case "x-ndjson", "jsonl", "x-jsonlines":
+                    return JSONL;
+                case "tab-separated-values":
+                    return TSV;
+                default:
+                    break;
+            }
+        }
+        throw new IllegalArgumentException("Indica el formato de importación: csv, jsonl o tsv");
+    }
+}
@@ -0,0 +1,124 @@
+package dev.cristianinbits.flashcards.card.bulk;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.lang.Nullable;
+
+import dev.cristianinbits.flashcards.card.dto.CardImportErrorDto;
+import dev.cristianinbits.flashcards.card.dto.CardImportReportDto;
+
+import lombok.Getter;
+
+/**
+ * Progreso de una importación masiva. Lo actualiza el hilo que importa y se
+ * puede consultar desde otros hilos mientras tanto.
+ */
+public class CardImportJob {
+
+    /** Estado de la importación. */
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    @Getter
+    private final UUID id = UUID.randomUUID();
+    @Getter
+    private final UUID deckId;
+    private final CardImportFormat format;
+    private final int maxErrors;
+    private final OffsetDateTime startedAt = OffsetDateTime.now(ZoneOffset.UTC);
+
+    private final AtomicLong read = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<CardImportErrorDto> errors = new ArrayList<>();
+
+    @Getter
+    private volatile State state = State.RUNNING;
+    @Nullable
+    private volatile String message;
+    @Nullable
+    private volatile OffsetDateTime finishedAt;
+
+    /**
+     * @param deckId    mazo de destino
+     * @param format    formato del fichero
+     * @param maxErrors errores por línea que se conservan
+     */
+    public CardImportJob(UUID deckId, CardImportFormat format, int maxErrors) {
+        this.deckId = deckId;
+        this.format = format;
+        this.maxErrors = maxErrors;
+    }
+
+    /** Cuenta un registro leído. */
+    public void recordRead() {
+        read.incrementAndGet();
+    }
+
+    /**
+     * Cuenta tarjetas confirmadas en base de datos.
+     *
+     * @param count tarjetas del lote confirmado
+     */
+    public void recordImported(int count) {
+        imported.addAndGet(count);
+    }
+
+    /**
+     * Registra un registro descartado.
+     *
+     * @param line    línea del registro
+     * @param message causa
+     */
+    public void recordError(long line, String message) {
+        failed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new CardImportErrorDto(line, message));
+            }
+        }
+    }
+
+    /** @return tarjetas confirmadas hasta el momento */
+    public long imported() {
+        return imported.get();
+    }
+
+    /** Marca la importación como terminada. */
+    public void complete() {
+        finish(State.COMPLETED, null);
+    }
+
+    /**
+     * Marca la importación como fallida. Las tarjetas de los lotes ya
+     * confirmados se conservan.
+     *
+     * @param cause causa del fallo
+     */
+    public void fail(String cause) {
+        finish(State.FAILED, cause);
+    }
+
+    private void finish(State state, @Nullable String message) {
+        this.message = message;
+        this.finishedAt = OffsetDateTime.now(ZoneOffset.UTC);
+        this.state = state;
+    }
+
+    /** @return instantánea del progreso */
+    public CardImportReportDto toDto() {
+        List<CardImportErrorDto> errorsCopy;
+        synchronized (errors) {
+            errorsCopy = List.copyOf(errors);
+        }
+        long failedCount = failed.get();
+        return new CardImportReportDto(id, deckId, format.name(), state.name(), read.get(), imported.get(),
+                failedCount, errorsCopy, failedCount > errorsCopy.size(), message, startedAt, finishedAt);
+    }
+}
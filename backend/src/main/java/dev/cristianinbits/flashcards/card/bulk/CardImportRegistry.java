@@ -0,0 +1,80 @@
+package dev.cristianinbits.flashcards.card.bulk;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import dev.cristianinbits.flashcards.card.config.CardImportProperties;
+import dev.cristianinbits.flashcards.card.dto.CardImportReportDto;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Registro en memoria (por nodo) de las importaciones en curso y de las últimas
+ * terminadas, para consultar su progreso.
+ */
+@Component
+@RequiredArgsConstructor
+public class CardImportRegistry {
+
+    private final CardImportProperties properties;
+    private final Map<UUID, CardImportJob> jobs = new ConcurrentHashMap<>();
+    /** Importaciones terminadas, de la más antigua a la más reciente. */
+    private final Deque<UUID> finished = new ArrayDeque<>();
+
+    /**
+     * Registra una importación nueva.
+     *
+     * @param deckId mazo de destino
+     * @param format formato del fichero
+     * @return importación en estado {@code RUNNING}
+     */
+    public CardImportJob start(UUID deckId, CardImportFormat format) {
+        var job = new CardImportJob(deckId, format, properties.maxErrors());
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    /**
+     * Pasa una importación terminada al histórico, descartando las más antiguas
+     * si se supera {@code keep-finished}.
+     *
+     * @param job importación terminada
+     */
+    public void finished(CardImportJob job) {
+        synchronized (finished) {
+            finished.addLast(job.getId());
+            while (finished.size() > properties.keepFinished()) {
+                jobs.remove(finished.removeFirst());
+            }
+        }
+    }
+
+    /**
+     * @param id identificador de la importación
+     * @return progreso, si sigue registrada
+     */
+    public Optional<CardImportReportDto> find(UUID id) {
+        return Optional.ofNullable(jobs.get(id)).map(CardImportJob::toDto);
+    }
+
+    /**
+     * @param deckId mazo de destino
+     * @return importaciones registradas del mazo, de la más reciente a la más
+     *         antigua
+     */
+    public List<CardImportReportDto> findByDeck(UUID deckId) {
+        return jobs.values().stream()
+                .filter(j -> j.getDeckId().equals(deckId))
+                .map(CardImportJob::toDto)
+                .sorted(Comparator.comparing(CardImportReportDto::startedAt).reversed())
+                .toList();
+    }
+}
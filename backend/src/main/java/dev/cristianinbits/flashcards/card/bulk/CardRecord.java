@@ -0,0 +1,15 @@
+package dev.cristianinbits.flashcards.card.bulk;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Registro leído de un fichero de importación, todavía sin validar.
+ *
+ * @param line  número de línea (desde 1) en el que empieza el registro
+ * @param front texto del anverso
+ * @param back  texto del reverso
+ * @param tags  etiquetas separadas por comas (puede ser nulo)
+ * @param latex si la tarjeta contiene LaTeX
+ */
+public record CardRecord(long line, String front, String back, @Nullable String tags, boolean latex) {
+}
@@ -0,0 +1,24 @@
+package dev.cristianinbits.flashcards.card.bulk;
+
+import lombok.Getter;
+
+/**
+ * Registro de un fichero de importación que no se puede interpretar. El lector
+ * ya ha avanzado hasta el siguiente registro, de modo que la importación puede
+ * continuar.
+ */
+@Getter
+public class CardRecordException extends RuntimeException {
+
+    /** Línea (desde 1) en la que empieza el registro erróneo. */
+    private final long line;
+
+    /**
+     * @param line    línea del registro
+     * @param message descripción del error
+     */
+    public CardRecordException(long line, String message) {
+        super(message);
+        this.line = line;
+    }
+}
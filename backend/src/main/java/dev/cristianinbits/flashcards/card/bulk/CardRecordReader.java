@@ -0,0 +1,47 @@
+package dev.cristianinbits.flashcards.card.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.lang.Nullable;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Lector incremental de registros de un fichero de importación. Solo mantiene
+ * en memoria el registro en curso, con independencia del tamaño del fichero.
+ */
+public interface CardRecordReader extends Closeable {
+
+    /**
+     * Lee el siguiente registro.
+     *
+     * @return registro leído, o {@code null} al final del fichero
+     * @throws CardRecordException si el registro no se puede interpretar; el
+     *                             lector queda posicionado en el siguiente
+     * @throws IOException         si falla la lectura del fichero
+     */
+    @Nullable
+    CardRecord next() throws IOException;
+
+    /**
+     * Abre un lector para el formato indicado.
+     *
+     * @param format         formato del fichero
+     * @param in             contenido (UTF-8)
+     * @param mapper         mapeador JSON, para {@link CardImportFormat#JSONL}
+     * @param maxRecordChars longitud máxima de un registro
+     * @return lector posicionado al principio del fichero
+     * @throws IOException si falla la lectura inicial
+     */
+    static CardRecordReader open(CardImportFormat format, InputStream in, ObjectMapper mapper, int maxRecordChars)
+            throws IOException {
+        var source = new TextSource(in);
+        return switch (format) {
+            case CSV -> new DelimitedRecordReader(source, ',', false, maxRecordChars);
+            case TSV -> new DelimitedRecordReader(source, '\t', true, maxRecordChars);
+            case JSONL -> new JsonLinesRecordReader(source, mapper, maxRecordChars);
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package dev.cristianinbits.flashcards.card.bulk;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Exportación CSV (RFC 4180). Las columnas {@code front}, {@code back},
+ * {@code tags} y {@code latex} van primero para que el fichero se pueda
+ * reimportar tal cual; las demás se ignoran al importar.
+ */
+final class CsvExportWriter implements CardExportWriter {
+
+    private static final String HEADER = "front,back,tags,latex,id,created_at,updated_at";
+    private static final String SRS_HEADER = ",due_at,interval_days,ease_factor,repetitions,last_result";
+
+    private final Writer out;
+    private final boolean withSrs;
+
+    CsvExportWriter(Writer out, boolean withSrs) throws IOException {
+        this.out = out;
+        this.withSrs = withSrs;
+        out.write(HEADER);
+        if (withSrs) {
+            out.write(SRS_HEADER);
+        }
+        out.write("\r\n");
+    }
+
+    @Override
+    public void write(CardExportRow row) throws IOException {
+        var c = row.card();
+        field(c.front());
+        out.write(',');
+        field(c.back());
+        out.write(',');
+        field(c.tags());
+        out.write(',');
+        out.write(c.latex() ? "true" : "false");
+        out.write(',');
+        out.write(c.id().toString());
+        out.write(',');
+        out.write(c.createdAt().toString());
+        out.write(',');
+        out.write(c.updatedAt().toString());
+        if (withSrs) {
+            var s = row.srs();
+            if (s != null) {
+                out.write(',');
+                out.write(s.dueAt().toString());
+                out.write(',');
+                out.write(Integer.toString(s.intervalDays()));
+                out.write(',');
+                out.write(s.easeFactor().toPlainString());
+                out.write(',');
+                out.write(Integer.toString(s.repetitions()));
+                out.write(',');
+                out.write(Short.toString(s.lastResult()));
+            } else {
+                out.write(",,,,,");
+            }
+        }
+        out.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+
+    /** Escribe un campo de texto, entre comillas solo si lo necesita. */
+    private void field(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char ch = value.charAt(i);
+            quote = ch == ',' || ch == '"' || ch == '\n' || ch == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
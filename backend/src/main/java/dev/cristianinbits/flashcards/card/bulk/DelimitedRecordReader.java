@@ -0,0 +1,199 @@
+package dev.cristianinbits.flashcards.card.bulk;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Lector de registros delimitados (CSV y TSV al estilo de Anki) con comillas
+ * dobles opcionales según RFC 4180: un campo entre comillas puede contener el
+ * separador, saltos de línea y comillas duplicadas ({@code ""}).
+ */
+final class DelimitedRecordReader implements CardRecordReader {
+
+    private final TextSource source;
+    private final char separator;
+    private final boolean ankiStyle;
+    private final int maxRecordChars;
+
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private int recordChars;
+
+    private int frontColumn = 0;
+    private int backColumn = 1;
+    private int tagsColumn = 2;
+    private int latexColumn = 3;
+    private boolean firstRecord = true;
+
+    /**
+     * @param source         texto de entrada
+     * @param separator      separador de campos
+     * @param ankiStyle      si es {@code true}, se ignoran las líneas de
+     *                       cabecera {@code #clave:valor} iniciales y las
+     *                       etiquetas se separan por espacios; si es
+     *                       {@code false}, se admite una fila de cabecera
+     * @param maxRecordChars longitud máxima de un registro
+     */
+    DelimitedRecordReader(TextSource source, char separator, boolean ankiStyle, int maxRecordChars) {
+        this.source = source;
+        this.separator = separator;
+        this.ankiStyle = ankiStyle;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    @Override
+    @Nullable
+    public CardRecord next() throws IOException {
+        while (true) {
+            if (ankiStyle && firstRecord && skipAnkiHeader()) {
+                continue;
+            }
+            long start = source.line();
+            if (!readRecord(start)) {
+                return null;
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            if (firstRecord) {
+                firstRecord = false;
+                if (!ankiStyle && fields.get(0).trim().equalsIgnoreCase("front")) {
+                    mapHeader();
+                    continue;
+                }
+            }
+            return toRecord(start);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    /** Salta una línea de cabecera de Anki ({@code #separator:tab}, {@code #html:true}...). */
+    private boolean skipAnkiHeader() throws IOException {
+        int c = source.read();
+        source.unread(c);
+        if (c != '#') {
+            return false;
+        }
+        source.readLine(maxRecordChars);
+        return true;
+    }
+
+    private boolean readRecord(long start) throws IOException {
+        fields.clear();
+        field.setLength(0);
+        recordChars = 0;
+        boolean any = false;
+        boolean quoted = false;
+        boolean inQuotes = false;
+        while (true) {
+            int c = source.read();
+            if (c == -1) {
+                if (!any) {
+                    return false;
+                }
+                if (inQuotes) {
+                    throw new CardRecordException(start, "Comillas sin cerrar");
+                }
+                break;
+            }
+            any = true;
+            if (inQuotes) {
+                if (c == '"') {
+                    int next = source.read();
+                    if (next == '"') {
+                        append('"');
+                    } else {
+                        inQuotes = false;
+                        source.unread(next);
+                    }
+                } else {
+                    append(c);
+                }
+            } else if (c == '"' && field.isEmpty() && !quoted) {
+                inQuotes = true;
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                int next = source.read();
+                if (next == '\n') {
+                    break;
+                }
+                source.unread(next);
+                append(c);
+            } else {
+                append(c);
+            }
+        }
+        fields.add(field.toString());
+        if (recordChars > maxRecordChars) {
+            throw new CardRecordException(start, "Registro demasiado largo (máximo " + maxRecordChars + " caracteres)");
+        }
+        return true;
+    }
+
+    /** Acumula un carácter mientras el registro no supere el máximo; después solo se cuenta. */
+    private void append(int c) {
+        if (recordChars++ < maxRecordChars) {
+            field.append((char) c);
+        }
+    }
+
+    private void mapHeader() {
+        frontColumn = backColumn = tagsColumn = latexColumn = -1;
+        for (int i = 0; i < fields.size(); i++) {
+            switch (fields.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "front" -> frontColumn = i;
+                case "back" -> backColumn = i;
+                case "tags" -> tagsColumn = i;
+                case "latex" -> latexColumn = i;
+                default -> {
+                    // columnas desconocidas: se ignoran
+                }
+            }
+        }
+        if (frontColumn < 0 || backColumn < 0) {
+            throw new IllegalArgumentException("La cabecera CSV debe incluir las columnas front y back");
+        }
+    }
+
+    private CardRecord toRecord(long line) {
+        if (fields.size() <= Math.max(frontColumn, backColumn)) {
+            throw new CardRecordException(line, "Se esperaban al menos las columnas anverso y reverso");
+        }
+        String tags = column(tagsColumn);
+        if (ankiStyle && tags != null) {
+            tags = tags.replace(' ', ',');
+        }
+        return new CardRecord(line, fields.get(frontColumn), fields.get(backColumn), tags,
+                parseLatex(line, column(latexColumn)));
+    }
+
+    @Nullable
+    private String column(int index) {
+        return index >= 0 && index < fields.size() ? fields.get(index) : null;
+    }
+
+    private static boolean parseLatex(long line, @Nullable String value) {
+        if (value == null || value.isBlank()) {
+            return false;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true", "1", "yes", "si", "sí" -> true;
+            case "false", "0", "no" -> false;
+            default -> throw new CardRecordException(line, "Valor de latex inválido: " + value);
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package dev.cristianinbits.flashcards.card.bulk;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Exportación JSON Lines: un objeto por tarjeta con los campos de la
+ * importación ({@code front}, {@code back}, {@code tags}, {@code latex}) en el
+ * primer nivel y el estado SRS, si se pide, en {@code srs}.
+ */
+final class JsonLinesExportWriter implements CardExportWriter {
+
+    private final JsonGenerator json;
+
+    JsonLinesExportWriter(Writer writer, ObjectMapper mapper) throws IOException {
+        this.json = mapper.getFactory().createGenerator(writer);
+    }
+
+    @Override
+    public void write(CardExportRow row) throws IOException {
+        var c = row.card();
+        json.writeStartObject();
+        json.writeStringField("id", c.id().toString());
+        json.writeStringField("deckId", c.deckId().toString());
+        json.writeStringField("front", c.front());
+        json.writeStringField("back", c.back());
+        json.writeStringField("tags", c.tags());
+        json.writeBooleanField("latex", c.latex());
+        json.writeStringField("createdAt", c.createdAt().toString());
+        json.writeStringField("updatedAt", c.updatedAt().toString());
+        var s = row.srs();
+        if (s != null) {
+            json.writeObjectFieldStart("srs");
+            json.writeStringField("dueAt", s.dueAt().toString());
+            json.writeNumberField("intervalDays", s.intervalDays());
+            json.writeNumberField("easeFactor", s.easeFactor());
+            json.writeNumberField("repetitions", s.repetitions());
+            json.writeNumberField("lastResult", s.lastResult());
+            json.writeStringField("updatedAt", s.updatedAt().toString());
+            json.writeEndObject();
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        json.flush();
+    }
+}
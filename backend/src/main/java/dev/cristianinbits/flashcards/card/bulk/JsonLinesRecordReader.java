@@ -0,0 +1,96 @@
+package dev.cristianinbits.flashcards.card.bulk;
+
+import java.io.IOException;
+
+import org.springframework.lang.Nullable;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Lector de registros JSON Lines: un objeto por línea con los campos
+ * {@code front}, {@code back}, {@code tags} (texto separado por comas o array)
+ * y {@code latex}. Las líneas en blanco se ignoran.
+ */
+final class JsonLinesRecordReader implements CardRecordReader {
+
+    private final TextSource source;
+    private final ObjectMapper mapper;
+    private final int maxRecordChars;
+
+    JsonLinesRecordReader(TextSource source, ObjectMapper mapper, int maxRecordChars) {
+        this.source = source;
+        this.mapper = mapper;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    @Override
+    @Nullable
+    public CardRecord next() throws IOException {
+        while (true) {
+            long start = source.line();
+            String text = source.readLine(maxRecordChars);
+            if (text == null) {
+                return null;
+            }
+            if (text.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = mapper.readTree(text);
+            } catch (JsonProcessingException ex) {
+                throw new CardRecordException(start, "JSON inválido: " + ex.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                throw new CardRecordException(start, "Se esperaba un objeto JSON");
+            }
+            return new CardRecord(start, textOrEmpty(node.get("front")), textOrEmpty(node.get("back")),
+                    tags(start, node.get("tags")), latex(start, node.get("latex")));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    private static String textOrEmpty(@Nullable JsonNode value) {
+        return value == null || value.isNull() ? "" : value.asText();
+    }
+
+    @Nullable
+    private static String tags(long line, @Nullable JsonNode value) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (value.isArray()) {
+            var joined = new StringBuilder();
+            for (var tag : value) {
+                if (!tag.isValueNode()) {
+                    throw new CardRecordException(line, "Las etiquetas deben ser texto");
+                }
+                if (!joined.isEmpty()) {
+                    joined.append(',');
+                }
+                joined.append(tag.asText());
+            }
+            return joined.toString();
+        }
+        if (!value.isValueNode()) {
+            throw new CardRecordException(line, "Las etiquetas deben ser texto o un array de textos");
+        }
+        return value.asText();
+    }
+
+    private static boolean latex(long line, @Nullable JsonNode value) {
+        if (value == null || value.isNull()) {
+            return false;
+        }
+        if (!value.isBoolean()) {
+            throw new CardRecordException(line, "El campo latex debe ser booleano");
+        }
+        return value.booleanValue();
+    }
+}
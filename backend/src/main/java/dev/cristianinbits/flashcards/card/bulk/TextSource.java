@@ -0,0 +1,114 @@
+package dev.cristianinbits.flashcards.card.bulk;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Lectura de texto UTF-8 carácter a carácter con número de línea y un carácter
+ * de retroceso. Descarta la marca BOM inicial.
+ */
+final class TextSource implements Closeable {
+
+    private static final int BUFFER_CHARS = 64 * 1024;
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private final StringBuilder lineBuffer = new StringBuilder();
+    private long line = 1;
+    private int pushedBack = NONE;
+
+    TextSource(InputStream in) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_CHARS);
+        int first = reader.read();
+        if (first != '\uFEFF' && first != -1) {
+            pushedBack = first;
+        }
+    }
+
+    /** @return línea (desde 1) del siguiente carácter */
+    long line() {
+        return line;
+    }
+
+    /** @return siguiente carácter, o {@code -1} al final */
+    int read() throws IOException {
+        int c;
+        if (pushedBack != NONE) {
+            c = pushedBack;
+            pushedBack = NONE;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    /**
+     * Devuelve un carácter para que lo entregue la siguiente llamada a
+     * {@link #read()}.
+     *
+     * @param c carácter leído por última vez
+     */
+    void unread(int c) {
+        if (c == -1) {
+            return;
+        }
+        if (c == '\n') {
+            line--;
+        }
+        pushedBack = c;
+    }
+
+    /**
+     * Lee una línea sin el terminador ({@code \n} o {@code \r\n}).
+     *
+     * @param maxChars longitud máxima; el resto de una línea más larga se
+     *                 descarta sin acumularlo
+     * @return línea leída, o {@code null} al final
+     * @throws CardRecordException si la línea supera {@code maxChars}
+     */
+    @Nullable
+    String readLine(int maxChars) throws IOException {
+        long start = line;
+        lineBuffer.setLength(0);
+        boolean any = false;
+        boolean overflow = false;
+        int c;
+        while ((c = read()) != -1) {
+            any = true;
+            if (c == '\n') {
+                break;
+            }
+            if (lineBuffer.length() < maxChars) {
+                lineBuffer.append((char) c);
+            } else {
+                overflow = true;
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        if (overflow) {
+            throw new CardRecordException(start, "Registro demasiado largo (máximo " + maxChars + " caracteres)");
+        }
+        int len = lineBuffer.length();
+        if (len > 0 && lineBuffer.charAt(len - 1) == '\r') {
+            lineBuffer.setLength(len - 1);
+        }
+        return lineBuffer.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,28 @@
+package dev.cristianinbits.flashcards.card.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Propiedades de la exportación de mazos (prefijo {@code flashcards.export}).
+ *
+ * @param fetchSize        filas que el cursor JDBC trae de la base de datos en
+ *                         cada viaje; limita la memoria usada con independencia
+ *                         del tamaño del mazo
+ * @param maxConcurrent    exportaciones simultáneas por nodo; cada una ocupa
+ *                         una conexión del pool mientras dura la descarga
+ * @param statementTimeout {@code statement_timeout} de la consulta de
+ *                         exportación
+ * @param idleTimeout      {@code idle_in_transaction_session_timeout} de la
+ *                         transacción: tiempo máximo que puede quedar parada
+ *                         esperando a un cliente lento
+ */
+@ConfigurationProperties(prefix = "flashcards.export")
+public record CardExportProperties(
+        @DefaultValue("1000") int fetchSize,
+        @DefaultValue("4") int maxConcurrent,
+        @DefaultValue("10m") Duration statementTimeout,
+        @DefaultValue("1m") Duration idleTimeout
+) { }
@@ -0,0 +1,26 @@
+package dev.cristianinbits.flashcards.card.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Propiedades de la importación masiva de tarjetas (prefijo
+ * {@code flashcards.import}).
+ *
+ * @param batchSize      tarjetas por lote; cada lote se inserta con JDBC
+ *                       batching y se confirma en su propia transacción
+ * @param maxRecordChars longitud máxima de un registro del fichero; los
+ *                       registros más largos se descartan sin acumularlos en
+ *                       memoria
+ * @param maxErrors      errores por línea que se conservan en el informe (el
+ *                       recuento total no tiene límite)
+ * @param keepFinished   importaciones terminadas que se conservan para su
+ *                       consulta
+ */
+@ConfigurationProperties(prefix = "flashcards.import")
+public record CardImportProperties(
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("65536") int maxRecordChars,
+        @DefaultValue("1000") int maxErrors,
+        @DefaultValue("50") int keepFinished
+) { }
@@ -0,0 +1,28 @@
+package dev.cristianinbits.flashcards.card.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Propiedades del índice invertido en memoria para la búsqueda de tarjetas
+ * (prefijo {@code flashcards.search.index}).
+ *
+ * @param enabled         si es {@code true}, el índice se construye al arrancar
+ *                        y atiende {@code mode=index} y la búsqueda global
+ * @param fetchSize       filas por lote en el recorrido inicial de
+ *                        {@code cards}
+ * @param maxGarbageRatio proporción de documentos obsoletos (tarjetas editadas
+ *                        o borradas) a partir de la cual se reconstruye el
+ *                        índice desde la base de datos
+ * @param minPrefixLength longitud mínima de una palabra de búsqueda para
+ *                        tratarla como prefijo; las más cortas solo casan
+ *                        con el término exacto, para no recorrer casi todo el
+ *                        vocabulario bajo el cerrojo de lectura
+ */
+@ConfigurationProperties(prefix = "flashcards.search.index")
+public record SearchIndexProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1000") int fetchSize,
+        @DefaultValue("0.5") double maxGarbageRatio,
+        @DefaultValue("3") int minPrefixLength
+) { }
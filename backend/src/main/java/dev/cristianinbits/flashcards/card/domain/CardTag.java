@@ -0,0 +1,59 @@
+package dev.cristianinbits.flashcards.card.domain;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Etiqueta normalizada de una tarjeta (tabla {@code card_tags}).
+ *
+ * Cada fila es una etiqueta de la lista separada por comas de
+ * {@link Card#getTags()}, recortada y en minúsculas. La tabla la mantiene un
+ * trigger de base de datos al insertar o actualizar la tarjeta, por lo que la
+ * entidad es de solo lectura; se usa para filtrar por etiqueta exacta y para
+ * contar tarjetas por etiqueta.
+ */
+@Entity
+@Table(name = "card_tags")
+@IdClass(CardTag.Key.class)
+@Immutable
+@Getter
+@NoArgsConstructor
+public class CardTag {
+
+    /** Tarjeta etiquetada. */
+    @Id
+    @Column(name = "card_id", nullable = false)
+    private UUID cardId;
+
+    /** Etiqueta normalizada. */
+    @Id
+    @Column(name = "tag", nullable = false)
+    private String tag;
+
+    /** Mazo de la tarjeta, copiado para filtrar y agrupar por mazo. */
+    @Column(name = "deck_id", nullable = false)
+    private UUID deckId;
+
+    /** Clave compuesta {@code (cardId, tag)}. */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private UUID cardId;
+        private String tag;
+    }
+}
@@ -0,0 +1,10 @@
+package dev.cristianinbits.flashcards.card.dto;
+
+/**
+ * Error en una línea de un fichero de importación.
+ *
+ * @param line    línea (desde 1) en la que empieza el registro
+ * @param message descripción del error
+ */
+public record CardImportErrorDto(long line, String message) {
+}
@@ -0,0 +1,37 @@
+package dev.cristianinbits.flashcards.card.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Estado de una importación masiva de tarjetas, en curso o terminada.
+ *
+ * @param id              identificador de la importación
+ * @param deckId          mazo de destino
+ * @param format          formato del fichero
+ * @param state           {@code RUNNING}, {@code COMPLETED} o {@code FAILED}
+ * @param read            registros leídos (válidos o no)
+ * @param imported        tarjetas creadas y confirmadas
+ * @param failed          registros descartados por error
+ * @param errors          primeros errores por línea
+ * @param errorsTruncated si hay más errores que los incluidos en
+ *                        {@code errors}
+ * @param message         causa del fallo de una importación {@code FAILED}
+ * @param startedAt       inicio de la importación
+ * @param finishedAt      fin de la importación (nulo si sigue en curso)
+ */
+public record CardImportReportDto(
+        UUID id,
+        UUID deckId,
+        String format,
+        String state,
+        long read,
+        long imported,
+        long failed,
+        List<CardImportErrorDto> errors,
+        boolean errorsTruncated,
+        String message,
+        OffsetDateTime startedAt,
+        OffsetDateTime finishedAt) {
+}
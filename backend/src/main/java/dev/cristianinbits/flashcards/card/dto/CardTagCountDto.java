@@ -0,0 +1,10 @@
+package dev.cristianinbits.flashcards.card.dto;
+
+/**
+ * Número de tarjetas de un mazo con una etiqueta concreta.
+ *
+ * @param tag   etiqueta normalizada (en minúsculas)
+ * @param count número de tarjetas que la tienen
+ */
+public record CardTagCountDto(String tag, long count) {
+}
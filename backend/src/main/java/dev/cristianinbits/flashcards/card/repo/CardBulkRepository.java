@@ -0,0 +1,103 @@
+package dev.cristianinbits.flashcards.card.repo;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Inserción masiva de tarjetas con JDBC batching, sin pasar por el contexto de
+ * persistencia de JPA.
+ *
+ * Cada tarjeta se inserta junto con su estado SRS inicial; {@code deck_id} de
+ * {@code card_srs_state} y las filas de {@code card_tags} los rellenan los
+ * triggers de las migraciones V011 y V014. Con
+ * {@code reWriteBatchedInserts=true} el driver de PostgreSQL agrupa cada lote
+ * en sentencias {@code INSERT} multi-fila.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CardBulkRepository {
+
+    private static final String INSERT_CARD = """
+            INSERT INTO cards (id, deck_id, front, back, tags, latex, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_SRS = """
+            INSERT INTO card_srs_state (card_id, due_at, interval_days, ease_factor, repetitions, last_result, updated_at)
+            VALUES (?, ?, 0, ?, 0, 0, ?)
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * Tarjeta nueva ya validada y normalizada.
+     *
+     * @param id        identificador asignado
+     * @param front     anverso
+     * @param back      reverso
+     * @param tags      etiquetas normalizadas
+     * @param latex     si contiene LaTeX
+     * @param createdAt fecha de creación
+     */
+    public record NewCard(UUID id, String front, String back, String tags, boolean latex,
+            OffsetDateTime createdAt) {
+    }
+
+    /**
+     * Inserta un lote de tarjetas y su estado SRS inicial (pendientes desde
+     * {@code dueAt}). Debe ejecutarse dentro de una transacción para que las
+     * dos tablas queden consistentes.
+     *
+     * @param deckId      mazo de destino
+     * @param cards       tarjetas del lote
+     * @param initialEase factor de facilidad inicial, en centésimas
+     * @param dueAt       vencimiento inicial
+     */
+    public void insert(UUID deckId, List<NewCard> cards, int initialEase, OffsetDateTime dueAt) {
+        jdbc.batchUpdate(INSERT_CARD, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                var c = cards.get(i);
+                ps.setObject(1, c.id());
+                ps.setObject(2, deckId);
+                ps.setString(3, c.front());
+                ps.setString(4, c.back());
+                ps.setString(5, c.tags());
+                ps.setBoolean(6, c.latex());
+                ps.setObject(7, c.createdAt());
+                ps.setObject(8, c.createdAt());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return cards.size();
+            }
+        });
+
+        var ease = BigDecimal.valueOf(initialEase, 2);
+        jdbc.batchUpdate(INSERT_SRS, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setObject(1, cards.get(i).id());
+                ps.setObject(2, dueAt);
+                ps.setBigDecimal(3, ease);
+                ps.setObject(4, dueAt);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return cards.size();
+            }
+        });
+    }
+}
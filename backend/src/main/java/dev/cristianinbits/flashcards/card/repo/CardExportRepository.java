@@ -0,0 +1,122 @@
+package dev.cristianinbits.flashcards.card.repo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+import dev.cristianinbits.flashcards.card.bulk.CardExportRow;
+import dev.cristianinbits.flashcards.card.config.CardExportProperties;
+import dev.cristianinbits.flashcards.card.dto.CardDto;
+import dev.cristianinbits.flashcards.review.dto.CardSrsStateDto;
+
+/**
+ * Lectura en streaming de las tarjetas de un mazo para su exportación.
+ *
+ * Usa un cursor JDBC de solo avance con un {@code fetchSize} fijo: el driver de
+ * PostgreSQL trae las filas por bloques en lugar de materializar el resultado
+ * completo, siempre que la consulta se ejecute dentro de una transacción (sin
+ * autocommit). Las filas se recorren por el índice
+ * {@code (deck_id, created_at, id)} y no pasan por el contexto de persistencia.
+ */
+@Repository
+public class CardExportRepository {
+
+    private static final String CARDS = """
+            SELECT c.id, c.deck_id, c.front, c.back, c.tags, c.latex, c.created_at, c.updated_at
+            FROM cards c
+            WHERE c.deck_id = ?
+            ORDER BY c.created_at, c.id
+            """;
+
+    private static final String CARDS_WITH_SRS = """
+            SELECT c.id, c.deck_id, c.front, c.back, c.tags, c.latex, c.created_at, c.updated_at,
+                   s.due_at, s.interval_days, s.ease_factor, s.repetitions, s.last_result,
+                   s.updated_at AS srs_updated_at
+            FROM cards c
+            LEFT JOIN card_srs_state s ON s.card_id = c.id
+            WHERE c.deck_id = ?
+            ORDER BY c.created_at, c.id
+            """;
+
+    /** Receptor de filas que puede fallar al escribirlas. */
+    @FunctionalInterface
+    public interface RowSink {
+        void accept(CardExportRow row) throws IOException;
+    }
+
+    private final JdbcTemplate jdbc;
+    private final String timeouts;
+
+    /**
+     * @param dataSource origen de datos
+     * @param properties configuración de la exportación
+     */
+    public CardExportRepository(DataSource dataSource, CardExportProperties properties) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(Math.max(1, properties.fetchSize()));
+        this.timeouts = "SET LOCAL statement_timeout = " + Math.max(1, properties.statementTimeout().toMillis())
+                + "; SET LOCAL idle_in_transaction_session_timeout = "
+                + Math.max(1, properties.idleTimeout().toMillis());
+    }
+
+    /**
+     * Recorre las tarjetas de un mazo por orden de creación. Debe llamarse
+     * dentro de una transacción de solo lectura; limita antes la duración de
+     * la consulta y la espera entre lecturas del cursor con {@code SET LOCAL},
+     * de modo que los límites caen con la transacción.
+     *
+     * @param deckId  identificador del mazo
+     * @param withSrs si se incluye el estado SRS de cada tarjeta
+     * @param sink    receptor de cada fila; si lanza una excepción, el recorrido
+     *                se interrumpe
+     * @throws UncheckedIOException si el receptor falla al escribir
+     */
+    public void stream(UUID deckId, boolean withSrs, RowSink sink) {
+        jdbc.execute(timeouts);
+        jdbc.query(withSrs ? CARDS_WITH_SRS : CARDS, rs -> {
+            var row = new CardExportRow(toCard(rs), withSrs ? toSrs(rs) : null);
+            try {
+                sink.accept(row);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, deckId);
+    }
+
+    private static CardDto toCard(ResultSet rs) throws SQLException {
+        return new CardDto(
+                rs.getObject("id", UUID.class),
+                rs.getObject("deck_id", UUID.class),
+                rs.getString("front"),
+                rs.getString("back"),
+                rs.getString("tags"),
+                rs.getBoolean("latex"),
+                rs.getObject("created_at", OffsetDateTime.class),
+                rs.getObject("updated_at", OffsetDateTime.class));
+    }
+
+    @Nullable
+    private static CardSrsStateDto toSrs(ResultSet rs) throws SQLException {
+        var dueAt = rs.getObject("due_at", OffsetDateTime.class);
+        if (dueAt == null) {
+            return null;
+        }
+        return new CardSrsStateDto(
+                rs.getObject("id", UUID.class),
+                dueAt,
+                rs.getInt("interval_days"),
+                rs.getBigDecimal("ease_factor"),
+                rs.getInt("repetitions"),
+                rs.getShort("last_result"),
+                rs.getObject("srs_updated_at", OffsetDateTime.class));
+    }
+}
@@ -1,9 +1,15 @@
 package dev.cristianinbits.flashcards.card.repo;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -11,6 +17,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import dev.cristianinbits.flashcards.card.domain.Card;
+import dev.cristianinbits.flashcards.card.dto.CardDto;
 
 /**
  * Repositorio JPA para la entidad {@link Card}.
@@ -22,6 +29,61 @@ import dev.cristianinbits.flashcards.card.domain.Card;
  */
 public interface CardRepository extends JpaRepository<Card, UUID> {
 
+  /** Filtro de búsqueda compartido por las variantes de {@link #search}. */
+  String SEARCH_FILTER = """
+      c.deck.id = :deckId
+        AND (:qPattern IS NULL OR LOWER(c.front) LIKE :qPattern OR LOWER(c.back) LIKE :qPattern)
+        AND (:tag IS NULL OR EXISTS (
+              SELECT 1 FROM CardTag t WHERE t.cardId = c.id AND t.tag = :tag))
+      """;
+
+  /**
+   * Proyección de los listados: construye {@link CardDto} directamente desde
+   * las columnas, sin entidades gestionadas (ni instantáneas para el
+   * dirty-checking ni proxies de {@code deck}, cuyo id sale de la FK).
+   */
+  String DTO_SELECT = """
+      SELECT new dev.cristianinbits.flashcards.card.dto.CardDto(
+          c.id, c.deck.id, c.front, c.back, c.tags, c.latex, c.createdAt, c.updatedAt)
+      FROM Card c
+      WHERE\s""";
+
+  /** Recuento de las tarjetas de un mazo, para {@link #findDtoByDeck}. */
+  String DECK_COUNT = "SELECT COUNT(c) FROM Card c WHERE c.deck.id = :deckId";
+
+  /** Recuento de {@link #search}. */
+  String SEARCH_COUNT = "SELECT COUNT(c) FROM Card c WHERE " + SEARCH_FILTER;
+
+  /**
+   * Condición de cursor descendente sobre {@code (createdAt, id)}. La primera
+   * comparación acota el rango del índice; la segunda solo desempata instantes
+   * iguales.
+   */
+  String AFTER_DESC = """
+       AND c.createdAt <= :afterAt
+       AND (c.createdAt < :afterAt OR c.id < :afterId)
+      ORDER BY c.createdAt DESC, c.id DESC
+      """;
+
+  /** Condición de cursor ascendente sobre {@code (createdAt, id)}. */
+  String AFTER_ASC = """
+       AND c.createdAt >= :afterAt
+       AND (c.createdAt > :afterAt OR c.id > :afterId)
+      ORDER BY c.createdAt ASC, c.id ASC
+      """;
+
+  /**
+   * Obtiene una tarjeta junto con su mazo en una sola consulta.
+   *
+   * Lo usa el registro de repasos, que necesita el algoritmo SRS del mazo y
+   * evita así una segunda consulta al inicializar el proxy del mazo.
+   *
+   * @param id identificador de la tarjeta
+   * @return tarjeta con el mazo inicializado, si existe
+   */
+  @Query("SELECT c FROM Card c JOIN FETCH c.deck WHERE c.id = :id")
+  Optional<Card> findWithDeckById(@Param("id") UUID id);
+
   /**
    * Obtiene todas las tarjetas asociadas a un mazo específico.
    *
@@ -29,31 +91,139 @@ public interface CardRepository extends JpaRepository<Card, UUID> {
    * @param pageable configuración de paginación y ordenación
    * @return página de tarjetas pertenecientes al mazo indicado
    */
-  Page<Card> findByDeck_Id(UUID deckId, Pageable pageable);
+  @Query(value = DTO_SELECT + "c.deck.id = :deckId", countQuery = DECK_COUNT)
+  Page<CardDto> findDtoByDeck(@Param("deckId") UUID deckId, Pageable pageable);
+
+  /**
+   * Variante de {@link #findDtoByDeck} sin consulta de recuento: pide una fila
+   * más de las solicitadas para saber si hay página siguiente.
+   *
+   * @param deckId   identificador del mazo
+   * @param pageable configuración de paginación y ordenación
+   * @return porción de tarjetas pertenecientes al mazo indicado
+   */
+  @Query(DTO_SELECT + "c.deck.id = :deckId")
+  Slice<CardDto> findDtoSliceByDeck(@Param("deckId") UUID deckId, Pageable pageable);
+
+  /**
+   * Obtiene varias tarjetas por identificador, en cualquier orden. Los
+   * identificadores que no existen se omiten.
+   *
+   * @param ids identificadores de tarjeta
+   * @return tarjetas encontradas
+   */
+  @Query(DTO_SELECT + "c.id IN :ids")
+  List<CardDto> findDtosByIdIn(@Param("ids") Collection<UUID> ids);
+
+  /**
+   * Paginación por cursor de las tarjetas de un mazo en orden
+   * {@code createdAt DESC, id DESC}: devuelve las posteriores a la posición
+   * indicada sin recorrer las anteriores.
+   *
+   * @param deckId  identificador del mazo
+   * @param afterAt {@code createdAt} del último elemento ya devuelto
+   * @param afterId identificador del último elemento ya devuelto
+   * @param limit   número máximo de filas
+   * @return tarjetas siguientes a la posición indicada
+   */
+  @Query(DTO_SELECT + "c.deck.id = :deckId" + AFTER_DESC)
+  List<CardDto> findByDeckAfterDesc(
+      @Param("deckId") UUID deckId,
+      @Param("afterAt") OffsetDateTime afterAt,
+      @Param("afterId") UUID afterId,
+      Limit limit);
+
+  /**
+   * Como {@link #findByDeckAfterDesc} en orden {@code createdAt ASC, id ASC}.
+   *
+   * @param deckId  identificador del mazo
+   * @param afterAt {@code createdAt} del último elemento ya devuelto
+   * @param afterId identificador del último elemento ya devuelto
+   * @param limit   número máximo de filas
+   * @return tarjetas siguientes a la posición indicada
+   */
+  @Query(DTO_SELECT + "c.deck.id = :deckId" + AFTER_ASC)
+  List<CardDto> findByDeckAfterAsc(
+      @Param("deckId") UUID deckId,
+      @Param("afterAt") OffsetDateTime afterAt,
+      @Param("afterId") UUID afterId,
+      Limit limit);
 
   /**
    * Realiza una búsqueda avanzada de tarjetas dentro de un mazo según criterios
    * opcionales.
    * 
    * Permite filtrar por coincidencias parciales en el anverso o reverso del
-   * texto, así como por etiquetas asociadas. Los filtros son insensibles a
-   * mayúsculas/minúsculas.
+   * texto, así como por etiqueta exacta (tabla {@code card_tags}, con índice).
+   * Los filtros son insensibles a mayúsculas/minúsculas.
    *
    * @param deckId     identificador del mazo al que pertenecen las tarjetas
    * @param qPattern   patrón de búsqueda para el texto (puede ser nulo)
-   * @param tagPattern patrón de búsqueda para las etiquetas (puede ser nulo)
+   * @param tag        etiqueta exacta normalizada (puede ser nula)
    * @param pageable   configuración de paginación y ordenación
    * @return página de resultados que cumplen los criterios de búsqueda
    */
-  @Query("""
-      SELECT c FROM Card c
-      WHERE c.deck.id = :deckId
-        AND (:qPattern IS NULL OR LOWER(c.front) LIKE :qPattern OR LOWER(c.back) LIKE :qPattern)
-        AND (:tagPattern IS NULL OR (c.tags IS NOT NULL AND LOWER(c.tags) LIKE :tagPattern))
-      """)
-  Page<Card> search(
+  @Query(value = DTO_SELECT + SEARCH_FILTER, countQuery = SEARCH_COUNT)
+  Page<CardDto> search(
+      @Param("deckId") UUID deckId,
+      @Param("qPattern") String qPattern,
+      @Param("tag") String tag,
+      Pageable pageable);
+
+  /**
+   * Variante de {@link #search} sin consulta de recuento.
+   *
+   * @param deckId     identificador del mazo al que pertenecen las tarjetas
+   * @param qPattern   patrón de búsqueda para el texto (puede ser nulo)
+   * @param tag        etiqueta exacta normalizada (puede ser nula)
+   * @param pageable   configuración de paginación y ordenación
+   * @return porción de resultados que cumplen los criterios de búsqueda
+   */
+  @Query(DTO_SELECT + SEARCH_FILTER)
+  Slice<CardDto> searchSlice(
       @Param("deckId") UUID deckId,
       @Param("qPattern") String qPattern,
-      @Param("tagPattern") String tagPattern,
+      @Param("tag") String tag,
       Pageable pageable);
+
+  /**
+   * Variante de {@link #search} con paginación por cursor en orden
+   * {@code createdAt DESC, id DESC}.
+   *
+   * @param deckId     identificador del mazo al que pertenecen las tarjetas
+   * @param qPattern   patrón de búsqueda para el texto (puede ser nulo)
+   * @param tag        etiqueta exacta normalizada (puede ser nula)
+   * @param afterAt    {@code createdAt} del último elemento ya devuelto
+   * @param afterId    identificador del último elemento ya devuelto
+   * @param limit      número máximo de filas
+   * @return resultados siguientes a la posición indicada
+   */
+  @Query(DTO_SELECT + SEARCH_FILTER + AFTER_DESC)
+  List<CardDto> searchAfterDesc(
+      @Param("deckId") UUID deckId,
+      @Param("qPattern") String qPattern,
+      @Param("tag") String tag,
+      @Param("afterAt") OffsetDateTime afterAt,
+      @Param("afterId") UUID afterId,
+      Limit limit);
+
+  /**
+   * Como {@link #searchAfterDesc} en orden {@code createdAt ASC, id ASC}.
+   *
+   * @param deckId     identificador del mazo al que pertenecen las tarjetas
+   * @param qPattern   patrón de búsqueda para el texto (puede ser nulo)
+   * @param tag        etiqueta exacta normalizada (puede ser nula)
+   * @param afterAt    {@code createdAt} del último elemento ya devuelto
+   * @param afterId    identificador del último elemento ya devuelto
+   * @param limit      número máximo de filas
+   * @return resultados siguientes a la posición indicada
+   */
+  @Query(DTO_SELECT + SEARCH_FILTER + AFTER_ASC)
+  List<CardDto> searchAfterAsc(
+      @Param("deckId") UUID deckId,
+      @Param("qPattern") String qPattern,
+      @Param("tag") String tag,
+      @Param("afterAt") OffsetDateTime afterAt,
+      @Param("afterId") UUID afterId,
+      Limit limit);
 }
@@ -0,0 +1,168 @@
+package dev.cristianinbits.flashcards.card.repo;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+import dev.cristianinbits.flashcards.card.dto.CardDto;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Búsqueda de texto completo de tarjetas con PostgreSQL ({@code tsvector} /
+ * {@code tsquery}), ordenada por relevancia.
+ *
+ * Cada {@link Language} usa la expresión indexada correspondiente (ver
+ * migración V013): la columna generada {@code search_vector} para
+ * {@code simple} y un índice de expresión para las configuraciones con
+ * stemming. La expresión de la consulta debe coincidir literalmente con la del
+ * índice para que el planificador pueda usarlo.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CardSearchRepository {
+
+    /** Configuraciones de texto soportadas, cada una con su expresión indexada. */
+    public enum Language {
+        SIMPLE("simple", "c.search_vector"),
+        SPANISH("spanish", "to_tsvector('spanish', c.front || ' ' || c.back)"),
+        ENGLISH("english", "to_tsvector('english', c.front || ' ' || c.back)");
+
+        private final String config;
+        private final String vector;
+
+        Language(String config, String vector) {
+            this.config = config;
+            this.vector = vector;
+        }
+
+        /**
+         * @param value nombre de la configuración (insensible a mayúsculas); nulo
+         *              para la configuración por defecto
+         * @return configuración correspondiente
+         * @throws IllegalArgumentException si no está soportada
+         */
+        public static Language parse(@Nullable String value) {
+            if (value == null || value.isBlank()) {
+                return SIMPLE;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Idioma de búsqueda no soportado: " + value);
+            }
+        }
+    }
+
+    /** Separadores entre términos: todo lo que no sea letra o dígito. */
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /** Máximo de términos que se trasladan a la {@code tsquery}. */
+    private static final int MAX_TERMS = 16;
+
+    private static final String FILTER = """
+            FROM cards c, to_tsquery(CAST(:config AS regconfig), :tsq) q
+            WHERE c.deck_id = :deckId
+              AND %1$s @@ q
+              AND (CAST(:tag AS text) IS NULL OR EXISTS (
+                    SELECT 1 FROM card_tags t WHERE t.card_id = c.id AND t.tag = :tag))
+            """;
+
+    private static final String SELECT = """
+            SELECT c.id, c.deck_id, c.front, c.back, c.tags, c.latex, c.created_at, c.updated_at
+            """ + FILTER + """
+            ORDER BY ts_rank_cd(%1$s, q) DESC, c.created_at DESC, c.id DESC
+            LIMIT :limit OFFSET :offset
+            """;
+
+    private static final String COUNT = "SELECT count(*) " + FILTER;
+
+    private static final RowMapper<CardDto> CARD_ROW = (rs, i) -> new CardDto(
+            rs.getObject("id", UUID.class),
+            rs.getObject("deck_id", UUID.class),
+            rs.getString("front"),
+            rs.getString("back"),
+            rs.getString("tags"),
+            rs.getBoolean("latex"),
+            rs.getObject("created_at", OffsetDateTime.class),
+            rs.getObject("updated_at", OffsetDateTime.class));
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Convierte el texto del usuario en una {@code tsquery} que exige todos los
+     * términos ({@code &}). Los términos se reducen a letras y dígitos, por lo que
+     * el resultado no contiene operadores de {@code tsquery} introducidos por el
+     * usuario.
+     *
+     * @param text   texto de búsqueda
+     * @param prefix si es {@code true}, cada término casa también como prefijo
+     *               ({@code term:*}), útil para búsqueda mientras se escribe
+     * @return {@code tsquery} en formato texto, o {@code null} si no hay términos
+     */
+    @Nullable
+    public static String toTsQuery(@Nullable String text, boolean prefix) {
+        if (text == null) {
+            return null;
+        }
+        var terms = new ArrayList<String>();
+        for (var t : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!t.isEmpty() && terms.size() < MAX_TERMS) {
+                terms.add(prefix ? t + ":*" : t);
+            }
+        }
+        return terms.isEmpty() ? null : String.join(" & ", terms);
+    }
+
+    /**
+     * Busca tarjetas de un mazo por relevancia.
+     *
+     * @param deckId     identificador del mazo
+     * @param tsQuery    consulta generada con {@link #toTsQuery(String, boolean)}
+     * @param language   configuración de texto
+     * @param tag        etiqueta exacta normalizada (puede ser nula)
+     * @param offset     filas a saltar
+     * @param limit      número máximo de filas
+     * @return tarjetas ordenadas por relevancia descendente
+     */
+    public List<CardDto> search(UUID deckId, String tsQuery, Language language, @Nullable String tag,
+            long offset, int limit) {
+        var params = params(deckId, tsQuery, language, tag)
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+        return jdbc.query(SELECT.formatted(language.vector), params, CARD_ROW);
+    }
+
+    /**
+     * Cuenta las tarjetas que casan con la búsqueda.
+     *
+     * @param deckId     identificador del mazo
+     * @param tsQuery    consulta generada con {@link #toTsQuery(String, boolean)}
+     * @param language   configuración de texto
+     * @param tag        etiqueta exacta normalizada (puede ser nula)
+     * @return número de tarjetas
+     */
+    public long count(UUID deckId, String tsQuery, Language language, @Nullable String tag) {
+        Long n = jdbc.queryForObject(COUNT.formatted(language.vector),
+                params(deckId, tsQuery, language, tag), Long.class);
+        return (n == null) ? 0 : n;
+    }
+
+    private static MapSqlParameterSource params(UUID deckId, String tsQuery, Language language,
+            @Nullable String tag) {
+        return new MapSqlParameterSource()
+                .addValue("deckId", deckId)
+                .addValue("config", language.config)
+                .addValue("tsq", tsQuery)
+                .addValue("tag", tag);
+    }
+}
@@ -0,0 +1,38 @@
+package dev.cristianinbits.flashcards.card.repo;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import dev.cristianinbits.flashcards.card.domain.CardTag;
+import dev.cristianinbits.flashcards.card.dto.CardTagCountDto;
+
+/**
+ * Repositorio JPA de solo lectura para las etiquetas normalizadas
+ * ({@link CardTag}).
+ */
+public interface CardTagRepository extends JpaRepository<CardTag, CardTag.Key> {
+
+    /**
+     * Cuenta las tarjetas de un mazo por etiqueta, de la más usada a la menos.
+     *
+     * Se resuelve sobre el índice {@code (deck_id, tag)} sin leer la tabla
+     * {@code cards}.
+     *
+     * @param deckId identificador del mazo
+     * @param limit  número máximo de etiquetas
+     * @return etiquetas con su número de tarjetas
+     */
+    @Query("""
+        SELECT new dev.cristianinbits.flashcards.card.dto.CardTagCountDto(t.tag, COUNT(t))
+        FROM CardTag t
+        WHERE t.deckId = :deckId
+        GROUP BY t.tag
+        ORDER BY COUNT(t) DESC, t.tag ASC
+        """)
+    List<CardTagCountDto> countByTag(@Param("deckId") UUID deckId, Limit limit);
+}
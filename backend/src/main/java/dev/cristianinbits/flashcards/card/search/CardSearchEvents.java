@@ -0,0 +1,26 @@
+package dev.cristianinbits.flashcards.card.search;
+
+import java.util.UUID;
+
+/**
+ * Eventos de aplicación que mantienen {@link CardSearchIndex}. Se publican
+ * dentro de la transacción que hace el cambio y se aplican solo tras el
+ * commit. Los borrados de tarjetas y mazos se reciben a través de
+ * {@code DueIndexEvents}.
+ */
+public final class CardSearchEvents {
+
+    private CardSearchEvents() {
+    }
+
+    /**
+     * Tarjeta creada o editada.
+     *
+     * @param id     tarjeta
+     * @param deckId mazo de la tarjeta
+     * @param front  anverso
+     * @param back   reverso
+     * @param tags   etiquetas separadas por comas
+     */
+    public record CardSaved(UUID id, UUID deckId, String front, String back, String tags) { }
+}
@@ -0,0 +1,253 @@
+package dev.cristianinbits.flashcards.card.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import dev.cristianinbits.flashcards.card.config.SearchIndexProperties;
+import dev.cristianinbits.flashcards.card.search.CardSearchEvents.CardSaved;
+import dev.cristianinbits.flashcards.review.due.DueIndexEvents.CardRemoved;
+import dev.cristianinbits.flashcards.review.due.DueIndexEvents.DeckRemoved;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Motor de búsqueda en memoria sobre el anverso, el reverso y las etiquetas de
+ * todas las tarjetas ({@link InvertedIndex}).
+ *
+ * Si está activo ({@code flashcards.search.index.enabled}), se construye en
+ * segundo plano al arrancar con un recorrido en streaming de {@code cards} y
+ * después se mantiene con los cambios confirmados en este nodo y con los que
+ * notifican los demás ({@link #refresh(Collection)}). Mientras no
+ * está listo, {@link #isReady()} devuelve {@code false} y los llamantes deben
+ * recurrir a la base de datos.
+ *
+ * Cuando la proporción de documentos obsoletos supera
+ * {@code max-garbage-ratio}, se reconstruye desde la base de datos; los cambios
+ * que llegan durante la reconstrucción se aplican a ambos índices para no
+ * perderlos.
+ */
+@Slf4j
+@Component
+public class CardSearchIndex {
+
+    private static final String SCAN = "SELECT id, deck_id, front, back, tags FROM cards ORDER BY created_at, id";
+    private static final String BY_IDS = "SELECT id, deck_id, front, back, tags FROM cards WHERE id = ANY(?)";
+
+    private final SearchIndexProperties properties;
+    private final JdbcTemplate scanJdbc;
+    private final TransactionTemplate readOnlyTx;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean building = new AtomicBoolean();
+
+    private InvertedIndex index;
+    private volatile boolean ready;
+    /** Cambios recibidos durante una reconstrucción, para reaplicarlos al final. */
+    @Nullable
+    private List<Consumer<InvertedIndex>> pending;
+
+    /**
+     * @param properties configuración del índice
+     * @param dataSource origen de datos para el recorrido inicial
+     * @param txManager  gestor de transacciones (el streaming de PostgreSQL
+     *                   requiere una transacción abierta)
+     */
+    public CardSearchIndex(SearchIndexProperties properties, DataSource dataSource,
+            PlatformTransactionManager txManager) {
+        this.properties = properties;
+        this.scanJdbc = new JdbcTemplate(dataSource);
+        this.scanJdbc.setFetchSize(Math.max(1, properties.fetchSize()));
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.index = new InvertedIndex(properties.minPrefixLength());
+    }
+
+    /** @return {@code true} si el índice está activo y construido */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** Lanza la construcción inicial en segundo plano al arrancar. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (properties.enabled()) {
+            rebuildAsync();
+        }
+    }
+
+    /**
+     * Busca tarjetas que contengan cada palabra del texto como prefijo de algún
+     * término (o como término exacto, si es más corta que
+     * {@code min-prefix-length}), de la versión indexada más reciente a la más
+     * antigua.
+     *
+     * @param text   texto de búsqueda
+     * @param deckId mazo al que restringir la búsqueda (nulo para todos)
+     * @param tag    etiqueta exacta normalizada (puede ser nula)
+     * @param offset resultados a saltar
+     * @param limit  número máximo de resultados
+     * @return identificadores de tarjeta
+     * @throws IllegalStateException si el índice no está listo
+     */
+    public List<UUID> search(@Nullable String text, @Nullable UUID deckId, @Nullable String tag, long offset,
+            int limit) {
+        if (!ready) {
+            throw new IllegalStateException("El índice de búsqueda no está disponible");
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(text, deckId, tag, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(CardSaved e) {
+        apply(ix -> ix.upsert(e.id(), e.deckId(), e.front(), e.back(), e.tags()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(CardRemoved e) {
+        apply(ix -> ix.remove(e.cardId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(DeckRemoved e) {
+        apply(ix -> ix.removeDeck(e.deckId()));
+    }
+
+    /**
+     * Vuelve a leer de la base de datos las tarjetas indicadas y las indexa, o
+     * las retira si ya no existen. Se usa con cambios confirmados en otro nodo,
+     * cuyo contenido no viaja en la notificación.
+     *
+     * @param cardIds tarjetas modificadas
+     */
+    public void refresh(Collection<UUID> cardIds) {
+        if (!properties.enabled() || cardIds.isEmpty()) {
+            return;
+        }
+        var missing = new HashSet<>(cardIds);
+        var found = new ArrayList<Consumer<InvertedIndex>>();
+        Object[] ids = cardIds.toArray();
+        scanJdbc.query(con -> {
+            var ps = con.prepareStatement(BY_IDS);
+            ps.setArray(1, con.createArrayOf("uuid", ids));
+            return ps;
+        }, rs -> {
+            UUID id = rs.getObject("id", UUID.class);
+            UUID deckId = rs.getObject("deck_id", UUID.class);
+            String front = rs.getString("front");
+            String back = rs.getString("back");
+            String tags = rs.getString("tags");
+            missing.remove(id);
+            found.add(ix -> ix.upsert(id, deckId, front, back, tags));
+        });
+        found.forEach(this::apply);
+        missing.forEach(id -> apply(ix -> ix.remove(id)));
+    }
+
+    /**
+     * Reconstruye el índice desde la base de datos, p. ej. tras perder
+     * notificaciones de otros nodos. Mientras tanto se sigue sirviendo el
+     * índice actual.
+     */
+    public void resync() {
+        if (properties.enabled()) {
+            rebuildAsync();
+        }
+    }
+
+    private void apply(Consumer<InvertedIndex> change) {
+        if (!properties.enabled()) {
+            return;
+        }
+        boolean rebuild;
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (pending != null) {
+                pending.add(change);
+            }
+            rebuild = ready && index.garbageRatio() > properties.maxGarbageRatio();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (rebuild) {
+            rebuildAsync();
+        }
+    }
+
+    private void rebuildAsync() {
+        if (!building.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofPlatform().name("card-search-index").daemon().start(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException ex) {
+                log.error("No se pudo construir el índice de búsqueda de tarjetas", ex);
+            } finally {
+                building.set(false);
+            }
+        });
+    }
+
+    private void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.nanoTime();
+        var fresh = new InvertedIndex(properties.minPrefixLength());
+        try {
+            readOnlyTx.executeWithoutResult(tx -> scanJdbc.query(SCAN, rs -> {
+                fresh.upsert(rs.getObject("id", UUID.class), rs.getObject("deck_id", UUID.class),
+                        rs.getString("front"), rs.getString("back"), rs.getString("tags"));
+            }));
+            fresh.trim();
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Los cambios confirmados durante el recorrido pueden no estar en él.
+            pending.forEach(change -> change.accept(fresh));
+            pending = null;
+            index = fresh;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice de búsqueda de tarjetas construido: {} tarjetas en {} ms",
+                fresh.liveCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
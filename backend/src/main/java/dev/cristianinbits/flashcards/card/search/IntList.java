@@ -0,0 +1,86 @@
+package dev.cristianinbits.flashcards.card.search;
+
+import java.util.Arrays;
+
+/**
+ * Lista creciente de enteros sobre un {@code int[]}, usada como lista de
+ * apariciones (postings) de un término. Los documentos se añaden en orden
+ * creciente, por lo que la lista queda ordenada.
+ */
+final class IntList {
+
+    private int[] values;
+    private int size;
+
+    IntList() {
+        this(4);
+    }
+
+    private IntList(int capacity) {
+        this.values = new int[capacity];
+    }
+
+    void add(int value) {
+        if (size > 0 && values[size - 1] == value) {
+            return;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int i) {
+        return values[i];
+    }
+
+    /** @return si la lista contiene {@code value} (búsqueda binaria) */
+    boolean contains(int value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    /** Recorta la capacidad sobrante. */
+    void trim() {
+        if (values.length != size) {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * Unión ordenada y sin repetidos de varias listas.
+     *
+     * @param lists listas a unir
+     * @return lista nueva; la propia lista si solo hay una
+     */
+    static IntList union(IntList[] lists) {
+        if (lists.length == 1) {
+            return lists[0];
+        }
+        var out = new IntList(Math.max(1, totalSize(lists)));
+        int n = 0;
+        for (var l : lists) {
+            System.arraycopy(l.values, 0, out.values, n, l.size);
+            n += l.size;
+        }
+        Arrays.sort(out.values, 0, n);
+        for (int i = 0; i < n; i++) {
+            if (out.size == 0 || out.values[out.size - 1] != out.values[i]) {
+                out.values[out.size++] = out.values[i];
+            }
+        }
+        return out;
+    }
+
+    /** @return suma de los tamaños de las listas */
+    static int totalSize(IntList[] lists) {
+        int total = 0;
+        for (var l : lists) {
+            total += l.size;
+        }
+        return total;
+    }
+}
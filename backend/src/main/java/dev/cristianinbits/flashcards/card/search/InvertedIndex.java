@@ -0,0 +1,318 @@
+package dev.cristianinbits.flashcards.card.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import org.springframework.lang.Nullable;
+
+import dev.cristianinbits.flashcards.common.util.UuidSlotTable;
+
+/**
+ * Índice invertido de tarjetas: término → documentos, con documentos
+ * numerados de forma densa.
+ *
+ * Cada versión de una tarjeta es un documento nuevo; al editarla o borrarla,
+ * el documento anterior solo se marca como no vivo, de modo que las listas de
+ * apariciones se mantienen ordenadas y sin huecos que reordenar. Los documentos
+ * obsoletos se eliminan reconstruyendo el índice (ver
+ * {@link CardSearchIndex}).
+ *
+ * Los términos se guardan en un {@link TreeMap} para resolver búsquedas por
+ * prefijo con un recorrido de rango; las palabras de búsqueda más cortas que
+ * {@code minPrefixLength} solo casan con el término exacto, porque su rango
+ * abarca buena parte del vocabulario. Cada mazo tiene además su propia lista
+ * de documentos, de modo que una búsqueda restringida a un mazo no recorre el
+ * resto del índice. Las tablas tarjeta → documento y mazo →
+ * código son {@link UuidSlotTable} sobre los propios arrays de UUID, sin
+ * objetos por entrada. No es seguro para uso concurrente.
+ */
+final class InvertedIndex {
+
+    /** Separadores entre términos: todo lo que no sea letra o dígito. */
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private long[] msb = new long[1024];
+    private long[] lsb = new long[1024];
+    private int size;
+    private final BitSet live = new BitSet();
+    private long[] deckMsb = new long[16];
+    private long[] deckLsb = new long[16];
+    private IntList[] deckDocs = new IntList[16];
+    private final UuidSlotTable docOf = new UuidSlotTable(new UuidSlotTable.Keys() {
+        @Override
+        public long msb(int doc) {
+            return msb[doc];
+        }
+
+        @Override
+        public long lsb(int doc) {
+            return lsb[doc];
+        }
+    });
+    private final UuidSlotTable deckCodes = new UuidSlotTable(new UuidSlotTable.Keys() {
+        @Override
+        public long msb(int code) {
+            return deckMsb[code];
+        }
+
+        @Override
+        public long lsb(int code) {
+            return deckLsb[code];
+        }
+    });
+    private final TreeMap<String, IntList> terms = new TreeMap<>();
+    private final Map<String, IntList> tags = new HashMap<>();
+    private final int minPrefixLength;
+
+    /**
+     * @param minPrefixLength longitud mínima de una palabra de búsqueda para
+     *                        expandirla como prefijo
+     */
+    InvertedIndex(int minPrefixLength) {
+        this.minPrefixLength = Math.max(1, minPrefixLength);
+    }
+
+    /** @return número de documentos vivos (tarjetas indexadas) */
+    int liveCount() {
+        return docOf.size();
+    }
+
+    /** @return proporción de documentos obsoletos sobre el total */
+    double garbageRatio() {
+        return size == 0 ? 0 : 1.0 - (double) docOf.size() / size;
+    }
+
+    /**
+     * Indexa una tarjeta, sustituyendo su versión anterior si la había.
+     *
+     * @param id     tarjeta
+     * @param deckId mazo de la tarjeta
+     * @param front  anverso
+     * @param back   reverso
+     * @param tagCsv etiquetas separadas por comas
+     */
+    void upsert(UUID id, UUID deckId, String front, String back, @Nullable String tagCsv) {
+        remove(id);
+        int doc = size++;
+        if (doc == msb.length) {
+            int capacity = doc + (doc >> 1);
+            msb = Arrays.copyOf(msb, capacity);
+            lsb = Arrays.copyOf(lsb, capacity);
+        }
+        msb[doc] = id.getMostSignificantBits();
+        lsb[doc] = id.getLeastSignificantBits();
+        deckDocs[deckCode(deckId)].add(doc);
+        live.set(doc);
+        docOf.put(msb[doc], lsb[doc], doc);
+
+        for (var t : tokenize(front)) {
+            terms.computeIfAbsent(t, k -> new IntList()).add(doc);
+        }
+        for (var t : tokenize(back)) {
+            terms.computeIfAbsent(t, k -> new IntList()).add(doc);
+        }
+        if (tagCsv != null) {
+            for (var raw : tagCsv.split(",")) {
+                var tag = raw.trim().toLowerCase(Locale.ROOT);
+                if (!tag.isEmpty()) {
+                    tags.computeIfAbsent(tag, k -> new IntList()).add(doc);
+                    for (var t : tokenize(tag)) {
+                        terms.computeIfAbsent(t, k -> new IntList()).add(doc);
+                    }
+                }
+            }
+        }
+    }
+
+    /** @return código denso del mazo, asignándole uno nuevo si no lo tenía */
+    private int deckCode(UUID deckId) {
+        long hi = deckId.getMostSignificantBits();
+        long lo = deckId.getLeastSignificantBits();
+        int code = deckCodes.get(hi, lo);
+        if (code >= 0) {
+            return code;
+        }
+        code = deckCodes.size();
+        if (code == deckMsb.length) {
+            deckMsb = Arrays.copyOf(deckMsb, code << 1);
+            deckLsb = Arrays.copyOf(deckLsb, code << 1);
+            deckDocs = Arrays.copyOf(deckDocs, code << 1);
+        }
+        deckMsb[code] = hi;
+        deckLsb[code] = lo;
+        deckDocs[code] = new IntList();
+        deckCodes.put(hi, lo, code);
+        return code;
+    }
+
+    /**
+     * Marca como obsoleto el documento vigente de una tarjeta.
+     *
+     * @param id tarjeta
+     */
+    void remove(UUID id) {
+        int doc = docOf.remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (doc >= 0) {
+            live.clear(doc);
+        }
+    }
+
+    /**
+     * Marca como obsoletos todos los documentos de un mazo.
+     *
+     * @param deckId mazo
+     */
+    void removeDeck(UUID deckId) {
+        int code = deckCodes.get(deckId.getMostSignificantBits(), deckId.getLeastSignificantBits());
+        if (code < 0) {
+            return;
+        }
+        var docs = deckDocs[code];
+        for (int i = 0; i < docs.size(); i++) {
+            int doc = docs.get(i);
+            if (live.get(doc)) {
+                live.clear(doc);
+                docOf.remove(msb[doc], lsb[doc]);
+            }
+        }
+    }
+
+    /** Recorta la capacidad sobrante de las listas tras una carga masiva. */
+    void trim() {
+        terms.values().forEach(IntList::trim);
+        tags.values().forEach(IntList::trim);
+        for (int code = 0; code < deckCodes.size(); code++) {
+            deckDocs[code].trim();
+        }
+    }
+
+    /**
+     * Busca tarjetas que contengan, como prefijo de algún término, cada una de
+     * las palabras del texto, devolviendo primero las indexadas más
+     * recientemente. Las palabras más cortas que {@code minPrefixLength} se
+     * buscan como término exacto.
+     *
+     * Cada condición (mazo, etiqueta, cada palabra) es un grupo de listas de
+     * apariciones ordenadas. Se recorre, de la más reciente a la más antigua,
+     * la unión del grupo con menos apariciones y cada candidato se comprueba
+     * con búsqueda binaria en los demás grupos, parando al completar la
+     * página: el coste depende de la condición más selectiva y no del tamaño
+     * del índice.
+     *
+     * @param text   texto de búsqueda (puede ser nulo)
+     * @param deckId mazo al que restringir la búsqueda (nulo para todos)
+     * @param tag    etiqueta exacta normalizada (puede ser nula)
+     * @param offset resultados a saltar
+     * @param limit  número máximo de resultados
+     * @return identificadores de tarjeta
+     */
+    List<UUID> search(@Nullable String text, @Nullable UUID deckId, @Nullable String tag, long offset, int limit) {
+        var result = new ArrayList<UUID>(Math.min(limit, 256));
+        var groups = new ArrayList<IntList[]>();
+        if (deckId != null) {
+            int code = deckCodes.get(deckId.getMostSignificantBits(), deckId.getLeastSignificantBits());
+            if (code < 0) {
+                return result;
+            }
+            groups.add(new IntList[] { deckDocs[code] });
+        }
+        if (tag != null) {
+            var postings = tags.get(tag);
+            if (postings == null) {
+                return result;
+            }
+            groups.add(new IntList[] { postings });
+        }
+        for (var token : tokenize(text)) {
+            IntList[] any;
+            if (token.length() < minPrefixLength) {
+                var postings = terms.get(token);
+                any = postings == null ? new IntList[0] : new IntList[] { postings };
+            } else {
+                any = terms.subMap(token, true, token + Character.MAX_VALUE, false).values()
+                        .toArray(new IntList[0]);
+            }
+            if (any.length == 0) {
+                return result;
+            }
+            groups.add(any);
+        }
+
+        long skipped = 0;
+        if (groups.isEmpty()) {
+            for (int doc = live.previousSetBit(size - 1); doc >= 0 && result.size() < limit;
+                    doc = live.previousSetBit(doc - 1)) {
+                if (skipped++ >= offset) {
+                    result.add(new UUID(msb[doc], lsb[doc]));
+                }
+            }
+            return result;
+        }
+
+        groups.sort((a, b) -> Integer.compare(IntList.totalSize(a), IntList.totalSize(b)));
+        var driver = IntList.union(groups.get(0));
+        // Un grupo con muchas listas se une una vez si eso cuesta menos que
+        // buscar en cada lista por candidato.
+        var checks = new IntList[groups.size() - 1][];
+        for (int g = 1; g < groups.size(); g++) {
+            var lists = groups.get(g);
+            checks[g - 1] = lists.length > 1 && (long) driver.size() * lists.length > IntList.totalSize(lists)
+                    ? new IntList[] { IntList.union(lists) }
+                    : lists;
+        }
+
+        candidates:
+        for (int i = driver.size() - 1; i >= 0 && result.size() < limit; i--) {
+            int doc = driver.get(i);
+            if (!live.get(doc)) {
+                continue;
+            }
+            for (var lists : checks) {
+                if (!containsAny(lists, doc)) {
+                    continue candidates;
+                }
+            }
+            if (skipped++ >= offset) {
+                result.add(new UUID(msb[doc], lsb[doc]));
+            }
+        }
+        return result;
+    }
+
+    private static boolean containsAny(IntList[] lists, int doc) {
+        for (var l : lists) {
+            if (l.contains(doc)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Divide un texto en términos en minúsculas formados por letras y dígitos.
+     *
+     * @param text texto (puede ser nulo)
+     * @return términos distintos, en orden de aparición
+     */
+    static List<String> tokenize(@Nullable String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        var out = new LinkedHashSet<String>();
+        for (var t : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!t.isEmpty()) {
+                out.add(t);
+            }
+        }
+        return List.copyOf(out);
+    }
+}
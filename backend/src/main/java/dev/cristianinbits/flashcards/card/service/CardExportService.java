@@ -0,0 +1,94 @@
+package dev.cristianinbits.flashcards.card.service;
+
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.cristianinbits.flashcards.card.bulk.CardExportFormat;
+import dev.cristianinbits.flashcards.card.bulk.CardExportWriter;
+import dev.cristianinbits.flashcards.card.config.CardExportProperties;
+import dev.cristianinbits.flashcards.card.repo.CardExportRepository;
+import dev.cristianinbits.flashcards.deck.service.DeckLookup;
+
+/**
+ * Exportación en streaming de las tarjetas de un mazo.
+ *
+ * Las filas se leen con un cursor JDBC ({@link CardExportRepository}) y se
+ * escriben en la respuesta a medida que llegan, de modo que la memoria usada
+ * no depende del tamaño del mazo. La lectura se hace en una única transacción
+ * de solo lectura, por lo que la exportación es una instantánea consistente
+ * del mazo; la conexión queda ocupada mientras dura la descarga.
+ *
+ * Para que las descargas lentas no agoten el pool, como mucho
+ * {@code flashcards.export.max-concurrent} exportaciones leen a la vez en cada
+ * nodo; las demás se rechazan con 503 antes de escribir nada. La consulta y las
+ * esperas del cursor tienen además límites en el servidor (ver
+ * {@link CardExportRepository#stream}).
+ */
+@Service
+public class CardExportService {
+
+    private final DeckLookup decks;
+    private final CardExportRepository exports;
+    private final ObjectMapper mapper;
+    private final TransactionTemplate readOnlyTx;
+    private final Semaphore running;
+
+    public CardExportService(DeckLookup decks, CardExportRepository exports, ObjectMapper mapper,
+            PlatformTransactionManager txManager, CardExportProperties properties) {
+        this.running = new Semaphore(Math.max(1, properties.maxConcurrent()));
+        this.decks = decks;
+        this.exports = exports;
+        this.mapper = mapper;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /**
+     * Prepara la exportación de un mazo. La existencia del mazo se comprueba
+     * aquí, antes de empezar a escribir la respuesta; la lectura de las tarjetas
+     * se hace al escribir el cuerpo.
+     *
+     * @param deckId  identificador del mazo
+     * @param format  formato de salida
+     * @param withSrs si se incluye el estado SRS de cada tarjeta
+     * @return cuerpo de la respuesta, que escribe las tarjetas por orden de
+     *         creación
+     * @throws NoSuchElementException si el mazo no existe
+     * @throws CannotGetJdbcConnectionException al escribir el cuerpo, si ya hay
+     *         {@code max-concurrent} exportaciones en curso
+     */
+    public StreamingResponseBody export(UUID deckId, CardExportFormat format, boolean withSrs) {
+        if (decks.find(deckId).isEmpty()) {
+            throw new NoSuchElementException("Deck no encontrado: " + deckId);
+        }
+        return out -> {
+            // El permiso se toma al empezar a escribir (sin salida aún, el
+            // rechazo llega como 503) y se devuelve al terminar, pase lo que pase.
+            if (!running.tryAcquire()) {
+                throw new CannotGetJdbcConnectionException("Demasiadas exportaciones en curso");
+            }
+            try {
+                var writer = CardExportWriter.open(format, out, mapper, withSrs);
+                try {
+                    readOnlyTx.executeWithoutResult(status -> exports.stream(deckId, withSrs, writer::write));
+                } catch (UncheckedIOException ex) {
+                    // El cliente ha cerrado la conexión: se deja de leer el cursor.
+                    throw ex.getCause();
+                }
+                writer.finish();
+            } finally {
+                running.release();
+            }
+        };
+    }
+}
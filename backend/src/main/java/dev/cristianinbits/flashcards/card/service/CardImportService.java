@@ -0,0 +1,213 @@
+package dev.cristianinbits.flashcards.card.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.cristianinbits.flashcards.card.bulk.CardImportFormat;
+import dev.cristianinbits.flashcards.card.bulk.CardImportJob;
+import dev.cristianinbits.flashcards.card.bulk.CardImportRegistry;
+import dev.cristianinbits.flashcards.card.bulk.CardRecord;
+import dev.cristianinbits.flashcards.card.bulk.CardRecordException;
+import dev.cristianinbits.flashcards.card.bulk.CardRecordReader;
+import dev.cristianinbits.flashcards.card.config.CardImportProperties;
+import dev.cristianinbits.flashcards.card.dto.CardImportReportDto;
+import dev.cristianinbits.flashcards.card.repo.CardBulkRepository;
+import dev.cristianinbits.flashcards.card.repo.CardBulkRepository.NewCard;
+import dev.cristianinbits.flashcards.card.search.CardSearchEvents.CardSaved;
+import dev.cristianinbits.flashcards.deck.service.DeckLookup;
+import dev.cristianinbits.flashcards.review.due.DueIndexEvents.CardDueChanged;
+import dev.cristianinbits.flashcards.review.srs.SrsAlgorithms;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Importación masiva de tarjetas desde un fichero CSV, JSON Lines o TSV.
+ *
+ * El fichero se lee en streaming ({@link CardRecordReader}) y las tarjetas
+ * válidas se insertan por lotes de {@code flashcards.import.batch-size} con
+ * JDBC batching ({@link CardBulkRepository}), cada lote en su propia
+ * transacción y junto con su estado SRS inicial. La memoria usada depende del
+ * tamaño del lote, no del fichero, y la conexión solo se retiene mientras se
+ * escribe cada lote.
+ *
+ * Los registros con errores se descartan y se anotan en el informe sin detener
+ * la importación. La importación no es atómica: si falla a mitad (p. ej. por
+ * una desconexión del cliente), los lotes ya confirmados se conservan y el
+ * informe indica cuántas tarjetas se crearon.
+ */
+@Slf4j
+@Service
+public class CardImportService {
+
+    /** Longitud máxima del anverso y del reverso (como en {@code CardCreateRequest}). */
+    private static final int MAX_TEXT = 10_000;
+    /** Longitud máxima de las etiquetas (como en {@code CardCreateRequest}). */
+    private static final int MAX_TAGS = 1_000;
+
+    private final DeckLookup decks;
+    private final CardBulkRepository bulk;
+    private final SrsAlgorithms algorithms;
+    private final CardImportRegistry registry;
+    private final CardImportProperties properties;
+    private final ObjectMapper mapper;
+    private final ApplicationEventPublisher publisher;
+    private final TransactionTemplate tx;
+
+    public CardImportService(DeckLookup decks, CardBulkRepository bulk, SrsAlgorithms algorithms,
+            CardImportRegistry registry, CardImportProperties properties, ObjectMapper mapper,
+            ApplicationEventPublisher publisher, PlatformTransactionManager txManager) {
+        this.decks = decks;
+        this.bulk = bulk;
+        this.algorithms = algorithms;
+        this.registry = registry;
+        this.properties = properties;
+        this.mapper = mapper;
+        this.publisher = publisher;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    /** Registro válido pendiente de insertar, con su línea de origen. */
+    private record Pending(long line, NewCard card) {
+    }
+
+    /**
+     * Importa en un mazo las tarjetas de un fichero.
+     *
+     * Las tarjetas conservan el orden del fichero en {@code createdAt} (cada una
+     * un microsegundo posterior a la anterior) y quedan pendientes de repaso
+     * desde el inicio de la importación.
+     *
+     * @param deckId identificador del mazo de destino
+     * @param format formato del fichero
+     * @param in     contenido del fichero (UTF-8)
+     * @return informe final de la importación
+     * @throws NoSuchElementException   si el mazo no existe
+     * @throws IllegalArgumentException si la cabecera del fichero no es válida
+     * @throws UncheckedIOException     si falla la lectura del fichero; los
+     *                                  lotes ya confirmados se conservan
+     */
+    public CardImportReportDto importCards(UUID deckId, CardImportFormat format, InputStream in) {
+        var deck = decks.find(deckId)
+                .orElseThrow(() -> new NoSuchElementException("Deck no encontrado: " + deckId));
+        int initialEase = algorithms.get(deck.srsAlgorithm()).initialEase();
+        int batchSize = Math.max(1, properties.batchSize());
+        var start = OffsetDateTime.now(ZoneOffset.UTC);
+
+        var job = registry.start(deckId, format);
+        try (var reader = CardRecordReader.open(format, in, mapper, properties.maxRecordChars())) {
+            var batch = new ArrayList<Pending>(batchSize);
+            long sequence = 0;
+            while (true) {
+                CardRecord record;
+                try {
+                    record = reader.next();
+                } catch (CardRecordException ex) {
+                    job.recordRead();
+                    job.recordError(ex.getLine(), ex.getMessage());
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                job.recordRead();
+                var error = validate(record);
+                if (error != null) {
+                    job.recordError(record.line(), error);
+                    continue;
+                }
+                batch.add(new Pending(record.line(), toNewCard(record, start.plusNanos(1_000 * sequence++))));
+                if (batch.size() == batchSize) {
+                    write(deckId, batch, initialEase, start, job);
+                    batch.clear();
+                }
+            }
+            write(deckId, batch, initialEase, start, job);
+            job.complete();
+        } catch (IOException ex) {
+            job.fail("Error de lectura: " + ex.getMessage());
+            throw new UncheckedIOException(ex);
+        } catch (RuntimeException ex) {
+            job.fail(ex.getMessage());
+            throw ex;
+        } finally {
+            registry.finished(job);
+            log.info("Importación {} en el mazo {}: {}", job.getId(), deckId, job.getState());
+        }
+        return job.toDto();
+    }
+
+    /**
+     * Inserta un lote en una transacción. Si el lote falla en base de datos, se
+     * reintenta tarjeta a tarjeta para descartar solo los registros culpables.
+     */
+    private void write(UUID deckId, List<Pending> batch, int initialEase, OffsetDateTime dueAt, CardImportJob job) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            insert(deckId, batch, initialEase, dueAt);
+            job.recordImported(batch.size());
+        } catch (DataAccessException ex) {
+            log.debug("Lote de importación rechazado, se reintenta por tarjeta", ex);
+            for (var p : batch) {
+                try {
+                    insert(deckId, List.of(p), initialEase, dueAt);
+                    job.recordImported(1);
+                } catch (DataAccessException rowEx) {
+                    job.recordError(p.line(), "Rechazada por la base de datos: " + rowEx.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private void insert(UUID deckId, List<Pending> batch, int initialEase, OffsetDateTime dueAt) {
+        tx.executeWithoutResult(status -> {
+            bulk.insert(deckId, batch.stream().map(Pending::card).toList(), initialEase, dueAt);
+            for (var p : batch) {
+                var c = p.card();
+                publisher.publishEvent(new CardDueChanged(deckId, c.id(), dueAt));
+                publisher.publishEvent(new CardSaved(c.id(), deckId, c.front(), c.back(), c.tags()));
+            }
+        });
+    }
+
+    /** @return mensaje de error, o {@code null} si el registro es válido */
+    @Nullable
+    private static String validate(CardRecord r) {
+        if (r.front().isBlank()) {
+            return "El anverso está vacío";
+        }
+        if (r.back().isBlank()) {
+            return "El reverso está vacío";
+        }
+        if (r.front().length() > MAX_TEXT || r.back().length() > MAX_TEXT) {
+            return "El anverso y el reverso admiten como máximo " + MAX_TEXT + " caracteres";
+        }
+        if (r.tags() != null && r.tags().length() > MAX_TAGS) {
+            return "Las etiquetas admiten como máximo " + MAX_TAGS + " caracteres";
+        }
+        return null;
+    }
+
+    private static NewCard toNewCard(CardRecord r, OffsetDateTime createdAt) {
+        return new NewCard(UUID.randomUUID(), CardService.normalizeOrEmpty(r.front()),
+                CardService.normalizeOrEmpty(r.back()), CardService.normalizeRequiredTag(r.tags()), r.latex(),
+                createdAt);
+    }
+}
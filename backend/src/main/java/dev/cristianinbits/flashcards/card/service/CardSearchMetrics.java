@@ -0,0 +1,62 @@
+package dev.cristianinbits.flashcards.card.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Latencia de las búsquedas de tarjetas ({@code flashcards.card.search}),
+ * desglosada por modo ({@code mode}: {@code substring}, {@code fts},
+ * {@code index} o {@code keyset}) y por tipo de filtro ({@code filter}:
+ * {@code text}, {@code tag}, {@code text_tag} o {@code none}).
+ *
+ * El modo es el solicitado: si una búsqueda recurre a otra (p. ej. el índice
+ * en memoria aún no está listo), se mide dentro del modo original.
+ */
+@Component
+@RequiredArgsConstructor
+public class CardSearchMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Mide una búsqueda.
+     *
+     * @param mode   modo de búsqueda solicitado
+     * @param q      texto buscado (puede ser nulo o vacío)
+     * @param tag    etiqueta filtrada (puede ser nula o vacía)
+     * @param search búsqueda a ejecutar
+     * @param <T>    tipo del resultado
+     * @return resultado de {@code search}
+     */
+    <T> T record(String mode, @Nullable String q, @Nullable String tag, Supplier<T> search) {
+        return timer(mode, filter(q, tag)).record(search);
+    }
+
+    private Timer timer(String mode, String filter) {
+        return timers.computeIfAbsent(mode + '/' + filter, k -> Timer.builder("flashcards.card.search")
+                .description("Búsqueda de tarjetas")
+                .tag("mode", mode)
+                .tag("filter", filter)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private static String filter(@Nullable String q, @Nullable String tag) {
+        boolean text = q != null && !q.isBlank();
+        boolean byTag = tag != null && !tag.isBlank();
+        if (text) {
+            return byTag ? "text_tag" : "text";
+        }
+        return byTag ? "tag" : "none";
+    }
+}
@@ -3,20 +3,45 @@ package dev.cristianinbits.flashcards.card.service;
 import dev.cristianinbits.flashcards.card.domain.Card;
 import dev.cristianinbits.flashcards.card.dto.CardCreateRequest;
 import dev.cristianinbits.flashcards.card.dto.CardDto;
+import dev.cristianinbits.flashcards.card.dto.CardTagCountDto;
 import dev.cristianinbits.flashcards.card.dto.CardUpdateRequest;
 import dev.cristianinbits.flashcards.card.repo.CardRepository;
+import dev.cristianinbits.flashcards.card.repo.CardSearchRepository;
+import dev.cristianinbits.flashcards.card.repo.CardTagRepository;
+import dev.cristianinbits.flashcards.card.search.CardSearchEvents.CardSaved;
+import dev.cristianinbits.flashcards.card.search.CardSearchIndex;
+import dev.cristianinbits.flashcards.common.cache.CacheNames;
+import dev.cristianinbits.flashcards.common.web.Cursor;
+import dev.cristianinbits.flashcards.common.web.CursorPage;
 import dev.cristianinbits.flashcards.deck.repo.DeckRepository;
+import dev.cristianinbits.flashcards.deck.service.DeckLookup;
 import dev.cristianinbits.flashcards.review.domain.CardSrsState;
+import dev.cristianinbits.flashcards.review.due.DueIndexEvents.CardDueChanged;
+import dev.cristianinbits.flashcards.review.due.DueIndexEvents.CardRemoved;
 import dev.cristianinbits.flashcards.review.repo.CardSrsStateRepository;
+import dev.cristianinbits.flashcards.review.srs.SrsAlgorithms;
 
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 import org.springframework.transaction.annotation.Transactional;
@@ -31,10 +56,15 @@ import lombok.RequiredArgsConstructor;
  * validando la existencia de los mazos y aplicando reglas de negocio antes de
  * interactuar con la base de datos.
  *
+ * Los listados y las búsquedas leen {@link CardDto} directamente con
+ * proyecciones de {@link CardRepository}, sin cargar entidades en el contexto
+ * de persistencia; {@link #toDto(Card)} queda para las escrituras y la lectura
+ * individual.
+ *
  * Además, al crear una tarjeta inicializa su estado SRS asociado
  * ({@link CardSrsState}) para que entre inmediatamente en la cola de repaso
- * (con dueAt = now UTC, intervalDays = 0, easeFactor = 2.50, repetitions = 0,
- * lastResult = 0).
+ * (con dueAt = now UTC, intervalDays = 0, easeFactor = facilidad inicial del
+ * algoritmo SRS del mazo, repetitions = 0, lastResult = 0).
  *
  * Anotado con {@code @Service} para su detección por Spring y con
  * {@code @Transactional(readOnly = true)} para indicar que, por defecto, sus
@@ -57,16 +87,38 @@ public class CardService {
      */
     private final DeckRepository decks;
 
+    /** Existencia y metadatos de mazo a través de la caché de lectura. */
+    private final DeckLookup deckLookup;
+
     /** Repositorio para la persistencia del estado SRS de las tarjetas. */
     private final CardSrsStateRepository srsRepo;
 
+    /** Búsqueda de texto completo sobre PostgreSQL. */
+    private final CardSearchRepository textSearch;
+
+    /** Etiquetas normalizadas, para el recuento por etiqueta. */
+    private final CardTagRepository tags;
+
+    /** Índice invertido en memoria (opcional; ver {@link CardSearchIndex#isReady()}). */
+    private final CardSearchIndex searchIndex;
+
+    /** Registro de algoritmos SRS para inicializar el estado según el mazo. */
+    private final SrsAlgorithms algorithms;
+
+    /** Publicador de eventos para mantener el índice de tarjetas pendientes. */
+    private final ApplicationEventPublisher publisher;
+
+    /** Latencia de las búsquedas por modo y tipo de filtro. */
+    private final CardSearchMetrics searchMetrics;
+
     /**
      * Crea una nueva tarjeta asociada a un mazo existente e inicializa su estado
      * SRS.
      *
      * El estado SRS se crea con valores por defecto para que la tarjeta aparezca
      * desde el inicio en la cola de revisión (dueAt = now UTC, intervalDays = 0,
-     * easeFactor = 2.50, repetitions = 0, lastResult = 0).
+     * easeFactor = facilidad inicial del algoritmo del mazo, repetitions = 0,
+     * lastResult = 0).
      *
      * @param req datos de creación de la tarjeta
      * @return DTO con la información de la tarjeta creada
@@ -74,8 +126,9 @@ public class CardService {
      */
     @Transactional
     public CardDto create(CardCreateRequest req) {
-        var deck = decks.findById(req.deckId())
+        var meta = deckLookup.find(req.deckId())
                 .orElseThrow(() -> new NoSuchElementException("Deck no encontrado: " + req.deckId()));
+        var deck = decks.getReferenceById(meta.id());
 
         var c = new Card();
         c.setDeck(deck);
@@ -90,13 +143,15 @@ public class CardService {
         var now = OffsetDateTime.now(ZoneOffset.UTC);
         srs.setDueAt(now);
         srs.setIntervalDays(0);
-        srs.setEaseFactor(new BigDecimal("2.50"));
+        srs.setEaseHundredths(algorithms.get(meta.srsAlgorithm()).initialEase());
         srs.setRepetitions(0);
         srs.setLastResult((short) 0);
         srs.setUpdatedAt(now);
         srsRepo.save(srs);
 
         c = cards.save(c);
+        publisher.publishEvent(new CardDueChanged(deck.getId(), c.getId(), now));
+        publisher.publishEvent(savedEvent(c));
         return toDto(c);
     }
 
@@ -104,50 +159,235 @@ public class CardService {
      * Lista las tarjetas pertenecientes a un mazo concreto con soporte de
      * paginación.
      *
-     * @param deckId   identificador del mazo
-     * @param pageable parámetros de paginación y ordenación
-     * @return página de tarjetas del mazo indicado
+     * @param deckId    identificador del mazo
+     * @param pageable  parámetros de paginación y ordenación
+     * @param withTotal si es {@code false}, devuelve un {@link Slice} sin totales
+     *                  y evita la consulta de recuento
+     * @return página (o porción) de tarjetas del mazo indicado
      * @throws NoSuchElementException si el mazo no existe
      */
-    public Page<CardDto> listByDeck(UUID deckId, Pageable pageable) {
-        if (!decks.existsById(deckId)) {
+    public Slice<CardDto> listByDeck(UUID deckId, Pageable pageable, boolean withTotal) {
+        if (deckLookup.find(deckId).isEmpty()) {
             throw new NoSuchElementException("Deck no encontrado: " + deckId);
         }
-        return cards.findByDeck_Id(deckId, pageable).map(this::toDto);
+        return withTotal
+                ? cards.findDtoByDeck(deckId, pageable)
+                : cards.findDtoSliceByDeck(deckId, pageable);
+    }
+
+    /**
+     * Lista las tarjetas de un mazo con paginación por cursor sobre
+     * {@code (createdAt, id)}. El coste de cada página no depende de su
+     * posición, a diferencia de la paginación por {@code OFFSET}.
+     *
+     * @param deckId    identificador del mazo
+     * @param after     posición del último elemento ya devuelto
+     * @param ascending sentido del recorrido
+     * @param size      tamaño de página
+     * @return página de tarjetas con el cursor de la siguiente
+     * @throws NoSuchElementException si el mazo no existe
+     */
+    public CursorPage<CardDto> listByDeck(UUID deckId, Cursor after, boolean ascending, int size) {
+        if (deckLookup.find(deckId).isEmpty()) {
+            throw new NoSuchElementException("Deck no encontrado: " + deckId);
+        }
+        var limit = Limit.of(size + 1);
+        var rows = ascending
+                ? cards.findByDeckAfterAsc(deckId, after.at(), after.id(), limit)
+                : cards.findByDeckAfterDesc(deckId, after.at(), after.id(), limit);
+        return CursorPage.of(rows, size, CardService::cursorOf, Function.identity());
     }
 
     /**
      * Realiza una búsqueda filtrada de tarjetas dentro de un mazo.
      * 
-     * Permite aplicar filtros por texto (en el anverso o reverso) y por etiquetas,
-     * de forma insensible a mayúsculas y minúsculas.
+     * Permite aplicar filtros por texto parcial (en el anverso o reverso) y por
+     * etiqueta exacta, de forma insensible a mayúsculas y minúsculas. La
+     * etiqueta se compara con cada elemento de la lista, de modo que
+     * {@code math} no casa con {@code mathematics}.
+     *
+     * @param deckId    identificador del mazo
+     * @param q         texto de búsqueda parcial (puede ser nulo o vacío)
+     * @param tag       etiqueta exacta de filtrado (insensible a mayúsculas)
+     * @param pageable  parámetros de paginación y ordenación
+     * @param withTotal si es {@code false}, devuelve un {@link Slice} sin totales
+     *                  y evita la consulta de recuento
+     * @return página (o porción) de tarjetas que cumplen los criterios de búsqueda
+     * @throws NoSuchElementException si el mazo no existe
+     */
+    public Slice<CardDto> search(UUID deckId, String q, String tag, Pageable pageable, boolean withTotal) {
+        return searchMetrics.record("substring", q, tag, () -> searchSubstring(deckId, q, tag, pageable, withTotal));
+    }
+
+    private Slice<CardDto> searchSubstring(UUID deckId, String q, String tag, Pageable pageable, boolean withTotal) {
+        if (deckLookup.find(deckId).isEmpty()) {
+            throw new NoSuchElementException("Deck no encontrado: " + deckId);
+        }
+
+        String qPattern = isBlank(q) ? null : "%" + q.toLowerCase() + "%";
+        String tagFilter = normalizeTagFilter(tag);
+
+        return withTotal
+                ? cards.search(deckId, qPattern, tagFilter, pageable)
+                : cards.searchSlice(deckId, qPattern, tagFilter, pageable);
+    }
+
+    /**
+     * Busca tarjetas dentro de un mazo por texto completo, ordenadas por
+     * relevancia ({@code ts_rank_cd}) y usando los índices GIN de la migración
+     * V013. Se ignora el orden de {@code pageable}.
+     *
+     * Si el texto no contiene ningún término (p. ej. solo signos de puntuación),
+     * se recurre a la búsqueda por coincidencia parcial.
+     *
+     * @param deckId    identificador del mazo
+     * @param q         texto de búsqueda (puede ser nulo o vacío)
+     * @param tag       etiqueta exacta de filtrado (insensible a mayúsculas)
+     * @param language  configuración de idioma
+     * @param prefix    si cada término casa también como prefijo
+     * @param pageable  parámetros de paginación
+     * @param withTotal si es {@code false}, devuelve un {@link Slice} sin totales
+     *                  y evita la consulta de recuento
+     * @return página (o porción) de tarjetas ordenadas por relevancia
+     * @throws NoSuchElementException si el mazo no existe
+     */
+    public Slice<CardDto> searchFullText(UUID deckId, String q, String tag, CardSearchRepository.Language language,
+            boolean prefix, Pageable pageable, boolean withTotal) {
+        return searchMetrics.record("fts", q, tag,
+                () -> searchFullTextOrSubstring(deckId, q, tag, language, prefix, pageable, withTotal));
+    }
+
+    private Slice<CardDto> searchFullTextOrSubstring(UUID deckId, String q, String tag,
+            CardSearchRepository.Language language, boolean prefix, Pageable pageable, boolean withTotal) {
+        var tsQuery = CardSearchRepository.toTsQuery(q, prefix);
+        if (tsQuery == null) {
+            return searchSubstring(deckId, q, tag, pageable, withTotal);
+        }
+        if (deckLookup.find(deckId).isEmpty()) {
+            throw new NoSuchElementException("Deck no encontrado: " + deckId);
+        }
+
+        String tagFilter = normalizeTagFilter(tag);
+        int size = pageable.getPageSize();
+        var rows = textSearch.search(deckId, tsQuery, language, tagFilter, pageable.getOffset(),
+                withTotal ? size : size + 1);
+        var unsorted = PageRequest.of(pageable.getPageNumber(), size);
+        if (withTotal) {
+            return new PageImpl<>(rows, unsorted, textSearch.count(deckId, tsQuery, language, tagFilter));
+        }
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, unsorted, hasNext);
+    }
+
+    /**
+     * Busca tarjetas con el índice invertido en memoria ({@link CardSearchIndex}):
+     * cada palabra del texto debe aparecer como prefijo de algún término del
+     * anverso, el reverso o las etiquetas. Los resultados se ordenan de la
+     * tarjeta creada o editada más recientemente a la más antigua y se leen
+     * por clave primaria.
+     *
+     * Si el índice no está listo, en un mazo concreto se recurre a la búsqueda
+     * de texto completo de PostgreSQL.
      *
-     * @param deckId   identificador del mazo
-     * @param q        texto de búsqueda parcial (puede ser nulo o vacío)
-     * @param tag      etiqueta de filtrado
-     * @param pageable parámetros de paginación y ordenación
-     * @return página de tarjetas que cumplen los criterios de búsqueda
+     * @param deckId   identificador del mazo, o {@code null} para buscar en todos
+     * @param q        texto de búsqueda (puede ser nulo o vacío)
+     * @param tag      etiqueta exacta de filtrado (insensible a mayúsculas)
+     * @param pageable parámetros de paginación (se ignora el orden)
+     * @return porción de tarjetas que cumplen los criterios
+     * @throws NoSuchElementException si el mazo indicado no existe
+     * @throws IllegalStateException  si se busca en todos los mazos y el índice
+     *                                no está disponible
+     */
+    public Slice<CardDto> searchIndexed(@Nullable UUID deckId, String q, String tag, Pageable pageable) {
+        return searchMetrics.record("index", q, tag, () -> searchIndexOrFullText(deckId, q, tag, pageable));
+    }
+
+    private Slice<CardDto> searchIndexOrFullText(@Nullable UUID deckId, String q, String tag, Pageable pageable) {
+        if (deckId != null && deckLookup.find(deckId).isEmpty()) {
+            throw new NoSuchElementException("Deck no encontrado: " + deckId);
+        }
+        if (!searchIndex.isReady() && deckId != null) {
+            return searchFullTextOrSubstring(deckId, q, tag, CardSearchRepository.Language.SIMPLE, true, pageable,
+                    false);
+        }
+
+        int size = pageable.getPageSize();
+        var ids = searchIndex.search(q, deckId, normalizeTagFilter(tag), pageable.getOffset(), size + 1);
+        boolean hasNext = ids.size() > size;
+        if (hasNext) {
+            ids = ids.subList(0, size);
+        }
+        Map<UUID, CardDto> byId = new HashMap<>();
+        for (var c : cards.findDtosByIdIn(ids)) {
+            byId.put(c.id(), c);
+        }
+        // Se conserva el orden del índice; una tarjeta borrada desde otro nodo se omite.
+        var content = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new SliceImpl<>(content, PageRequest.of(pageable.getPageNumber(), size), hasNext);
+    }
+
+    /**
+     * Variante de {@link #search(UUID, String, String, Pageable, boolean)} con
+     * paginación por cursor sobre {@code (createdAt, id)}.
+     *
+     * @param deckId    identificador del mazo
+     * @param q         texto de búsqueda parcial (puede ser nulo o vacío)
+     * @param tag       etiqueta exacta de filtrado (insensible a mayúsculas)
+     * @param after     posición del último elemento ya devuelto
+     * @param ascending sentido del recorrido
+     * @param size      tamaño de página
+     * @return página de tarjetas con el cursor de la siguiente
      * @throws NoSuchElementException si el mazo no existe
      */
-    public Page<CardDto> search(UUID deckId, String q, String tag, Pageable pageable) {
-        if (!decks.existsById(deckId)) {
+    public CursorPage<CardDto> search(UUID deckId, String q, String tag, Cursor after, boolean ascending,
+            int size) {
+        return searchMetrics.record("keyset", q, tag, () -> searchKeyset(deckId, q, tag, after, ascending, size));
+    }
+
+    private CursorPage<CardDto> searchKeyset(UUID deckId, String q, String tag, Cursor after, boolean ascending,
+            int size) {
+        if (deckLookup.find(deckId).isEmpty()) {
             throw new NoSuchElementException("Deck no encontrado: " + deckId);
         }
 
         String qPattern = isBlank(q) ? null : "%" + q.toLowerCase() + "%";
-        String tagPattern = isBlank(tag) ? null : "%" + tag.toLowerCase() + "%";
+        String tagFilter = normalizeTagFilter(tag);
+
+        var limit = Limit.of(size + 1);
+        var rows = ascending
+                ? cards.searchAfterAsc(deckId, qPattern, tagFilter, after.at(), after.id(), limit)
+                : cards.searchAfterDesc(deckId, qPattern, tagFilter, after.at(), after.id(), limit);
+        return CursorPage.of(rows, size, CardService::cursorOf, Function.identity());
+    }
 
-        return cards.search(deckId, qPattern, tagPattern, pageable).map(this::toDto);
+    /**
+     * Devuelve las etiquetas usadas en un mazo con su número de tarjetas, de la
+     * más usada a la menos usada.
+     *
+     * @param deckId identificador del mazo
+     * @param limit  número máximo de etiquetas; se acota a [1, 500]
+     * @return etiquetas con su número de tarjetas
+     * @throws NoSuchElementException si el mazo no existe
+     */
+    public List<CardTagCountDto> tagFacets(UUID deckId, int limit) {
+        if (deckLookup.find(deckId).isEmpty()) {
+            throw new NoSuchElementException("Deck no encontrado: " + deckId);
+        }
+        return tags.countByTag(deckId, Limit.of(Math.max(1, Math.min(limit, 500))));
     }
 
     /**
      * Obtiene una tarjeta a partir de su identificador único.
      *
+     * El resultado se guarda en la caché de lectura {@link CacheNames#CARDS},
+     * que se invalida al editar o borrar la tarjeta o su mazo.
+     *
      * @param id identificador de la tarjeta
      * @return DTO con los datos de la tarjeta encontrada
      * @throws NoSuchElementException si no existe una tarjeta con el identificador
      *                                indicado
      */
+    @Cacheable(cacheNames = CacheNames.CARDS)
     public CardDto get(UUID id) {
         return toDto(findOr404(id));
     }
@@ -169,6 +409,7 @@ public class CardService {
         if (req.latex() != null) {
             c.setLatex(req.latex());
         }
+        publisher.publishEvent(savedEvent(c));
         return toDto(c);
     }
 
@@ -182,6 +423,7 @@ public class CardService {
     public void delete(UUID id) {
         var c = findOr404(id);
         cards.delete(c);
+        publisher.publishEvent(new CardRemoved(c.getDeck().getId(), c.getId()));
     }
 
     /**
@@ -191,7 +433,7 @@ public class CardService {
      * @param c entidad Card
      * @return DTO con los datos equivalentes de la tarjeta
      */
-    private CardDto toDto(Card c) {
+    static CardDto toDto(Card c) {
         return new CardDto(
                 c.getId(),
                 c.getDeck().getId(),
@@ -203,6 +445,26 @@ public class CardService {
                 c.getUpdatedAt());
     }
 
+    /**
+     * Construye el evento que actualiza el índice de búsqueda en memoria.
+     *
+     * @param c tarjeta creada o editada
+     * @return evento con el contenido indexable
+     */
+    private static CardSaved savedEvent(Card c) {
+        return new CardSaved(c.getId(), c.getDeck().getId(), c.getFront(), c.getBack(), c.getTags());
+    }
+
+    /**
+     * Clave de paginación por cursor de una tarjeta.
+     *
+     * @param c tarjeta
+     * @return posición {@code (createdAt, id)}
+     */
+    private static Cursor cursorOf(CardDto c) {
+        return new Cursor(c.createdAt(), c.id());
+    }
+
     /**
      * Busca una tarjeta por su identificador o lanza una excepción si no se
      * encuentra.
@@ -235,7 +497,7 @@ public class CardService {
      * @param s texto a normalizar
      * @return cadena normalizada o vacía
      */
-    private static String normalizeOrEmpty(String s) {
+    static String normalizeOrEmpty(String s) {
         return (s == null) ? "" : s.trim();
     }
 
@@ -256,22 +518,37 @@ public class CardService {
      */
 
     /**
-     * Normaliza una etiqueta (tag) garantizando que siempre tenga un valor válido.
+     * Normaliza la lista de etiquetas (tags) garantizando que siempre tenga un
+     * valor válido.
      *
-     * Si el texto recibido es nulo o está vacío, devuelve la etiqueta por defecto
-     * {@code "general"}. En caso contrario, elimina espacios en blanco y convierte
-     * el texto resultante a minúsculas.
+     * Las etiquetas se separan por comas; cada una se recorta y se convierte a
+     * minúsculas, y se descartan las vacías y las repetidas. Si no queda ninguna,
+     * devuelve la etiqueta por defecto {@code "general"}.
      *
-     * @param s texto original de la etiqueta (puede ser nulo o vacío)
-     * @return etiqueta normalizada en minúsculas, o {@code "general"} si no se
-     *         proporcionó una válida
+     * @param s texto original de las etiquetas (puede ser nulo o vacío)
+     * @return etiquetas normalizadas separadas por comas, o {@code "general"} si
+     *         no se proporcionó ninguna válida
      */
-
-    private static String normalizeRequiredTag(String s) {
+    static String normalizeRequiredTag(String s) {
         // fuerza no vacío y en minúsculas
         if (s == null)
             return "general";
-        var t = s.trim();
-        return t.isEmpty() ? "general" : t.toLowerCase();
+        var joined = Arrays.stream(s.split(","))
+                .map(t -> t.trim().toLowerCase())
+                .filter(t -> !t.isEmpty())
+                .distinct()
+                .collect(Collectors.joining(","));
+        return joined.isEmpty() ? "general" : joined;
+    }
+
+    /**
+     * Normaliza la etiqueta de un filtro igual que las almacenadas en
+     * {@code card_tags}.
+     *
+     * @param s etiqueta recibida (puede ser nula o vacía)
+     * @return etiqueta recortada en minúsculas, o {@code null} si está vacía
+     */
+    private static String normalizeTagFilter(String s) {
+        return isBlank(s) ? null : s.trim().toLowerCase();
     }
 }
@@ -0,0 +1,78 @@
+package dev.cristianinbits.flashcards.common.api;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import dev.cristianinbits.flashcards.common.jfr.FlightRecorderService;
+import dev.cristianinbits.flashcards.common.jfr.FlightRecordingDto;
+
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Grabaciones de Java Flight Recorder bajo demanda, para diagnosticar picos de
+ * latencia sin adjuntar un perfilador. Se desactiva con
+ * {@code flashcards.jfr.enabled=false}.
+ */
+@RestController
+@RequestMapping("/api/diagnostics/jfr")
+@Validated
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "flashcards.jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class FlightRecorderController {
+
+    private final FlightRecorderService service;
+
+    /**
+     * Inicia una grabación acotada.
+     *
+     * Endpoint: {@code POST /api/diagnostics/jfr/start}
+     *
+     * @param seconds duración en segundos (por defecto
+     *                {@code flashcards.jfr.default-duration})
+     * @param maxMb   tamaño máximo en MB (por defecto y como tope
+     *                {@code flashcards.jfr.max-size})
+     * @return estado de la grabación iniciada
+     * @throws IllegalArgumentException si la duración supera el máximo
+     * @throws IllegalStateException    si ya hay una grabación en curso
+     */
+    @PostMapping("/start")
+    public FlightRecordingDto start(
+            @RequestParam(required = false) @Min(1) Integer seconds,
+            @RequestParam(required = false) @Min(1) Integer maxMb) {
+        return service.start(seconds == null ? null : Duration.ofSeconds(seconds),
+                maxMb == null ? null : maxMb * 1024L * 1024L);
+    }
+
+    /**
+     * Detiene la grabación en curso y la vuelca en su fichero local.
+     *
+     * Endpoint: {@code POST /api/diagnostics/jfr/stop}
+     *
+     * @return estado de la grabación, con la ruta del fichero
+     * @throws NoSuchElementException si no hay ninguna grabación
+     */
+    @PostMapping("/stop")
+    public FlightRecordingDto stop() {
+        return service.stop();
+    }
+
+    /**
+     * Endpoint: {@code GET /api/diagnostics/jfr}
+     *
+     * @return estado de la última grabación
+     * @throws NoSuchElementException si no hay ninguna grabación
+     */
+    @GetMapping
+    public FlightRecordingDto status() {
+        return service.status();
+    }
+}
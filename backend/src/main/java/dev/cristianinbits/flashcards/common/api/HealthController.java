@@ -1,34 +1,49 @@
 package dev.cristianinbits.flashcards.common.api;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import javax.sql.DataSource;
+
 import org.springframework.jdbc.core.JdbcTemplate;
 
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import dev.cristianinbits.flashcards.common.jdbc.AdmissionControlDataSource;
+
 @RestController
 public class HealthController {
 
+    /** Segundos que puede tardar {@code SELECT 1} antes de dar la base de datos por caída. */
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+
     private final JdbcTemplate jdbc;
+    private final AdmissionControlDataSource admission;
 
-    public HealthController(JdbcTemplate jdbc) {
-        this.jdbc = jdbc;
+    public HealthController(DataSource dataSource) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+        this.admission = dataSource instanceof AdmissionControlDataSource a ? a : null;
     }
 
     @GetMapping("/api/health")
     public Map<String, Object> health() {
+        var body = new LinkedHashMap<String, Object>();
+        body.put("app", "ok");
+        body.put("threads", Thread.currentThread().isVirtual() ? "virtual" : "platform");
+        if (admission != null) {
+            body.put("dbInUse", admission.inUse());
+            body.put("dbWaiting", admission.waiting());
+        }
         try {
             Integer one = jdbc.queryForObject("SELECT 1", Integer.class);
-            return Map.of(
-                    "app", "ok",
-                    "db", "ok",
-                    "select1", one);
+            body.put("db", "ok");
+            body.put("select1", one);
         } catch (Exception e) {
-            return Map.of(
-                    "app", "ok",
-                    "db", "fail",
-                    "error", e.getMessage());
+            body.put("db", "fail");
+            body.put("error", String.valueOf(e.getMessage()));
         }
+        return body;
     }
 }
@@ -0,0 +1,16 @@
+package dev.cristianinbits.flashcards.common.cache;
+
+/**
+ * Nombres de las cachés de lectura en memoria ({@code flashcards.cache}).
+ */
+public final class CacheNames {
+
+    /** Metadatos de mazo por identificador ({@code DeckMetadata}). */
+    public static final String DECKS = "decks";
+
+    /** DTO de tarjeta por identificador ({@code CardDto}). */
+    public static final String CARDS = "cards";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,223 @@
+package dev.cristianinbits.flashcards.common.cache;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import dev.cristianinbits.flashcards.card.search.CardSearchIndex;
+import dev.cristianinbits.flashcards.common.config.ReadCacheProperties;
+import dev.cristianinbits.flashcards.review.due.DueIndexEvents.CardRemoved;
+import dev.cristianinbits.flashcards.review.due.DueIndexEvents.DeckRemoved;
+import dev.cristianinbits.flashcards.review.due.DueQueueIndex;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recibe los avisos de cambio de los demás nodos ({@link ClusterInvalidationPublisher})
+ * y los aplica sobre las cachés de lectura, {@link DueQueueIndex} y
+ * {@link CardSearchIndex}.
+ *
+ * Escucha con {@code LISTEN} en una conexión propia, fuera del pool: el hilo
+ * {@code cache-invalidation-listener} la mantiene abierta y espera avisos como
+ * mucho {@code flashcards.cache.cluster.poll-timeout} cada vez; si no llega
+ * ninguno, comprueba la conexión con una consulta vacía. Los avisos llegan en
+ * cuanto el otro nodo confirma su transacción.
+ *
+ * Si la conexión se pierde, se reintenta con espera exponencial. Como los
+ * avisos enviados mientras tanto se han perdido, tras reconectar se vacían las
+ * cachés y el índice de vencimientos y se reconstruye el índice de búsqueda.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "flashcards.cache.cluster", name = "enabled", matchIfMissing = true)
+public class ClusterInvalidationListener implements SmartLifecycle {
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private final DataSourceProperties dataSource;
+    private final ReadCacheInvalidator caches;
+    private final DueQueueIndex dueIndex;
+    private final CardSearchIndex searchIndex;
+    private final UUID nodeId;
+    private final String channel;
+    private final int pollTimeoutMillis;
+    private final Duration reconnectBackoff;
+    private final Duration maxReconnectBackoff;
+
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    /**
+     * @param dataSource  datos de conexión de {@code spring.datasource}
+     * @param properties  configuración de las cachés
+     * @param publisher   emisor de este nodo, para reconocer sus propios avisos
+     * @param caches      cachés de lectura
+     * @param dueIndex    índice de vencimientos
+     * @param searchIndex índice de búsqueda de tarjetas
+     */
+    public ClusterInvalidationListener(DataSourceProperties dataSource, ReadCacheProperties properties,
+            ClusterInvalidationPublisher publisher, ReadCacheInvalidator caches, DueQueueIndex dueIndex,
+            CardSearchIndex searchIndex) {
+        var cluster = properties.cluster();
+        this.dataSource = dataSource;
+        this.caches = caches;
+        this.dueIndex = dueIndex;
+        this.searchIndex = searchIndex;
+        this.nodeId = publisher.nodeId();
+        this.channel = checkChannel(cluster.channel());
+        this.pollTimeoutMillis = (int) Math.max(1, cluster.pollTimeout().toMillis());
+        this.reconnectBackoff = cluster.reconnectBackoff();
+        this.maxReconnectBackoff = cluster.maxReconnectBackoff();
+    }
+
+    /**
+     * {@code LISTEN} no admite parámetros, así que el canal se valida como
+     * identificador antes de concatenarlo.
+     *
+     * @param channel nombre del canal
+     * @return el mismo nombre
+     * @throws IllegalArgumentException si no es un identificador en minúsculas
+     */
+    static String checkChannel(String channel) {
+        if (channel == null || !CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Canal de invalidación no válido: " + channel);
+        }
+        return channel;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("cache-invalidation-listener").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        var t = worker;
+        if (t != null) {
+            t.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        boolean connectedBefore = false;
+        Duration backoff = reconnectBackoff;
+        while (running) {
+            try (Connection con = connect()) {
+                try (var st = con.createStatement()) {
+                    st.execute("LISTEN " + channel);
+                }
+                if (connectedBefore) {
+                    log.info("Bus de invalidación reconectado; se resincronizan cachés e índices");
+                    resync();
+                }
+                connectedBefore = true;
+                backoff = reconnectBackoff;
+                listen(con);
+            } catch (SQLException | RuntimeException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Bus de invalidación desconectado; reintento en {} ms: {}",
+                        backoff.toMillis(), ex.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                backoff = backoff.multipliedBy(2).compareTo(maxReconnectBackoff) > 0
+                        ? maxReconnectBackoff : backoff.multipliedBy(2);
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        var con = DriverManager.getConnection(dataSource.determineUrl(), dataSource.determineUsername(),
+                dataSource.determinePassword());
+        con.setAutoCommit(true);
+        return con;
+    }
+
+    private void listen(Connection con) throws SQLException {
+        var pg = con.unwrap(PGConnection.class);
+        while (running) {
+            PGNotification[] notifications = pg.getNotifications(pollTimeoutMillis);
+            if (notifications == null || notifications.length == 0) {
+                // Sin tráfico: una consulta detecta una conexión caída en silencio.
+                try (var st = con.createStatement()) {
+                    st.execute("SELECT 1");
+                }
+                continue;
+            }
+            apply(notifications);
+        }
+    }
+
+    /**
+     * Aplica un lote de avisos. Las tarjetas guardadas se releen del índice de
+     * búsqueda en una sola consulta por lote.
+     */
+    private void apply(PGNotification[] notifications) {
+        Set<UUID> savedCards = new LinkedHashSet<>();
+        for (var n : notifications) {
+            InvalidationMessage m;
+            try {
+                m = InvalidationMessage.decode(n.getParameter());
+            } catch (IllegalArgumentException ex) {
+                log.warn("Aviso de invalidación descartado: {}", ex.getMessage());
+                continue;
+            }
+            if (m.origin().equals(nodeId)) {
+                continue;
+            }
+            switch (m.type()) {
+                case DECK_UPDATED -> caches.evictDeck(m.deckId());
+                case DECK_REMOVED -> {
+                    caches.on(new DeckRemoved(m.deckId()));
+                    dueIndex.evict(m.deckId());
+                    searchIndex.on(new DeckRemoved(m.deckId()));
+                }
+                case CARD_SAVED -> {
+                    caches.evictCard(m.cardId());
+                    savedCards.add(m.cardId());
+                }
+                case CARD_REMOVED -> {
+                    caches.evictCard(m.cardId());
+                    dueIndex.remove(m.deckId(), m.cardId());
+                    searchIndex.on(new CardRemoved(m.deckId(), m.cardId()));
+                    savedCards.remove(m.cardId());
+                }
+                case CARD_DUE -> dueIndex.update(m.deckId(), m.cardId(), m.dueAt());
+                case ALL -> {
+                    resync();
+                    savedCards.clear();
+                }
+            }
+        }
+        searchIndex.refresh(savedCards);
+    }
+
+    private void resync() {
+        caches.clearAll();
+        dueIndex.evictAll();
+        searchIndex.resync();
+    }
+}
@@ -0,0 +1,144 @@
+package dev.cristianinbits.flashcards.common.cache;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import dev.cristianinbits.flashcards.card.search.CardSearchEvents.CardSaved;
+import dev.cristianinbits.flashcards.common.cache.InvalidationMessage.Type;
+import dev.cristianinbits.flashcards.common.config.ReadCacheProperties;
+import dev.cristianinbits.flashcards.deck.service.DeckEvents.DeckUpdated;
+import dev.cristianinbits.flashcards.review.due.DueIndexEvents.CardDueChanged;
+import dev.cristianinbits.flashcards.review.due.DueIndexEvents.CardRemoved;
+import dev.cristianinbits.flashcards.review.due.DueIndexEvents.DeckRemoved;
+
+/**
+ * Envía a los demás nodos los cambios de mazos, tarjetas y vencimientos con
+ * {@code pg_notify}, para que invaliden sus cachés e índices en memoria (ver
+ * {@link ClusterInvalidationListener}).
+ *
+ * Los avisos de una transacción se acumulan y se envían justo antes del commit
+ * en una sola sentencia sobre la misma conexión: PostgreSQL solo los entrega si
+ * la transacción se confirma, y en el mismo instante en que el cambio se hace
+ * visible. Si una transacción acumula más de
+ * {@code flashcards.cache.cluster.max-messages-per-commit} avisos (p. ej. una
+ * importación grande), se envía en su lugar una orden de vaciado completo.
+ */
+@Component
+@ConditionalOnProperty(prefix = "flashcards.cache.cluster", name = "enabled", matchIfMissing = true)
+public class ClusterInvalidationPublisher {
+
+    private static final String NOTIFY = "SELECT pg_notify(?, m) FROM unnest(?) AS m";
+
+    private final JdbcTemplate jdbc;
+    private final String channel;
+    private final int maxMessagesPerCommit;
+    private final UUID nodeId = UUID.randomUUID();
+
+    /**
+     * @param jdbc       plantilla JDBC, que participa en la transacción en curso
+     * @param properties configuración de las cachés
+     */
+    public ClusterInvalidationPublisher(JdbcTemplate jdbc, ReadCacheProperties properties) {
+        this.jdbc = jdbc;
+        this.channel = ClusterInvalidationListener.checkChannel(properties.cluster().channel());
+        this.maxMessagesPerCommit = Math.max(1, properties.cluster().maxMessagesPerCommit());
+    }
+
+    /** @return identificador de este nodo en los avisos */
+    public UUID nodeId() {
+        return nodeId;
+    }
+
+    @EventListener
+    public void on(DeckUpdated e) {
+        publish(Type.DECK_UPDATED, e.deckId(), null, null);
+    }
+
+    @EventListener
+    public void on(DeckRemoved e) {
+        publish(Type.DECK_REMOVED, e.deckId(), null, null);
+    }
+
+    @EventListener
+    public void on(CardSaved e) {
+        publish(Type.CARD_SAVED, e.deckId(), e.id(), null);
+    }
+
+    @EventListener
+    public void on(CardRemoved e) {
+        publish(Type.CARD_REMOVED, e.deckId(), e.cardId(), null);
+    }
+
+    @EventListener
+    public void on(CardDueChanged e) {
+        publish(Type.CARD_DUE, e.deckId(), e.cardId(), e.dueAt());
+    }
+
+    private void publish(Type type, UUID deckId, UUID cardId, OffsetDateTime dueAt) {
+        String payload = new InvalidationMessage(nodeId, type, deckId, cardId, dueAt).encode();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(List.of(payload));
+            return;
+        }
+        var batch = (Batch) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            batch = new Batch();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(batch);
+        }
+        batch.add(payload);
+    }
+
+    private void send(List<String> payloads) {
+        jdbc.execute((ConnectionCallback<Void>) con -> {
+            try (var ps = con.prepareStatement(NOTIFY)) {
+                ps.setString(1, channel);
+                ps.setArray(2, con.createArrayOf("text", payloads.toArray()));
+                ps.execute();
+            }
+            return null;
+        });
+    }
+
+    /** Avisos pendientes de la transacción en curso. */
+    private final class Batch implements TransactionSynchronization {
+
+        private final List<String> payloads = new ArrayList<>();
+        private boolean overflow;
+
+        void add(String payload) {
+            if (overflow) {
+                return;
+            }
+            if (payloads.size() >= maxMessagesPerCommit) {
+                overflow = true;
+                payloads.clear();
+                payloads.add(new InvalidationMessage(nodeId, Type.ALL, null, null, null).encode());
+                return;
+            }
+            payloads.add(payload);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!payloads.isEmpty()) {
+                send(payloads);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ClusterInvalidationPublisher.this);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package dev.cristianinbits.flashcards.common.cache;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Aviso de cambio que un nodo envía a los demás por el bus de invalidación.
+ * Solo lleva identificadores: quien lo recibe descarta o vuelve a leer lo
+ * afectado.
+ *
+ * Se codifica como texto {@code origen;tipo;mazo;tarjeta;vencimiento} (campos
+ * vacíos si no aplican), muy por debajo del límite de 8000 bytes de
+ * {@code pg_notify}.
+ *
+ * @param origin nodo que hizo el cambio, para ignorar los avisos propios
+ * @param type   tipo de cambio
+ * @param deckId mazo afectado
+ * @param cardId tarjeta afectada
+ * @param dueAt  nuevo vencimiento ({@link Type#CARD_DUE})
+ */
+public record InvalidationMessage(
+        UUID origin,
+        Type type,
+        @Nullable UUID deckId,
+        @Nullable UUID cardId,
+        @Nullable OffsetDateTime dueAt
+) {
+
+    /** Tipos de cambio. */
+    public enum Type {
+        /** Metadatos de un mazo modificados. */
+        DECK_UPDATED('D'),
+        /** Mazo borrado con sus tarjetas. */
+        DECK_REMOVED('X'),
+        /** Tarjeta creada o modificada. */
+        CARD_SAVED('S'),
+        /** Tarjeta borrada. */
+        CARD_REMOVED('R'),
+        /** Vencimiento de una tarjeta modificado. */
+        CARD_DUE('Q'),
+        /** Demasiados cambios para enumerarlos: hay que vaciarlo todo. */
+        ALL('A');
+
+        private final char code;
+
+        Type(char code) {
+            this.code = code;
+        }
+
+        static Type of(char code) {
+            for (var t : values()) {
+                if (t.code == code) {
+                    return t;
+                }
+            }
+            throw new IllegalArgumentException("Tipo de aviso desconocido: " + code);
+        }
+    }
+
+    /** @return el aviso codificado como carga de {@code pg_notify} */
+    public String encode() {
+        return origin + ";" + type.code + ";" + (deckId != null ? deckId : "") + ";"
+                + (cardId != null ? cardId : "") + ";"
+                + (dueAt != null ? dueAt.toInstant().toEpochMilli() : "");
+    }
+
+    /**
+     * @param payload carga recibida
+     * @return el aviso decodificado
+     * @throws IllegalArgumentException si la carga no tiene el formato esperado
+     */
+    public static InvalidationMessage decode(String payload) {
+        String[] f = payload.split(";", -1);
+        if (f.length != 5 || f[1].length() != 1) {
+            throw new IllegalArgumentException("Aviso de invalidación mal formado: " + payload);
+        }
+        return new InvalidationMessage(
+                UUID.fromString(f[0]),
+                Type.of(f[1].charAt(0)),
+                f[2].isEmpty() ? null : UUID.fromString(f[2]),
+                f[3].isEmpty() ? null : UUID.fromString(f[3]),
+                f[4].isEmpty() ? null
+                        : OffsetDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(f[4])), ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,84 @@
+package dev.cristianinbits.flashcards.common.cache;
+
+import java.util.UUID;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import dev.cristianinbits.flashcards.card.search.CardSearchEvents.CardSaved;
+import dev.cristianinbits.flashcards.deck.service.DeckEvents.DeckUpdated;
+import dev.cristianinbits.flashcards.review.due.DueIndexEvents.CardRemoved;
+import dev.cristianinbits.flashcards.review.due.DueIndexEvents.DeckRemoved;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Invalida las cachés de lectura ({@link CacheNames}) con los cambios
+ * confirmados. Al escuchar en {@link TransactionPhase#AFTER_COMMIT}, una
+ * lectura posterior a la invalidación ya ve el dato nuevo; la caducidad de
+ * cada caché acota el caso residual de una carga concurrente con el commit.
+ *
+ * Borrar un mazo vacía la caché de tarjetas entera: es poco frecuente y evita
+ * tener que saber qué tarjetas contenía.
+ *
+ * Los cambios hechos en otros nodos llegan por
+ * {@link ClusterInvalidationListener}, que usa los mismos métodos.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadCacheInvalidator {
+
+    private final CacheManager caches;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(DeckUpdated e) {
+        evictDeck(e.deckId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(DeckRemoved e) {
+        evictDeck(e.deckId());
+        clear(CacheNames.CARDS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(CardSaved e) {
+        evictCard(e.id());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(CardRemoved e) {
+        evictCard(e.cardId());
+    }
+
+    /** @param deckId mazo cuya entrada se descarta */
+    public void evictDeck(UUID deckId) {
+        evict(CacheNames.DECKS, deckId);
+    }
+
+    /** @param cardId tarjeta cuya entrada se descarta */
+    public void evictCard(UUID cardId) {
+        evict(CacheNames.CARDS, cardId);
+    }
+
+    /** Vacía todas las cachés de lectura. */
+    public void clearAll() {
+        caches.getCacheNames().forEach(this::clear);
+    }
+
+    private void evict(String name, Object key) {
+        var cache = caches.getCache(name);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String name) {
+        var cache = caches.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package dev.cristianinbits.flashcards.common.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Grabaciones de Java Flight Recorder bajo demanda (prefijo
+ * {@code flashcards.jfr}).
+ *
+ * @param enabled         si es {@code false}, no se publican los endpoints
+ * @param directory       directorio local donde se vuelcan las grabaciones
+ * @param settings        configuración de JFR de partida ({@code default} o
+ *                        {@code profile})
+ * @param defaultDuration duración de una grabación si no se indica
+ * @param maxDuration     duración máxima que puede pedirse
+ * @param maxSize         tamaño máximo de la grabación en disco
+ * @param maxFiles        grabaciones que se conservan en {@code directory};
+ *                        al iniciar una nueva se borran las más antiguas
+ */
+@ConfigurationProperties(prefix = "flashcards.jfr")
+public record FlightRecorderProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("recordings") String directory,
+        @DefaultValue("profile") String settings,
+        @DefaultValue("2m") Duration defaultDuration,
+        @DefaultValue("15m") Duration maxDuration,
+        @DefaultValue("256MB") DataSize maxSize,
+        @DefaultValue("10") int maxFiles
+) { }
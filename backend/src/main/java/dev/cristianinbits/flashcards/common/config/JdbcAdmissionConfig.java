@@ -0,0 +1,46 @@
+package dev.cristianinbits.flashcards.common.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import dev.cristianinbits.flashcards.common.jdbc.AdmissionControlDataSource;
+
+/**
+ * Envuelve el {@link DataSource} de la aplicación en un
+ * {@link AdmissionControlDataSource} cuando
+ * {@code flashcards.jdbc.admission.enabled} está activo (perfil
+ * {@code vthreads}).
+ *
+ * Se hace con un {@link BeanPostProcessor} para que todos los consumidores
+ * (JPA, {@code JdbcTemplate}, Flyway) pasen por la misma cola.
+ */
+@Configuration(proxyBeanMethods = false)
+public class JdbcAdmissionConfig {
+
+    @Bean
+    static BeanPostProcessor jdbcAdmissionPostProcessor(ObjectProvider<JdbcAdmissionProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource ds) || bean instanceof AdmissionControlDataSource) {
+                    return bean;
+                }
+                var p = properties.getObject();
+                if (!p.enabled()) {
+                    return bean;
+                }
+                int max = p.maxConcurrent();
+                if (max <= 0) {
+                    max = ds instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                }
+                return new AdmissionControlDataSource(ds, max, p.maxWaiting(), p.acquireTimeout());
+            }
+        };
+    }
+}
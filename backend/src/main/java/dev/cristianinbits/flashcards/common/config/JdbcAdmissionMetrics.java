@@ -0,0 +1,59 @@
+package dev.cristianinbits.flashcards.common.config;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.stereotype.Component;
+
+import dev.cristianinbits.flashcards.common.jdbc.AdmissionControlDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Métricas del control de admisión JDBC, si está activo:
+ * {@code flashcards.jdbc.admission.wait} (espera por un turno),
+ * {@code flashcards.jdbc.admission.rejected}, {@code .in-use} y
+ * {@code .waiting}.
+ *
+ * La espera dentro del propio pool la publica Spring Boot como
+ * {@code hikaricp.connections.acquire}.
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcAdmissionMetrics implements MeterBinder {
+
+    private final DataSource dataSource;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(dataSource instanceof AdmissionControlDataSource admission)) {
+            return;
+        }
+        var wait = Timer.builder("flashcards.jdbc.admission.wait")
+                .description("Espera por un turno de conexión JDBC")
+                .publishPercentileHistogram()
+                .register(registry);
+        var rejected = Counter.builder("flashcards.jdbc.admission.rejected")
+                .description("Peticiones rechazadas por falta de turno de conexión")
+                .register(registry);
+        Gauge.builder("flashcards.jdbc.admission.in-use", admission, AdmissionControlDataSource::inUse)
+                .description("Conexiones prestadas")
+                .register(registry);
+        Gauge.builder("flashcards.jdbc.admission.waiting", admission, AdmissionControlDataSource::waiting)
+                .description("Peticiones esperando turno")
+                .register(registry);
+        admission.setWaitListener((nanos, admitted) -> {
+            wait.record(nanos, TimeUnit.NANOSECONDS);
+            if (!admitted) {
+                rejected.increment();
+            }
+        });
+    }
+}
@@ -0,0 +1,31 @@
+package dev.cristianinbits.flashcards.common.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Control de admisión al pool de conexiones JDBC (prefijo
+ * {@code flashcards.jdbc.admission}).
+ *
+ * Con hilos virtuales cada petición tiene su propio hilo y miles de ellas
+ * pueden pedir conexión a la vez; la admisión las ordena en una cola FIFO
+ * acotada delante del pool y rechaza las que no caben o esperan demasiado.
+ *
+ * @param enabled        si es {@code false}, el {@code DataSource} no se
+ *                       envuelve
+ * @param maxConcurrent  conexiones prestadas a la vez; con 0 se usa el tamaño
+ *                       máximo del pool de Hikari
+ * @param maxWaiting     peticiones que pueden esperar turno; por encima se
+ *                       rechazan sin esperar
+ * @param acquireTimeout espera máxima por un turno antes de rechazar la
+ *                       petición
+ */
+@ConfigurationProperties(prefix = "flashcards.jdbc.admission")
+public record JdbcAdmissionProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("0") int maxConcurrent,
+        @DefaultValue("1000") int maxWaiting,
+        @DefaultValue("5s") Duration acquireTimeout
+) { }
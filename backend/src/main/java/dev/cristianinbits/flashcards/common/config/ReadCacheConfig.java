@@ -0,0 +1,43 @@
+package dev.cristianinbits.flashcards.common.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import dev.cristianinbits.flashcards.common.cache.CacheNames;
+
+/**
+ * Registra las cachés de lectura de {@link CacheNames} en el
+ * {@link CaffeineCacheManager} de Spring Boot, cada una con su tamaño y su
+ * caducidad ({@link ReadCacheProperties}).
+ *
+ * Las cachés guardan estadísticas, de modo que Spring Boot publica sus
+ * aciertos y fallos como {@code cache.gets{cache=...,result=hit|miss}}.
+ * La invalidación explícita la hace {@code ReadCacheInvalidator} tras el
+ * commit de cada cambio.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableCaching
+public class ReadCacheConfig {
+
+    @Bean
+    CacheManagerCustomizer<CaffeineCacheManager> readCaches(ReadCacheProperties properties) {
+        return manager -> {
+            manager.registerCustomCache(CacheNames.DECKS, build(properties.decks()));
+            manager.registerCustomCache(CacheNames.CARDS, build(properties.cards()));
+        };
+    }
+
+    private static Cache<Object, Object> build(ReadCacheProperties.Spec spec) {
+        return Caffeine.newBuilder()
+                .maximumSize(spec.maxSize())
+                .expireAfterWrite(spec.ttl())
+                .recordStats()
+                .build();
+    }
+}
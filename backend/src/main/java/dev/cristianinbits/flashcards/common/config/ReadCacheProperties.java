@@ -0,0 +1,61 @@
+package dev.cristianinbits.flashcards.common.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Cachés de lectura en memoria (prefijo {@code flashcards.cache}). Se
+ * desactivan todas con {@code spring.cache.type=none}.
+ *
+ * @param decks metadatos de mazo: existencia, nombre y algoritmo SRS
+ * @param cards   DTO de tarjeta de {@code GET /api/cards/{id}}
+ * @param cluster bus de invalidación entre nodos
+ */
+@ConfigurationProperties(prefix = "flashcards.cache")
+public record ReadCacheProperties(
+        @DefaultValue Spec decks,
+        @DefaultValue Spec cards,
+        @DefaultValue Cluster cluster
+) {
+
+    /**
+     * Límites de una caché.
+     *
+     * @param maxSize entradas como máximo; se expulsan las menos usadas
+     * @param ttl     vida máxima de una entrada desde que se cargó, como
+     *                red de seguridad frente a cambios no invalidados
+     */
+    public record Spec(
+            @DefaultValue("10000") long maxSize,
+            @DefaultValue("5m") Duration ttl
+    ) { }
+
+    /**
+     * Bus de invalidación entre nodos sobre {@code LISTEN/NOTIFY} de
+     * PostgreSQL.
+     *
+     * @param enabled                {@code false} en un despliegue de un solo
+     *                               nodo
+     * @param channel                canal de notificación, compartido por todos
+     *                               los nodos
+     * @param pollTimeout            espera máxima de cada lectura de
+     *                               notificaciones; marca también cada cuánto se
+     *                               comprueba la conexión
+     * @param reconnectBackoff       espera inicial antes de reconectar; se dobla
+     *                               en cada fallo seguido
+     * @param maxReconnectBackoff    espera máxima entre reconexiones
+     * @param maxMessagesPerCommit   cambios de una transacción por encima de los
+     *                               cuales se envía una única orden de vaciado
+     *                               completo
+     */
+    public record Cluster(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("flashcards_cache") String channel,
+            @DefaultValue("500ms") Duration pollTimeout,
+            @DefaultValue("1s") Duration reconnectBackoff,
+            @DefaultValue("30s") Duration maxReconnectBackoff,
+            @DefaultValue("5000") int maxMessagesPerCommit
+    ) { }
+}
@@ -8,8 +8,13 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import java.util.Map;
 import java.util.NoSuchElementException;
 
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import jakarta.persistence.OptimisticLockException;
 
 /**
  * Manejador global de excepciones para la API REST.
@@ -129,4 +134,43 @@ public class ApiExceptionHandler {
         "message", ex.getMessage());
   }
 
+  /**
+   * Maneja los conflictos de concurrencia que persisten tras los reintentos
+   * (bloqueo optimista, interbloqueos o bloqueos no adquiridos).
+   *
+   * Devuelve una respuesta con el código HTTP 409 (Conflict) para que el cliente
+   * pueda repetir la operación.
+   *
+   * @param ex excepción lanzada por la capa de persistencia
+   * @return mapa con el código de estado, tipo de error y mensaje asociado
+   */
+  @ExceptionHandler({ ConcurrencyFailureException.class, OptimisticLockException.class })
+  @ResponseStatus(HttpStatus.CONFLICT)
+  public Map<String, Object> handleConcurrencyFailure(RuntimeException ex) {
+    return Map.of(
+        "status", HttpStatus.CONFLICT.value(),
+        "error", "Conflict",
+        "message", "Conflicto de concurrencia; vuelve a intentarlo");
+  }
+
+  /**
+   * Maneja la falta de conexiones a la base de datos: el pool o el control de
+   * admisión ({@code flashcards.jdbc.admission}) rechazaron la petición tras
+   * agotar su espera.
+   *
+   * Devuelve una respuesta con el código HTTP 503 (Service Unavailable) para
+   * que el cliente reintente más tarde.
+   *
+   * @param ex excepción lanzada al obtener la conexión
+   * @return mapa con el código de estado, tipo de error y mensaje asociado
+   */
+  @ExceptionHandler({ CannotGetJdbcConnectionException.class, CannotCreateTransactionException.class })
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public Map<String, Object> handleNoConnection(RuntimeException ex) {
+    return Map.of(
+        "status", HttpStatus.SERVICE_UNAVAILABLE.value(),
+        "error", "Service Unavailable",
+        "message", "Base de datos saturada; vuelve a intentarlo");
+  }
+
 }
@@ -0,0 +1,180 @@
+package dev.cristianinbits.flashcards.common.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} que limita cuántas conexiones se prestan a la vez.
+ *
+ * Cada {@link #getConnection()} toma un permiso de un semáforo justo (FIFO)
+ * que se devuelve al cerrar la conexión. Los hilos en espera quedan aparcados
+ * en el semáforo, que no fija el hilo portador de un hilo virtual, en lugar de
+ * competir todos dentro del pool. Si la cola supera {@code maxWaiting} o el
+ * turno no llega en {@code acquireTimeout}, se lanza
+ * {@link SQLTransientConnectionException}, igual que cuando el propio pool
+ * agota su espera.
+ *
+ * Cada turno, concedido o rechazado, se notifica a un {@link WaitListener}
+ * (las métricas de {@code JdbcAdmissionMetrics}).
+ */
+public class AdmissionControlDataSource extends DelegatingDataSource {
+
+    /** Observador del tiempo de espera por un turno. */
+    @FunctionalInterface
+    public interface WaitListener {
+
+        /**
+         * @param nanos    tiempo esperado
+         * @param admitted {@code false} si la petición fue rechazada
+         */
+        void waited(long nanos, boolean admitted);
+    }
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final long acquireTimeoutNanos;
+    private volatile WaitListener listener = (nanos, admitted) -> { };
+
+    /**
+     * @param target         pool real de conexiones
+     * @param maxConcurrent  conexiones prestadas a la vez (≥ 1)
+     * @param maxWaiting     peticiones que pueden esperar turno (≥ 0)
+     * @param acquireTimeout espera máxima por un turno
+     */
+    public AdmissionControlDataSource(DataSource target, int maxConcurrent, int maxWaiting,
+            Duration acquireTimeout) {
+        super(target);
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent debe ser ≥ 1");
+        }
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = Math.max(0, maxWaiting);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    /** @param listener observador de las esperas por turno */
+    public void setWaitListener(WaitListener listener) {
+        this.listener = listener;
+    }
+
+    /** @return conexiones prestadas en este momento */
+    public int inUse() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    /** @return estimación de las peticiones que esperan turno */
+    public int waiting() {
+        return permits.getQueueLength();
+    }
+
+    /** @return conexiones que pueden prestarse a la vez */
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    private void acquire() throws SQLException {
+        if (permits.tryAcquire()) {
+            listener.waited(0, true);
+            return;
+        }
+        if (permits.getQueueLength() >= maxWaiting) {
+            listener.waited(0, false);
+            throw new SQLTransientConnectionException(
+                    "Demasiadas peticiones esperando conexión (" + maxWaiting + ")");
+        }
+        long start = System.nanoTime();
+        boolean admitted = false;
+        try {
+            admitted = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando conexión", ex);
+        } finally {
+            listener.waited(System.nanoTime() - start, admitted);
+        }
+        if (!admitted) {
+            throw new SQLTransientConnectionException(
+                    "Sin conexión disponible tras " + Duration.ofNanos(acquireTimeoutNanos).toMillis() + " ms");
+        }
+    }
+
+    /** Envuelve la conexión para devolver el permiso una sola vez al cerrarla. */
+    private Connection guard(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new ReleaseOnClose(target));
+    }
+
+    private final class ReleaseOnClose implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnClose(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Admitted[" + target + "]";
+                case "close":
+                    try {
+                        target.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                    return null;
+                default:
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+            }
+        }
+    }
+}
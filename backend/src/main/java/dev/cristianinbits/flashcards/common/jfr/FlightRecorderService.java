@@ -0,0 +1,180 @@
+package dev.cristianinbits.flashcards.common.jfr;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import dev.cristianinbits.flashcards.common.config.FlightRecorderProperties;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Grabaciones de Java Flight Recorder acotadas, una a la vez.
+ *
+ * Cada grabación parte de la configuración {@code flashcards.jfr.settings},
+ * activa los eventos propios ({@code flashcards.*}, p. ej. las fases del
+ * registro de respuestas) y tiene duración y tamaño máximos: al agotar la
+ * duración JFR la detiene y la vuelca sola en
+ * {@code <directory>/<nombre>.jfr}; {@link #stop()} la adelanta.
+ *
+ * Al iniciar una grabación se borran las más antiguas del directorio, de modo
+ * que, con la nueva, queden como mucho {@code flashcards.jfr.max-files}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "flashcards.jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class FlightRecorderService {
+
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String PREFIX = "flashcards-";
+
+    private final FlightRecorderProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording current;
+    private Path file;
+
+    /**
+     * Inicia una grabación.
+     *
+     * @param duration duración; si es null se usa la configurada por defecto
+     * @param maxBytes tamaño máximo; si es null o excede el límite se usa este
+     * @return estado de la grabación iniciada
+     * @throws IllegalArgumentException si la duración no es positiva o supera
+     *                                  el máximo
+     * @throws IllegalStateException    si ya hay una grabación en curso
+     */
+    public FlightRecordingDto start(@Nullable Duration duration, @Nullable Long maxBytes) {
+        var d = duration == null ? properties.defaultDuration() : duration;
+        if (d.isNegative() || d.isZero() || d.compareTo(properties.maxDuration()) > 0) {
+            throw new IllegalArgumentException("La duración debe estar entre 1 s y " + properties.maxDuration());
+        }
+        long limit = properties.maxSize().toBytes();
+        long size = (maxBytes == null || maxBytes <= 0) ? limit : Math.min(maxBytes, limit);
+
+        lock.lock();
+        try {
+            if (current != null && current.getState() == RecordingState.RUNNING) {
+                throw new IllegalStateException("Ya hay una grabación en curso: " + current.getName());
+            }
+            closeCurrent();
+            var name = PREFIX + LocalDateTime.now().format(STAMP);
+            var dir = Path.of(properties.directory());
+            Files.createDirectories(dir);
+            pruneRecordings(dir, Math.max(1, properties.maxFiles()) - 1);
+            var target = dir.resolve(name + ".jfr").toAbsolutePath();
+
+            var r = new Recording(Configuration.getConfiguration(properties.settings()));
+            r.setName(name);
+            r.enable("flashcards.ReviewPhase");
+            r.setDuration(d);
+            r.setMaxSize(size);
+            r.setToDisk(true);
+            r.setDestination(target);
+            r.start();
+            current = r;
+            file = target;
+            log.info("Grabación JFR {} iniciada ({}, {} bytes) -> {}", name, d, size, target);
+            return toDto(r);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (ParseException ex) {
+            throw new IllegalArgumentException("Configuración de JFR inválida: " + properties.settings(), ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Detiene la grabación en curso y la vuelca en su fichero.
+     *
+     * @return estado de la grabación detenida
+     * @throws NoSuchElementException si no hay ninguna grabación
+     */
+    public FlightRecordingDto stop() {
+        lock.lock();
+        try {
+            if (current == null) {
+                throw new NoSuchElementException("No hay ninguna grabación");
+            }
+            if (current.getState() == RecordingState.RUNNING) {
+                current.stop();
+                log.info("Grabación JFR {} detenida -> {}", current.getName(), file);
+            }
+            return toDto(current);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return estado de la última grabación
+     * @throws NoSuchElementException si no hay ninguna grabación
+     */
+    public FlightRecordingDto status() {
+        lock.lock();
+        try {
+            if (current == null) {
+                throw new NoSuchElementException("No hay ninguna grabación");
+            }
+            return toDto(current);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Borra las grabaciones más antiguas del directorio hasta dejar
+     * {@code keep}. El nombre lleva la fecha, así que el orden alfabético es el
+     * cronológico.
+     */
+    private static void pruneRecordings(Path dir, int keep) throws IOException {
+        List<Path> recordings = new ArrayList<>();
+        try (var files = Files.newDirectoryStream(dir, PREFIX + "*.jfr")) {
+            files.forEach(recordings::add);
+        }
+        if (recordings.size() <= keep) {
+            return;
+        }
+        recordings.sort(Comparator.comparing(p -> p.getFileName().toString()));
+        for (var old : recordings.subList(0, recordings.size() - keep)) {
+            try {
+                Files.deleteIfExists(old);
+                log.info("Grabación JFR antigua borrada: {}", old);
+            } catch (IOException ex) {
+                log.warn("No se pudo borrar la grabación JFR {}: {}", old, ex.getMessage());
+            }
+        }
+    }
+
+    private void closeCurrent() {
+        if (current != null) {
+            current.close();
+            current = null;
+            file = null;
+        }
+    }
+
+    private FlightRecordingDto toDto(Recording r) {
+        return new FlightRecordingDto(r.getId(), r.getName(), r.getState().name(), r.getStartTime(),
+                r.getDuration(), r.getMaxSize(), String.valueOf(file));
+    }
+}
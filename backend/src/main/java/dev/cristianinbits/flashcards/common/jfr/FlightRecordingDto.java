@@ -0,0 +1,25 @@
+package dev.cristianinbits.flashcards.common.jfr;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Estado de una grabación de Java Flight Recorder.
+ *
+ * @param id        identificador de la grabación en la JVM
+ * @param name      nombre de la grabación
+ * @param state     estado de JFR ({@code RUNNING}, {@code STOPPED}, ...)
+ * @param startedAt instante de inicio
+ * @param duration  duración máxima; al agotarse se detiene y se vuelca sola
+ * @param maxBytes  tamaño máximo en disco
+ * @param file      fichero donde se vuelca
+ */
+public record FlightRecordingDto(
+        long id,
+        String name,
+        String state,
+        Instant startedAt,
+        Duration duration,
+        long maxBytes,
+        String file
+) { }
@@ -0,0 +1,208 @@
+package dev.cristianinbits.flashcards.common.util;
+
+/**
+ * Tabla hash de direccionamiento abierto (sondeo lineal) de UUID a entero no
+ * negativo, sobre un único {@code int[]} con carga máxima de 1/2.
+ *
+ * La tabla no guarda las claves: cada celda contiene el valor + 1 (0 marca una
+ * celda libre) y la clave de un valor se obtiene de {@link Keys}, normalmente
+ * los arrays {@code msb}/{@code lsb} que el propietario ya mantiene. Así cuesta
+ * unos 8 bytes por entrada y no crea objetos por clave.
+ *
+ * Además de la interfaz por clave ({@link #get}, {@link #put},
+ * {@link #remove}), expone las celdas para propietarios que recuerdan dónde
+ * está cada valor y lo cambian a menudo (como un montículo que reubica sus
+ * entradas): {@link #find}, {@link #valueAt}, {@link #setAt} y
+ * {@link #removeAt}. Las celdas cambian al borrar y al ampliar la tabla, y
+ * cada cambio se notifica con {@link Keys#moved}.
+ *
+ * No es seguro para uso concurrente.
+ */
+public final class UuidSlotTable {
+
+    /** Clave (las dos mitades del UUID) de cada valor almacenado. */
+    public interface Keys {
+
+        long msb(int value);
+
+        long lsb(int value);
+
+        /**
+         * Aviso de que {@code value} ocupa ahora la celda {@code slot}.
+         *
+         * @param value valor reubicado
+         * @param slot  celda nueva
+         */
+        default void moved(int value, int slot) {
+        }
+    }
+
+    private static final int MIN_SLOTS = 16;
+
+    private final Keys keys;
+    private int[] slots;
+    private int mask;
+    private int size;
+
+    /**
+     * @param keys origen de la clave de cada valor
+     */
+    public UuidSlotTable(Keys keys) {
+        this(keys, 0);
+    }
+
+    /**
+     * @param keys         origen de la clave de cada valor
+     * @param expectedSize entradas previstas, para dimensionar la tabla
+     */
+    public UuidSlotTable(Keys keys, int expectedSize) {
+        this.keys = keys;
+        this.slots = new int[tableSizeFor(expectedSize)];
+        this.mask = slots.length - 1;
+    }
+
+    /** @return número de entradas */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param msb mitad alta del UUID
+     * @param lsb mitad baja del UUID
+     * @return valor asociado, o {@code -1} si no hay
+     */
+    public int get(long msb, long lsb) {
+        int j = find(msb, lsb);
+        return j < 0 ? -1 : slots[j] - 1;
+    }
+
+    /**
+     * Asocia un valor a una clave, sustituyendo el anterior. La clave del nuevo
+     * valor según {@link Keys} debe ser ya {@code (msb, lsb)}.
+     *
+     * @param msb   mitad alta del UUID
+     * @param lsb   mitad baja del UUID
+     * @param value valor no negativo
+     * @return celda que ocupa el valor
+     */
+    public int put(long msb, long lsb, int value) {
+        int j = find(msb, lsb);
+        if (j >= 0) {
+            slots[j] = value + 1;
+            return j;
+        }
+        if (2 * (size + 1) > slots.length) {
+            resize(slots.length << 1);
+            j = find(msb, lsb);
+        }
+        slots[~j] = value + 1;
+        size++;
+        return ~j;
+    }
+
+    /**
+     * Elimina una clave.
+     *
+     * @param msb mitad alta del UUID
+     * @param lsb mitad baja del UUID
+     * @return valor que tenía asociado, o {@code -1} si no había
+     */
+    public int remove(long msb, long lsb) {
+        int j = find(msb, lsb);
+        if (j < 0) {
+            return -1;
+        }
+        int value = slots[j] - 1;
+        removeAt(j);
+        return value;
+    }
+
+    /**
+     * @param msb mitad alta del UUID
+     * @param lsb mitad baja del UUID
+     * @return celda de la clave, o {@code ~celda} libre donde iría si no está
+     */
+    public int find(long msb, long lsb) {
+        int j = hash(msb, lsb) & mask;
+        while (true) {
+            int v = slots[j] - 1;
+            if (v < 0) {
+                return ~j;
+            }
+            if (keys.msb(v) == msb && keys.lsb(v) == lsb) {
+                return j;
+            }
+            j = (j + 1) & mask;
+        }
+    }
+
+    /**
+     * @param slot celda ocupada
+     * @return valor de la celda
+     */
+    public int valueAt(int slot) {
+        return slots[slot] - 1;
+    }
+
+    /**
+     * Cambia el valor de una celda ocupada. La clave del nuevo valor según
+     * {@link Keys} debe ser la misma que la del anterior.
+     *
+     * @param slot  celda ocupada
+     * @param value valor no negativo
+     */
+    public void setAt(int slot, int value) {
+        slots[slot] = value + 1;
+    }
+
+    /**
+     * Libera una celda ocupada.
+     *
+     * @param slot celda
+     */
+    public void removeAt(int slot) {
+        // Desplazamiento hacia atrás: ninguna búsqueda debe cortarse en el hueco.
+        int j = slot;
+        slots[j] = 0;
+        int k = j;
+        while (true) {
+            k = (k + 1) & mask;
+            int v = slots[k] - 1;
+            if (v < 0) {
+                break;
+            }
+            int home = hash(keys.msb(v), keys.lsb(v)) & mask;
+            // La entrada puede ocupar el hueco si su celda inicial no está en (j, k].
+            if (((k - home) & mask) >= ((k - j) & mask)) {
+                slots[j] = v + 1;
+                slots[k] = 0;
+                keys.moved(v, j);
+                j = k;
+            }
+        }
+        size--;
+    }
+
+    private void resize(int capacity) {
+        int[] old = slots;
+        slots = new int[capacity];
+        mask = capacity - 1;
+        for (int s : old) {
+            if (s != 0) {
+                int j = ~find(keys.msb(s - 1), keys.lsb(s - 1));
+                slots[j] = s;
+                keys.moved(s - 1, j);
+            }
+        }
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = (msb ^ Long.rotateLeft(lsb, 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /** @return tamaño de tabla (potencia de 2) con carga máxima de 1/2 */
+    private static int tableSizeFor(int entries) {
+        return Integer.highestOneBit(Math.max(MIN_SLOTS / 2, entries) - 1) << 2;
+    }
+}
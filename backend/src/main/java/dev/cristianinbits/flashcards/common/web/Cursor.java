@@ -0,0 +1,80 @@
+package dev.cristianinbits.flashcards.common.web;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Posición de paginación por cursor (keyset): la clave de ordenación del último
+ * elemento devuelto, formada por un instante y el identificador como desempate.
+ *
+ * Se expone al cliente como un token opaco (Base64 URL-safe), de modo que el
+ * formato interno puede cambiar sin romper a los clientes.
+ *
+ * @param at instante de la clave de ordenación (p. ej. {@code createdAt})
+ * @param id identificador del elemento, para desempatar instantes iguales
+ */
+public record Cursor(OffsetDateTime at, UUID id) {
+
+    /** Posición anterior a cualquier elemento en orden ascendente. */
+    public static final Cursor FIRST_ASC = new Cursor(
+            OffsetDateTime.of(1, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC), new UUID(0L, 0L));
+
+    /** Posición anterior a cualquier elemento en orden descendente. */
+    public static final Cursor FIRST_DESC = new Cursor(
+            OffsetDateTime.of(9999, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC), new UUID(-1L, -1L));
+
+    /**
+     * Devuelve la posición de inicio para un sentido de recorrido.
+     *
+     * @param ascending {@code true} para orden ascendente
+     * @return posición anterior al primer elemento
+     */
+    public static Cursor first(boolean ascending) {
+        return ascending ? FIRST_ASC : FIRST_DESC;
+    }
+
+    /**
+     * Codifica la posición como token opaco.
+     *
+     * @return token Base64 URL-safe sin relleno
+     */
+    public String encode() {
+        var raw = at.toInstant() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token generado por {@link #encode()}.
+     *
+     * @param token token recibido del cliente (puede ser nulo o vacío)
+     * @return posición decodificada, o {@code null} si no se indicó token
+     * @throws IllegalArgumentException si el token no es válido
+     */
+    @Nullable
+    public static Cursor decodeOrNull(@Nullable String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            var at = Instant.parse(raw.substring(0, sep)).atOffset(ZoneOffset.UTC);
+            var idText = raw.substring(sep + 1);
+            var id = UUID.fromString(idText);
+            // UUID.fromString admite grupos incompletos: un token truncado no debe
+            // decodificarse como otro identificador.
+            if (!id.toString().equals(idText)) {
+                throw new IllegalArgumentException();
+            }
+            return new Cursor(at, id);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package dev.cristianinbits.flashcards.common.web;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Página de resultados de una paginación por cursor (keyset).
+ *
+ * A diferencia de {@code Page}, no incluye número de página ni totales: para
+ * pedir la siguiente se envía {@code nextCursor} como parámetro {@code cursor}.
+ *
+ * @param content    elementos de la página
+ * @param size       tamaño de página solicitado
+ * @param nextCursor token de la siguiente página, o {@code null} si es la última
+ * @param <T>        tipo de los elementos
+ */
+public record CursorPage<T>(List<T> content, int size, @Nullable String nextCursor) {
+
+    /**
+     * Construye la página a partir de las filas leídas, que deben ser como máximo
+     * {@code size + 1}: la fila adicional solo indica que hay página siguiente.
+     *
+     * @param rows   filas leídas en orden
+     * @param size   tamaño de página solicitado
+     * @param key    clave de ordenación de una fila
+     * @param mapper conversión de una fila a su DTO
+     * @param <E>    tipo de las filas
+     * @param <T>    tipo de los elementos devueltos
+     * @return página de resultados
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, Cursor> key,
+            Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        var page = hasNext ? rows.subList(0, size) : rows;
+        String next = hasNext ? key.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(page.stream().map(mapper).toList(), size, next);
+    }
+}
@@ -3,6 +3,7 @@ package dev.cristianinbits.flashcards.common.web;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -18,6 +19,14 @@ import java.util.Set;
  * 
  * También proporciona valores por defecto y validaciones para garantizar que las
  * solicitudes cumplan con las restricciones esperadas.
+ *
+ * Con {@code withTotal=false} los listados que lo admiten devuelven un
+ * {@code Slice} (sin {@code totalElements}/{@code totalPages}) y se ahorran la
+ * consulta {@code COUNT(*)}.
+ *
+ * Con {@code keyset=true} los listados que lo admiten usan paginación por
+ * cursor ({@link CursorPage}): se ignora {@code page} y la siguiente página se
+ * pide con el {@code nextCursor} recibido en el parámetro {@code cursor}.
  */
 public record PageQuery(
 
@@ -32,7 +41,12 @@ public record PageQuery(
             regexp = "^[A-Za-z_][A-Za-z0-9_]*(,(?i)(asc|desc))?$",
             message = "Formato de orden inválido. Usa 'campo,asc' o 'campo,desc'"
         )
-        String sort
+        String sort,
+
+        Boolean withTotal,
+
+        @Size(max = 200, message = "Cursor demasiado largo")
+        String cursor
 ) {
 
     /**
@@ -62,6 +76,49 @@ public record PageQuery(
         return (sort == null || sort.isBlank()) ? "createdAt,desc" : sort;
     }
 
+    /**
+     * Indica si la respuesta debe incluir el total de elementos y páginas.
+     *
+     * @return {@code false} solo si se pidió explícitamente {@code withTotal=false}
+     */
+    public boolean withTotalOrDefault() {
+        return withTotal == null || withTotal;
+    }
+
+    /**
+     * Indica si el orden solicitado para paginación por cursor es ascendente.
+     *
+     * La paginación por cursor solo admite ordenar por la clave del cursor; si
+     * no se indica orden, se usa descendente.
+     *
+     * @param keyProperty propiedad que forma la clave del cursor (p. ej.
+     *                    {@code createdAt})
+     * @return {@code true} si el orden es ascendente
+     * @throws IllegalArgumentException si se pide ordenar por otra propiedad
+     */
+    public boolean keysetAscending(String keyProperty) {
+        if (sort == null || sort.isBlank()) {
+            return false;
+        }
+        String[] parts = sort.trim().split(",", 2);
+        if (!keyProperty.equals(parts[0].trim())) {
+            throw new IllegalArgumentException("La paginación por cursor solo admite orden por " + keyProperty);
+        }
+        return parts.length == 1 || "asc".equalsIgnoreCase(parts[1].trim());
+    }
+
+    /**
+     * Devuelve la posición indicada en {@code cursor} o, si no hay, la de inicio.
+     *
+     * @param ascending sentido del recorrido
+     * @return posición a partir de la cual leer
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    public Cursor cursorOrFirst(boolean ascending) {
+        var c = Cursor.decodeOrNull(cursor);
+        return (c != null) ? c : Cursor.first(ascending);
+    }
+
     /**
      * Convierte los parámetros de paginación y ordenación en un objeto {@link Pageable}.
      * 
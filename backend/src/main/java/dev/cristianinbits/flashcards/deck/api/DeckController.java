@@ -97,6 +97,20 @@ public class DeckController {
         return service.get(id);
     }
 
+    /**
+     * Obtiene las estadísticas agregadas de un mazo (tarjetas por fase,
+     * pendientes, facilidad media y último repaso).
+     *
+     * @param id identificador único del mazo
+     * @return estadísticas del mazo
+     * @throws NoSuchElementException si no existe un mazo con el identificador
+     *                                indicado
+     */
+    @GetMapping("/{id}/stats")
+    public DeckStatsDto stats(@PathVariable UUID id) {
+        return service.stats(id);
+    }
+
     /**
      * Actualiza un mazo existente con los datos proporcionados.
      * 
@@ -54,6 +54,13 @@ public class Deck {
     @Column
     private String description;
 
+    /**
+     * Nombre del algoritmo de repetición espaciada que planifica las tarjetas
+     * de la baraja (por defecto SM-2).
+     */
+    @Column(name = "srs_algorithm", nullable = false, length = 32)
+    private String srsAlgorithm = "SM2";
+
     /**
      * Fecha y hora en la que se creó la baraja.
      * Se almacena en formato UTC y no puede modificarse una vez creada.
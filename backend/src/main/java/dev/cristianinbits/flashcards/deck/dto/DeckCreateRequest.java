@@ -8,8 +8,11 @@ import jakarta.validation.constraints.Size;
  * 
  * Este record se utiliza como DTO de entrada en las operaciones de creación,
  * validando los datos antes de persistirlos en la base de datos.
+ *
+ * {@code srsAlgorithm} es opcional; si se omite se usa SM-2.
  */
 public record DeckCreateRequest(
         @NotBlank @Size(max = 100) String name,
-        @Size(max = 10000) String description
+        @Size(max = 10000) String description,
+        @Size(max = 32) String srsAlgorithm
 ) { }
\ No newline at end of file
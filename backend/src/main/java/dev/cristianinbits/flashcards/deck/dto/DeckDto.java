@@ -8,10 +8,13 @@ import java.util.UUID;
  * 
  * Este record actúa como DTO de salida y contiene los campos visibles o relevantes
  * que el cliente necesita conocer, ocultando detalles internos de la entidad.
+ * Incluye las estadísticas agregadas del mazo ({@link DeckStatsDto}).
  */
 public record DeckDto(
         UUID id,
         String name,
         String description,
-        OffsetDateTime createdAt
+        String srsAlgorithm,
+        OffsetDateTime createdAt,
+        DeckStatsDto stats
 ) { }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package dev.cristianinbits.flashcards.deck.dto;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Datos de un mazo que cambian poco y se guardan en la caché de lectura
+ * ({@code decks}): basta con su presencia para comprobar que el mazo existe.
+ * No incluye estadísticas, que se consultan siempre en vivo.
+ *
+ * @param id           identificador del mazo
+ * @param name         nombre
+ * @param description  descripción (puede ser null)
+ * @param srsAlgorithm algoritmo SRS del mazo
+ * @param createdAt    fecha de creación
+ */
+public record DeckMetadata(
+        UUID id,
+        String name,
+        String description,
+        String srsAlgorithm,
+        OffsetDateTime createdAt
+) { }
@@ -0,0 +1,29 @@
+package dev.cristianinbits.flashcards.deck.dto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Estadísticas agregadas de un mazo.
+ *
+ * @param cardCount      número de tarjetas
+ * @param dueNow         tarjetas pendientes de repaso en este momento
+ * @param newCount       tarjetas nunca repasadas
+ * @param learningCount  tarjetas con un intervalo de 1 a 20 días
+ * @param matureCount    tarjetas con un intervalo de 21 días o más
+ * @param averageEase    factor de facilidad medio (nulo si no hay tarjetas)
+ * @param lastReviewedAt última respuesta registrada en el mazo (nula si no hay)
+ */
+public record DeckStatsDto(
+        long cardCount,
+        long dueNow,
+        long newCount,
+        long learningCount,
+        long matureCount,
+        BigDecimal averageEase,
+        OffsetDateTime lastReviewedAt
+) {
+
+    /** Estadísticas de un mazo sin tarjetas. */
+    public static final DeckStatsDto EMPTY = new DeckStatsDto(0, 0, 0, 0, 0, null, null);
+}
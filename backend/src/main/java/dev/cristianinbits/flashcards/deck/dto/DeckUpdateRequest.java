@@ -8,8 +8,11 @@ import jakarta.validation.constraints.Size;
  * 
  * Este record se utiliza como DTO de entrada en las operaciones de actualización,
  * validando los datos enviados por el cliente antes de aplicar los cambios en la entidad Deck.
+ *
+ * {@code srsAlgorithm} es opcional; si se omite se mantiene el algoritmo actual.
  */
 public record DeckUpdateRequest(
         @NotBlank @Size(max = 100) String name,
-        @Size(max = 10000) String description
+        @Size(max = 10000) String description,
+        @Size(max = 32) String srsAlgorithm
 ) { }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package dev.cristianinbits.flashcards.deck.repo;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import dev.cristianinbits.flashcards.deck.dto.DeckStatsDto;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Acceso a las estadísticas por mazo mantenidas por triggers (ver migración
+ * V015): el acumulado de {@code deck_stats} más los incrementos aún no
+ * consolidados de {@code deck_stats_delta}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeckStatsRepository {
+
+    /**
+     * Estadísticas de varios mazos en una sola consulta. Las tarjetas
+     * pendientes dependen de la hora, así que se cuentan al leer sobre el índice
+     * {@code (deck_id, due_at)}: el recuento es exacto y recorre solo el rango
+     * del mazo en ese índice (admite un recorrido solo de índice).
+     */
+    private static final String FIND_BY_DECKS = """
+            SELECT d.id AS deck_id,
+                   COALESCE(s.card_count, 0) + COALESCE(x.card_count, 0) AS card_count,
+                   COALESCE(s.new_count, 0) + COALESCE(x.new_count, 0) AS new_count,
+                   COALESCE(s.learning_count, 0) + COALESCE(x.learning_count, 0) AS learning_count,
+                   COALESCE(s.mature_count, 0) + COALESCE(x.mature_count, 0) AS mature_count,
+                   COALESCE(s.ease_sum, 0) + COALESCE(x.ease_sum, 0) AS ease_sum,
+                   GREATEST(s.last_reviewed_at, x.last_reviewed_at) AS last_reviewed_at,
+                   (SELECT COUNT(*) FROM card_srs_state c
+                    WHERE c.deck_id = d.id AND c.due_at <= :now) AS due_now
+            FROM decks d
+            LEFT JOIN deck_stats s ON s.deck_id = d.id
+            LEFT JOIN (
+                SELECT deck_id,
+                       SUM(card_count) AS card_count,
+                       SUM(new_count) AS new_count,
+                       SUM(learning_count) AS learning_count,
+                       SUM(mature_count) AS mature_count,
+                       SUM(ease_sum) AS ease_sum,
+                       MAX(last_reviewed_at) AS last_reviewed_at
+                FROM deck_stats_delta
+                WHERE deck_id IN (:ids)
+                GROUP BY deck_id
+            ) x ON x.deck_id = d.id
+            WHERE d.id IN (:ids)
+            """;
+
+    /**
+     * Mueve los incrementos pendientes a {@code deck_stats} en una sola
+     * sentencia. Solo se borran los incrementos visibles al empezar, de modo que
+     * los que llegan mientras tanto quedan para la siguiente consolidación; los
+     * de mazos ya borrados se descartan.
+     */
+    private static final String FOLD = """
+            WITH moved AS (
+                DELETE FROM deck_stats_delta
+                RETURNING deck_id, card_count, new_count, learning_count, mature_count, ease_sum, last_reviewed_at
+            ),
+            agg AS (
+                SELECT deck_id,
+                       SUM(card_count) AS card_count,
+                       SUM(new_count) AS new_count,
+                       SUM(learning_count) AS learning_count,
+                       SUM(mature_count) AS mature_count,
+                       SUM(ease_sum) AS ease_sum,
+                       MAX(last_reviewed_at) AS last_reviewed_at
+                FROM moved
+                GROUP BY deck_id
+            )
+            INSERT INTO deck_stats AS s (deck_id, card_count, new_count, learning_count, mature_count,
+                                         ease_sum, last_reviewed_at)
+            SELECT a.deck_id, a.card_count, a.new_count, a.learning_count, a.mature_count,
+                   a.ease_sum, a.last_reviewed_at
+            FROM agg a
+            JOIN decks d ON d.id = a.deck_id
+            ON CONFLICT (deck_id) DO UPDATE
+            SET card_count       = s.card_count + EXCLUDED.card_count,
+                new_count        = s.new_count + EXCLUDED.new_count,
+                learning_count   = s.learning_count + EXCLUDED.learning_count,
+                mature_count     = s.mature_count + EXCLUDED.mature_count,
+                ease_sum         = s.ease_sum + EXCLUDED.ease_sum,
+                last_reviewed_at = GREATEST(s.last_reviewed_at, EXCLUDED.last_reviewed_at)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Obtiene las estadísticas de varios mazos.
+     *
+     * @param deckIds identificadores de los mazos (no vacío)
+     * @param now     instante de referencia para las tarjetas pendientes
+     * @return estadísticas por mazo; los mazos inexistentes no aparecen
+     */
+    public Map<UUID, DeckStatsDto> findByDeckIds(Collection<UUID> deckIds, OffsetDateTime now) {
+        var params = new MapSqlParameterSource()
+                .addValue("ids", deckIds)
+                .addValue("now", now);
+        Map<UUID, DeckStatsDto> result = new HashMap<>();
+        jdbc.query(FIND_BY_DECKS, params, rs -> {
+            long cards = rs.getLong("card_count");
+            var easeSum = rs.getBigDecimal("ease_sum");
+            result.put(rs.getObject("deck_id", UUID.class), new DeckStatsDto(
+                    cards,
+                    rs.getLong("due_now"),
+                    rs.getLong("new_count"),
+                    rs.getLong("learning_count"),
+                    rs.getLong("mature_count"),
+                    cards > 0 ? easeSum.divide(BigDecimal.valueOf(cards), 2, RoundingMode.HALF_UP) : null,
+                    rs.getObject("last_reviewed_at", OffsetDateTime.class)));
+        });
+        return result;
+    }
+
+    /**
+     * Consolida los incrementos pendientes en {@code deck_stats}.
+     *
+     * @return número de mazos actualizados
+     */
+    public int fold() {
+        return jdbc.getJdbcTemplate().update(FOLD);
+    }
+}
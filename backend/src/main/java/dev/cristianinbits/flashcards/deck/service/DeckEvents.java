@@ -0,0 +1,21 @@
+package dev.cristianinbits.flashcards.deck.service;
+
+import java.util.UUID;
+
+/**
+ * Eventos de aplicación de los mazos. Se publican dentro de la transacción que
+ * hace el cambio y se aplican solo tras el commit. El borrado de mazos se
+ * publica como {@code DueIndexEvents.DeckRemoved}.
+ */
+public final class DeckEvents {
+
+    private DeckEvents() {
+    }
+
+    /**
+     * Mazo editado (nombre, descripción o algoritmo SRS).
+     *
+     * @param deckId mazo
+     */
+    public record DeckUpdated(UUID deckId) { }
+}
@@ -0,0 +1,43 @@
+package dev.cristianinbits.flashcards.deck.service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import dev.cristianinbits.flashcards.common.cache.CacheNames;
+import dev.cristianinbits.flashcards.deck.domain.Deck;
+import dev.cristianinbits.flashcards.deck.dto.DeckMetadata;
+import dev.cristianinbits.flashcards.deck.repo.DeckRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Consulta de mazos a través de la caché de lectura {@link CacheNames#DECKS}.
+ *
+ * Es el punto por el que pasan las comprobaciones de existencia de mazo de
+ * tarjetas, repasos, importación, exportación y analítica; cuando hace falta
+ * la entidad para una relación basta con
+ * {@link DeckRepository#getReferenceById}. Los mazos inexistentes no se
+ * guardan en caché.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeckLookup {
+
+    private final DeckRepository repo;
+
+    /**
+     * @param id identificador del mazo
+     * @return metadatos del mazo, o vacío si no existe
+     */
+    @Cacheable(cacheNames = CacheNames.DECKS, unless = "#result == null")
+    public Optional<DeckMetadata> find(UUID id) {
+        return repo.findById(id).map(DeckLookup::toMetadata);
+    }
+
+    static DeckMetadata toMetadata(Deck d) {
+        return new DeckMetadata(d.getId(), d.getName(), d.getDescription(), d.getSrsAlgorithm(), d.getCreatedAt());
+    }
+}
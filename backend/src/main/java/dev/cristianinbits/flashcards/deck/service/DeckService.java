@@ -3,13 +3,23 @@ package dev.cristianinbits.flashcards.deck.service;
 import dev.cristianinbits.flashcards.deck.domain.Deck;
 import dev.cristianinbits.flashcards.deck.dto.DeckCreateRequest;
 import dev.cristianinbits.flashcards.deck.dto.DeckDto;
+import dev.cristianinbits.flashcards.deck.dto.DeckStatsDto;
 import dev.cristianinbits.flashcards.deck.dto.DeckUpdateRequest;
 import dev.cristianinbits.flashcards.deck.repo.DeckRepository;
-
+import dev.cristianinbits.flashcards.deck.repo.DeckStatsRepository;
+import dev.cristianinbits.flashcards.deck.service.DeckEvents.DeckUpdated;
+import dev.cristianinbits.flashcards.review.due.DueIndexEvents.DeckRemoved;
+import dev.cristianinbits.flashcards.review.srs.SrsAlgorithms;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
 import org.springframework.stereotype.Service;
@@ -44,6 +54,17 @@ public class DeckService {
      */
     private final DeckRepository repo;
 
+    /** Estadísticas agregadas por mazo (ver {@link DeckStatsRepository}). */
+    private final DeckStatsRepository stats;
+
+    private final DeckLookup lookup;
+
+    /** Registro de algoritmos SRS para validar el algoritmo de cada mazo. */
+    private final SrsAlgorithms algorithms;
+
+    /** Publicador de eventos para mantener el índice de tarjetas pendientes. */
+    private final ApplicationEventPublisher publisher;
+
     /**
      * Crea un nuevo mazo (Deck) a partir de los datos recibidos en la solicitud.
      * Normaliza las cadenas de texto y guarda el nuevo registro en la base de
@@ -51,24 +72,38 @@ public class DeckService {
      *
      * @param req datos de creación del mazo
      * @return DTO con la información del mazo creado
+     * @throws IllegalArgumentException si el algoritmo SRS indicado no existe
      */
     @Transactional
     public DeckDto create(DeckCreateRequest req) {
         var d = new Deck();
         d.setName(normalize(req.name()));
         d.setDescription(normalize(req.description()));
+        if (req.srsAlgorithm() != null) {
+            d.setSrsAlgorithm(algorithms.get(req.srsAlgorithm()).name());
+        }
         d = repo.save(d);
-        return toDto(d);
+        return toDto(d, DeckStatsDto.EMPTY);
     }
 
     /**
-     * Lista los mazos existentes con soporte de paginación.
+     * Lista los mazos existentes con soporte de paginación. Las estadísticas de
+     * todos los mazos de la página se obtienen con una sola consulta.
      *
      * @param pageable parámetros de paginación y ordenación
      * @return página de mazos representados como DTOs
      */
     public Page<DeckDto> list(Pageable pageable) {
-        return repo.findAll(pageable).map(this::toDto);
+        var page = repo.findAll(pageable);
+        if (page.isEmpty()) {
+            return page.map(d -> toDto(d, DeckStatsDto.EMPTY));
+        }
+        var ids = page.getContent().stream().map(Deck::getId).toList();
+        var byDeck = stats.findByDeckIds(ids, OffsetDateTime.now(ZoneOffset.UTC));
+        List<DeckDto> content = page.getContent().stream()
+                .map(d -> toDto(d, byDeck.getOrDefault(d.getId(), DeckStatsDto.EMPTY)))
+                .toList();
+        return new PageImpl<>(content, pageable, page.getTotalElements());
     }
 
     /**
@@ -79,7 +114,26 @@ public class DeckService {
      * @throws NoSuchElementException si el mazo no existe
      */
     public DeckDto get(UUID id) {
-        return toDto(findOr404(id));
+        var meta = lookup.find(id)
+                .orElseThrow(() -> new NoSuchElementException("Deck no encontrado: " + id));
+        var s = stats.findByDeckIds(List.of(id), OffsetDateTime.now(ZoneOffset.UTC))
+                .getOrDefault(id, DeckStatsDto.EMPTY);
+        return new DeckDto(meta.id(), meta.name(), meta.description(), meta.srsAlgorithm(), meta.createdAt(), s);
+    }
+
+    /**
+     * Obtiene las estadísticas agregadas de un mazo.
+     *
+     * @param id identificador único del mazo
+     * @return estadísticas del mazo
+     * @throws NoSuchElementException si el mazo no existe
+     */
+    public DeckStatsDto stats(UUID id) {
+        var found = stats.findByDeckIds(List.of(id), OffsetDateTime.now(ZoneOffset.UTC)).get(id);
+        if (found == null) {
+            throw new NoSuchElementException("Deck no encontrado: " + id);
+        }
+        return found;
     }
 
     /**
@@ -92,13 +146,18 @@ public class DeckService {
      * @param id  identificador del mazo a actualizar
      * @param req datos de actualización
      * @return DTO actualizado del mazo
-     * @throws NoSuchElementException si el mazo no existe
+     * @throws NoSuchElementException   si el mazo no existe
+     * @throws IllegalArgumentException si el algoritmo SRS indicado no existe
      */
     @Transactional
     public DeckDto update(UUID id, DeckUpdateRequest req) {
         var d = findOr404(id);
         d.setName(normalize(req.name()));
         d.setDescription(normalize(req.description()));
+        if (req.srsAlgorithm() != null) {
+            d.setSrsAlgorithm(algorithms.get(req.srsAlgorithm()).name());
+        }
+        publisher.publishEvent(new DeckUpdated(id));
         return toDto(d);
     }
 
@@ -112,20 +171,37 @@ public class DeckService {
     public void delete(UUID id) {
         var d = findOr404(id);
         repo.delete(d);
+        publisher.publishEvent(new DeckRemoved(id));
     }
 
     /**
-     * Convierte una entidad {@link Deck} a su correspondiente DTO.
+     * Convierte una entidad {@link Deck} a su correspondiente DTO, con sus
+     * estadísticas actuales.
      *
      * @param d entidad Deck
      * @return DTO equivalente
      */
     private DeckDto toDto(Deck d) {
+        var s = stats.findByDeckIds(List.of(d.getId()), OffsetDateTime.now(ZoneOffset.UTC))
+                .getOrDefault(d.getId(), DeckStatsDto.EMPTY);
+        return toDto(d, s);
+    }
+
+    /**
+     * Convierte una entidad {@link Deck} a su correspondiente DTO.
+     *
+     * @param d     entidad Deck
+     * @param stats estadísticas del mazo
+     * @return DTO equivalente
+     */
+    private static DeckDto toDto(Deck d, DeckStatsDto stats) {
         return new DeckDto(
                 d.getId(),
                 d.getName(),
                 d.getDescription(),
-                d.getCreatedAt());
+                d.getSrsAlgorithm(),
+                d.getCreatedAt(),
+                stats);
     }
 
     /**
@@ -0,0 +1,36 @@
+package dev.cristianinbits.flashcards.deck.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.cristianinbits.flashcards.deck.repo.DeckStatsRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Consolida periódicamente en {@code deck_stats} los incrementos que los
+ * triggers dejan en {@code deck_stats_delta}.
+ *
+ * Las lecturas ya suman los incrementos pendientes, así que la cadencia
+ * ({@code flashcards.deck-stats.fold-interval}) solo determina cuántas filas
+ * tienen que agregar. Es seguro ejecutarla a la vez en varios nodos.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeckStatsFolder {
+
+    private final DeckStatsRepository stats;
+
+    /**
+     * Vuelca los incrementos pendientes.
+     *
+     * @return número de mazos actualizados
+     */
+    @Scheduled(fixedDelayString = "${flashcards.deck-stats.fold-interval:10s}",
+            initialDelayString = "${flashcards.deck-stats.fold-interval:10s}")
+    @Transactional
+    public int fold() {
+        return stats.fold();
+    }
+}
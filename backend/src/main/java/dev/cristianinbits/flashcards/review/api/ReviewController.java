@@ -4,8 +4,8 @@ import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,12 +19,17 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import dev.cristianinbits.flashcards.card.dto.CardDto;
+import dev.cristianinbits.flashcards.common.web.CursorPage;
 import dev.cristianinbits.flashcards.common.web.PageQuery;
+import dev.cristianinbits.flashcards.review.dto.ReviewContentionDto;
+import dev.cristianinbits.flashcards.review.dto.ReviewEventBatchRequest;
+import dev.cristianinbits.flashcards.review.dto.ReviewEventBatchResultDto;
 import dev.cristianinbits.flashcards.review.dto.ReviewEventCreateRequest;
 import dev.cristianinbits.flashcards.review.dto.ReviewEventDto;
 import dev.cristianinbits.flashcards.review.dto.ReviewSessionCreateRequest;
 import dev.cristianinbits.flashcards.review.dto.ReviewSessionDto;
 import dev.cristianinbits.flashcards.review.dto.ReviewSessionFinishRequest;
+import dev.cristianinbits.flashcards.review.service.ReviewContentionTracker;
 import dev.cristianinbits.flashcards.review.service.ReviewService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
@@ -37,8 +42,8 @@ import lombok.RequiredArgsConstructor;
  * Expone endpoints bajo el prefijo {@code /api} para:
  * - Obtener tarjetas vencidas (due) por mazo.
  * - Gestionar sesiones de repaso (crear, listar, obtener y finalizar).
- * - Registrar eventos de revisión, tanto dentro de una sesión como de forma
- * independiente.
+ * - Registrar eventos de revisión, tanto dentro de una sesión (uno a uno o en
+ * bloque) como de forma independiente.
  *
  * La validación de parámetros está habilitada mediante {@code @Validated}. La
  * ordenación permitida para sesiones se restringe a las propiedades definidas
@@ -56,6 +61,9 @@ public class ReviewController {
     /** Servicio de negocio que orquesta la lógica de repaso. */
     private final ReviewService service;
 
+    /** Contadores de reintentos por conflictos de concurrencia. */
+    private final ReviewContentionTracker contentionTracker;
+
     // ------------------------------------------------------------
     // 1) Due cards por deck
     // ------------------------------------------------------------
@@ -113,17 +121,39 @@ public class ReviewController {
      * Endpoint: {@code GET /api/decks/{deckId}/reviews}
      *
      * @param deckId identificador del mazo
-     * @param q      parámetros de paginación y ordenación
+     * @param q      parámetros de paginación y ordenación; con
+     *               {@code withTotal=false} se omiten los totales
      * @return página de sesiones en formato DTO
      * @throws NoSuchElementException   si el mazo no existe
      * @throws IllegalArgumentException si la propiedad de orden no está permitida
      */
     @GetMapping("/decks/{deckId}/reviews")
-    public Page<ReviewSessionDto> listSessionsByDeck(
+    public Slice<ReviewSessionDto> listSessionsByDeck(
             @PathVariable UUID deckId,
             @Valid PageQuery q) {
         Pageable pageable = q.toPageable(ALLOWED_REVIEW_SORT);
-        return service.listSessionsByDeck(deckId, pageable);
+        return service.listSessionsByDeck(deckId, pageable, q.withTotalOrDefault());
+    }
+
+    /**
+     * Lista las sesiones de repaso de un mazo con paginación por cursor.
+     *
+     * Endpoint: {@code GET /api/decks/{deckId}/reviews?keyset=true[&cursor=...]}
+     *
+     * Solo admite ordenar por {@code startedAt} (por defecto descendente).
+     *
+     * @param deckId identificador del mazo
+     * @param q      parámetros de tamaño, orden y cursor
+     * @return página de sesiones con el cursor de la siguiente
+     * @throws NoSuchElementException   si el mazo no existe
+     * @throws IllegalArgumentException si el orden o el cursor no son válidos
+     */
+    @GetMapping(value = "/decks/{deckId}/reviews", params = "keyset=true")
+    public CursorPage<ReviewSessionDto> listSessionsByDeckKeyset(
+            @PathVariable UUID deckId,
+            @Valid PageQuery q) {
+        boolean asc = q.keysetAscending("startedAt");
+        return service.listSessionsByDeck(deckId, q.cursorOrFirst(asc), asc, q.sizeOrDefault());
     }
 
     /**
@@ -159,6 +189,22 @@ public class ReviewController {
         return service.finishSession(id, req);
     }
 
+    /**
+     * Devuelve las tarjetas y sesiones que más reintentos por conflictos de
+     * concurrencia han acumulado en este nodo.
+     *
+     * Endpoint: {@code GET /api/reviews/contention}
+     *
+     * @param limit número máximo de entradas por categoría, entre 1 y 100 (por
+     *              defecto 20)
+     * @return resumen de contención por tarjeta y por sesión
+     */
+    @GetMapping("/reviews/contention")
+    public ReviewContentionDto contention(
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return contentionTracker.top(limit);
+    }
+
     // ------------------------------------------------------------
     // 3) Registrar evento (dos estilos)
     // ------------------------------------------------------------
@@ -178,8 +224,9 @@ public class ReviewController {
      * @throws IllegalStateException    si la sesión ya está finalizada
      * @throws IllegalArgumentException si la tarjeta no pertenece al mazo de la
      *                                  sesión
-     * @throws OptimisticLockException  si se produce un conflicto de concurrencia
-     *                                  al actualizar SRS
+     * @throws ConcurrencyFailureException si tras los reintentos persiste un
+     *                                     conflicto de concurrencia al
+     *                                     actualizar SRS
      */
     @PostMapping("/reviews/{reviewId}/events")
     public ReviewEventDto registerEventInSession(
@@ -193,6 +240,27 @@ public class ReviewController {
         return service.registerEvent(req);
     }
 
+    /**
+     * Registra en bloque las respuestas de una sesión existente en una única
+     * transacción. Pensado para clientes que sincronizan tras estar sin conexión:
+     * evita una petición HTTP por respuesta.
+     *
+     * Endpoint: {@code POST /api/reviews/{reviewId}/events/batch}
+     *
+     * @param reviewId identificador de la sesión existente
+     * @param body     respuestas ordenadas a registrar
+     * @return totales y resultado individual (aceptada, rechazada o en conflicto)
+     *         de cada respuesta
+     * @throws NoSuchElementException si la sesión no existe
+     * @throws IllegalStateException  si la sesión ya está finalizada
+     */
+    @PostMapping("/reviews/{reviewId}/events/batch")
+    public ReviewEventBatchResultDto registerEventBatch(
+            @PathVariable UUID reviewId,
+            @Valid @RequestBody ReviewEventBatchRequest body) {
+        return service.registerEventBatch(reviewId, body);
+    }
+
     /**
      * Registra un evento de repaso para una tarjeta concreta sin requerir sesión.
      * Si el cuerpo incluye {@code reviewId}, se asociará; en caso contrario, el
@@ -210,8 +278,9 @@ public class ReviewController {
      * @throws IllegalStateException    si la sesión indicada está finalizada
      * @throws IllegalArgumentException si la tarjeta no pertenece al mazo de la
      *                                  sesión indicada
-     * @throws OptimisticLockException  si se produce un conflicto de concurrencia
-     *                                  al actualizar SRS
+     * @throws ConcurrencyFailureException si tras los reintentos persiste un
+     *                                     conflicto de concurrencia al
+     *                                     actualizar SRS
      */
     @PostMapping("/cards/{cardId}/review")
     public ReviewEventDto registerEventForCard(
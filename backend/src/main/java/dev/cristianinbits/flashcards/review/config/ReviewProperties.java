@@ -0,0 +1,125 @@
+package dev.cristianinbits.flashcards.review.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Propiedades de configuración del bloque de repaso (prefijo
+ * {@code flashcards.review}).
+ *
+ * @param singleRoundTrip si es {@code true}, el registro de una respuesta se
+ *                        confirma con una única sentencia SQL (ver
+ *                        {@code ReviewCommitRepository}); si es {@code false}
+ *                        se usa siempre el camino JPA
+ * @param retry           política de reintentos ante conflictos de concurrencia
+ * @param sessionCounters modo de mantenimiento de los contadores de sesión
+ * @param counterFold     intervalo con el que se consolidan los contadores de
+ *                        las sesiones abiertas con respuestas nuevas en modo
+ *                        {@link SessionCounters#DEFERRED}
+ * @param dueIndex        índice en memoria de tarjetas pendientes por mazo
+ * @param events          particionado y archivado de {@code review_events}
+ */
+@ConfigurationProperties(prefix = "flashcards.review")
+public record ReviewProperties(
+        @DefaultValue("true") boolean singleRoundTrip,
+        @DefaultValue Retry retry,
+        @DefaultValue("DEFERRED") SessionCounters sessionCounters,
+        @DefaultValue("60s") Duration counterFold,
+        @DefaultValue DueIndex dueIndex,
+        @DefaultValue Events events
+) {
+
+    /**
+     * Cómo se mantienen {@code total_cards}, {@code correct} e
+     * {@code incorrect} de una sesión mientras está abierta.
+     */
+    public enum SessionCounters {
+        /**
+         * Cada respuesta incrementa los contadores de la fila {@code reviews}. Todas
+         * las respuestas de una sesión compiten por esa fila.
+         */
+        INLINE,
+        /**
+         * Las respuestas no tocan la fila {@code reviews}; los contadores de las
+         * sesiones abiertas se calculan agregando {@code review_events} al leer
+         * y se consolidan en la fila al finalizar la sesión y, periódicamente,
+         * para las sesiones con respuestas nuevas.
+         */
+        DEFERRED
+    }
+
+    /**
+     * Política de reintentos del registro de respuestas (prefijo
+     * {@code flashcards.review.retry}).
+     *
+     * La espera antes del intento {@code n + 1} es
+     * {@code min(maxBackoff, initialBackoff * 2^(n-1))} con jitter aleatorio
+     * sobre la mitad superior de ese valor.
+     *
+     * @param maxAttempts    número máximo de intentos (incluido el primero)
+     * @param initialBackoff espera base tras el primer conflicto
+     * @param maxBackoff     espera máxima entre intentos
+     * @param maxTracked     número máximo de tarjetas y de sesiones distintas con
+     *                       contadores de contención en memoria
+     */
+    public record Retry(
+            @DefaultValue("5") int maxAttempts,
+            @DefaultValue("10ms") Duration initialBackoff,
+            @DefaultValue("200ms") Duration maxBackoff,
+            @DefaultValue("10000") int maxTracked
+    ) { }
+
+    /**
+     * Índice en memoria de tarjetas pendientes (prefijo
+     * {@code flashcards.review.due-index}).
+     *
+     * @param enabled  si es {@code false}, las tarjetas pendientes se consultan
+     *                 siempre en la base de datos
+     * @param maxCards número máximo de tarjetas en memoria entre todos los mazos
+     * @param maxAge   tiempo tras el que un mazo se recarga desde la base de
+     *                 datos (recoge cambios hechos desde otros nodos)
+     */
+    public record DueIndex(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("1000000") int maxCards,
+            @DefaultValue("5m") Duration maxAge
+    ) { }
+
+    /**
+     * Mantenimiento de las particiones mensuales de {@code review_events}
+     * (prefijo {@code flashcards.review.events}).
+     *
+     * @param monthsAhead         particiones futuras que se mantienen creadas
+     *                            además de la del mes en curso
+     * @param maintenanceInterval cadencia de la tarea de mantenimiento
+     * @param archive             archivado de particiones antiguas
+     */
+    public record Events(
+            @DefaultValue("3") int monthsAhead,
+            @DefaultValue("6h") Duration maintenanceInterval,
+            @DefaultValue Archive archive
+    ) { }
+
+    /**
+     * Archivado de particiones antiguas de {@code review_events} (prefijo
+     * {@code flashcards.review.events.archive}): se desenganchan, se exportan a
+     * un fichero CSV comprimido con gzip y se eliminan de la base de datos.
+     *
+     * @param enabled      si es {@code false}, las particiones no se archivan
+     * @param retainMonths meses completos que se conservan en la base de datos,
+     *                     además del mes en curso
+     * @param directory    directorio local donde se escriben los ficheros
+     * @param detachLockTimeout espera máxima por el bloqueo exclusivo que
+     *                     necesita el desenganche de una partición; si se
+     *                     agota, el archivado se reintenta en la siguiente
+     *                     pasada en lugar de bloquear las escrituras
+     */
+    public record Archive(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("24") int retainMonths,
+            @DefaultValue("archive/review-events") String directory,
+            @DefaultValue("5s") Duration detachLockTimeout
+    ) { }
+}
@@ -1,13 +1,15 @@
 package dev.cristianinbits.flashcards.review.domain;
 
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.UUID;
 
 import dev.cristianinbits.flashcards.card.domain.Card;
+import dev.cristianinbits.flashcards.review.srs.Sm2Algorithm;
+import dev.cristianinbits.flashcards.review.srs.SrsState;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
@@ -18,8 +20,6 @@ import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
-import jakarta.validation.constraints.DecimalMax;
-import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 
@@ -46,6 +46,9 @@ import lombok.NoArgsConstructor;
  * Además, incorpora un campo de versión para control de concurrencia optimista,
  * evitando sobrescrituras en escenarios con múltiples actualizaciones
  * simultáneas.
+ *
+ * Implementa {@link SrsState} para que los algoritmos de planificación operen
+ * directamente sobre la entidad sin copias intermedias.
  */
 @Entity
 @Table(name = "card_srs_state")
@@ -54,7 +57,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @ToString(onlyExplicitlyIncluded = true)
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
-public class CardSrsState {
+public class CardSrsState implements SrsState {
 
     /**
      * Identificador único del estado, coincidente con el identificador de la
@@ -86,6 +89,15 @@ public class CardSrsState {
     @Column(name = "version", nullable = false)
     private long version;
 
+    /**
+     * Mazo de la tarjeta, copiado de {@code cards.deck_id} para filtrar por mazo
+     * con el índice {@code (deck_id, due_at)}.
+     * Lo mantienen triggers de base de datos (al insertar el estado y al mover
+     * la tarjeta de mazo), por lo que es de solo lectura para JPA.
+     */
+    @Column(name = "deck_id", nullable = false, insertable = false, updatable = false)
+    private UUID deckId;
+
     /**
      * Fecha y hora en la que la tarjeta debe volver a revisarse (en formato UTC).
      */
@@ -99,13 +111,15 @@ public class CardSrsState {
 
     /**
      * Factor de facilidad utilizado por el algoritmo SRS para calcular el siguiente
-     * intervalo.
-     * Se inicializa normalmente en 2.50 y varía entre 1.30 y 3.00.
+     * intervalo, expresado en centésimas (250 = 2.50).
+     * Se inicializa normalmente en 2.50 y varía entre 1.30 y 3.00. Se almacena
+     * como {@code NUMERIC(4,2)} mediante {@link EaseFactorConverter}.
      */
     @Column(name = "ease_factor", nullable = false, precision = 4, scale = 2)
-    @DecimalMin(value = "1.30")
-    @DecimalMax(value = "3.00")
-    private BigDecimal easeFactor = new BigDecimal("2.50");
+    @Convert(converter = EaseFactorConverter.class)
+    @Min(130)
+    @Max(300)
+    private int easeHundredths = Sm2Algorithm.INITIAL_EASE;
 
     /** Número total de repeticiones realizadas sobre la tarjeta. */
     @Column(name = "repetitions", nullable = false)
@@ -0,0 +1,29 @@
+package dev.cristianinbits.flashcards.review.domain;
+
+import java.math.BigDecimal;
+
+import dev.cristianinbits.flashcards.review.srs.EaseFactors;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Convierte el factor de facilidad en centésimas ({@code int}) a la columna
+ * {@code NUMERIC(4,2)} y viceversa.
+ *
+ * Es el único punto donde el factor de facilidad pasa por {@link BigDecimal};
+ * el resto del camino de repaso trabaja con enteros.
+ */
+@Converter
+public class EaseFactorConverter implements AttributeConverter<Integer, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Integer hundredths) {
+        return EaseFactors.toDecimal(hundredths);
+    }
+
+    @Override
+    public Integer convertToEntityAttribute(BigDecimal decimal) {
+        return EaseFactors.toHundredths(decimal);
+    }
+}
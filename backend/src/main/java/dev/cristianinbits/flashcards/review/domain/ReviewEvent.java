@@ -1,6 +1,5 @@
 package dev.cristianinbits.flashcards.review.domain;
 
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.UUID;
@@ -8,6 +7,7 @@ import java.util.UUID;
 import dev.cristianinbits.flashcards.card.domain.Card;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -18,8 +18,6 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 
-import jakarta.validation.constraints.DecimalMax;
-import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 
@@ -125,17 +123,22 @@ public class ReviewEvent {
     @Min(0)
     private Integer newInterval;
 
-    /** Factor de facilidad previo del algoritmo SRS antes del intento. */
+    /**
+     * Factor de facilidad previo del algoritmo SRS antes del intento, en
+     * centésimas.
+     */
     @Column(name = "prev_ease", precision = 4, scale = 2)
-    @DecimalMin(value = "1.30")
-    @DecimalMax(value = "3.00")
-    private BigDecimal prevEase;
+    @Convert(converter = EaseFactorConverter.class)
+    @Min(130)
+    @Max(300)
+    private Integer prevEaseHundredths;
 
-    /** Nuevo factor de facilidad calculado tras el intento. */
+    /** Nuevo factor de facilidad calculado tras el intento, en centésimas. */
     @Column(name = "new_ease", precision = 4, scale = 2)
-    @DecimalMin(value = "1.30")
-    @DecimalMax(value = "3.00")
-    private BigDecimal newEase;
+    @Convert(converter = EaseFactorConverter.class)
+    @Min(130)
+    @Max(300)
+    private Integer newEaseHundredths;
 
     /**
      * Establece automáticamente la marca temporal de respuesta antes de insertar
@@ -0,0 +1,26 @@
+package dev.cristianinbits.flashcards.review.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resumen de contención en el registro de respuestas: tarjetas y sesiones con
+ * más reintentos por conflictos de concurrencia desde el arranque del nodo.
+ *
+ * @param cards    tarjetas ordenadas por número de reintentos descendente
+ * @param sessions sesiones ordenadas por número de reintentos descendente
+ */
+public record ReviewContentionDto(
+        List<Entry> cards,
+        List<Entry> sessions
+) {
+
+    /**
+     * Contadores de una tarjeta o sesión.
+     *
+     * @param id        identificador de la tarjeta o sesión
+     * @param retries   reintentos realizados
+     * @param exhausted veces que se agotaron los reintentos
+     */
+    public record Entry(UUID id, long retries, long exhausted) { }
+}
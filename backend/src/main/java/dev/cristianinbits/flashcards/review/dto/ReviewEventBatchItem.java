@@ -0,0 +1,31 @@
+package dev.cristianinbits.flashcards.review.dto;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+
+/**
+ * Respuesta individual dentro de un lote de eventos de repaso
+ * ({@link ReviewEventBatchRequest}).
+ *
+ * El identificador de sesión se toma de la ruta del endpoint, por lo que no se
+ * incluye aquí. Si el cliente respondió sin conexión puede indicar el instante
+ * real de la respuesta en {@code answeredAt}; en caso contrario se usará el
+ * instante de recepción del lote.
+ *
+ * @param cardId     identificador de la tarjeta repasada
+ * @param result     resultado del intento (0 = fallo, 1 = acierto)
+ * @param elapsedMs  tiempo invertido en responder, en milisegundos (≥ 0)
+ * @param answeredAt instante en que se respondió; debe ser pasado o presente
+ *                   (opcional)
+ */
+public record ReviewEventBatchItem(
+        @NotNull UUID cardId,
+        @Min(0) @Max(1) short result,
+        @Min(0) int elapsedMs,
+        @PastOrPresent OffsetDateTime answeredAt
+) { }
@@ -0,0 +1,60 @@
+package dev.cristianinbits.flashcards.review.dto;
+
+import java.util.UUID;
+
+/**
+ * Resultado del procesamiento de una respuesta dentro de un lote.
+ *
+ * @param index   posición de la respuesta en la lista enviada (base 0)
+ * @param cardId  identificador de la tarjeta indicada en la respuesta
+ * @param status  estado final de la respuesta
+ * @param message motivo del rechazo o del conflicto (null si fue aceptada)
+ * @param event   evento registrado (null si no fue aceptada)
+ */
+public record ReviewEventBatchItemResult(
+        int index,
+        UUID cardId,
+        Status status,
+        String message,
+        ReviewEventDto event
+) {
+
+    /** Estado de una respuesta individual del lote. */
+    public enum Status {
+        /** La respuesta se registró y actualizó el estado SRS. */
+        ACCEPTED,
+        /** La respuesta no es válida (tarjeta inexistente o de otro mazo). */
+        REJECTED,
+        /** La respuesta es anterior al estado SRS actual y se descartó. */
+        CONFLICT
+    }
+
+    /**
+     * @param index posición en el lote
+     * @param event evento registrado
+     * @return resultado aceptado
+     */
+    public static ReviewEventBatchItemResult accepted(int index, ReviewEventDto event) {
+        return new ReviewEventBatchItemResult(index, event.cardId(), Status.ACCEPTED, null, event);
+    }
+
+    /**
+     * @param index   posición en el lote
+     * @param cardId  tarjeta indicada
+     * @param message motivo del rechazo
+     * @return resultado rechazado
+     */
+    public static ReviewEventBatchItemResult rejected(int index, UUID cardId, String message) {
+        return new ReviewEventBatchItemResult(index, cardId, Status.REJECTED, message, null);
+    }
+
+    /**
+     * @param index   posición en el lote
+     * @param cardId  tarjeta indicada
+     * @param message descripción del conflicto
+     * @return resultado en conflicto
+     */
+    public static ReviewEventBatchItemResult conflict(int index, UUID cardId, String message) {
+        return new ReviewEventBatchItemResult(index, cardId, Status.CONFLICT, message, null);
+    }
+}
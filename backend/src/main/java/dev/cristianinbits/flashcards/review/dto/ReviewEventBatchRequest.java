@@ -0,0 +1,22 @@
+package dev.cristianinbits.flashcards.review.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Solicitud para registrar en bloque las respuestas de una sesión de repaso.
+ *
+ * Endpoint: {@code POST /api/reviews/{reviewId}/events/batch}
+ *
+ * Las respuestas se procesan en el orden en que aparecen en la lista, dentro de
+ * una única transacción.
+ *
+ * @param events respuestas ordenadas (entre 1 y 500 elementos)
+ */
+public record ReviewEventBatchRequest(
+        @NotEmpty @Size(max = 500) List<@Valid @NotNull ReviewEventBatchItem> events
+) { }
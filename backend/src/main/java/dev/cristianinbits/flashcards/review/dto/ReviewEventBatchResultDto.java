@@ -0,0 +1,45 @@
+package dev.cristianinbits.flashcards.review.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Respuesta del registro en bloque de eventos de repaso.
+ *
+ * Incluye los totales por estado y el resultado individual de cada respuesta,
+ * en el mismo orden en que se enviaron.
+ *
+ * @param reviewId  identificador de la sesión de repaso
+ * @param accepted  número de respuestas registradas
+ * @param rejected  número de respuestas rechazadas
+ * @param conflicts número de respuestas descartadas por conflicto
+ * @param items     resultado individual de cada respuesta
+ */
+public record ReviewEventBatchResultDto(
+        UUID reviewId,
+        int accepted,
+        int rejected,
+        int conflicts,
+        List<ReviewEventBatchItemResult> items
+) {
+
+    /**
+     * Construye la respuesta calculando los totales a partir de los resultados
+     * individuales.
+     *
+     * @param reviewId identificador de la sesión
+     * @param items    resultados individuales en orden
+     * @return respuesta con totales
+     */
+    public static ReviewEventBatchResultDto of(UUID reviewId, List<ReviewEventBatchItemResult> items) {
+        int accepted = 0, rejected = 0, conflicts = 0;
+        for (var it : items) {
+            switch (it.status()) {
+                case ACCEPTED -> accepted++;
+                case REJECTED -> rejected++;
+                case CONFLICT -> conflicts++;
+            }
+        }
+        return new ReviewEventBatchResultDto(reviewId, accepted, rejected, conflicts, items);
+    }
+}
@@ -0,0 +1,245 @@
+package dev.cristianinbits.flashcards.review.due;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import dev.cristianinbits.flashcards.common.util.UuidSlotTable;
+
+/**
+ * Montículo mínimo de vencimientos de las tarjetas de un mazo.
+ *
+ * Cada entrada se guarda en arrays paralelos de primitivos (vencimiento en
+ * milisegundos, las dos mitades del UUID de la tarjeta y su celda en la tabla
+ * de posiciones), en orden de montículo. La tabla de posiciones es una
+ * {@link UuidSlotTable} que guarda la posición en el montículo de cada tarjeta,
+ * de modo que actualizar o eliminar una tarjeta cuesta {@code O(log n)} sin
+ * crear objetos por tarjeta: unos 40 bytes por entrada en total.
+ *
+ * No es seguro para uso concurrente; {@link DueQueueIndex} serializa el acceso
+ * con un cerrojo por mazo.
+ */
+final class DeckDueQueue {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] due;
+    private long[] msb;
+    private long[] lsb;
+    /** Celda de {@link #positions} que apunta a cada posición del montículo. */
+    private int[] slotOf;
+    private int size;
+
+    /** Posición en el montículo de cada tarjeta. */
+    private final UuidSlotTable positions;
+
+    /**
+     * @param expectedSize número de tarjetas previsto
+     */
+    DeckDueQueue(int expectedSize) {
+        int capacity = Math.max(INITIAL_CAPACITY, expectedSize);
+        this.due = new long[capacity];
+        this.msb = new long[capacity];
+        this.lsb = new long[capacity];
+        this.slotOf = new int[capacity];
+        this.positions = new UuidSlotTable(new UuidSlotTable.Keys() {
+            @Override
+            public long msb(int pos) {
+                return msb[pos];
+            }
+
+            @Override
+            public long lsb(int pos) {
+                return lsb[pos];
+            }
+
+            @Override
+            public void moved(int pos, int slot) {
+                slotOf[pos] = slot;
+            }
+        }, capacity);
+    }
+
+    /** @return número de tarjetas del mazo */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Inserta una tarjeta o actualiza su vencimiento.
+     *
+     * @param cardId    tarjeta
+     * @param dueMillis vencimiento en milisegundos desde epoch
+     */
+    void upsert(UUID cardId, long dueMillis) {
+        long hi = cardId.getMostSignificantBits();
+        long lo = cardId.getLeastSignificantBits();
+        int slot = positions.find(hi, lo);
+        if (slot < 0) {
+            ensureCapacity(size + 1);
+            int i = size++;
+            due[i] = dueMillis;
+            msb[i] = hi;
+            lsb[i] = lo;
+            slotOf[i] = positions.put(hi, lo, i);
+            siftUp(i);
+            return;
+        }
+        int pos = positions.valueAt(slot);
+        long old = due[pos];
+        due[pos] = dueMillis;
+        if (dueMillis < old) {
+            siftUp(pos);
+        } else if (dueMillis > old) {
+            siftDown(pos);
+        }
+    }
+
+    /**
+     * Elimina una tarjeta, si está en la cola.
+     *
+     * @param cardId tarjeta
+     */
+    void remove(UUID cardId) {
+        int slot = positions.find(cardId.getMostSignificantBits(), cardId.getLeastSignificantBits());
+        if (slot < 0) {
+            return;
+        }
+        int pos = positions.valueAt(slot);
+        positions.removeAt(slot);
+        int last = --size;
+        if (pos == last) {
+            return;
+        }
+        set(pos, due[last], msb[last], lsb[last], slotOf[last]);
+        siftDown(pos);
+        siftUp(pos);
+    }
+
+    /**
+     * Devuelve las tarjetas con vencimiento {@code <= nowMillis}, de la más
+     * antigua a la más reciente, sin modificar la cola.
+     *
+     * Recorre el montículo de forma ordenada con una frontera auxiliar (un
+     * montículo de posiciones en un {@code int[]}), por lo que el coste es
+     * {@code O(limit log limit)} independientemente del tamaño del mazo.
+     *
+     * @param nowMillis instante de referencia en milisegundos desde epoch
+     * @param limit     número máximo de tarjetas
+     * @return identificadores de tarjeta en orden de vencimiento
+     */
+    List<UUID> due(long nowMillis, int limit) {
+        var result = new ArrayList<UUID>(Math.min(limit, size));
+        if (size == 0 || limit <= 0 || due[0] > nowMillis) {
+            return result;
+        }
+        // Cada extracción añade como mucho dos hijos: la frontera no pasa de limit + 1.
+        int[] frontier = new int[limit + 2];
+        int n = 0;
+        frontier[n++] = 0;
+        while (n > 0 && result.size() < limit) {
+            int i = frontier[0];
+            frontier[0] = frontier[--n];
+            frontierDown(frontier, n);
+            result.add(new UUID(msb[i], lsb[i]));
+            for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                if (due[child] <= nowMillis) {
+                    frontier[n] = child;
+                    frontierUp(frontier, n++);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void frontierUp(int[] heap, int k) {
+        int x = heap[k];
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (due[heap[parent]] <= due[x]) {
+                break;
+            }
+            heap[k] = heap[parent];
+            k = parent;
+        }
+        heap[k] = x;
+    }
+
+    private void frontierDown(int[] heap, int n) {
+        if (n == 0) {
+            return;
+        }
+        int k = 0;
+        int x = heap[0];
+        while (true) {
+            int left = 2 * k + 1;
+            if (left >= n) {
+                break;
+            }
+            int smallest = (left + 1 < n && due[heap[left + 1]] < due[heap[left]]) ? left + 1 : left;
+            if (due[x] <= due[heap[smallest]]) {
+                break;
+            }
+            heap[k] = heap[smallest];
+            k = smallest;
+        }
+        heap[k] = x;
+    }
+
+    /** Amplía los arrays del montículo; la tabla crece por su cuenta. */
+    private void ensureCapacity(int required) {
+        if (required > due.length) {
+            int capacity = Math.max(required, due.length + (due.length >> 1));
+            due = Arrays.copyOf(due, capacity);
+            msb = Arrays.copyOf(msb, capacity);
+            lsb = Arrays.copyOf(lsb, capacity);
+            slotOf = Arrays.copyOf(slotOf, capacity);
+        }
+    }
+
+    // =========================
+    // Montículo
+    // =========================
+
+    private void set(int i, long dueMillis, long hi, long lo, int slot) {
+        due[i] = dueMillis;
+        msb[i] = hi;
+        lsb[i] = lo;
+        slotOf[i] = slot;
+        positions.setAt(slot, i);
+    }
+
+    private void swap(int a, int b) {
+        long d = due[a], hi = msb[a], lo = lsb[a];
+        int s = slotOf[a];
+        set(a, due[b], msb[b], lsb[b], slotOf[b]);
+        set(b, d, hi, lo, s);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (due[parent] <= due[i]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = (left + 1 < size && due[left + 1] < due[left]) ? left + 1 : left;
+            if (due[i] <= due[smallest]) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package dev.cristianinbits.flashcards.review.due;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Eventos de aplicación que mantienen {@link DueQueueIndex}. Se publican dentro
+ * de la transacción que hace el cambio y se aplican solo tras el commit.
+ */
+public final class DueIndexEvents {
+
+    private DueIndexEvents() {
+    }
+
+    /**
+     * Nueva tarjeta o nuevo vencimiento de una tarjeta existente.
+     *
+     * @param deckId mazo de la tarjeta
+     * @param cardId tarjeta
+     * @param dueAt  próxima fecha de repaso
+     */
+    public record CardDueChanged(UUID deckId, UUID cardId, OffsetDateTime dueAt) { }
+
+    /**
+     * Tarjeta eliminada.
+     *
+     * @param deckId mazo de la tarjeta
+     * @param cardId tarjeta
+     */
+    public record CardRemoved(UUID deckId, UUID cardId) { }
+
+    /**
+     * Mazo eliminado junto con sus tarjetas.
+     *
+     * @param deckId mazo
+     */
+    public record DeckRemoved(UUID deckId) { }
+}
@@ -0,0 +1,38 @@
+package dev.cristianinbits.flashcards.review.due;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import dev.cristianinbits.flashcards.review.due.DueIndexEvents.CardDueChanged;
+import dev.cristianinbits.flashcards.review.due.DueIndexEvents.CardRemoved;
+import dev.cristianinbits.flashcards.review.due.DueIndexEvents.DeckRemoved;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Aplica sobre {@link DueQueueIndex} los cambios confirmados. Al escuchar en
+ * {@link TransactionPhase#AFTER_COMMIT}, los intentos revertidos (p. ej. por un
+ * reintento de concurrencia) no llegan al índice.
+ */
+@Component
+@RequiredArgsConstructor
+public class DueIndexListener {
+
+    private final DueQueueIndex index;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(CardDueChanged e) {
+        index.update(e.deckId(), e.cardId(), e.dueAt());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(CardRemoved e) {
+        index.remove(e.deckId(), e.cardId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(DeckRemoved e) {
+        index.evict(e.deckId());
+    }
+}
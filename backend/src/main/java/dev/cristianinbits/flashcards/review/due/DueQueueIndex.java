@@ -0,0 +1,203 @@
+package dev.cristianinbits.flashcards.review.due;
+
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import dev.cristianinbits.flashcards.review.config.ReviewProperties;
+import dev.cristianinbits.flashcards.review.repo.CardDue;
+import dev.cristianinbits.flashcards.review.repo.CardSrsStateRepository;
+
+/**
+ * Índice en memoria de las tarjetas pendientes de repaso, por mazo.
+ *
+ * Cada mazo se carga de forma perezosa la primera vez que se consulta (una
+ * lectura de {@code card_id, due_at} de sus estados SRS) y a partir de ahí se
+ * mantiene con los cambios confirmados en este nodo (ver
+ * {@link DueIndexListener}) y con los que llegan de otros nodos por el bus de
+ * invalidación ({@code ClusterInvalidationListener}). Las entradas se recargan
+ * pasado {@code flashcards.review.due-index.max-age} como red de seguridad.
+ *
+ * El número total de tarjetas en memoria está acotado por
+ * {@code flashcards.review.due-index.max-cards}: al superarlo se descartan los
+ * mazos consultados hace más tiempo. Un mazo mayor que el presupuesto se
+ * mantiene mientras sea el único cargado.
+ */
+@Component
+public class DueQueueIndex {
+
+    /** Cola de un mazo y su cerrojo. */
+    private static final class Entry {
+        final ReentrantLock lock = new ReentrantLock();
+        volatile DeckDueQueue queue;
+        volatile long loadedAtNanos;
+        volatile long lastAccessNanos;
+    }
+
+    private final CardSrsStateRepository srsRepo;
+    private final boolean enabled;
+    private final int maxCards;
+    private final long maxAgeNanos;
+    private final Map<UUID, Entry> decks = new ConcurrentHashMap<>();
+
+    /**
+     * @param srsRepo    repositorio del estado SRS, para cargar los mazos
+     * @param properties configuración del bloque de repaso
+     */
+    public DueQueueIndex(CardSrsStateRepository srsRepo, ReviewProperties properties) {
+        this.srsRepo = srsRepo;
+        this.enabled = properties.dueIndex().enabled();
+        this.maxCards = Math.max(1, properties.dueIndex().maxCards());
+        this.maxAgeNanos = properties.dueIndex().maxAge().toNanos();
+    }
+
+    /** @return {@code true} si el índice está activo */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param deckId mazo
+     * @return {@code true} si el mazo está cargado y vigente
+     */
+    public boolean isLoaded(UUID deckId) {
+        var e = decks.get(deckId);
+        return e != null && e.queue != null && !expired(e, System.nanoTime());
+    }
+
+    /**
+     * Devuelve las tarjetas vencidas de un mazo en orden de vencimiento,
+     * cargando el mazo si no está en memoria o ha caducado.
+     *
+     * @param deckId mazo
+     * @param now    instante de referencia
+     * @param limit  número máximo de tarjetas
+     * @return identificadores de tarjeta, de la más antigua a la más reciente
+     */
+    public List<UUID> dueCardIds(UUID deckId, OffsetDateTime now, int limit) {
+        long nowNanos = System.nanoTime();
+        var e = decks.computeIfAbsent(deckId, id -> new Entry());
+        e.lastAccessNanos = nowNanos;
+        boolean loaded = false;
+        e.lock.lock();
+        try {
+            if (e.queue == null || expired(e, nowNanos)) {
+                e.queue = load(deckId);
+                e.loadedAtNanos = nowNanos;
+                loaded = true;
+            }
+            var ids = e.queue.due(now.toInstant().toEpochMilli(), limit);
+            if (loaded) {
+                evictColdDecks(deckId);
+            }
+            return ids;
+        } finally {
+            e.lock.unlock();
+        }
+    }
+
+    /**
+     * Actualiza el vencimiento de una tarjeta, si su mazo está cargado.
+     *
+     * @param deckId mazo de la tarjeta
+     * @param cardId tarjeta
+     * @param dueAt  nuevo vencimiento
+     */
+    public void update(UUID deckId, UUID cardId, OffsetDateTime dueAt) {
+        withLoadedQueue(deckId, q -> q.upsert(cardId, dueAt.toInstant().toEpochMilli()));
+    }
+
+    /**
+     * Elimina una tarjeta del índice, si su mazo está cargado.
+     *
+     * @param deckId mazo de la tarjeta
+     * @param cardId tarjeta
+     */
+    public void remove(UUID deckId, UUID cardId) {
+        withLoadedQueue(deckId, q -> q.remove(cardId));
+    }
+
+    /**
+     * Descarta un mazo completo del índice.
+     *
+     * @param deckId mazo
+     */
+    public void evict(UUID deckId) {
+        decks.remove(deckId);
+    }
+
+    /** Descarta todos los mazos; se recargarán en la próxima consulta. */
+    public void evictAll() {
+        decks.clear();
+    }
+
+    private void withLoadedQueue(UUID deckId, Consumer<DeckDueQueue> action) {
+        if (!enabled) {
+            return;
+        }
+        var e = decks.get(deckId);
+        if (e == null) {
+            return;
+        }
+        // Si hay una carga en curso, se espera a que termine para que el cambio
+        // se aplique sobre la instantánea y no se pierda.
+        e.lock.lock();
+        try {
+            if (e.queue != null) {
+                action.accept(e.queue);
+            }
+        } finally {
+            e.lock.unlock();
+        }
+    }
+
+    private DeckDueQueue load(UUID deckId) {
+        List<CardDue> rows = srsRepo.findDueEntriesByDeck(deckId);
+        var q = new DeckDueQueue(rows.size());
+        for (var r : rows) {
+            q.upsert(r.getCardId(), r.getDueAt().toInstant().toEpochMilli());
+        }
+        return q;
+    }
+
+    private boolean expired(Entry e, long nowNanos) {
+        return nowNanos - e.loadedAtNanos > maxAgeNanos;
+    }
+
+    /**
+     * Descarta los mazos consultados hace más tiempo hasta volver al presupuesto
+     * de memoria, sin tocar el mazo recién cargado.
+     *
+     * @param keep mazo que no debe descartarse
+     */
+    private void evictColdDecks(UUID keep) {
+        long total = 0;
+        for (var e : decks.values()) {
+            var q = e.queue;
+            total += (q != null) ? q.size() : 0;
+        }
+        if (total <= maxCards) {
+            return;
+        }
+        var coldest = decks.entrySet().stream()
+                .filter(en -> !en.getKey().equals(keep))
+                .sorted(Comparator.comparingLong(en -> en.getValue().lastAccessNanos))
+                .toList();
+        for (var en : coldest) {
+            if (total <= maxCards) {
+                return;
+            }
+            var q = en.getValue().queue;
+            if (decks.remove(en.getKey(), en.getValue()) && q != null) {
+                total -= q.size();
+            }
+        }
+    }
+}
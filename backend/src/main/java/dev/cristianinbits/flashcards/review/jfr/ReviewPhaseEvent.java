@@ -0,0 +1,125 @@
+package dev.cristianinbits.flashcards.review.jfr;
+
+import java.util.UUID;
+
+import org.springframework.lang.Nullable;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de Java Flight Recorder con la duración de una fase del registro de
+ * una respuesta ({@code ReviewService.registerEventOnce}) o de un lote de
+ * respuestas ({@code ReviewService.registerEventBatchOnce}).
+ *
+ * Se emite un evento por fase, con la tarjeta, el mazo, la sesión y el número
+ * de intento (los conflictos de concurrencia repiten todas las fases). En los
+ * lotes se emite un evento por fase y lote, sin tarjeta y con el número de
+ * respuestas en {@code items}, en lugar de uno por respuesta. Si la
+ * grabación no tiene el evento activo, {@link #finish} no hace nada más que
+ * comprobarlo.
+ *
+ * En el camino JPA, {@link #PERSISTENCE} y {@link #SESSION_COUNTERS} terminan
+ * con un flush, de modo que incluyen las sentencias SQL que Hibernate
+ * aplazaría hasta el commit (y los conflictos de bloqueo optimista que
+ * detectan). Fuera de las fases queda solo el propio commit, en la diferencia
+ * con el total que mide {@code flashcards.review.register}.
+ *
+ * Uso: {@code var phase = ReviewPhaseEvent.start(); ...; phase.finish(...)}.
+ */
+@Name("flashcards.ReviewPhase")
+@Label("Review Phase")
+@Category({ "Flashcards", "Review" })
+@Description("Duración de una fase del registro de una respuesta")
+@StackTrace(false)
+public class ReviewPhaseEvent extends Event {
+
+    /** Carga de la tarjeta (y su mazo). */
+    public static final String CARD_LOAD = "card-load";
+    /** Carga y validación de la sesión. */
+    public static final String SESSION_VALIDATION = "session-validation";
+    /** Carga del estado SRS o creación del inicial. */
+    public static final String SRS_LOAD = "srs-load";
+    /** Cálculo de la regla SRS y construcción del evento. */
+    public static final String RULE = "rule";
+    /** Escritura del estado SRS y del evento, con flush incluido. */
+    public static final String PERSISTENCE = "persistence";
+    /** Actualización de los contadores de la sesión, con flush incluido. */
+    public static final String SESSION_COUNTERS = "session-counters";
+    /** Escritura en una sola sentencia SQL ({@code single-round-trip}). */
+    public static final String SINGLE_STATEMENT = "single-statement";
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Card Id")
+    String cardId;
+
+    @Label("Deck Id")
+    String deckId;
+
+    @Label("Session Id")
+    String sessionId;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Items")
+    @Description("Respuestas que cubre la fase: 1, o el tamaño del lote")
+    int items;
+
+    /** @return evento con el inicio de la fase marcado */
+    public static ReviewPhaseEvent start() {
+        var e = new ReviewPhaseEvent();
+        e.begin();
+        return e;
+    }
+
+    /**
+     * Cierra la fase y la emite si la grabación la recoge.
+     *
+     * @param phase     nombre de la fase (constantes de esta clase)
+     * @param cardId    tarjeta respondida
+     * @param deckId    mazo de la tarjeta (puede ser null si aún no se conoce)
+     * @param sessionId sesión de repaso (puede ser null)
+     * @param attempt   número de intento (base 1)
+     */
+    public void finish(String phase, @Nullable UUID cardId, @Nullable UUID deckId, @Nullable UUID sessionId,
+            int attempt) {
+        end();
+        if (shouldCommit()) {
+            this.phase = phase;
+            this.cardId = cardId == null ? null : cardId.toString();
+            this.deckId = deckId == null ? null : deckId.toString();
+            this.sessionId = sessionId == null ? null : sessionId.toString();
+            this.attempt = attempt;
+            this.items = 1;
+            commit();
+        }
+    }
+
+    /**
+     * Cierra la fase de un lote y la emite si la grabación la recoge.
+     *
+     * @param phase     nombre de la fase (constantes de esta clase)
+     * @param deckId    mazo de la sesión (puede ser null si aún no se conoce)
+     * @param sessionId sesión de repaso
+     * @param attempt   número de intento (base 1)
+     * @param items     respuestas del lote
+     */
+    public void finishBatch(String phase, @Nullable UUID deckId, UUID sessionId, int attempt, int items) {
+        end();
+        if (shouldCommit()) {
+            this.phase = phase;
+            this.deckId = deckId == null ? null : deckId.toString();
+            this.sessionId = sessionId.toString();
+            this.attempt = attempt;
+            this.items = items;
+            commit();
+        }
+    }
+}
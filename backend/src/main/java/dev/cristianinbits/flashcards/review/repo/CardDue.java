@@ -0,0 +1,17 @@
+package dev.cristianinbits.flashcards.review.repo;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Proyección con el vencimiento de una tarjeta, usada para cargar el índice
+ * en memoria de tarjetas pendientes.
+ */
+public interface CardDue {
+
+    /** @return identificador de la tarjeta */
+    UUID getCardId();
+
+    /** @return próxima fecha de repaso */
+    OffsetDateTime getDueAt();
+}
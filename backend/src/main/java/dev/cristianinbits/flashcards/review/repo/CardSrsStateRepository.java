@@ -1,15 +1,15 @@
 package dev.cristianinbits.flashcards.review.repo;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import dev.cristianinbits.flashcards.card.domain.Card;
+import dev.cristianinbits.flashcards.card.dto.CardDto;
 import dev.cristianinbits.flashcards.review.domain.CardSrsState;
 
 /**
@@ -25,21 +25,42 @@ public interface CardSrsStateRepository extends JpaRepository<CardSrsState, UUID
          * Obtiene las tarjetas de un mazo cuyo repaso está pendiente, ordenadas
          * por la fecha de vencimiento más próxima.
          *
+         * Filtra por la copia desnormalizada {@code deckId}, de modo que se
+         * recorre solo el rango del mazo en el índice {@code (deck_id, due_at)};
+         * el JOIN con {@code cards} se limita a las filas devueltas. Se proyecta
+         * directamente a {@link CardDto}, sin cargar entidades.
+         *
          * @param deckId   identificador del mazo
          * @param now      instante de referencia para comparar con {@code dueAt}
          * @param pageable configuración de paginación y ordenación
-         * @return         página de tarjetas pendientes de repaso, ordenadas por
-         *                 {@code dueAt ASC}
+         * @return         tarjetas pendientes de repaso, ordenadas por
+         *                 {@code dueAt ASC} (sin consulta de recuento)
          */
         @Query("""
-            SELECT c FROM CardSrsState s
+            SELECT new dev.cristianinbits.flashcards.card.dto.CardDto(
+                c.id, s.deckId, c.front, c.back, c.tags, c.latex, c.createdAt, c.updatedAt)
+            FROM CardSrsState s
             JOIN s.card c
-            WHERE c.deck.id = :deckId
+            WHERE s.deckId = :deckId
               AND s.dueAt <= :now
             ORDER BY s.dueAt ASC
             """)
-        Page<Card> findDueCardsByDeck(
+        List<CardDto> findDueCardsByDeck(
                 @Param("deckId") UUID deckId,
                 @Param("now") OffsetDateTime now,
                 Pageable pageable);
+
+        /**
+         * Obtiene el vencimiento de todas las tarjetas de un mazo, para cargar el
+         * índice en memoria de tarjetas pendientes.
+         *
+         * @param deckId identificador del mazo
+         * @return identificador y {@code dueAt} de cada tarjeta del mazo
+         */
+        @Query("""
+            SELECT s.cardId AS cardId, s.dueAt AS dueAt
+            FROM CardSrsState s
+            WHERE s.deckId = :deckId
+            """)
+        List<CardDue> findDueEntriesByDeck(@Param("deckId") UUID deckId);
 }
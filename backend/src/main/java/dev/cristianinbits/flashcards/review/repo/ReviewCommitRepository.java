@@ -0,0 +1,197 @@
+package dev.cristianinbits.flashcards.review.repo;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+import dev.cristianinbits.flashcards.review.dto.ReviewEventDto;
+import dev.cristianinbits.flashcards.review.srs.EaseFactors;
+import dev.cristianinbits.flashcards.review.srs.Sm2Algorithm;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Escritura de una respuesta de repaso en una única ida y vuelta a la base de
+ * datos.
+ *
+ * Una sola sentencia con CTEs encadenadas:
+ * - valida que la tarjeta exista, que su mazo use SM-2 y, si hay sesión, que
+ * esta pertenezca al mismo mazo y no esté finalizada (bloqueando su fila);
+ * - bloquea y lee el estado SRS ({@code FOR UPDATE}), calcula la regla SM-2 y lo
+ * actualiza incrementando {@code version};
+ * - inserta el {@code review_events} con los snapshots previo y nuevo;
+ * - incrementa los contadores de la sesión, si la hay y se piden contadores
+ * en línea.
+ *
+ * Con contadores diferidos la fila de la sesión se bloquea solo en modo
+ * compartido ({@code FOR SHARE}) y no se escribe, de modo que las respuestas
+ * concurrentes de una misma sesión no se serializan sobre ella.
+ *
+ * La regla SM-2 está escrita en SQL y debe mantenerse alineada con
+ * {@link Sm2Algorithm}, incluida la saturación del intervalo a
+ * {@link Integer#MAX_VALUE}; {@code ReviewCommitRepositoryTest} compara ambas
+ * sobre la misma rejilla de estados que {@code Sm2AlgorithmTest}. Si la sentencia no devuelve filas (tarjeta o sesión
+ * inexistente, sesión finalizada, mazo distinto, estado SRS ausente o mazo con
+ * otro algoritmo) no se ha escrito nada y el llamante debe recurrir al camino
+ * JPA, que produce el error concreto o gestiona el caso.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReviewCommitRepository {
+
+    private static final BigDecimal EASE_BONUS = EaseFactors.toDecimal(Sm2Algorithm.EASE_BONUS);
+    private static final BigDecimal EASE_PENALTY = EaseFactors.toDecimal(Sm2Algorithm.EASE_PENALTY);
+    private static final BigDecimal MIN_EASE = EaseFactors.toDecimal(Sm2Algorithm.MIN_EASE);
+    private static final BigDecimal MAX_EASE = EaseFactors.toDecimal(Sm2Algorithm.MAX_EASE);
+
+    private static final String COMMIT_SM2_TEMPLATE = """
+            WITH session_ok AS (
+                SELECT r.id, r.deck_id
+                FROM reviews r
+                WHERE r.id = CAST(:reviewId AS uuid)
+                  AND r.ended_at IS NULL
+                %s
+            ),
+            target AS (
+                SELECT c.id AS card_id, c.deck_id
+                FROM cards c
+                JOIN decks d ON d.id = c.deck_id
+                WHERE c.id = :cardId
+                  AND d.srs_algorithm = :algorithm
+                  AND (CAST(:reviewId AS uuid) IS NULL
+                       OR EXISTS (SELECT 1 FROM session_ok so WHERE so.deck_id = c.deck_id))
+            ),
+            prev AS (
+                SELECT s.card_id, s.due_at, s.interval_days, s.ease_factor, s.repetitions
+                FROM card_srs_state s
+                JOIN target t ON t.card_id = s.card_id
+                FOR UPDATE OF s
+            ),
+            calc AS (
+                SELECT p.card_id, p.due_at, p.interval_days, p.ease_factor,
+                       CASE WHEN :result = 1 THEN p.repetitions + 1 ELSE 0 END AS new_repetitions,
+                       CASE WHEN :result <> 1 THEN 1
+                            WHEN p.repetitions = 0 THEN 1
+                            WHEN p.repetitions = 1 THEN 3
+                            ELSE GREATEST(1, LEAST(ROUND(p.interval_days * p.ease_factor), 2147483647)::int)
+                       END AS new_interval,
+                       CASE WHEN :result = 1 THEN LEAST(p.ease_factor + :easeBonus, :maxEase)
+                            ELSE GREATEST(p.ease_factor - :easePenalty, :minEase)
+                       END AS new_ease
+                FROM prev p
+            ),
+            upd AS (
+                UPDATE card_srs_state s
+                SET repetitions   = c.new_repetitions,
+                    interval_days = c.new_interval,
+                    ease_factor   = c.new_ease,
+                    last_result   = :result,
+                    due_at        = CAST(:now AS timestamptz) + make_interval(days => c.new_interval),
+                    updated_at    = CAST(:now AS timestamptz),
+                    version       = s.version + 1
+                FROM calc c
+                WHERE s.card_id = c.card_id
+                RETURNING s.card_id, s.due_at
+            ),
+            ev AS (
+                INSERT INTO review_events (id, review_id, card_id, answered_at, result, elapsed_ms,
+                                           prev_due_at, new_due_at, prev_interval, new_interval,
+                                           prev_ease, new_ease)
+                SELECT :eventId, CAST(:reviewId AS uuid), c.card_id, CAST(:now AS timestamptz),
+                       :result, :elapsedMs,
+                       c.due_at, u.due_at, c.interval_days, c.new_interval,
+                       c.ease_factor, c.new_ease
+                FROM calc c
+                JOIN upd u ON u.card_id = c.card_id
+                RETURNING card_id
+            ),
+            ses AS (
+                UPDATE reviews r
+                SET total_cards = r.total_cards + 1,
+                    correct     = r.correct + CASE WHEN :result = 1 THEN 1 ELSE 0 END,
+                    incorrect   = r.incorrect + CASE WHEN :result = 1 THEN 0 ELSE 1 END,
+                    version     = r.version + 1
+                FROM session_ok so
+                WHERE r.id = so.id
+                  AND CAST(:inlineCounters AS boolean)
+                  AND EXISTS (SELECT 1 FROM ev)
+                RETURNING r.id
+            )
+            SELECT c.card_id, t.deck_id, c.due_at AS prev_due_at, u.due_at AS new_due_at,
+                   c.interval_days AS prev_interval, c.new_interval,
+                   c.ease_factor AS prev_ease, c.new_ease
+            FROM calc c
+            JOIN upd u ON u.card_id = c.card_id
+            JOIN target t ON t.card_id = c.card_id
+            """;
+
+    private static final String COMMIT_SM2_INLINE = COMMIT_SM2_TEMPLATE.formatted("FOR UPDATE");
+    private static final String COMMIT_SM2_DEFERRED = COMMIT_SM2_TEMPLATE.formatted("FOR SHARE");
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Respuesta registrada.
+     *
+     * @param deckId mazo de la tarjeta repasada
+     * @param event  evento creado
+     */
+    public record Committed(UUID deckId, ReviewEventDto event) { }
+
+    /**
+     * Registra una respuesta sobre una tarjeta de un mazo SM-2 en una sola
+     * sentencia.
+     *
+     * @param eventId        identificador a asignar al nuevo evento
+     * @param cardId         tarjeta repasada
+     * @param reviewId       sesión asociada (puede ser null)
+     * @param result         resultado del intento (0 = fallo, 1 = acierto)
+     * @param elapsedMs      tiempo empleado en milisegundos (≥ 0)
+     * @param now            instante de la respuesta (UTC)
+     * @param inlineCounters si es {@code true}, incrementa también los contadores
+     *                       de la sesión en {@code reviews}
+     * @return el evento registrado y el mazo de la tarjeta, o vacío si no se
+     *         cumplen las precondiciones y no se ha escrito nada
+     */
+    public Optional<Committed> commitSm2(UUID eventId, UUID cardId, @Nullable UUID reviewId,
+            short result, int elapsedMs, OffsetDateTime now, boolean inlineCounters) {
+        var params = new MapSqlParameterSource()
+                .addValue("eventId", eventId)
+                .addValue("cardId", cardId)
+                .addValue("reviewId", reviewId, Types.OTHER)
+                .addValue("algorithm", Sm2Algorithm.NAME)
+                .addValue("result", result)
+                .addValue("elapsedMs", elapsedMs)
+                .addValue("now", now)
+                .addValue("easeBonus", EASE_BONUS)
+                .addValue("easePenalty", EASE_PENALTY)
+                .addValue("minEase", MIN_EASE)
+                .addValue("maxEase", MAX_EASE)
+                .addValue("inlineCounters", inlineCounters);
+
+        var sql = inlineCounters ? COMMIT_SM2_INLINE : COMMIT_SM2_DEFERRED;
+        var rows = jdbc.query(sql, params, (rs, i) -> new Committed(
+                rs.getObject("deck_id", UUID.class),
+                new ReviewEventDto(
+                        eventId,
+                        reviewId,
+                        rs.getObject("card_id", UUID.class),
+                        now,
+                        result,
+                        elapsedMs,
+                        rs.getObject("prev_due_at", OffsetDateTime.class),
+                        rs.getObject("new_due_at", OffsetDateTime.class),
+                        rs.getInt("prev_interval"),
+                        rs.getInt("new_interval"),
+                        rs.getBigDecimal("prev_ease"),
+                        rs.getBigDecimal("new_ease"))));
+        return rows.stream().findFirst();
+    }
+}
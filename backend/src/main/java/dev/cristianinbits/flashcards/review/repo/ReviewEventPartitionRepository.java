@@ -0,0 +1,206 @@
+package dev.cristianinbits.flashcards.review.repo;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Operaciones sobre las particiones mensuales de {@code review_events}
+ * (migración V017), llamadas {@code review_events_AAAA_MM}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReviewEventPartitionRepository {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("review_events_(\\d{4})_(\\d{2})");
+
+    /** Cerrojo consultivo que serializa el archivado entre nodos. */
+    private static final String ARCHIVE_LOCK = "SELECT pg_try_advisory_lock(hashtext('review_events_archive'))";
+    private static final String ARCHIVE_UNLOCK = "SELECT pg_advisory_unlock(hashtext('review_events_archive'))";
+
+    /** SQLSTATE {@code lock_not_available}: se agotó {@code lock_timeout}. */
+    private static final String LOCK_NOT_AVAILABLE = "55P03";
+
+    /**
+     * Tablas con nombre de partición mensual, estén enganchadas o no (una
+     * partición desenganchada cuyo archivado no terminó sigue apareciendo).
+     */
+    private static final String LIST = """
+            SELECT c.relname, c.relispartition
+            FROM pg_class c
+            JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE n.nspname = current_schema()
+              AND c.relkind = 'r'
+              AND c.relname ~ '^review_events_[0-9]{4}_[0-9]{2}$'
+            ORDER BY c.relname
+            """;
+
+    /**
+     * Partición mensual.
+     *
+     * @param name     nombre de la tabla
+     * @param month    mes que contiene
+     * @param attached si sigue enganchada a {@code review_events}
+     */
+    public record MonthlyPartition(String name, YearMonth month, boolean attached) {
+    }
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * Crea, si faltan, las particiones del mes en curso y de los siguientes.
+     *
+     * @param monthsAhead meses futuros
+     * @return particiones creadas
+     */
+    public int ensurePartitions(int monthsAhead) {
+        Integer created = jdbc.queryForObject("SELECT review_events_ensure_partitions(?)", Integer.class,
+                monthsAhead);
+        return created == null ? 0 : created;
+    }
+
+    /** @return particiones mensuales, de la más antigua a la más reciente */
+    public List<MonthlyPartition> findMonthly() {
+        return jdbc.query(LIST, (rs, i) -> {
+            var name = rs.getString("relname");
+            var m = PARTITION_NAME.matcher(name);
+            if (!m.matches()) {
+                throw new IllegalStateException("Nombre de partición inesperado: " + name);
+            }
+            return new MonthlyPartition(name,
+                    YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))),
+                    rs.getBoolean("relispartition"));
+        });
+    }
+
+    /**
+     * Primer mes cuyos eventos siguen en la base de datos: el de la partición
+     * mensual enganchada más antigua. Los meses anteriores se han archivado (o
+     * se están archivando) y sus eventos ya no están en {@code review_events}.
+     *
+     * @return primer mes conservado, si hay particiones mensuales
+     */
+    public Optional<YearMonth> findOldestAttachedMonth() {
+        return findMonthly().stream()
+                .filter(MonthlyPartition::attached)
+                .map(MonthlyPartition::month)
+                .min(YearMonth::compareTo);
+    }
+
+    /**
+     * Ejecuta {@code work} si ningún otro nodo está archivando.
+     *
+     * El cerrojo consultivo es de sesión: se toma en una conexión que queda
+     * reservada durante todo el trabajo (el resto de operaciones usan otras
+     * conexiones del pool) y se libera al terminar o si la conexión se pierde.
+     *
+     * @param work trabajo a ejecutar con el cerrojo
+     * @param <T>  tipo del resultado
+     * @return resultado de {@code work}, o vacío si el cerrojo estaba tomado
+     */
+    public <T> Optional<T> withArchiveLock(Supplier<T> work) {
+        return jdbc.execute((ConnectionCallback<Optional<T>>) con -> {
+            try (var st = con.createStatement(); var rs = st.executeQuery(ARCHIVE_LOCK)) {
+                if (!rs.next() || !rs.getBoolean(1)) {
+                    return Optional.empty();
+                }
+            }
+            try {
+                return Optional.ofNullable(work.get());
+            } finally {
+                try (var st = con.createStatement()) {
+                    st.execute(ARCHIVE_UNLOCK);
+                }
+            }
+        });
+    }
+
+    /**
+     * Desengancha una partición: deja de formar parte de {@code review_events}
+     * pero conserva sus filas.
+     *
+     * {@code DETACH PARTITION} necesita un bloqueo {@code ACCESS EXCLUSIVE}
+     * sobre {@code review_events}; mientras espera, las inserciones que llegan
+     * detrás quedan encoladas. Por eso se ejecuta en una transacción corta con
+     * {@code SET LOCAL lock_timeout} y, si el bloqueo no llega a tiempo, se
+     * abandona sin error.
+     *
+     * @param p           partición
+     * @param lockTimeout espera máxima por el bloqueo
+     * @return {@code true} si se desenganchó; {@code false} si se agotó la espera
+     */
+    public boolean detach(MonthlyPartition p, Duration lockTimeout) {
+        var sql = "ALTER TABLE review_events DETACH PARTITION " + quoted(p);
+        long timeoutMs = Math.max(1, lockTimeout.toMillis());
+        Boolean detached = jdbc.execute((ConnectionCallback<Boolean>) con -> {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try (var st = con.createStatement()) {
+                st.execute("SET LOCAL lock_timeout = '" + timeoutMs + "ms'");
+                st.execute(sql);
+                con.commit();
+                return true;
+            } catch (SQLException ex) {
+                con.rollback();
+                if (LOCK_NOT_AVAILABLE.equals(ex.getSQLState())) {
+                    return false;
+                }
+                throw ex;
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+        });
+        return Boolean.TRUE.equals(detached);
+    }
+
+    /**
+     * Vuelca el contenido de una tabla en CSV con cabecera mediante
+     * {@code COPY ... TO STDOUT}, sin materializarlo en memoria.
+     *
+     * @param p   partición
+     * @param out destino
+     * @return filas exportadas
+     */
+    public long copyOut(MonthlyPartition p, OutputStream out) {
+        var sql = "COPY " + quoted(p) + " TO STDOUT (FORMAT csv, HEADER)";
+        Long rows = jdbc.execute((ConnectionCallback<Long>) con -> {
+            try {
+                return con.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, out);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return rows == null ? 0 : rows;
+    }
+
+    /**
+     * Elimina una partición ya desenganchada y exportada.
+     *
+     * @param p partición
+     */
+    public void drop(MonthlyPartition p) {
+        jdbc.execute("DROP TABLE " + quoted(p));
+    }
+
+    /** El nombre procede del catálogo y se ha validado con {@link #PARTITION_NAME}. */
+    private static String quoted(MonthlyPartition p) {
+        if (!PARTITION_NAME.matcher(p.name()).matches()) {
+            throw new IllegalArgumentException("Nombre de partición inválido: " + p.name());
+        }
+        return '"' + p.name() + '"';
+    }
+}
@@ -1,10 +1,14 @@
 package dev.cristianinbits.flashcards.review.repo;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import dev.cristianinbits.flashcards.review.domain.ReviewEvent;
 
@@ -34,4 +38,23 @@ public interface ReviewEventRepository extends JpaRepository<ReviewEvent, UUID>
      * @return página de eventos pertenecientes a la sesión indicada
      */
     Page<ReviewEvent> findByReview_Id(UUID reviewId, Pageable pageable);
+
+    /**
+     * Calcula los contadores de varias sesiones agregando sus eventos.
+     *
+     * Usa el índice {@code idx_rev_events_review}. Las sesiones sin eventos no
+     * aparecen en el resultado.
+     *
+     * @param reviewIds identificadores de las sesiones
+     * @return contadores por sesión
+     */
+    @Query("""
+        SELECT e.review.id AS reviewId,
+               COUNT(e) AS total,
+               SUM(CASE WHEN e.result = 1 THEN 1 ELSE 0 END) AS correct
+        FROM ReviewEvent e
+        WHERE e.review.id IN :reviewIds
+        GROUP BY e.review.id
+        """)
+    List<SessionTally> tallyByReviewIds(@Param("reviewIds") Collection<UUID> reviewIds);
 }
@@ -1,12 +1,24 @@
 package dev.cristianinbits.flashcards.review.repo;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import dev.cristianinbits.flashcards.review.domain.ReviewSession;
+import dev.cristianinbits.flashcards.review.dto.ReviewSessionDto;
+
+import jakarta.persistence.LockModeType;
 
 /**
  * Repositorio JPA para la entidad {@link ReviewSession}.
@@ -17,6 +29,19 @@ import dev.cristianinbits.flashcards.review.domain.ReviewSession;
  */
 public interface ReviewSessionRepository extends JpaRepository<ReviewSession, UUID> {
 
+    /**
+     * Proyección de los listados: construye {@link ReviewSessionDto}
+     * directamente desde las columnas, sin entidades gestionadas. Los
+     * contadores son los almacenados; con contadores diferidos el servicio los
+     * sustituye por los calculados en vivo para las sesiones abiertas.
+     */
+    String DTO_SELECT = """
+        SELECT new dev.cristianinbits.flashcards.review.dto.ReviewSessionDto(
+            s.id, s.deck.id, s.startedAt, s.endedAt, s.totalCards, s.correct, s.incorrect, s.durationSec)
+        FROM ReviewSession s
+        WHERE s.deck.id = :deckId
+        """;
+
     /**
      * Obtiene las sesiones de repaso asociadas a un mazo específico.
      *
@@ -24,5 +49,139 @@ public interface ReviewSessionRepository extends JpaRepository<ReviewSession, UU
      * @param pageable configuración de paginación y ordenación
      * @return página de sesiones pertenecientes al mazo indicado
      */
-    Page<ReviewSession> findByDeck_Id(UUID deckId, Pageable pageable);
+    @Query(value = DTO_SELECT,
+            countQuery = "SELECT COUNT(s) FROM ReviewSession s WHERE s.deck.id = :deckId")
+    Page<ReviewSessionDto> findDtoByDeck(@Param("deckId") UUID deckId, Pageable pageable);
+
+    /**
+     * Variante de {@link #findDtoByDeck} sin consulta de recuento.
+     *
+     * @param deckId   identificador del mazo
+     * @param pageable configuración de paginación y ordenación
+     * @return porción de sesiones asociadas al mazo indicado
+     */
+    @Query(DTO_SELECT)
+    Slice<ReviewSessionDto> findDtoSliceByDeck(@Param("deckId") UUID deckId, Pageable pageable);
+
+    /**
+     * Paginación por cursor de las sesiones de un mazo en orden
+     * {@code startedAt DESC, id DESC}. La primera comparación acota el rango del
+     * índice {@code (deck_id, started_at, id)}; la segunda solo desempata.
+     *
+     * @param deckId  identificador del mazo
+     * @param afterAt {@code startedAt} de la última sesión ya devuelta
+     * @param afterId identificador de la última sesión ya devuelta
+     * @param limit   número máximo de filas
+     * @return sesiones siguientes a la posición indicada
+     */
+    @Query(DTO_SELECT + """
+          AND s.startedAt <= :afterAt
+          AND (s.startedAt < :afterAt OR s.id < :afterId)
+        ORDER BY s.startedAt DESC, s.id DESC
+        """)
+    List<ReviewSessionDto> findByDeckAfterDesc(
+            @Param("deckId") UUID deckId,
+            @Param("afterAt") OffsetDateTime afterAt,
+            @Param("afterId") UUID afterId,
+            Limit limit);
+
+    /**
+     * Como {@link #findByDeckAfterDesc} en orden {@code startedAt ASC, id ASC}.
+     *
+     * @param deckId  identificador del mazo
+     * @param afterAt {@code startedAt} de la última sesión ya devuelta
+     * @param afterId identificador de la última sesión ya devuelta
+     * @param limit   número máximo de filas
+     * @return sesiones siguientes a la posición indicada
+     */
+    @Query(DTO_SELECT + """
+          AND s.startedAt >= :afterAt
+          AND (s.startedAt > :afterAt OR s.id > :afterId)
+        ORDER BY s.startedAt ASC, s.id ASC
+        """)
+    List<ReviewSessionDto> findByDeckAfterAsc(
+            @Param("deckId") UUID deckId,
+            @Param("afterAt") OffsetDateTime afterAt,
+            @Param("afterId") UUID afterId,
+            Limit limit);
+
+    /**
+     * Obtiene una sesión bloqueando su fila en modo compartido
+     * ({@code FOR SHARE}).
+     *
+     * Permite registrar respuestas concurrentes en la misma sesión sin
+     * serializarlas, mientras impide que se finalice hasta que terminen.
+     *
+     * @param id identificador de la sesión
+     * @return sesión, si existe
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT s FROM ReviewSession s WHERE s.id = :id")
+    Optional<ReviewSession> findForShareById(@Param("id") UUID id);
+
+    /**
+     * Obtiene una sesión bloqueando su fila en exclusiva ({@code FOR UPDATE}).
+     *
+     * Usado al finalizar una sesión con contadores diferidos: espera a que
+     * terminen las respuestas que tienen la fila bloqueada en modo compartido.
+     *
+     * @param id identificador de la sesión
+     * @return sesión, si existe
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ReviewSession s WHERE s.id = :id")
+    Optional<ReviewSession> findForUpdateById(@Param("id") UUID id);
+
+    /**
+     * Vuelca en {@code reviews} los contadores agregados de
+     * {@code review_events} de las sesiones abiertas con respuestas nuevas,
+     * según las marcas de {@code review_counter_pending} (ver migración V018).
+     * No modifica {@code ended_at}: la sesión sigue abierta.
+     *
+     * Solo recorre las sesiones marcadas, de modo que una sesión abandonada no
+     * se vuelve a agregar. Las sesiones bloqueadas por una respuesta en curso
+     * ({@code FOR SHARE}) o por su finalización se saltan y conservan su marca
+     * para la pasada siguiente; las marcas de sesiones ya finalizadas o
+     * borradas se descartan.
+     *
+     * @return número de sesiones actualizadas
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+        WITH locked AS (
+            SELECT r.id
+            FROM reviews r
+            WHERE r.ended_at IS NULL
+              AND r.id IN (SELECT p.review_id FROM review_counter_pending p)
+            FOR UPDATE OF r SKIP LOCKED
+        ),
+        cleared AS (
+            DELETE FROM review_counter_pending p
+            WHERE p.review_id IN (SELECT id FROM locked)
+               OR NOT EXISTS (SELECT 1 FROM reviews r WHERE r.id = p.review_id AND r.ended_at IS NULL)
+        )
+        UPDATE reviews r
+        SET total_cards = a.total,
+            correct     = a.correct,
+            incorrect   = a.total - a.correct
+        FROM locked l
+        CROSS JOIN LATERAL (
+            SELECT COUNT(*) AS total,
+                   COUNT(*) FILTER (WHERE e.result = 1) AS correct
+            FROM review_events e
+            WHERE e.review_id = l.id
+        ) a
+        WHERE r.id = l.id
+        """)
+    int foldPendingSessionCounters();
+
+    /**
+     * Descarta todas las marcas de {@code review_counter_pending}; con
+     * contadores inmediatos la fila ya está al día.
+     *
+     * @return número de marcas borradas
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM review_counter_pending")
+    int discardPendingSessionCounters();
 }
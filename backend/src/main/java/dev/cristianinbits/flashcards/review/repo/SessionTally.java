@@ -0,0 +1,19 @@
+package dev.cristianinbits.flashcards.review.repo;
+
+import java.util.UUID;
+
+/**
+ * Proyección con los contadores de una sesión calculados a partir de sus
+ * eventos de repaso ({@code review_events}).
+ */
+public interface SessionTally {
+
+    /** @return identificador de la sesión */
+    UUID getReviewId();
+
+    /** @return número de eventos registrados en la sesión */
+    long getTotal();
+
+    /** @return número de eventos con acierto */
+    long getCorrect();
+}
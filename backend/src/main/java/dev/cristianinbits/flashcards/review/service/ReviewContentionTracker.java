@@ -0,0 +1,97 @@
+package dev.cristianinbits.flashcards.review.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import dev.cristianinbits.flashcards.review.config.ReviewProperties;
+import dev.cristianinbits.flashcards.review.dto.ReviewContentionDto;
+
+/**
+ * Contadores en memoria de reintentos y agotamientos por conflictos de
+ * concurrencia, desglosados por tarjeta y por sesión.
+ *
+ * Permite identificar qué tarjetas o sesiones concentran la contención (por
+ * ejemplo, dos dispositivos respondiendo la misma sesión). El número de claves
+ * distintas está acotado por {@code flashcards.review.retry.max-tracked}: los
+ * contadores se guardan en cachés Caffeine de tamaño máximo, que al llenarse
+ * descartan las claves menos usadas y conservan las que concentran la
+ * contención.
+ */
+@Component
+public class ReviewContentionTracker {
+
+    /** Contadores de una tarjeta o sesión. */
+    private static final class Counts {
+        final LongAdder retries = new LongAdder();
+        final LongAdder exhausted = new LongAdder();
+    }
+
+    private final Cache<UUID, Counts> byCard;
+    private final Cache<UUID, Counts> bySession;
+
+    /**
+     * @param properties configuración del bloque de repaso
+     */
+    public ReviewContentionTracker(ReviewProperties properties) {
+        int maxTracked = Math.max(1, properties.retry().maxTracked());
+        this.byCard = Caffeine.newBuilder().maximumSize(maxTracked).build();
+        this.bySession = Caffeine.newBuilder().maximumSize(maxTracked).build();
+    }
+
+    /**
+     * Registra un reintento por conflicto.
+     *
+     * @param cardId    tarjeta afectada (puede ser null)
+     * @param sessionId sesión afectada (puede ser null)
+     */
+    public void retried(@Nullable UUID cardId, @Nullable UUID sessionId) {
+        if (cardId != null)
+            counts(byCard, cardId).retries.increment();
+        if (sessionId != null)
+            counts(bySession, sessionId).retries.increment();
+    }
+
+    /**
+     * Registra que se agotaron los reintentos.
+     *
+     * @param cardId    tarjeta afectada (puede ser null)
+     * @param sessionId sesión afectada (puede ser null)
+     */
+    public void exhausted(@Nullable UUID cardId, @Nullable UUID sessionId) {
+        if (cardId != null)
+            counts(byCard, cardId).exhausted.increment();
+        if (sessionId != null)
+            counts(bySession, sessionId).exhausted.increment();
+    }
+
+    /**
+     * Devuelve las tarjetas y sesiones con más reintentos.
+     *
+     * @param limit número máximo de entradas por categoría
+     * @return resumen de contención
+     */
+    public ReviewContentionDto top(int limit) {
+        return new ReviewContentionDto(top(byCard, limit), top(bySession, limit));
+    }
+
+    private static Counts counts(Cache<UUID, Counts> cache, UUID key) {
+        return cache.get(key, k -> new Counts());
+    }
+
+    private static List<ReviewContentionDto.Entry> top(Cache<UUID, Counts> cache, int limit) {
+        return cache.asMap().entrySet().stream()
+                .map(e -> new ReviewContentionDto.Entry(
+                        e.getKey(), e.getValue().retries.sum(), e.getValue().exhausted.sum()))
+                .sorted(Comparator.comparingLong(ReviewContentionDto.Entry::retries).reversed())
+                .limit(Math.max(0, limit))
+                .toList();
+    }
+}
@@ -0,0 +1,53 @@
+package dev.cristianinbits.flashcards.review.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.cristianinbits.flashcards.review.config.ReviewProperties;
+import dev.cristianinbits.flashcards.review.config.ReviewProperties.SessionCounters;
+import dev.cristianinbits.flashcards.review.repo.ReviewSessionRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Consolida periódicamente en la tabla {@code reviews} los contadores de las
+ * sesiones abiertas cuando se usan contadores diferidos
+ * ({@link SessionCounters#DEFERRED}).
+ *
+ * Las lecturas de la API ya calculan los contadores en vivo y
+ * {@code finishSession} los fija al cerrar; esta tarea solo mantiene la fila
+ * razonablemente al día para consultas directas sobre la tabla. Nunca finaliza
+ * sesiones: un cliente sin conexión puede sincronizar sus respuestas en
+ * cualquier momento.
+ *
+ * Solo se recalculan las sesiones con respuestas registradas desde la pasada
+ * anterior (marcas de {@code review_counter_pending}, insertadas por el
+ * servidor al escribir en {@code review_events}). Con contadores inmediatos
+ * ({@link SessionCounters#INLINE}) las marcas se descartan sin más. Se ejecuta
+ * con la cadencia de {@code flashcards.review.counter-fold}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReviewCounterFolder {
+
+    private final ReviewSessionRepository sessions;
+    private final ReviewProperties properties;
+
+    /**
+     * Vuelca en {@code reviews} los contadores agregados de las sesiones
+     * abiertas con respuestas nuevas.
+     *
+     * @return número de sesiones actualizadas
+     */
+    @Scheduled(fixedDelayString = "${flashcards.review.counter-fold:60s}",
+            initialDelayString = "${flashcards.review.counter-fold:60s}")
+    @Transactional
+    public int fold() {
+        if (properties.sessionCounters() != SessionCounters.DEFERRED) {
+            sessions.discardPendingSessionCounters();
+            return 0;
+        }
+        return sessions.foldPendingSessionCounters();
+    }
+}
@@ -0,0 +1,129 @@
+package dev.cristianinbits.flashcards.review.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import dev.cristianinbits.flashcards.review.config.ReviewProperties;
+import dev.cristianinbits.flashcards.review.repo.ReviewEventPartitionRepository;
+import dev.cristianinbits.flashcards.review.repo.ReviewEventPartitionRepository.MonthlyPartition;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantenimiento de las particiones mensuales de {@code review_events}, con la
+ * cadencia de {@code flashcards.review.events.maintenance-interval}.
+ *
+ * Crea por adelantado las particiones de los próximos meses y, si el archivado
+ * está activo, retira las que superan {@code retain-months}: cada una se
+ * desengancha, se exporta con {@code COPY} a
+ * {@code <directory>/review_events_AAAA_MM.csv.gz} y se elimina. El fichero se
+ * escribe con un nombre temporal y se renombra al terminar, y la tabla solo se
+ * elimina después; si algo falla, la siguiente ejecución retoma la partición
+ * desenganchada. El desenganche espera como mucho
+ * {@code detach-lock-timeout} por su bloqueo exclusivo; si no lo obtiene, la
+ * pasada termina y se reintenta en la siguiente.
+ *
+ * Con varios nodos, cada pasada de archivado toma un cerrojo consultivo de
+ * PostgreSQL; si otro nodo lo tiene, la pasada se salta. Los ficheros quedan
+ * en el disco del nodo que archivó, así que {@code directory} debería ser un
+ * almacenamiento compartido.
+ *
+ * Los agregados ya calculados ({@code deck_stats}, {@code review_daily_rollup})
+ * se conservan, pero no pueden recalcularse desde eventos archivados: la
+ * reconstrucción de agregados ({@code ReviewRollupRebuilder}) empieza como
+ * pronto en el primer mes que sigue en la base de datos.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReviewEventArchiver {
+
+    private final ReviewEventPartitionRepository partitions;
+    private final ReviewProperties properties;
+
+    /** Crea las particiones futuras y archiva las antiguas. */
+    @Scheduled(fixedDelayString = "${flashcards.review.events.maintenance-interval:6h}", initialDelayString = "1m")
+    public void maintain() {
+        var events = properties.events();
+        int created = partitions.ensurePartitions(Math.max(0, events.monthsAhead()));
+        if (created > 0) {
+            log.info("Creadas {} particiones de review_events", created);
+        }
+        if (events.archive().enabled()) {
+            archiveOlderThan(YearMonth.now(ZoneOffset.UTC).minusMonths(Math.max(0, events.archive().retainMonths())));
+        }
+    }
+
+    /**
+     * Archiva las particiones de meses anteriores a {@code cutoff}, salvo que
+     * otro nodo esté archivando en ese momento.
+     *
+     * @param cutoff primer mes que se conserva
+     * @return particiones archivadas (0 si otro nodo tiene el cerrojo)
+     */
+    public int archiveOlderThan(YearMonth cutoff) {
+        var archived = partitions.withArchiveLock(() -> archiveLocked(cutoff));
+        if (archived.isEmpty()) {
+            log.info("Archivado de review_events en curso en otro nodo; se omite esta pasada");
+        }
+        return archived.orElse(0);
+    }
+
+    private int archiveLocked(YearMonth cutoff) {
+        int archived = 0;
+        for (var p : partitions.findMonthly()) {
+            if (!p.month().isBefore(cutoff)) {
+                continue;
+            }
+            try {
+                if (!archive(p)) {
+                    log.info("La partición {} sigue en uso; se reintentará en la siguiente pasada", p.name());
+                    break;
+                }
+                archived++;
+            } catch (RuntimeException ex) {
+                log.error("No se pudo archivar la partición {}", p.name(), ex);
+                break;
+            }
+        }
+        return archived;
+    }
+
+    /** @return {@code false} si no se pudo desenganchar la partición a tiempo */
+    private boolean archive(MonthlyPartition p) {
+        var settings = properties.events().archive();
+        if (p.attached() && !partitions.detach(p, settings.detachLockTimeout())) {
+            return false;
+        }
+        var dir = Path.of(settings.directory());
+        var target = dir.resolve(p.name() + ".csv.gz");
+        var tmp = dir.resolve(p.name() + ".csv.gz.tmp");
+        long rows;
+        try {
+            Files.createDirectories(dir);
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE),
+                    64 * 1024)) {
+                rows = partitions.copyOut(p, out);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        partitions.drop(p);
+        log.info("Archivada la partición {} ({} eventos) en {}", p.name(), rows, target);
+        return true;
+    }
+}
@@ -0,0 +1,199 @@
+package dev.cristianinbits.flashcards.review.service;
+
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.OptimisticLockException;
+
+/**
+ * Métricas Micrometer del bloque de repaso.
+ *
+ * <ul>
+ * <li>{@code flashcards.review.register}: latencia de
+ * {@link ReviewService#registerEvent}, reintentos incluidos, con la etiqueta
+ * {@code outcome} ({@code success}, {@code not_found}, {@code invalid},
+ * {@code conflict}, {@code exhausted} o {@code error})</li>
+ * <li>{@code flashcards.review.register.batch}: lo mismo para
+ * {@link ReviewService#registerEventBatch}, con el lote completo como unidad, y
+ * {@code flashcards.review.register.batch.size}: respuestas por lote</li>
+ * <li>{@code flashcards.review.retries} y {@code flashcards.review.exhausted}:
+ * reintentos por conflicto de concurrencia y operaciones que los agotaron</li>
+ * <li>{@code flashcards.review.due}: latencia de {@link ReviewService#dueCards}
+ * con la etiqueta {@code source} ({@code index} o {@code db}), y
+ * {@code flashcards.review.due.size}: tarjetas devueltas</li>
+ * </ul>
+ *
+ * Los temporizadores publican histogramas para calcular percentiles en
+ * Prometheus. Todos los medidores se registran al arrancar, de modo que el
+ * camino de las peticiones no consulta el registro.
+ */
+@Component
+public class ReviewMetrics {
+
+    private final MeterRegistry registry;
+    private final OutcomeTimers register;
+    private final OutcomeTimers registerBatch;
+    private final DistributionSummary registerBatchSize;
+    private final Counter retries;
+    private final Counter exhausted;
+    private final Timer dueFromIndex;
+    private final Timer dueFromDb;
+    private final DistributionSummary dueSize;
+
+    /**
+     * @param registry registro de métricas
+     */
+    public ReviewMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.register = new OutcomeTimers(registry, "flashcards.review.register",
+                "Registro de una respuesta, reintentos incluidos");
+        this.registerBatch = new OutcomeTimers(registry, "flashcards.review.register.batch",
+                "Registro de un lote de respuestas, reintentos incluidos");
+        this.registerBatchSize = DistributionSummary.builder("flashcards.review.register.batch.size")
+                .description("Respuestas por lote en POST /api/reviews/{id}/events/batch")
+                .baseUnit("events")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(500.0)
+                .register(registry);
+        this.retries = Counter.builder("flashcards.review.retries")
+                .description("Reintentos por conflictos de concurrencia al registrar respuestas")
+                .register(registry);
+        this.exhausted = Counter.builder("flashcards.review.exhausted")
+                .description("Operaciones que agotaron los reintentos")
+                .register(registry);
+        this.dueFromIndex = dueTimer("index");
+        this.dueFromDb = dueTimer("db");
+        this.dueSize = DistributionSummary.builder("flashcards.review.due.size")
+                .description("Tarjetas devueltas por GET /api/decks/{id}/cards/due")
+                .baseUnit("cards")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(100.0)
+                .register(registry);
+    }
+
+    /**
+     * Mide el registro de una respuesta, clasificando el resultado según la
+     * excepción lanzada.
+     *
+     * @param work registro completo, reintentos incluidos
+     * @param <T>  tipo del resultado
+     * @return resultado de {@code work}
+     */
+    public <T> T registerEvent(Supplier<T> work) {
+        return measure(register, work);
+    }
+
+    /**
+     * Mide el registro de un lote de respuestas, clasificando el resultado como
+     * {@link #registerEvent(Supplier)}.
+     *
+     * @param size número de respuestas del lote
+     * @param work registro completo del lote, reintentos incluidos
+     * @param <T>  tipo del resultado
+     * @return resultado de {@code work}
+     */
+    public <T> T registerEventBatch(int size, Supplier<T> work) {
+        registerBatchSize.record(size);
+        return measure(registerBatch, work);
+    }
+
+    /** Cuenta un reintento por conflicto de concurrencia. */
+    public void retried() {
+        retries.increment();
+    }
+
+    /** Cuenta una operación que agotó los reintentos. */
+    public void exhausted() {
+        exhausted.increment();
+    }
+
+    /** @return muestra en curso para {@link #dueCards} */
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * Registra una consulta de tarjetas pendientes.
+     *
+     * @param sample  muestra iniciada con {@link #start()}
+     * @param indexed si se resolvió con el índice en memoria
+     * @param size    tarjetas devueltas
+     */
+    public void dueCards(Timer.Sample sample, boolean indexed, int size) {
+        sample.stop(indexed ? dueFromIndex : dueFromDb);
+        dueSize.record(size);
+    }
+
+    private <T> T measure(OutcomeTimers timers, Supplier<T> work) {
+        var sample = Timer.start(registry);
+        try {
+            T result = work.get();
+            sample.stop(timers.success);
+            return result;
+        } catch (RuntimeException ex) {
+            sample.stop(timers.failure(ex));
+            throw ex;
+        }
+    }
+
+    private Timer dueTimer(String source) {
+        return Timer.builder("flashcards.review.due")
+                .description("Consulta de tarjetas pendientes de un mazo")
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /** Temporizadores de una operación de registro, uno por etiqueta {@code outcome}. */
+    private static final class OutcomeTimers {
+
+        final Timer success;
+        final Timer notFound;
+        final Timer invalid;
+        final Timer conflict;
+        final Timer exhausted;
+        final Timer error;
+
+        OutcomeTimers(MeterRegistry registry, String name, String description) {
+            this.success = timer(registry, name, description, "success");
+            this.notFound = timer(registry, name, description, "not_found");
+            this.invalid = timer(registry, name, description, "invalid");
+            this.conflict = timer(registry, name, description, "conflict");
+            this.exhausted = timer(registry, name, description, "exhausted");
+            this.error = timer(registry, name, description, "error");
+        }
+
+        Timer failure(RuntimeException ex) {
+            if (ex instanceof NoSuchElementException) {
+                return notFound;
+            }
+            if (ex instanceof IllegalArgumentException) {
+                return invalid;
+            }
+            if (ex instanceof IllegalStateException) {
+                return conflict;
+            }
+            if (ex instanceof ConcurrencyFailureException || ex instanceof OptimisticLockException) {
+                return exhausted;
+            }
+            return error;
+        }
+
+        private static Timer timer(MeterRegistry registry, String name, String description, String outcome) {
+            return Timer.builder(name)
+                    .description(description)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+}
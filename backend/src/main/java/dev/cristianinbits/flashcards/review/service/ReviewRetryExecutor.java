@@ -0,0 +1,128 @@
+package dev.cristianinbits.flashcards.review.service;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.cristianinbits.flashcards.review.config.ReviewProperties;
+
+import jakarta.persistence.OptimisticLockException;
+
+/**
+ * Ejecuta una unidad de trabajo en una transacción nueva por intento,
+ * reintentando ante conflictos de concurrencia.
+ *
+ * Los conflictos de bloqueo optimista ({@code @Version}) solo se detectan al
+ * hacer flush o commit, por lo que un bucle de reintentos dentro de la misma
+ * transacción no puede recuperarse. Aquí cada intento abre y confirma su
+ * propia transacción ({@code REQUIRES_NEW}); si el commit falla por un
+ * conflicto ({@link ConcurrencyFailureException}: bloqueo optimista,
+ * interbloqueo, imposibilidad de adquirir un bloqueo, o
+ * {@link OptimisticLockException}) se espera con backoff exponencial acotado y
+ * jitter y se vuelve a intentar desde cero.
+ *
+ * Reintentos y agotamientos se contabilizan por tarjeta y por sesión en
+ * {@link ReviewContentionTracker} y, en total, en {@link ReviewMetrics}.
+ */
+@Component
+public class ReviewRetryExecutor {
+
+    private final TransactionTemplate tx;
+    private final ReviewProperties.Retry policy;
+    private final ReviewContentionTracker tracker;
+    private final ReviewMetrics metrics;
+
+    /**
+     * @param txManager  gestor de transacciones
+     * @param properties configuración del bloque de repaso
+     * @param tracker    contadores de contención
+     * @param metrics    métricas del bloque de repaso
+     */
+    public ReviewRetryExecutor(PlatformTransactionManager txManager, ReviewProperties properties,
+            ReviewContentionTracker tracker, ReviewMetrics metrics) {
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.policy = properties.retry();
+        this.tracker = tracker;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Ejecuta {@code work} en una transacción propia, reintentando ante
+     * conflictos de concurrencia.
+     *
+     * @param cardId    tarjeta afectada, para los contadores (puede ser null)
+     * @param sessionId sesión afectada, para los contadores (puede ser null)
+     * @param work      unidad de trabajo; debe ser repetible desde cero
+     * @param <T>       tipo del resultado
+     * @return resultado del primer intento confirmado
+     * @throws ConcurrencyFailureException si se agotan los reintentos
+     * @throws OptimisticLockException     si se agotan los reintentos
+     */
+    public <T> T execute(@Nullable UUID cardId, @Nullable UUID sessionId, Supplier<T> work) {
+        return execute(cardId, sessionId, attempt -> work.get());
+    }
+
+    /**
+     * Variante de {@link #execute(UUID, UUID, Supplier)} que pasa a
+     * {@code work} el número de intento (base 1), p. ej. para los eventos JFR.
+     *
+     * @param cardId    tarjeta afectada, para los contadores (puede ser null)
+     * @param sessionId sesión afectada, para los contadores (puede ser null)
+     * @param work      unidad de trabajo; debe ser repetible desde cero
+     * @param <T>       tipo del resultado
+     * @return resultado del primer intento confirmado
+     * @throws ConcurrencyFailureException si se agotan los reintentos
+     * @throws OptimisticLockException     si se agotan los reintentos
+     */
+    public <T> T execute(@Nullable UUID cardId, @Nullable UUID sessionId, IntFunction<T> work) {
+        int maxAttempts = Math.max(1, policy.maxAttempts());
+        for (int attempt = 1;; attempt++) {
+            final int current = attempt;
+            try {
+                return tx.execute(status -> work.apply(current));
+            } catch (ConcurrencyFailureException | OptimisticLockException ex) {
+                if (attempt >= maxAttempts) {
+                    tracker.exhausted(cardId, sessionId);
+                    metrics.exhausted();
+                    throw ex;
+                }
+                tracker.retried(cardId, sessionId);
+                metrics.retried();
+                if (!sleepBackoff(attempt)) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Espera antes del siguiente intento.
+     *
+     * @param attempt número del intento que acaba de fallar (base 1)
+     * @return {@code false} si el hilo fue interrumpido durante la espera
+     */
+    private boolean sleepBackoff(int attempt) {
+        long base = policy.initialBackoff().toMillis();
+        long cap = policy.maxBackoff().toMillis();
+        long delay = Math.min(cap, base << Math.min(attempt - 1, 20));
+        if (delay <= 0)
+            return true;
+        long jittered = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        try {
+            Thread.sleep(jittered);
+            return true;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
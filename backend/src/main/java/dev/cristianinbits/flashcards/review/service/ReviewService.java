@@ -1,17 +1,24 @@
 package dev.cristianinbits.flashcards.review.service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Sort;
 import static org.springframework.data.domain.Sort.Direction.DESC;
@@ -21,25 +28,42 @@ import org.springframework.lang.Nullable;
 import dev.cristianinbits.flashcards.card.domain.Card;
 import dev.cristianinbits.flashcards.card.dto.CardDto;
 import dev.cristianinbits.flashcards.card.repo.CardRepository;
+import dev.cristianinbits.flashcards.common.web.Cursor;
+import dev.cristianinbits.flashcards.common.web.CursorPage;
 import dev.cristianinbits.flashcards.deck.repo.DeckRepository;
+import dev.cristianinbits.flashcards.deck.service.DeckLookup;
+import dev.cristianinbits.flashcards.review.config.ReviewProperties;
+import dev.cristianinbits.flashcards.review.config.ReviewProperties.SessionCounters;
 import dev.cristianinbits.flashcards.review.domain.CardSrsState;
 import dev.cristianinbits.flashcards.review.domain.ReviewEvent;
 import dev.cristianinbits.flashcards.review.domain.ReviewSession;
+import dev.cristianinbits.flashcards.review.due.DueIndexEvents.CardDueChanged;
+import dev.cristianinbits.flashcards.review.due.DueQueueIndex;
+import dev.cristianinbits.flashcards.review.dto.ReviewEventBatchItem;
+import dev.cristianinbits.flashcards.review.dto.ReviewEventBatchItemResult;
+import dev.cristianinbits.flashcards.review.dto.ReviewEventBatchRequest;
+import dev.cristianinbits.flashcards.review.dto.ReviewEventBatchResultDto;
 import dev.cristianinbits.flashcards.review.dto.ReviewEventCreateRequest;
 import dev.cristianinbits.flashcards.review.dto.ReviewEventDto;
 import dev.cristianinbits.flashcards.review.dto.ReviewSessionCreateRequest;
 import dev.cristianinbits.flashcards.review.dto.ReviewSessionDto;
 import dev.cristianinbits.flashcards.review.dto.ReviewSessionFinishRequest;
+import dev.cristianinbits.flashcards.review.jfr.ReviewPhaseEvent;
 import dev.cristianinbits.flashcards.review.repo.CardSrsStateRepository;
+import dev.cristianinbits.flashcards.review.repo.ReviewCommitRepository;
 import dev.cristianinbits.flashcards.review.repo.ReviewEventRepository;
 import dev.cristianinbits.flashcards.review.repo.ReviewSessionRepository;
+import dev.cristianinbits.flashcards.review.repo.SessionTally;
+import dev.cristianinbits.flashcards.review.srs.EaseFactors;
+import dev.cristianinbits.flashcards.review.srs.SrsAlgorithm;
+import dev.cristianinbits.flashcards.review.srs.SrsAlgorithms;
 
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
 
-import jakarta.persistence.OptimisticLockException;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.dao.ConcurrencyFailureException;
 
 /**
  * Servicio de lógica de negocio para el bloque de repaso (review).
@@ -62,12 +86,28 @@ public class ReviewService {
     private final CardRepository cards;
     /** Repositorio de mazos. */
     private final DeckRepository decks;
+    /** Existencia de mazo a través de la caché de lectura. */
+    private final DeckLookup deckLookup;
     /** Repositorio del estado SRS de las tarjetas. */
     private final CardSrsStateRepository srsRepo;
     /** Repositorio de sesiones de repaso. */
     private final ReviewSessionRepository sessions;
     /** Repositorio de eventos de repaso. */
     private final ReviewEventRepository events;
+    /** Algoritmos SRS disponibles; cada mazo indica cuál utiliza. */
+    private final SrsAlgorithms algorithms;
+    /** Escritura de respuestas en una única sentencia SQL. */
+    private final ReviewCommitRepository commits;
+    /** Configuración del bloque de repaso. */
+    private final ReviewProperties properties;
+    /** Ejecutor de reintentos con una transacción por intento. */
+    private final ReviewRetryExecutor retry;
+    /** Índice en memoria de tarjetas pendientes por mazo. */
+    private final DueQueueIndex dueIndex;
+    /** Publicador de eventos para mantener el índice tras el commit. */
+    private final ApplicationEventPublisher publisher;
+    /** Métricas de registro de respuestas y de tarjetas pendientes. */
+    private final ReviewMetrics metrics;
 
     // =========================
     // 1) DUE CARDS POR DECK
@@ -77,19 +117,46 @@ public class ReviewService {
      * Devuelve un listado de tarjetas pendientes de repaso (due) para un mazo,
      * ordenadas por fecha de vencimiento ascendente y acotadas por un límite.
      *
+     * Si el índice en memoria está activo ({@link DueQueueIndex}), los
+     * identificadores se obtienen de él y solo se leen por clave primaria las
+     * tarjetas devueltas; en otro caso se consulta la base de datos. En ambos
+     * casos se proyecta directamente a {@link CardDto}, sin cargar entidades.
+     *
      * @param deckId identificador del mazo
      * @param limit  número máximo de tarjetas a devolver; se acota a [1, 100]
      * @return lista de tarjetas en formato DTO
      * @throws NoSuchElementException si el mazo no existe
      */
     public List<CardDto> dueCards(UUID deckId, int limit) {
-        if (!decks.existsById(deckId)) {
+        boolean indexed = dueIndex.isEnabled();
+        var sample = metrics.start();
+        var result = loadDueCards(deckId, limit, indexed);
+        metrics.dueCards(sample, indexed, result.size());
+        return result;
+    }
+
+    private List<CardDto> loadDueCards(UUID deckId, int limit, boolean indexed) {
+        if (!(indexed && dueIndex.isLoaded(deckId)) && deckLookup.find(deckId).isEmpty()) {
             throw new NoSuchElementException("Deck no encontrado: " + deckId);
         }
         var now = OffsetDateTime.now(ZoneOffset.UTC);
-        var page = PageRequest.of(0, Math.max(1, Math.min(limit, 100)));
-        Page<Card> result = srsRepo.findDueCardsByDeck(deckId, now, page);
-        return result.stream().map(this::toCardDto).collect(Collectors.toList());
+        int size = Math.max(1, Math.min(limit, 100));
+
+        if (indexed) {
+            var ids = dueIndex.dueCardIds(deckId, now, size);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            Map<UUID, CardDto> byId = new HashMap<>();
+            for (var c : cards.findDtosByIdIn(ids)) {
+                byId.put(c.id(), c);
+            }
+            // Se conserva el orden del índice; una tarjeta borrada desde otro nodo
+            // puede seguir en él hasta la próxima recarga y simplemente se omite.
+            return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        }
+
+        return srsRepo.findDueCardsByDeck(deckId, now, PageRequest.of(0, size));
     }
 
     // =========================
@@ -107,8 +174,10 @@ public class ReviewService {
      */
     @Transactional
     public ReviewSessionDto createSession(UUID deckId, @Nullable ReviewSessionCreateRequest req) {
-        var deck = decks.findById(deckId)
-                .orElseThrow(() -> new NoSuchElementException("Deck no encontrado: " + deckId));
+        if (deckLookup.find(deckId).isEmpty()) {
+            throw new NoSuchElementException("Deck no encontrado: " + deckId);
+        }
+        var deck = decks.getReferenceById(deckId);
 
         var s = new ReviewSession();
         s.setDeck(deck);
@@ -138,6 +207,12 @@ public class ReviewService {
     /**
      * Finaliza una sesión de repaso, actualizando marcas temporales y métricas.
      *
+     * Con contadores diferidos ({@link SessionCounters#DEFERRED}) la fila se
+     * bloquea en exclusiva para esperar a las respuestas en curso y, si la
+     * sesión tiene eventos registrados, los contadores definitivos se
+     * consolidan a partir de ellos; los enviados por el cliente solo se usan
+     * para sesiones sin eventos.
+     *
      * @param sessionId identificador de la sesión a finalizar
      * @param req       datos de finalización (contadores y tiempo)
      * @return DTO de la sesión finalizada
@@ -147,7 +222,7 @@ public class ReviewService {
      */
     @Transactional
     public ReviewSessionDto finishSession(UUID sessionId, ReviewSessionFinishRequest req) {
-        var s = sessions.findById(sessionId)
+        var s = (deferredCounters() ? sessions.findForUpdateById(sessionId) : sessions.findById(sessionId))
                 .orElseThrow(() -> new NoSuchElementException("ReviewSession no encontrada: " + sessionId));
 
         if (s.getEndedAt() != null) {
@@ -168,6 +243,13 @@ public class ReviewService {
             throw new IllegalArgumentException("totalCards debe ser igual a correct + incorrect");
         }
 
+        if (deferredCounters()) {
+            var tally = liveTallies(List.of(s)).get(s.getId());
+            if (tally != null) {
+                applyTally(s, tally);
+            }
+        }
+
         return toDto(s);
     }
 
@@ -175,26 +257,64 @@ public class ReviewService {
      * Lista las sesiones de repaso de un mazo con paginación. Si no se especifica
      * orden, se aplica por defecto {@code startedAt DESC}.
      *
-     * @param deckId   identificador del mazo
-     * @param pageable parámetros de paginación y ordenación; si es nulo o sin
-     *                 orden, se aplica por defecto
-     * @return página de sesiones en formato DTO
+     * Con contadores diferidos, los de las sesiones abiertas se calculan en
+     * vivo a partir de sus eventos (una consulta agregada para toda la página).
+     *
+     * @param deckId    identificador del mazo
+     * @param pageable  parámetros de paginación y ordenación; si es nulo o sin
+     *                  orden, se aplica por defecto
+     * @param withTotal si es {@code false}, devuelve un {@link Slice} sin totales
+     *                  y evita la consulta de recuento
+     * @return página (o porción) de sesiones en formato DTO
      * @throws NoSuchElementException si el mazo no existe
      */
-    public Page<ReviewSessionDto> listSessionsByDeck(UUID deckId, Pageable pageable) {
-        if (!decks.existsById(deckId)) {
+    public Slice<ReviewSessionDto> listSessionsByDeck(UUID deckId, Pageable pageable, boolean withTotal) {
+        if (deckLookup.find(deckId).isEmpty()) {
             throw new NoSuchElementException("Deck no encontrado: " + deckId);
         }
         var p = (pageable == null) ? PageRequest.of(0, 20, Sort.by(DESC, "startedAt")) : pageable;
         if (p.getSort().isUnsorted()) {
             p = PageRequest.of(p.getPageNumber(), p.getPageSize(), Sort.by(DESC, "startedAt"));
         }
-        return sessions.findByDeck_Id(deckId, p).map(this::toDto);
+        Slice<ReviewSessionDto> page = withTotal
+                ? sessions.findDtoByDeck(deckId, p)
+                : sessions.findDtoSliceByDeck(deckId, p);
+        var tallies = liveDtoTallies(page.getContent());
+        return page.map(d -> withTally(d, tallies.get(d.id())));
+    }
+
+    /**
+     * Lista las sesiones de repaso de un mazo con paginación por cursor sobre
+     * {@code (startedAt, id)}.
+     *
+     * @param deckId    identificador del mazo
+     * @param after     posición de la última sesión ya devuelta
+     * @param ascending sentido del recorrido
+     * @param size      tamaño de página
+     * @return página de sesiones con el cursor de la siguiente
+     * @throws NoSuchElementException si el mazo no existe
+     */
+    public CursorPage<ReviewSessionDto> listSessionsByDeck(UUID deckId, Cursor after, boolean ascending,
+            int size) {
+        if (deckLookup.find(deckId).isEmpty()) {
+            throw new NoSuchElementException("Deck no encontrado: " + deckId);
+        }
+        var limit = Limit.of(size + 1);
+        var rows = ascending
+                ? sessions.findByDeckAfterAsc(deckId, after.at(), after.id(), limit)
+                : sessions.findByDeckAfterDesc(deckId, after.at(), after.id(), limit);
+        var tallies = liveDtoTallies(rows);
+        return CursorPage.of(rows, size,
+                d -> new Cursor(d.startedAt(), d.id()),
+                d -> withTally(d, tallies.get(d.id())));
     }
 
     /**
      * Obtiene una sesión de repaso por su identificador.
      *
+     * Con contadores diferidos, si la sesión está abierta sus contadores se
+     * calculan en vivo a partir de sus eventos.
+     *
      * @param id identificador de la sesión
      * @return DTO de la sesión encontrada
      * @throws NoSuchElementException si la sesión no existe
@@ -202,7 +322,7 @@ public class ReviewService {
     public ReviewSessionDto getSession(UUID id) {
         var s = sessions.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("ReviewSession no encontrada: " + id));
-        return toDto(s);
+        return toDto(s, liveTallies(List.of(s)).get(id));
     }
 
     // =========================
@@ -211,38 +331,48 @@ public class ReviewService {
 
     /**
      * Registra un evento de repaso para una tarjeta, actualizando su estado SRS.
-     * Implementa reintentos frente a conflictos de concurrencia optimista.
+     * Implementa reintentos frente a conflictos de concurrencia.
      *
      * Estrategia:
-     * - Hasta 3 intentos si se produce
-     * {@link ObjectOptimisticLockingFailureException} o
-     * {@link OptimisticLockException}.
-     * - En cada intento se vuelve a cargar y aplicar la regla sobre el estado SRS.
+     * - El método se ejecuta sin transacción; cada intento abre la suya a través
+     * de {@link ReviewRetryExecutor}, de modo que los conflictos de
+     * {@code @Version} que aparecen al hacer commit sí pueden reintentarse.
+     * - En cada intento se vuelve a cargar y aplicar la regla sobre el estado SRS,
+     * con backoff exponencial acotado y jitter entre intentos.
+     *
+     * Si {@code flashcards.review.single-round-trip} está activo, cada intento
+     * prueba primero la escritura en una sola sentencia
+     * ({@link ReviewCommitRepository}); el camino JPA queda como respaldo para
+     * los errores de validación, el bootstrap del estado SRS y los mazos con un
+     * algoritmo distinto de SM-2.
      *
      * @param req solicitud de creación de evento de repaso
      * @return DTO del evento registrado
-     * @throws NoSuchElementException   si la tarjeta no existe o si la sesión
-     *                                  indicada no existe
-     * @throws IllegalStateException    si la sesión indicada está finalizada
-     * @throws IllegalArgumentException si la tarjeta no pertenece al mismo mazo que
-     *                                  la sesión
-     * @throws OptimisticLockException  si tras agotar reintentos persiste el
-     *                                  conflicto de concurrencia
+     * @throws NoSuchElementException      si la tarjeta no existe o si la sesión
+     *                                     indicada no existe
+     * @throws IllegalStateException       si la sesión indicada está finalizada
+     * @throws IllegalArgumentException    si la tarjeta no pertenece al mismo mazo
+     *                                     que la sesión
+     * @throws ConcurrencyFailureException si tras agotar reintentos persiste el
+     *                                     conflicto de concurrencia
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ReviewEventDto registerEvent(ReviewEventCreateRequest req) {
-        int attempts = 0;
-        final int maxAttempts = 3;
-
-        while (true) {
-            try {
-                return registerEventOnce(req);
-            } catch (ObjectOptimisticLockingFailureException | OptimisticLockException ex) {
-                if (++attempts >= maxAttempts) {
-                    throw ex;
+        return metrics.registerEvent(() -> retry.execute(req.cardId(), req.reviewId(), attempt -> {
+            if (properties.singleRoundTrip()) {
+                var phase = ReviewPhaseEvent.start();
+                var committed = commits.commitSm2(UUID.randomUUID(), req.cardId(), req.reviewId(),
+                        req.result(), Math.max(0, req.elapsedMs()), nowUtc(), !deferredCounters());
+                phase.finish(ReviewPhaseEvent.SINGLE_STATEMENT, req.cardId(),
+                        committed.map(c -> c.deckId()).orElse(null), req.reviewId(), attempt);
+                if (committed.isPresent()) {
+                    var ev = committed.get().event();
+                    publisher.publishEvent(new CardDueChanged(committed.get().deckId(), ev.cardId(), ev.newDueAt()));
+                    return ev;
                 }
             }
-        }
+            return registerEventOnce(req, attempt);
+        }));
     }
 
     /**
@@ -251,110 +381,306 @@ public class ReviewService {
      * No aplica reintentos; la gestión de reintentos la realiza
      * {@link #registerEvent(ReviewEventCreateRequest)}.
      *
-     * @param req solicitud de creación de evento
+     * Cada fase emite un {@link ReviewPhaseEvent} de JFR con su duración.
+     *
+     * @param req     solicitud de creación de evento
+     * @param attempt número de intento (base 1)
      * @return DTO del evento creado
      */
-    private ReviewEventDto registerEventOnce(ReviewEventCreateRequest req) {
+    private ReviewEventDto registerEventOnce(ReviewEventCreateRequest req, int attempt) {
         final var now = nowUtc();
 
-        // 1) Card
-        var card = cards.findById(req.cardId())
+        // 1) Card (+ deck, para resolver su algoritmo SRS)
+        var phase = ReviewPhaseEvent.start();
+        var card = cards.findWithDeckById(req.cardId())
                 .orElseThrow(() -> new NoSuchElementException("Card no encontrada: " + req.cardId()));
+        final var deckId = card.getDeck().getId();
+        phase.finish(ReviewPhaseEvent.CARD_LOAD, card.getId(), deckId, req.reviewId(), attempt);
 
         // 2) Session (opcional) + validaciones de dominio
         ReviewSession session = null;
         if (req.reviewId() != null) {
-            session = sessions.findById(req.reviewId())
+            phase = ReviewPhaseEvent.start();
+            session = loadSessionForAnswer(req.reviewId())
                     .orElseThrow(() -> new NoSuchElementException("ReviewSession no encontrada: " + req.reviewId()));
 
             if (session.getEndedAt() != null) {
                 throw new IllegalStateException("La sesión ya está finalizada");
             }
-            if (!session.getDeck().getId().equals(card.getDeck().getId())) {
+            if (!session.getDeck().getId().equals(deckId)) {
                 throw new IllegalArgumentException("La card no pertenece al mismo deck de la sesión");
             }
+            phase.finish(ReviewPhaseEvent.SESSION_VALIDATION, card.getId(), deckId, req.reviewId(), attempt);
         }
 
         // 3) SRS: carga o bootstrap inicial (se recomienda @Version en la entidad)
-        var srs = srsRepo.findById(card.getId()).orElseGet(() -> {
-            var st = new CardSrsState();
-            st.setCardId(card.getId());
-            st.setCard(card);
-            st.setDueAt(now);
-            st.setIntervalDays(0);
-            st.setEaseFactor(new BigDecimal("2.50"));
-            st.setRepetitions(0);
-            st.setLastResult((short) 0);
-            st.setUpdatedAt(now);
-            return st;
-        });
-
-        // Snapshots previos
-        var prevDue = srs.getDueAt();
-        var prevInt = srs.getIntervalDays();
-        var prevEase = srs.getEaseFactor();
-
-        // 4) Regla SRS (acierto/fallo)
+        phase = ReviewPhaseEvent.start();
+        var algorithm = algorithms.forDeck(card.getDeck());
+        var srs = srsRepo.findById(card.getId()).orElseGet(() -> newSrsState(card, algorithm, now));
+        phase.finish(ReviewPhaseEvent.SRS_LOAD, card.getId(), deckId, req.reviewId(), attempt);
+
+        // 4) Regla SRS + 5) Event
+        phase = ReviewPhaseEvent.start();
+        var ev = applyAnswer(algorithm, srs, card, session, req.result(), req.elapsedMs(), now);
         final boolean isCorrect = req.result() == 1;
-        if (isCorrect) {
-            srs.setRepetitions(srs.getRepetitions() + 1);
-            int newInterval;
-            if (srs.getRepetitions() == 1)
-                newInterval = 1;
-            else if (srs.getRepetitions() == 2)
-                newInterval = 3;
-            else
-                newInterval = Math.max(1, BigDecimal.valueOf(srs.getIntervalDays())
-                        .multiply(srs.getEaseFactor())
-                        .setScale(0, RoundingMode.HALF_UP)
-                        .intValue());
-            srs.setIntervalDays(newInterval);
-
-            var newEase = minBD(prevEase.add(new BigDecimal("0.05")), new BigDecimal("3.00"));
-            srs.setEaseFactor(newEase);
-            srs.setLastResult((short) 1);
-        } else {
-            srs.setRepetitions(0);
-            srs.setIntervalDays(1);
-            var newEase = maxBD(prevEase.subtract(new BigDecimal("0.15")), new BigDecimal("1.30"));
-            srs.setEaseFactor(newEase);
-            srs.setLastResult((short) 0);
-        }
-
-        var newDue = now.plusDays(srs.getIntervalDays());
-        srs.setDueAt(newDue);
-        srs.setUpdatedAt(now);
+        phase.finish(ReviewPhaseEvent.RULE, card.getId(), deckId, req.reviewId(), attempt);
 
-        // 5) Event
-        var ev = new ReviewEvent();
-        ev.setReview(session);
-        ev.setCard(card);
-        ev.setAnsweredAt(now);
-        ev.setResult(req.result());
-        ev.setElapsedMs(Math.max(0, req.elapsedMs()));
-        ev.setPrevDueAt(prevDue);
-        ev.setNewDueAt(newDue);
-        ev.setPrevInterval(prevInt);
-        ev.setNewInterval(srs.getIntervalDays());
-        ev.setPrevEase(prevEase);
-        ev.setNewEase(srs.getEaseFactor());
-
-        // 6) Persistir atómicamente
+        // 6) Persistir atómicamente (el flush envía aquí el UPDATE y el INSERT)
+        phase = ReviewPhaseEvent.start();
         srsRepo.save(srs);
         ev = events.save(ev);
+        events.flush();
+        publisher.publishEvent(new CardDueChanged(deckId, card.getId(), srs.getDueAt()));
+        phase.finish(ReviewPhaseEvent.PERSISTENCE, card.getId(), deckId, req.reviewId(), attempt);
 
-        // 7) Counters de sesión (si aplica)
-        if (session != null) {
+        // 7) Counters de sesión (si aplica; en modo diferido se derivan de los eventos)
+        if (session != null && !deferredCounters()) {
+            phase = ReviewPhaseEvent.start();
             session.setTotalCards(session.getTotalCards() + 1);
             if (isCorrect)
                 session.setCorrect(session.getCorrect() + 1);
             else
                 session.setIncorrect(session.getIncorrect() + 1);
+            sessions.flush();
+            phase.finish(ReviewPhaseEvent.SESSION_COUNTERS, card.getId(), deckId, req.reviewId(), attempt);
         }
 
         return toDto(ev);
     }
 
+    /**
+     * Registra en bloque las respuestas de una sesión (p. ej. al sincronizar un
+     * cliente que ha estado sin conexión) dentro de una única transacción.
+     *
+     * Las tarjetas y sus estados SRS se cargan con una consulta por tabla y las
+     * escrituras se agrupan mediante JDBC batching de Hibernate, de modo que el
+     * número de sentencias ya no crece con una ida y vuelta por respuesta. Las
+     * respuestas se aplican en el orden recibido, por lo que varias respuestas
+     * sobre la misma tarjeta encadenan su efecto sobre el estado SRS.
+     *
+     * Cada elemento produce un resultado individual:
+     * - {@code ACCEPTED}: el evento se ha registrado.
+     * - {@code REJECTED}: la tarjeta no existe o no pertenece al mazo de la sesión.
+     * - {@code CONFLICT}: el estado SRS de la tarjeta es posterior al instante de
+     * la respuesta (otro dispositivo ya la repasó después), por lo que se
+     * descarta para no reprogramarla con información obsoleta.
+     *
+     * Como en {@link #registerEvent(ReviewEventCreateRequest)}, el lote completo
+     * se reintenta en una transacción nueva si el commit falla por un conflicto
+     * de concurrencia.
+     *
+     * @param reviewId identificador de la sesión de repaso
+     * @param req      respuestas a registrar, en orden
+     * @return resumen y resultado individual de cada respuesta
+     * @throws NoSuchElementException      si la sesión no existe
+     * @throws IllegalStateException       si la sesión ya está finalizada
+     * @throws ConcurrencyFailureException si tras agotar reintentos persiste el
+     *                                     conflicto de concurrencia
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReviewEventBatchResultDto registerEventBatch(UUID reviewId, ReviewEventBatchRequest req) {
+        return metrics.registerEventBatch(req.events().size(),
+                () -> retry.execute(null, reviewId, attempt -> registerEventBatchOnce(reviewId, req, attempt)));
+    }
+
+    /**
+     * Un único intento de {@link #registerEventBatch(UUID, ReviewEventBatchRequest)}
+     * dentro de la transacción abierta por {@link ReviewRetryExecutor}.
+     *
+     * Cada fase emite un {@link ReviewPhaseEvent} de JFR para el lote completo.
+     *
+     * @param reviewId identificador de la sesión de repaso
+     * @param req      respuestas a registrar, en orden
+     * @param attempt  número de intento (base 1)
+     * @return resumen y resultado individual de cada respuesta
+     */
+    private ReviewEventBatchResultDto registerEventBatchOnce(UUID reviewId, ReviewEventBatchRequest req,
+            int attempt) {
+        final var now = nowUtc();
+        var items = req.events();
+
+        var phase = ReviewPhaseEvent.start();
+        var session = loadSessionForAnswer(reviewId)
+                .orElseThrow(() -> new NoSuchElementException("ReviewSession no encontrada: " + reviewId));
+        if (session.getEndedAt() != null) {
+            throw new IllegalStateException("La sesión ya está finalizada");
+        }
+        var deckId = session.getDeck().getId();
+        var algorithm = algorithms.forDeck(session.getDeck());
+        phase.finishBatch(ReviewPhaseEvent.SESSION_VALIDATION, deckId, reviewId, attempt, items.size());
+
+        phase = ReviewPhaseEvent.start();
+        var cardIds = items.stream().map(ReviewEventBatchItem::cardId).collect(Collectors.toSet());
+        Map<UUID, Card> cardById = new HashMap<>();
+        for (var c : cards.findAllById(cardIds)) {
+            cardById.put(c.getId(), c);
+        }
+        phase.finishBatch(ReviewPhaseEvent.CARD_LOAD, deckId, reviewId, attempt, items.size());
+
+        phase = ReviewPhaseEvent.start();
+        Map<UUID, CardSrsState> srsById = new HashMap<>();
+        for (var st : srsRepo.findAllById(cardIds)) {
+            srsById.put(st.getCardId(), st);
+        }
+        phase.finishBatch(ReviewPhaseEvent.SRS_LOAD, deckId, reviewId, attempt, items.size());
+
+        var outcomes = new ReviewEventBatchItemResult[items.size()];
+        var accepted = new ReviewEvent[items.size()];
+        var bootstrapped = new ArrayList<CardSrsState>();
+        var toInsert = new ArrayList<ReviewEvent>(items.size());
+        int correct = 0;
+        int incorrect = 0;
+
+        phase = ReviewPhaseEvent.start();
+        for (int i = 0; i < items.size(); i++) {
+            var item = items.get(i);
+            var card = cardById.get(item.cardId());
+            if (card == null) {
+                outcomes[i] = ReviewEventBatchItemResult.rejected(i, item.cardId(),
+                        "Card no encontrada: " + item.cardId());
+                continue;
+            }
+            if (!deckId.equals(card.getDeck().getId())) {
+                outcomes[i] = ReviewEventBatchItemResult.rejected(i, item.cardId(),
+                        "La card no pertenece al mismo deck de la sesión");
+                continue;
+            }
+
+            var answeredAt = (item.answeredAt() != null)
+                    ? item.answeredAt().withOffsetSameInstant(ZoneOffset.UTC)
+                    : now;
+            var srs = srsById.get(card.getId());
+            if (srs == null) {
+                srs = newSrsState(card, algorithm, answeredAt);
+                srsById.put(card.getId(), srs);
+                bootstrapped.add(srs);
+            } else if (answeredAt.isBefore(srs.getUpdatedAt())) {
+                outcomes[i] = ReviewEventBatchItemResult.conflict(i, item.cardId(),
+                        "El estado SRS de la card es posterior a la respuesta");
+                continue;
+            }
+
+            var ev = applyAnswer(algorithm, srs, card, session, item.result(), item.elapsedMs(), answeredAt);
+            accepted[i] = ev;
+            toInsert.add(ev);
+            if (item.result() == 1)
+                correct++;
+            else
+                incorrect++;
+        }
+
+        phase.finishBatch(ReviewPhaseEvent.RULE, deckId, reviewId, attempt, items.size());
+
+        // Los estados ya gestionados se actualizan por dirty checking al hacer flush;
+        // solo los creados en este lote necesitan persistirse explícitamente.
+        phase = ReviewPhaseEvent.start();
+        srsRepo.saveAll(bootstrapped);
+        events.saveAll(toInsert);
+        events.flush();
+        for (var ev : toInsert) {
+            publisher.publishEvent(new CardDueChanged(deckId, ev.getCard().getId(), ev.getNewDueAt()));
+        }
+        phase.finishBatch(ReviewPhaseEvent.PERSISTENCE, deckId, reviewId, attempt, items.size());
+
+        if (!deferredCounters()) {
+            phase = ReviewPhaseEvent.start();
+            session.setTotalCards(session.getTotalCards() + correct + incorrect);
+            session.setCorrect(session.getCorrect() + correct);
+            session.setIncorrect(session.getIncorrect() + incorrect);
+            sessions.flush();
+            phase.finishBatch(ReviewPhaseEvent.SESSION_COUNTERS, deckId, reviewId, attempt, items.size());
+        }
+
+        for (int i = 0; i < outcomes.length; i++) {
+            if (accepted[i] != null) {
+                outcomes[i] = ReviewEventBatchItemResult.accepted(i, toDto(accepted[i]));
+            }
+        }
+        return ReviewEventBatchResultDto.of(reviewId, Arrays.asList(outcomes));
+    }
+
+    // =========================
+    // Contadores de sesión
+    // =========================
+
+    /** @return {@code true} si los contadores de sesión se derivan de los eventos. */
+    private boolean deferredCounters() {
+        return properties.sessionCounters() == SessionCounters.DEFERRED;
+    }
+
+    /**
+     * Carga la sesión sobre la que se registra una respuesta. En modo diferido
+     * la fila se bloquea en modo compartido y no se modifica, por lo que las
+     * respuestas concurrentes de la sesión no compiten entre sí.
+     *
+     * @param reviewId identificador de la sesión
+     * @return sesión, si existe
+     */
+    private Optional<ReviewSession> loadSessionForAnswer(UUID reviewId) {
+        return deferredCounters() ? sessions.findForShareById(reviewId) : sessions.findById(reviewId);
+    }
+
+    /**
+     * Calcula en vivo los contadores de las sesiones abiertas a partir de sus
+     * eventos. Fuera del modo diferido, o si no hay sesiones abiertas, no
+     * consulta la base de datos.
+     *
+     * @param list sesiones candidatas
+     * @return contadores por identificador de sesión abierta con eventos
+     */
+    private Map<UUID, SessionTally> liveTallies(Collection<ReviewSession> list) {
+        if (!deferredCounters()) {
+            return Map.of();
+        }
+        return tallyOpen(list.stream()
+                .filter(s -> s.getEndedAt() == null)
+                .map(ReviewSession::getId)
+                .toList());
+    }
+
+    /**
+     * Como {@link #liveTallies(Collection)} para sesiones ya proyectadas a DTO.
+     *
+     * @param list sesiones candidatas
+     * @return contadores por identificador de sesión abierta con eventos
+     */
+    private Map<UUID, SessionTally> liveDtoTallies(Collection<ReviewSessionDto> list) {
+        if (!deferredCounters()) {
+            return Map.of();
+        }
+        return tallyOpen(list.stream()
+                .filter(d -> d.endedAt() == null)
+                .map(ReviewSessionDto::id)
+                .toList());
+    }
+
+    /**
+     * @param open identificadores de sesiones abiertas
+     * @return contadores por sesión, calculados a partir de sus eventos
+     */
+    private Map<UUID, SessionTally> tallyOpen(List<UUID> open) {
+        if (open.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, SessionTally> result = new HashMap<>();
+        for (var t : events.tallyByReviewIds(open)) {
+            result.put(t.getReviewId(), t);
+        }
+        return result;
+    }
+
+    /**
+     * Copia sobre la sesión los contadores calculados a partir de sus eventos.
+     *
+     * @param s     sesión a actualizar
+     * @param tally contadores calculados
+     */
+    private static void applyTally(ReviewSession s, SessionTally tally) {
+        s.setTotalCards((int) tally.getTotal());
+        s.setCorrect((int) tally.getCorrect());
+        s.setIncorrect((int) (tally.getTotal() - tally.getCorrect()));
+    }
+
     // =========================
     // Helpers de mapeo/tiempo
     // =========================
@@ -364,32 +690,72 @@ public class ReviewService {
         return OffsetDateTime.now(ZoneOffset.UTC);
     }
 
-    /** @return mínimo entre dos {@link BigDecimal}. */
-    private static BigDecimal minBD(BigDecimal a, BigDecimal b) {
-        return a.compareTo(b) <= 0 ? a : b;
-    }
-
-    /** @return máximo entre dos {@link BigDecimal}. */
-    private static BigDecimal maxBD(BigDecimal a, BigDecimal b) {
-        return a.compareTo(b) >= 0 ? a : b;
+    /**
+     * Crea el estado SRS inicial de una tarjeta que todavía no lo tiene.
+     *
+     * @param card      tarjeta a la que pertenece el estado
+     * @param algorithm algoritmo SRS del mazo (define la facilidad inicial)
+     * @param at        instante de referencia para {@code dueAt} y
+     *                  {@code updatedAt}
+     * @return estado SRS sin persistir
+     */
+    static CardSrsState newSrsState(Card card, SrsAlgorithm algorithm, OffsetDateTime at) {
+        var st = new CardSrsState();
+        st.setCardId(card.getId());
+        st.setCard(card);
+        st.setDueAt(at);
+        st.setIntervalDays(0);
+        st.setEaseHundredths(algorithm.initialEase());
+        st.setRepetitions(0);
+        st.setLastResult((short) 0);
+        st.setUpdatedAt(at);
+        return st;
     }
 
     /**
-     * Convierte una entidad {@link Card} a su DTO.
+     * Aplica la regla SRS del mazo sobre el estado de la tarjeta y construye el
+     * evento correspondiente con los snapshots previo y nuevo. No persiste nada
+     * ni toca los contadores de la sesión.
      *
-     * @param c entidad de tarjeta
-     * @return DTO de tarjeta
+     * El cálculo se delega en el {@link SrsAlgorithm}, que trabaja con valores
+     * primitivos; la única fecha nueva que se crea es el próximo vencimiento.
+     * Es visible en el paquete para medirlo con JMH ({@code src/jmh}).
+     *
+     * @param algorithm  algoritmo SRS del mazo
+     * @param srs        estado SRS a modificar
+     * @param card       tarjeta repasada
+     * @param session    sesión asociada (puede ser null)
+     * @param result     resultado del intento (0 = fallo, 1 = acierto)
+     * @param elapsedMs  tiempo empleado en milisegundos
+     * @param answeredAt instante de la respuesta
+     * @return evento de repaso sin persistir
      */
-    private CardDto toCardDto(Card c) {
-        return new CardDto(
-                c.getId(),
-                c.getDeck().getId(),
-                c.getFront(),
-                c.getBack(),
-                c.getTags(),
-                c.isLatex(),
-                c.getCreatedAt(),
-                c.getUpdatedAt());
+    static ReviewEvent applyAnswer(SrsAlgorithm algorithm, CardSrsState srs, Card card,
+            @Nullable ReviewSession session, short result, int elapsedMs, OffsetDateTime answeredAt) {
+        // Snapshots previos
+        var prevDue = srs.getDueAt();
+        int prevInt = srs.getIntervalDays();
+        int prevEase = srs.getEaseHundredths();
+
+        algorithm.apply(srs, result);
+
+        var newDue = answeredAt.plusDays(srs.getIntervalDays());
+        srs.setDueAt(newDue);
+        srs.setUpdatedAt(answeredAt);
+
+        var ev = new ReviewEvent();
+        ev.setReview(session);
+        ev.setCard(card);
+        ev.setAnsweredAt(answeredAt);
+        ev.setResult(result);
+        ev.setElapsedMs(Math.max(0, elapsedMs));
+        ev.setPrevDueAt(prevDue);
+        ev.setNewDueAt(newDue);
+        ev.setPrevInterval(prevInt);
+        ev.setNewInterval(srs.getIntervalDays());
+        ev.setPrevEaseHundredths(prevEase);
+        ev.setNewEaseHundredths(srs.getEaseHundredths());
+        return ev;
     }
 
     /**
@@ -399,7 +765,19 @@ public class ReviewService {
      * @return DTO de sesión
      */
     private ReviewSessionDto toDto(ReviewSession s) {
-        return new ReviewSessionDto(
+        return toDto(s, null);
+    }
+
+    /**
+     * Convierte una entidad {@link ReviewSession} a su DTO, usando los
+     * contadores calculados en vivo si se indican.
+     *
+     * @param s    sesión de repaso
+     * @param live contadores derivados de los eventos (puede ser null)
+     * @return DTO de sesión
+     */
+    private ReviewSessionDto toDto(ReviewSession s, @Nullable SessionTally live) {
+        return withTally(new ReviewSessionDto(
                 s.getId(),
                 s.getDeck().getId(),
                 s.getStartedAt(),
@@ -407,7 +785,25 @@ public class ReviewService {
                 s.getTotalCards(),
                 s.getCorrect(),
                 s.getIncorrect(),
-                s.getDurationSec());
+                s.getDurationSec()), live);
+    }
+
+    /**
+     * Sustituye los contadores almacenados de una sesión por los calculados en
+     * vivo, si se indican.
+     *
+     * @param d    sesión con los contadores almacenados
+     * @param live contadores derivados de los eventos (puede ser null)
+     * @return DTO de sesión
+     */
+    private static ReviewSessionDto withTally(ReviewSessionDto d, @Nullable SessionTally live) {
+        if (live == null) {
+            return d;
+        }
+        int total = (int) live.getTotal();
+        int correct = (int) live.getCorrect();
+        return new ReviewSessionDto(d.id(), d.deckId(), d.startedAt(), d.endedAt(), total, correct,
+                total - correct, d.durationSec());
     }
 
     /**
@@ -428,7 +824,7 @@ public class ReviewService {
                 e.getNewDueAt(),
                 e.getPrevInterval(),
                 e.getNewInterval(),
-                e.getPrevEase(),
-                e.getNewEase());
+                EaseFactors.toDecimal(e.getPrevEaseHundredths()),
+                EaseFactors.toDecimal(e.getNewEaseHundredths()));
     }
 }
@@ -0,0 +1,31 @@
+package dev.cristianinbits.flashcards.review.srs;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversión entre el factor de facilidad en centésimas ({@code int}) usado
+ * por los algoritmos y su representación decimal ({@code NUMERIC(4,2)} en base
+ * de datos y {@link BigDecimal} en la API).
+ */
+public final class EaseFactors {
+
+    private EaseFactors() {
+    }
+
+    /**
+     * @param hundredths facilidad en centésimas (puede ser null)
+     * @return facilidad decimal con escala 2, o null
+     */
+    public static BigDecimal toDecimal(Integer hundredths) {
+        return hundredths == null ? null : BigDecimal.valueOf(hundredths, 2);
+    }
+
+    /**
+     * @param decimal facilidad decimal (puede ser null)
+     * @return facilidad en centésimas redondeada {@code HALF_UP}, o null
+     */
+    public static Integer toHundredths(BigDecimal decimal) {
+        return decimal == null ? null : decimal.setScale(2, RoundingMode.HALF_UP).unscaledValue().intValueExact();
+    }
+}
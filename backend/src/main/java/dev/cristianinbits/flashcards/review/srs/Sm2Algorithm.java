@@ -0,0 +1,80 @@
+package dev.cristianinbits.flashcards.review.srs;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Variante simplificada de SM-2 con resultado binario (acierto/fallo).
+ *
+ * - Acierto: incrementa las repeticiones; el intervalo pasa a 1 día en la
+ * primera, 3 días en la segunda y {@code round(intervalo * facilidad)} a
+ * partir de ahí. La facilidad sube 0.05 hasta un máximo de 3.00.
+ * - Fallo: reinicia las repeticiones, el intervalo vuelve a 1 día y la
+ * facilidad baja 0.15 hasta un mínimo de 1.30.
+ *
+ * Toda la aritmética se hace en enteros con la facilidad en centésimas; el
+ * redondeo es {@code HALF_UP}, equivalente al cálculo previo con
+ * {@link java.math.BigDecimal}.
+ */
+@Component
+public class Sm2Algorithm implements SrsAlgorithm {
+
+    /** Nombre del algoritmo en {@code decks.srs_algorithm}. */
+    public static final String NAME = "SM2";
+
+    /** Facilidad inicial (2.50). */
+    public static final int INITIAL_EASE = 250;
+    /** Facilidad mínima (1.30). */
+    public static final int MIN_EASE = 130;
+    /** Facilidad máxima (3.00). */
+    public static final int MAX_EASE = 300;
+    /** Incremento de facilidad en cada acierto (0.05). */
+    public static final int EASE_BONUS = 5;
+    /** Penalización de facilidad en cada fallo (0.15). */
+    public static final int EASE_PENALTY = 15;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int initialEase() {
+        return INITIAL_EASE;
+    }
+
+    @Override
+    public void apply(SrsState state, int result) {
+        int ease = state.getEaseHundredths();
+        if (result == 1) {
+            int reps = state.getRepetitions() + 1;
+            state.setRepetitions(reps);
+            int newInterval;
+            if (reps == 1)
+                newInterval = 1;
+            else if (reps == 2)
+                newInterval = 3;
+            else
+                newInterval = Math.max(1, scaleHalfUp(state.getIntervalDays(), ease));
+            state.setIntervalDays(newInterval);
+            state.setEaseHundredths(Math.min(ease + EASE_BONUS, MAX_EASE));
+            state.setLastResult((short) 1);
+        } else {
+            state.setRepetitions(0);
+            state.setIntervalDays(1);
+            state.setEaseHundredths(Math.max(ease - EASE_PENALTY, MIN_EASE));
+            state.setLastResult((short) 0);
+        }
+    }
+
+    /**
+     * Calcula {@code round(days * ease / 100)} con redondeo {@code HALF_UP}.
+     *
+     * @param days           intervalo actual en días (≥ 0)
+     * @param easeHundredths facilidad en centésimas (> 0)
+     * @return intervalo escalado, saturado a {@link Integer#MAX_VALUE}
+     */
+    static int scaleHalfUp(int days, int easeHundredths) {
+        long scaled = ((long) days * easeHundredths + 50) / 100;
+        return (int) Math.min(scaled, Integer.MAX_VALUE);
+    }
+}
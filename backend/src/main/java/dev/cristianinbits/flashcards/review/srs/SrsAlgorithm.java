@@ -0,0 +1,39 @@
+package dev.cristianinbits.flashcards.review.srs;
+
+/**
+ * Algoritmo de repetición espaciada que decide cómo evoluciona el estado SRS de
+ * una tarjeta tras cada respuesta.
+ *
+ * Las implementaciones deben ser sin estado y seguras entre hilos, y operar
+ * exclusivamente sobre valores primitivos para no generar asignaciones en el
+ * camino de registro de respuestas. Cada mazo indica por nombre qué algoritmo
+ * utiliza; las implementaciones registradas como beans de Spring quedan
+ * disponibles automáticamente a través de {@link SrsAlgorithms}.
+ */
+public interface SrsAlgorithm {
+
+    /**
+     * Nombre con el que se referencia el algoritmo desde los mazos
+     * (columna {@code decks.srs_algorithm}).
+     *
+     * @return nombre único en mayúsculas
+     */
+    String name();
+
+    /**
+     * Factor de facilidad con el que arranca una tarjeta nueva.
+     *
+     * @return factor de facilidad inicial en centésimas
+     */
+    int initialEase();
+
+    /**
+     * Aplica una respuesta sobre el estado SRS, modificándolo en el sitio.
+     * No calcula la fecha de vencimiento: el llamante la deriva a partir de
+     * {@link SrsState#getIntervalDays()}.
+     *
+     * @param state  estado a actualizar
+     * @param result resultado del intento (0 = fallo, 1 = acierto)
+     */
+    void apply(SrsState state, int result);
+}
@@ -0,0 +1,69 @@
+package dev.cristianinbits.flashcards.review.srs;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import dev.cristianinbits.flashcards.deck.domain.Deck;
+
+/**
+ * Registro de los algoritmos SRS disponibles, indexados por nombre.
+ *
+ * Recoge todos los beans {@link SrsAlgorithm} del contexto, por lo que añadir
+ * un algoritmo nuevo solo requiere registrar su implementación; los servicios
+ * resuelven el algoritmo de cada mazo a través de este componente.
+ */
+@Component
+public class SrsAlgorithms {
+
+    /** Algoritmos disponibles por nombre (en mayúsculas). */
+    private final Map<String, SrsAlgorithm> byName;
+
+    /**
+     * @param algorithms implementaciones registradas en el contexto
+     * @throws IllegalStateException si dos algoritmos comparten nombre
+     */
+    public SrsAlgorithms(List<SrsAlgorithm> algorithms) {
+        this.byName = algorithms.stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        a -> a.name().toUpperCase(Locale.ROOT),
+                        Function.identity()));
+    }
+
+    /**
+     * Obtiene un algoritmo por su nombre, sin distinguir mayúsculas.
+     *
+     * @param name nombre del algoritmo
+     * @return algoritmo correspondiente
+     * @throws IllegalArgumentException si no existe ningún algoritmo con ese nombre
+     */
+    public SrsAlgorithm get(String name) {
+        var algorithm = (name == null) ? null : byName.get(name.trim().toUpperCase(Locale.ROOT));
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Algoritmo SRS desconocido: " + name);
+        }
+        return algorithm;
+    }
+
+    /**
+     * Obtiene el algoritmo configurado en un mazo.
+     *
+     * @param deck mazo
+     * @return algoritmo del mazo
+     * @throws IllegalArgumentException si el mazo referencia un algoritmo no
+     *                                  registrado
+     */
+    public SrsAlgorithm forDeck(Deck deck) {
+        return get(deck.getSrsAlgorithm());
+    }
+
+    /** @return nombres de los algoritmos disponibles */
+    public Set<String> names() {
+        return byName.keySet();
+    }
+}
@@ -0,0 +1,37 @@
+package dev.cristianinbits.flashcards.review.srs;
+
+/**
+ * Vista mutable del estado SRS de una tarjeta sobre la que trabajan los
+ * algoritmos de planificación ({@link SrsAlgorithm}).
+ *
+ * Todos los valores son primitivos: el factor de facilidad se expresa en
+ * centésimas ({@code 250} equivale a {@code 2.50}), de modo que el cálculo no
+ * necesita {@link java.math.BigDecimal}. La conversión al tipo decimal de la
+ * base de datos se realiza únicamente en la capa de persistencia.
+ */
+public interface SrsState {
+
+    /** @return intervalo actual en días */
+    int getIntervalDays();
+
+    /** @param intervalDays nuevo intervalo en días */
+    void setIntervalDays(int intervalDays);
+
+    /** @return factor de facilidad en centésimas */
+    int getEaseHundredths();
+
+    /** @param easeHundredths nuevo factor de facilidad en centésimas */
+    void setEaseHundredths(int easeHundredths);
+
+    /** @return número de repeticiones acumuladas */
+    int getRepetitions();
+
+    /** @param repetitions nuevo número de repeticiones */
+    void setRepetitions(int repetitions);
+
+    /** @return último resultado registrado (0 = fallo, 1 = acierto) */
+    short getLastResult();
+
+    /** @param lastResult nuevo último resultado */
+    void setLastResult(short lastResult);
+}
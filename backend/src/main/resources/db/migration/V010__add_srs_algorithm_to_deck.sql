@@ -0,0 +1,4 @@
+-- Algoritmo SRS utilizado por cada mazo (ver SrsAlgorithm / SrsAlgorithms).
+-- Los mazos existentes conservan el comportamiento actual (SM-2).
+ALTER TABLE decks
+    ADD COLUMN srs_algorithm VARCHAR(32) NOT NULL DEFAULT 'SM2';
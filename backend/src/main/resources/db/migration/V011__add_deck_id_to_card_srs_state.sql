@@ -0,0 +1,48 @@
+-- Copia desnormalizada de cards.deck_id en card_srs_state para que la
+-- consulta de tarjetas pendientes de un mazo recorra solo el rango
+-- (deck_id, due_at) de ese mazo, sin JOIN previo con cards ni paso por el
+-- índice global de due_at.
+
+-- 1) Columna + backfill
+ALTER TABLE card_srs_state
+    ADD COLUMN deck_id UUID;
+
+UPDATE card_srs_state s
+SET deck_id = c.deck_id
+FROM cards c
+WHERE c.id = s.card_id;
+
+ALTER TABLE card_srs_state
+    ALTER COLUMN deck_id SET NOT NULL,
+    ADD CONSTRAINT fk_srs_deck FOREIGN KEY (deck_id) REFERENCES decks(id) ON DELETE CASCADE;
+
+-- 2) Índice para "pendientes de un mazo ordenadas por vencimiento"; sustituye
+--    al índice global sobre due_at, que ya no usa ninguna consulta.
+CREATE INDEX idx_srs_deck_due_at ON card_srs_state(deck_id, due_at);
+DROP INDEX IF EXISTS idx_srs_due_at;
+
+-- 3) Sincronización: al crear el estado se toma el mazo de la tarjeta...
+CREATE OR REPLACE FUNCTION srs_set_deck_id() RETURNS trigger AS $$
+BEGIN
+    SELECT c.deck_id INTO NEW.deck_id FROM cards c WHERE c.id = NEW.card_id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_srs_set_deck_id
+    BEFORE INSERT ON card_srs_state
+    FOR EACH ROW EXECUTE FUNCTION srs_set_deck_id();
+
+-- ... y si la tarjeta cambia de mazo, se propaga.
+CREATE OR REPLACE FUNCTION cards_propagate_deck_id() RETURNS trigger AS $$
+BEGIN
+    UPDATE card_srs_state SET deck_id = NEW.deck_id WHERE card_id = NEW.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_cards_propagate_deck_id
+    AFTER UPDATE OF deck_id ON cards
+    FOR EACH ROW
+    WHEN (OLD.deck_id IS DISTINCT FROM NEW.deck_id)
+    EXECUTE FUNCTION cards_propagate_deck_id();
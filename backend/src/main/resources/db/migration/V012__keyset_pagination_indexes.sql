@@ -0,0 +1,9 @@
+-- Índices para paginación por cursor (keyset) sobre (instante, id).
+-- Incluyen el id como desempate, de modo que "siguiente página" es un rango
+-- del índice en cualquier sentido. Sustituyen a los índices (deck_id, instante
+-- DESC), que cubren como prefijo.
+CREATE INDEX idx_cards_deck_created_id ON cards(deck_id, created_at, id);
+DROP INDEX IF EXISTS idx_cards_deck_created_at;
+
+CREATE INDEX idx_reviews_deck_started_id ON reviews(deck_id, started_at, id);
+DROP INDEX IF EXISTS idx_reviews_deck_started;
@@ -0,0 +1,14 @@
+-- Búsqueda de texto completo sobre anverso y reverso de las tarjetas.
+--
+-- 1) Configuración 'simple' (sin stemming, válida para cualquier idioma):
+--    columna generada + índice GIN.
+ALTER TABLE cards
+    ADD COLUMN search_vector tsvector
+        GENERATED ALWAYS AS (to_tsvector('simple', front || ' ' || back)) STORED;
+
+CREATE INDEX idx_cards_search_vector ON cards USING GIN (search_vector);
+
+-- 2) Configuraciones con stemming: índices de expresión. Las consultas deben
+--    usar exactamente la misma expresión (ver CardSearchRepository).
+CREATE INDEX idx_cards_fts_spanish ON cards USING GIN (to_tsvector('spanish', front || ' ' || back));
+CREATE INDEX idx_cards_fts_english ON cards USING GIN (to_tsvector('english', front || ' ' || back));
@@ -0,0 +1,36 @@
+-- Etiquetas normalizadas: una fila por (tarjeta, etiqueta), derivada de la
+-- lista separada por comas de cards.tags. Permite filtrar por etiqueta exacta
+-- con índice y contar tarjetas por etiqueta en un mazo sin recorrer cards.
+
+CREATE TABLE card_tags (
+    card_id UUID NOT NULL REFERENCES cards(id) ON DELETE CASCADE,
+    deck_id UUID NOT NULL,
+    tag     TEXT NOT NULL,
+    PRIMARY KEY (card_id, tag)
+);
+
+CREATE INDEX idx_card_tags_deck_tag ON card_tags(deck_id, tag);
+
+-- Sincronización con cards.tags (y con cards.deck_id si la tarjeta se mueve).
+-- Cada etiqueta se recorta y se pasa a minúsculas; se descartan las vacías.
+CREATE OR REPLACE FUNCTION cards_sync_tags() RETURNS trigger AS $$
+BEGIN
+    DELETE FROM card_tags WHERE card_id = NEW.id;
+    INSERT INTO card_tags (card_id, deck_id, tag)
+    SELECT DISTINCT NEW.id, NEW.deck_id, t.tag
+    FROM (SELECT LOWER(BTRIM(x)) AS tag
+          FROM unnest(string_to_array(NEW.tags, ',')) AS x) t
+    WHERE t.tag <> '';
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_cards_sync_tags
+    AFTER INSERT OR UPDATE OF tags, deck_id ON cards
+    FOR EACH ROW EXECUTE FUNCTION cards_sync_tags();
+
+-- Backfill
+INSERT INTO card_tags (card_id, deck_id, tag)
+SELECT DISTINCT c.id, c.deck_id, LOWER(BTRIM(x))
+FROM cards c, unnest(string_to_array(c.tags, ',')) AS x
+WHERE LOWER(BTRIM(x)) <> '';
@@ -0,0 +1,125 @@
+-- Estadísticas agregadas por mazo, mantenidas de forma incremental.
+--
+-- Las escrituras no actualizan deck_stats directamente: cada sentencia que
+-- cambia card_srs_state o inserta en review_events añade una fila de
+-- incrementos por mazo en deck_stats_delta (solo INSERT, sin bloqueos entre
+-- repasos concurrentes del mismo mazo). Una tarea periódica consolida los
+-- incrementos en deck_stats y las lecturas suman los pendientes.
+--
+-- Fases de una tarjeta según su intervalo: nueva (0 días, nunca repasada),
+-- en aprendizaje (1-20 días) y madura (21 días o más).
+
+CREATE TABLE deck_stats (
+    deck_id          UUID PRIMARY KEY REFERENCES decks(id) ON DELETE CASCADE,
+    card_count       BIGINT NOT NULL DEFAULT 0,
+    new_count        BIGINT NOT NULL DEFAULT 0,
+    learning_count   BIGINT NOT NULL DEFAULT 0,
+    mature_count     BIGINT NOT NULL DEFAULT 0,
+    ease_sum         NUMERIC(16,2) NOT NULL DEFAULT 0,
+    last_reviewed_at TIMESTAMPTZ
+);
+
+-- Sin clave foránea: al borrar un mazo, el borrado en cascada de su estado SRS
+-- genera incrementos de un mazo que ya no existe; la consolidación los descarta.
+CREATE TABLE deck_stats_delta (
+    id               BIGSERIAL PRIMARY KEY,
+    deck_id          UUID NOT NULL,
+    card_count       BIGINT NOT NULL DEFAULT 0,
+    new_count        BIGINT NOT NULL DEFAULT 0,
+    learning_count   BIGINT NOT NULL DEFAULT 0,
+    mature_count     BIGINT NOT NULL DEFAULT 0,
+    ease_sum         NUMERIC(16,2) NOT NULL DEFAULT 0,
+    last_reviewed_at TIMESTAMPTZ
+);
+
+CREATE INDEX idx_deck_stats_delta_deck ON deck_stats_delta(deck_id);
+
+-- 1) Cambios en card_srs_state: triggers por sentencia con tablas de
+--    transición, de modo que una inserción masiva genera una fila por mazo.
+CREATE OR REPLACE FUNCTION deck_stats_track_srs() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO deck_stats_delta (deck_id, card_count, new_count, learning_count, mature_count, ease_sum)
+        SELECT deck_id, COUNT(*),
+               COUNT(*) FILTER (WHERE interval_days = 0),
+               COUNT(*) FILTER (WHERE interval_days BETWEEN 1 AND 20),
+               COUNT(*) FILTER (WHERE interval_days >= 21),
+               SUM(ease_factor)
+        FROM new_rows
+        GROUP BY deck_id;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO deck_stats_delta (deck_id, card_count, new_count, learning_count, mature_count, ease_sum)
+        SELECT deck_id, -COUNT(*),
+               -COUNT(*) FILTER (WHERE interval_days = 0),
+               -COUNT(*) FILTER (WHERE interval_days BETWEEN 1 AND 20),
+               -COUNT(*) FILTER (WHERE interval_days >= 21),
+               -SUM(ease_factor)
+        FROM old_rows
+        GROUP BY deck_id;
+    ELSE
+        INSERT INTO deck_stats_delta (deck_id, card_count, new_count, learning_count, mature_count, ease_sum)
+        SELECT deck_id, SUM(sign),
+               COALESCE(SUM(sign) FILTER (WHERE interval_days = 0), 0),
+               COALESCE(SUM(sign) FILTER (WHERE interval_days BETWEEN 1 AND 20), 0),
+               COALESCE(SUM(sign) FILTER (WHERE interval_days >= 21), 0),
+               SUM(sign * ease_factor)
+        FROM (SELECT deck_id, interval_days, ease_factor, 1 AS sign FROM new_rows
+              UNION ALL
+              SELECT deck_id, interval_days, ease_factor, -1 AS sign FROM old_rows) d
+        GROUP BY deck_id
+        HAVING SUM(sign) <> 0
+            OR COALESCE(SUM(sign) FILTER (WHERE interval_days = 0), 0) <> 0
+            OR COALESCE(SUM(sign) FILTER (WHERE interval_days BETWEEN 1 AND 20), 0) <> 0
+            OR SUM(sign * ease_factor) <> 0;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_srs_stats_insert
+    AFTER INSERT ON card_srs_state
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION deck_stats_track_srs();
+
+CREATE TRIGGER trg_srs_stats_update
+    AFTER UPDATE ON card_srs_state
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION deck_stats_track_srs();
+
+CREATE TRIGGER trg_srs_stats_delete
+    AFTER DELETE ON card_srs_state
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION deck_stats_track_srs();
+
+-- 2) Último repaso del mazo, a partir de las respuestas registradas.
+CREATE OR REPLACE FUNCTION deck_stats_track_reviews() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO deck_stats_delta (deck_id, last_reviewed_at)
+    SELECT c.deck_id, MAX(e.answered_at)
+    FROM new_rows e
+    JOIN cards c ON c.id = e.card_id
+    GROUP BY c.deck_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_review_events_stats
+    AFTER INSERT ON review_events
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION deck_stats_track_reviews();
+
+-- 3) Backfill
+INSERT INTO deck_stats (deck_id, card_count, new_count, learning_count, mature_count, ease_sum, last_reviewed_at)
+SELECT d.id,
+       COUNT(s.card_id),
+       COUNT(s.card_id) FILTER (WHERE s.interval_days = 0),
+       COUNT(s.card_id) FILTER (WHERE s.interval_days BETWEEN 1 AND 20),
+       COUNT(s.card_id) FILTER (WHERE s.interval_days >= 21),
+       COALESCE(SUM(s.ease_factor), 0),
+       (SELECT MAX(e.answered_at)
+        FROM review_events e
+        JOIN cards c ON c.id = e.card_id
+        WHERE c.deck_id = d.id)
+FROM decks d
+LEFT JOIN card_srs_state s ON s.deck_id = d.id
+GROUP BY d.id;
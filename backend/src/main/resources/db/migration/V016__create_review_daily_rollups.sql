@@ -0,0 +1,73 @@
+-- Agregados diarios de review_events por mazo para analítica (mapas de calor,
+-- curvas de retención y distribución de intervalos) sin consultar la tabla de
+-- eventos.
+--
+-- Mismo esquema que deck_stats (V015): un trigger por sentencia añade los
+-- incrementos a review_rollup_delta y una tarea periódica los consolida en
+-- review_daily_rollup. Las lecturas suman ambas tablas.
+
+-- Tramos de intervalo (días). Debe coincidir con IntervalBucket.
+CREATE OR REPLACE FUNCTION review_interval_bucket(days INT) RETURNS SMALLINT AS $$
+    SELECT (CASE
+        WHEN days IS NULL OR days <= 0 THEN 0
+        WHEN days = 1    THEN 1
+        WHEN days <= 3   THEN 2
+        WHEN days <= 7   THEN 3
+        WHEN days <= 14  THEN 4
+        WHEN days <= 30  THEN 5
+        WHEN days <= 90  THEN 6
+        WHEN days <= 180 THEN 7
+        ELSE 8
+    END)::SMALLINT
+$$ LANGUAGE sql IMMUTABLE;
+
+-- day: fecha UTC de answered_at; prev_bucket / new_bucket: tramo del
+-- intervalo anterior y del nuevo intervalo de cada respuesta.
+CREATE TABLE review_daily_rollup (
+    deck_id     UUID NOT NULL REFERENCES decks(id) ON DELETE CASCADE,
+    day         DATE NOT NULL,
+    prev_bucket SMALLINT NOT NULL,
+    new_bucket  SMALLINT NOT NULL,
+    reviews     BIGINT NOT NULL,
+    correct     BIGINT NOT NULL,
+    elapsed_ms  BIGINT NOT NULL,
+    PRIMARY KEY (deck_id, day, prev_bucket, new_bucket)
+);
+
+CREATE TABLE review_rollup_delta (
+    id          BIGSERIAL PRIMARY KEY,
+    deck_id     UUID NOT NULL,
+    day         DATE NOT NULL,
+    prev_bucket SMALLINT NOT NULL,
+    new_bucket  SMALLINT NOT NULL,
+    reviews     BIGINT NOT NULL,
+    correct     BIGINT NOT NULL,
+    elapsed_ms  BIGINT NOT NULL
+);
+
+CREATE INDEX idx_review_rollup_delta_deck_day ON review_rollup_delta(deck_id, day);
+
+CREATE OR REPLACE FUNCTION review_rollup_track() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO review_rollup_delta (deck_id, day, prev_bucket, new_bucket, reviews, correct, elapsed_ms)
+    SELECT c.deck_id,
+           (e.answered_at AT TIME ZONE 'UTC')::date,
+           review_interval_bucket(e.prev_interval),
+           review_interval_bucket(e.new_interval),
+           COUNT(*),
+           COUNT(*) FILTER (WHERE e.result = 1),
+           COALESCE(SUM(e.elapsed_ms), 0)
+    FROM new_rows e
+    JOIN cards c ON c.id = e.card_id
+    GROUP BY 1, 2, 3, 4;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_review_events_rollup
+    AFTER INSERT ON review_events
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION review_rollup_track();
+
+-- El histórico se carga con la reconstrucción por tramos
+-- (POST /api/analytics/rollups/rebuild), no en la migración.
@@ -0,0 +1,123 @@
+-- Particionado mensual de review_events por answered_at.
+--
+-- Las escrituras caen en la partición del mes en curso, los índices de cada
+-- partición se mantienen pequeños y las particiones antiguas se pueden
+-- desenganchar y archivar sin DELETE masivos (ver ReviewEventArchiver).
+--
+-- La clave primaria debe incluir la clave de particionado: pasa a ser
+-- (id, answered_at). Los identificadores siguen siendo UUID generados por la
+-- aplicación. Una partición DEFAULT recoge cualquier fila fuera de las
+-- particiones creadas, de modo que una inserción nunca falla por falta de
+-- partición.
+
+-- 1) Se aparta la tabla actual
+DROP TRIGGER IF EXISTS trg_review_events_stats ON review_events;
+DROP TRIGGER IF EXISTS trg_review_events_rollup ON review_events;
+DROP INDEX IF EXISTS idx_rev_events_card_time;
+DROP INDEX IF EXISTS idx_rev_events_review;
+ALTER TABLE review_events RENAME TO review_events_old;
+ALTER TABLE review_events_old RENAME CONSTRAINT review_events_pkey TO review_events_old_pkey;
+
+-- 2) Tabla particionada
+CREATE TABLE review_events (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    review_id UUID REFERENCES reviews(id) ON DELETE SET NULL,
+    card_id   UUID NOT NULL REFERENCES cards(id) ON DELETE CASCADE,
+    answered_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    result SMALLINT NOT NULL,
+    elapsed_ms INT NOT NULL DEFAULT 0,
+    prev_due_at TIMESTAMPTZ,
+    new_due_at  TIMESTAMPTZ,
+    prev_interval INT,
+    new_interval  INT,
+    prev_ease NUMERIC(4,2),
+    new_ease  NUMERIC(4,2),
+    CONSTRAINT review_events_pkey PRIMARY KEY (id, answered_at),
+    CONSTRAINT chk_rev_events_result CHECK (result IN (0, 1)),
+    CONSTRAINT chk_rev_events_elapsed_nonneg CHECK (elapsed_ms >= 0)
+) PARTITION BY RANGE (answered_at);
+
+CREATE TABLE review_events_default PARTITION OF review_events DEFAULT;
+
+-- 3) Creación de particiones mensuales (review_events_AAAA_MM, límites en UTC).
+--    Si la partición DEFAULT tiene filas de ese mes, se trasladan a la nueva
+--    partición directamente (sin pasar por los triggers de la tabla padre,
+--    que ya las contabilizaron).
+CREATE OR REPLACE FUNCTION review_events_create_partition(month_start DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    first_day DATE := date_trunc('month', month_start)::date;
+    part_name TEXT := 'review_events_' || to_char(first_day, 'YYYY_MM');
+    lower_ts  TIMESTAMPTZ := first_day::timestamp AT TIME ZONE 'UTC';
+    upper_ts  TIMESTAMPTZ := (first_day + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC';
+BEGIN
+    IF to_regclass(part_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    CREATE TEMP TABLE review_events_moving ON COMMIT DROP AS
+        SELECT * FROM review_events_default
+        WHERE answered_at >= lower_ts AND answered_at < upper_ts;
+    DELETE FROM review_events_default
+        WHERE answered_at >= lower_ts AND answered_at < upper_ts;
+
+    EXECUTE format('CREATE TABLE %I PARTITION OF review_events FOR VALUES FROM (%L) TO (%L)',
+                   part_name, lower_ts, upper_ts);
+    EXECUTE format('INSERT INTO %I SELECT * FROM review_events_moving', part_name);
+    DROP TABLE review_events_moving;
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Asegura las particiones del mes en curso y de los months_ahead siguientes.
+-- Serializada con un bloqueo consultivo para que varios nodos puedan llamarla.
+CREATE OR REPLACE FUNCTION review_events_ensure_partitions(months_ahead INT) RETURNS INT AS $$
+DECLARE
+    current_month DATE := date_trunc('month', now() AT TIME ZONE 'UTC')::date;
+    created INT := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('review_events_partitions'));
+    FOR i IN 0..months_ahead LOOP
+        IF review_events_create_partition((current_month + make_interval(months => i))::date) THEN
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 4) Particiones para el histórico existente y los próximos meses
+DO $$
+DECLARE
+    m DATE;
+    last_month DATE := date_trunc('month', now() AT TIME ZONE 'UTC')::date;
+BEGIN
+    SELECT date_trunc('month', MIN(answered_at) AT TIME ZONE 'UTC')::date INTO m FROM review_events_old;
+    WHILE m IS NOT NULL AND m < last_month LOOP
+        PERFORM review_events_create_partition(m);
+        m := (m + INTERVAL '1 month')::date;
+    END LOOP;
+    PERFORM review_events_ensure_partitions(3);
+END$$;
+
+-- 5) Copia de los datos (antes de crear índices y triggers)
+INSERT INTO review_events (id, review_id, card_id, answered_at, result, elapsed_ms,
+                           prev_due_at, new_due_at, prev_interval, new_interval, prev_ease, new_ease)
+SELECT id, review_id, card_id, answered_at, result, elapsed_ms,
+       prev_due_at, new_due_at, prev_interval, new_interval, prev_ease, new_ease
+FROM review_events_old;
+
+DROP TABLE review_events_old;
+
+-- 6) Índices particionados (uno por partición) y triggers de agregados
+CREATE INDEX idx_rev_events_card_time ON review_events(card_id, answered_at DESC);
+CREATE INDEX idx_rev_events_review ON review_events(review_id);
+
+CREATE TRIGGER trg_review_events_stats
+    AFTER INSERT ON review_events
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION deck_stats_track_reviews();
+
+CREATE TRIGGER trg_review_events_rollup
+    AFTER INSERT ON review_events
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION review_rollup_track();
@@ -0,0 +1,35 @@
+-- Sesiones con respuestas nuevas desde la última consolidación de contadores
+-- (contadores diferidos: las respuestas no tocan la fila reviews).
+--
+-- Cada sentencia que inserta en review_events añade una fila por sesión
+-- afectada (solo INSERT, sin bloqueos entre respuestas concurrentes de la
+-- misma sesión). La consolidación periódica recalcula los contadores de esas
+-- sesiones y borra sus marcas, de modo que solo recorre las sesiones con
+-- actividad registrada por el servidor desde la pasada anterior, sea cual sea
+-- el answered_at indicado por el cliente.
+
+-- Sin clave foránea: las marcas de sesiones ya finalizadas o borradas se
+-- descartan al consolidar.
+CREATE TABLE review_counter_pending (
+    id        BIGSERIAL PRIMARY KEY,
+    review_id UUID NOT NULL
+);
+
+CREATE OR REPLACE FUNCTION review_counter_track() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO review_counter_pending (review_id)
+    SELECT DISTINCT review_id
+    FROM new_rows
+    WHERE review_id IS NOT NULL;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_review_events_counters
+    AFTER INSERT ON review_events
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION review_counter_track();
+
+-- Sesiones abiertas existentes: se consolidan en la primera pasada.
+INSERT INTO review_counter_pending (review_id)
+SELECT id FROM reviews WHERE ended_at IS NULL;
@@ -0,0 +1,49 @@
+-- deck_stats_track_srs (V015): en las actualizaciones, el HAVING que descarta
+-- los mazos sin cambios netos no comprobaba mature_count. Se redefine la
+-- función con todas las columnas de incrementos en la condición.
+--
+-- CREATE OR REPLACE conserva la función a la que apuntan los triggers de
+-- V015, así que no hace falta recrearlos. No se recalcula deck_stats: con intervalos no
+-- negativos, un cambio neto de mature_count en un UPDATE implica otro de
+-- new_count o learning_count, y esas filas ya se conservaban.
+
+CREATE OR REPLACE FUNCTION deck_stats_track_srs() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO deck_stats_delta (deck_id, card_count, new_count, learning_count, mature_count, ease_sum)
+        SELECT deck_id, COUNT(*),
+               COUNT(*) FILTER (WHERE interval_days = 0),
+               COUNT(*) FILTER (WHERE interval_days BETWEEN 1 AND 20),
+               COUNT(*) FILTER (WHERE interval_days >= 21),
+               SUM(ease_factor)
+        FROM new_rows
+        GROUP BY deck_id;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO deck_stats_delta (deck_id, card_count, new_count, learning_count, mature_count, ease_sum)
+        SELECT deck_id, -COUNT(*),
+               -COUNT(*) FILTER (WHERE interval_days = 0),
+               -COUNT(*) FILTER (WHERE interval_days BETWEEN 1 AND 20),
+               -COUNT(*) FILTER (WHERE interval_days >= 21),
+               -SUM(ease_factor)
+        FROM old_rows
+        GROUP BY deck_id;
+    ELSE
+        INSERT INTO deck_stats_delta (deck_id, card_count, new_count, learning_count, mature_count, ease_sum)
+        SELECT deck_id, SUM(sign),
+               COALESCE(SUM(sign) FILTER (WHERE interval_days = 0), 0),
+               COALESCE(SUM(sign) FILTER (WHERE interval_days BETWEEN 1 AND 20), 0),
+               COALESCE(SUM(sign) FILTER (WHERE interval_days >= 21), 0),
+               SUM(sign * ease_factor)
+        FROM (SELECT deck_id, interval_days, ease_factor, 1 AS sign FROM new_rows
+              UNION ALL
+              SELECT deck_id, interval_days, ease_factor, -1 AS sign FROM old_rows) d
+        GROUP BY deck_id
+        HAVING SUM(sign) <> 0
+            OR COALESCE(SUM(sign) FILTER (WHERE interval_days = 0), 0) <> 0
+            OR COALESCE(SUM(sign) FILTER (WHERE interval_days BETWEEN 1 AND 20), 0) <> 0
+            OR COALESCE(SUM(sign) FILTER (WHERE interval_days >= 21), 0) <> 0
+            OR SUM(sign * ease_factor) <> 0;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,162 @@
+package dev.cristianinbits.flashcards.card.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+class DelimitedRecordReaderTest {
+
+    private static DelimitedRecordReader csv(String text) throws IOException {
+        return csv(text, 1000);
+    }
+
+    private static DelimitedRecordReader csv(String text, int maxRecordChars) throws IOException {
+        return new DelimitedRecordReader(TextSourceTest.source(text), ',', false, maxRecordChars);
+    }
+
+    private static DelimitedRecordReader anki(String text) throws IOException {
+        return new DelimitedRecordReader(TextSourceTest.source(text), '\t', true, 1000);
+    }
+
+    @Test
+    void readsPositionalColumns() throws IOException {
+        var reader = csv("hola,hello,es,true\nadiós,bye\n");
+        assertThat(reader.next()).isEqualTo(new CardRecord(1, "hola", "hello", "es", true));
+        assertThat(reader.next()).isEqualTo(new CardRecord(2, "adiós", "bye", null, false));
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void readsQuotedFieldsWithSeparatorsAndEscapedQuotes() throws IOException {
+        var reader = csv("\"a, b\",\"say \"\"hi\"\"\",\"\"\n");
+        assertThat(reader.next()).isEqualTo(new CardRecord(1, "a, b", "say \"hi\"", "", false));
+    }
+
+    @Test
+    void keepsQuotesInsideUnquotedFields() throws IOException {
+        var reader = csv("5\" disk,x\"y\n");
+        assertThat(reader.next()).isEqualTo(new CardRecord(1, "5\" disk", "x\"y", null, false));
+    }
+
+    @Test
+    void readsEmbeddedNewlinesAndReportsStartLine() throws IOException {
+        var reader = csv("\"line 1\nline 2\",back\nnext,card\n");
+        assertThat(reader.next()).isEqualTo(new CardRecord(1, "line 1\nline 2", "back", null, false));
+        assertThat(reader.next()).isEqualTo(new CardRecord(3, "next", "card", null, false));
+    }
+
+    @Test
+    void handlesCrlfLineEndings() throws IOException {
+        var reader = csv("a,b\r\n\"multi\r\nline\",c\r\n");
+        assertThat(reader.next()).isEqualTo(new CardRecord(1, "a", "b", null, false));
+        assertThat(reader.next()).isEqualTo(new CardRecord(2, "multi\r\nline", "c", null, false));
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void skipsBlankLines() throws IOException {
+        var reader = csv("\n\na,b\n\n");
+        assertThat(reader.next()).isEqualTo(new CardRecord(3, "a", "b", null, false));
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void readsLastRecordWithoutTerminator() throws IOException {
+        var reader = csv("a,b");
+        assertThat(reader.next()).isEqualTo(new CardRecord(1, "a", "b", null, false));
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void rejectsUnclosedQuoteAtEof() throws IOException {
+        var reader = csv("ok,fine\n\"open,back\nmore\n");
+        assertThat(reader.next()).isEqualTo(new CardRecord(1, "ok", "fine", null, false));
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(CardRecordException.class)
+                .hasMessageContaining("Comillas")
+                .extracting("line")
+                .isEqualTo(2L);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void rejectsOverlongRecordAndContinues() throws IOException {
+        var reader = csv("0123456789,abcdefghij\n\"quoted\nlong text\",x\nok,fine\n", 12);
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(CardRecordException.class)
+                .hasMessageContaining("12")
+                .extracting("line")
+                .isEqualTo(1L);
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(CardRecordException.class)
+                .extracting("line")
+                .isEqualTo(2L);
+        assertThat(reader.next()).isEqualTo(new CardRecord(4, "ok", "fine", null, false));
+    }
+
+    @Test
+    void rejectsRecordWithMissingColumns() throws IOException {
+        var reader = csv("only\na,b\n");
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(CardRecordException.class)
+                .extracting("line")
+                .isEqualTo(1L);
+        assertThat(reader.next()).isEqualTo(new CardRecord(2, "a", "b", null, false));
+    }
+
+    @Test
+    void rejectsInvalidLatexValue() throws IOException {
+        var reader = csv("a,b,,maybe\n");
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(CardRecordException.class)
+                .hasMessageContaining("maybe");
+    }
+
+    @Test
+    void remapsColumnsFromHeaderRow() throws IOException {
+        var reader = csv("\uFEFFFRONT,latex,Tags,extra,Back\nF,1,t1,x,B\n");
+        assertThat(reader.next()).isEqualTo(new CardRecord(2, "F", "B", "t1", true));
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void headerWithoutTagsLeavesThemEmpty() throws IOException {
+        var reader = csv("front,back\nq,a,ignored\n");
+        assertThat(reader.next()).isEqualTo(new CardRecord(2, "q", "a", null, false));
+    }
+
+    @Test
+    void rejectsHeaderWithoutBackColumn() throws IOException {
+        var reader = csv("front,tags\nq,t\n");
+        assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void treatsFrontOnlyAsHeaderInFirstRecord() throws IOException {
+        var reader = csv("a,b\nfront,back\n");
+        assertThat(reader.next()).isEqualTo(new CardRecord(1, "a", "b", null, false));
+        assertThat(reader.next()).isEqualTo(new CardRecord(2, "front", "back", null, false));
+    }
+
+    @Test
+    void skipsAnkiHeaderLinesAndSplitsTagsOnSpaces() throws IOException {
+        var reader = anki("\uFEFF#separator:tab\n#html:false\n#tags column:3\nperro\tdog\tanimal es\ngato\tcat\n");
+        assertThat(reader.next()).isEqualTo(new CardRecord(4, "perro", "dog", "animal,es", false));
+        assertThat(reader.next()).isEqualTo(new CardRecord(5, "gato", "cat", null, false));
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void ankiStyleDoesNotTreatFrontAsHeader() throws IOException {
+        var reader = anki("front\tback\n");
+        assertThat(reader.next()).isEqualTo(new CardRecord(1, "front", "back", null, false));
+    }
+
+    @Test
+    void ankiHeaderOnlyInputHasNoRecords() throws IOException {
+        assertThat(anki("#separator:tab\n#html:true\n").next()).isNull();
+    }
+}
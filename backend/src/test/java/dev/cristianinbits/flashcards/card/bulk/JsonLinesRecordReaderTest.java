@@ -0,0 +1,82 @@
+package dev.cristianinbits.flashcards.card.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class JsonLinesRecordReaderTest {
+
+    private static JsonLinesRecordReader jsonl(String text, int maxRecordChars) throws IOException {
+        return new JsonLinesRecordReader(TextSourceTest.source(text), new ObjectMapper(), maxRecordChars);
+    }
+
+    private static JsonLinesRecordReader jsonl(String text) throws IOException {
+        return jsonl(text, 1000);
+    }
+
+    @Test
+    void readsObjectsWithStringAndArrayTags() throws IOException {
+        var reader = jsonl("""
+                {"front":"hola","back":"hello","tags":"es,en","latex":true}
+                {"front":"a","back":"b","tags":["x","y"]}
+                {"front":"c"}
+                """);
+        assertThat(reader.next()).isEqualTo(new CardRecord(1, "hola", "hello", "es,en", true));
+        assertThat(reader.next()).isEqualTo(new CardRecord(2, "a", "b", "x,y", false));
+        assertThat(reader.next()).isEqualTo(new CardRecord(3, "c", "", null, false));
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void skipsBlankLinesAndHandlesBomAndCrlf() throws IOException {
+        var reader = jsonl("\uFEFF\r\n{\"front\":\"a\",\"back\":\"b\"}\r\n   \r\n{\"front\":\"c\",\"back\":\"d\"}");
+        assertThat(reader.next()).isEqualTo(new CardRecord(2, "a", "b", null, false));
+        assertThat(reader.next()).isEqualTo(new CardRecord(4, "c", "d", null, false));
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void rejectsInvalidJsonAndContinues() throws IOException {
+        var reader = jsonl("{\"front\":\n[1,2]\n{\"front\":\"a\",\"back\":\"b\"}\n");
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(CardRecordException.class)
+                .hasMessageContaining("JSON")
+                .extracting("line")
+                .isEqualTo(1L);
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(CardRecordException.class)
+                .hasMessageContaining("objeto")
+                .extracting("line")
+                .isEqualTo(2L);
+        assertThat(reader.next()).isEqualTo(new CardRecord(3, "a", "b", null, false));
+    }
+
+    @Test
+    void rejectsNonBooleanLatexAndNestedTags() throws IOException {
+        var reader = jsonl("""
+                {"front":"a","back":"b","latex":"yes"}
+                {"front":"a","back":"b","tags":[["x"]]}
+                {"front":"a","back":"b","tags":{"x":1}}
+                """);
+        assertThatThrownBy(reader::next).isInstanceOf(CardRecordException.class).hasMessageContaining("latex");
+        assertThatThrownBy(reader::next).isInstanceOf(CardRecordException.class).hasMessageContaining("etiquetas");
+        assertThatThrownBy(reader::next).isInstanceOf(CardRecordException.class).hasMessageContaining("etiquetas");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void rejectsOverlongLineAndContinues() throws IOException {
+        var reader = jsonl("{\"front\":\"" + "x".repeat(50) + "\",\"back\":\"b\"}\n{\"front\":\"a\",\"back\":\"b\"}\n", 40);
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(CardRecordException.class)
+                .hasMessageContaining("40")
+                .extracting("line")
+                .isEqualTo(1L);
+        assertThat(reader.next()).isEqualTo(new CardRecord(2, "a", "b", null, false));
+    }
+}
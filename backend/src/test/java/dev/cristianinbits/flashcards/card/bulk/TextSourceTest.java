@@ -0,0 +1,78 @@
+package dev.cristianinbits.flashcards.card.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class TextSourceTest {
+
+    static TextSource source(String text) throws IOException {
+        return new TextSource(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void dropsLeadingBom() throws IOException {
+        var src = source("\uFEFFab");
+        assertThat(src.read()).isEqualTo((int) 'a');
+        assertThat(src.read()).isEqualTo((int) 'b');
+        assertThat(src.read()).isEqualTo(-1);
+    }
+
+    @Test
+    void keepsBomOutsideFirstPosition() throws IOException {
+        var src = source("a\uFEFF");
+        assertThat(src.read()).isEqualTo((int) 'a');
+        assertThat(src.read()).isEqualTo((int) '\uFEFF');
+    }
+
+    @Test
+    void emptyInputHasNoLines() throws IOException {
+        assertThat(source("").readLine(10)).isNull();
+        assertThat(source("\uFEFF").readLine(10)).isNull();
+    }
+
+    @Test
+    void countsLinesAndUndoesThemOnUnread() throws IOException {
+        var src = source("a\nb");
+        assertThat(src.line()).isEqualTo(1L);
+        src.read();
+        int nl = src.read();
+        assertThat(src.line()).isEqualTo(2L);
+        src.unread(nl);
+        assertThat(src.line()).isEqualTo(1L);
+        assertThat(src.read()).isEqualTo((int) '\n');
+        assertThat(src.read()).isEqualTo((int) 'b');
+        src.unread(-1);
+        assertThat(src.read()).isEqualTo(-1);
+    }
+
+    @Test
+    void readsLfAndCrlfLines() throws IOException {
+        var src = source("one\r\ntwo\nthree\r\n\nlast");
+        assertThat(src.readLine(100)).isEqualTo("one");
+        assertThat(src.readLine(100)).isEqualTo("two");
+        assertThat(src.readLine(100)).isEqualTo("three");
+        assertThat(src.readLine(100)).isEqualTo("");
+        assertThat(src.readLine(100)).isEqualTo("last");
+        assertThat(src.readLine(100)).isNull();
+        assertThat(src.line()).isEqualTo(5L);
+    }
+
+    @Test
+    void overlongLineFailsAndSkipsToNextLine() throws IOException {
+        var src = source("short\n0123456789abc\nnext\n");
+        assertThat(src.readLine(10)).isEqualTo("short");
+        assertThatThrownBy(() -> src.readLine(10))
+                .isInstanceOf(CardRecordException.class)
+                .hasMessageContaining("10")
+                .extracting("line")
+                .isEqualTo(2L);
+        assertThat(src.readLine(10)).isEqualTo("next");
+        assertThat(src.readLine(10)).isNull();
+    }
+}
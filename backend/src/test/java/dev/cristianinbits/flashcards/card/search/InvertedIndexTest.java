@@ -0,0 +1,137 @@
+package dev.cristianinbits.flashcards.card.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Contrasta {@link InvertedIndex#search} con un recorrido directo de un
+ * {@link HashMap} de tarjetas tras secuencias de operaciones aleatorias.
+ */
+class InvertedIndexTest {
+
+    private static final String[] WORDS = { "alpha", "alpine", "al", "beta", "bet", "gamma", "ga", "delta" };
+
+    /** Tarjeta del modelo; {@code seq} ordena de más antigua a más reciente. */
+    private record Card(long seq, UUID deckId, List<String> terms, List<String> tags) {
+    }
+
+    private final Random random = new Random(7L);
+
+    @Test
+    void tokenizesLowercaseDistinctTerms() {
+        assertThat(InvertedIndex.tokenize("Hola, hola-MUNDO 42")).containsExactly("hola", "mundo", "42");
+        assertThat(InvertedIndex.tokenize("  ")).isEmpty();
+        assertThat(InvertedIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void shortWordsMatchOnlyExactTerms() {
+        var index = new InvertedIndex(3);
+        var deck = UUID.randomUUID();
+        var al = UUID.randomUUID();
+        var alpha = UUID.randomUUID();
+        index.upsert(al, deck, "al", "", null);
+        index.upsert(alpha, deck, "alpha", "", null);
+        assertThat(index.search("al", null, null, 0, 10)).containsExactly(al);
+        assertThat(index.search("alp", null, null, 0, 10)).containsExactly(alpha);
+    }
+
+    @Test
+    void restrictsToDeckAndTagNewestFirst() {
+        var index = new InvertedIndex(3);
+        var deckA = UUID.randomUUID();
+        var deckB = UUID.randomUUID();
+        var a1 = UUID.randomUUID();
+        var b1 = UUID.randomUUID();
+        var a2 = UUID.randomUUID();
+        index.upsert(a1, deckA, "gamma", "", "x");
+        index.upsert(b1, deckB, "gamma", "", "x");
+        index.upsert(a2, deckA, "gamma ray", "", null);
+        assertThat(index.search("gam", deckA, null, 0, 10)).containsExactly(a2, a1);
+        assertThat(index.search(null, deckA, "x", 0, 10)).containsExactly(a1);
+        assertThat(index.search("gamma", null, null, 1, 1)).containsExactly(b1);
+        assertThat(index.search("gamma", UUID.randomUUID(), null, 0, 10)).isEmpty();
+
+        index.removeDeck(deckA);
+        assertThat(index.search("gamma", null, null, 0, 10)).containsExactly(b1);
+        assertThat(index.liveCount()).isEqualTo(1);
+    }
+
+    @Test
+    void matchesModelUnderRandomOperations() {
+        var index = new InvertedIndex(3);
+        var decks = new UUID[] { UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID() };
+        var cards = new UUID[300];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = UUID.randomUUID();
+        }
+        var model = new HashMap<UUID, Card>();
+        long seq = 0;
+        for (int step = 0; step < 30_000; step++) {
+            int op = random.nextInt(20);
+            if (op < 11) {
+                var id = cards[random.nextInt(cards.length)];
+                var deck = decks[random.nextInt(decks.length)];
+                var front = word() + " " + word();
+                var back = word();
+                var tagCsv = random.nextBoolean() ? "x, Y" : "y";
+                index.upsert(id, deck, front, back, tagCsv);
+                var terms = new ArrayList<>(InvertedIndex.tokenize(front + " " + back + " " + tagCsv));
+                var tags = Arrays.stream(tagCsv.split(",")).map(t -> t.trim().toLowerCase()).toList();
+                model.put(id, new Card(seq++, deck, terms, tags));
+            } else if (op < 15) {
+                var id = cards[random.nextInt(cards.length)];
+                index.remove(id);
+                model.remove(id);
+            } else if (op == 15 && random.nextInt(30) == 0) {
+                var deck = decks[random.nextInt(decks.length)];
+                index.removeDeck(deck);
+                model.values().removeIf(c -> c.deckId().equals(deck));
+            } else {
+                var text = random.nextInt(4) == 0 ? null
+                        : word() + (random.nextBoolean() ? "" : " " + prefix(word()));
+                var deck = random.nextBoolean() ? null : decks[random.nextInt(decks.length)];
+                var tag = random.nextInt(3) == 0 ? "x" : null;
+                int offset = random.nextInt(5);
+                int limit = 1 + random.nextInt(20);
+                assertThat(index.search(text, deck, tag, offset, limit))
+                        .as("step %d text=%s", step, text)
+                        .isEqualTo(expected(model, text, deck, tag, offset, limit));
+            }
+            assertThat(index.liveCount()).isEqualTo(model.size());
+        }
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private String prefix(String word) {
+        return word.substring(0, Math.min(word.length(), 2 + random.nextInt(2)));
+    }
+
+    private static List<UUID> expected(Map<UUID, Card> model, String text, UUID deckId, String tag, int offset,
+            int limit) {
+        var words = InvertedIndex.tokenize(text);
+        return model.entrySet().stream()
+                .filter(e -> deckId == null || e.getValue().deckId().equals(deckId))
+                .filter(e -> tag == null || e.getValue().tags().contains(tag))
+                .filter(e -> words.stream().allMatch(w -> e.getValue().terms().stream()
+                        .anyMatch(t -> w.length() < 3 ? t.equals(w) : t.startsWith(w))))
+                .sorted(Comparator.comparingLong((Map.Entry<UUID, Card> e) -> e.getValue().seq()).reversed())
+                .map(Map.Entry::getKey)
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+}
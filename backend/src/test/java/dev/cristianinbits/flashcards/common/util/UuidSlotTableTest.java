@@ -0,0 +1,120 @@
+package dev.cristianinbits.flashcards.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Contrasta {@link UuidSlotTable} con un {@link HashMap} tras secuencias de
+ * operaciones aleatorias, y comprueba que {@link UuidSlotTable.Keys#moved}
+ * mantiene al día la celda de cada valor.
+ */
+class UuidSlotTableTest {
+
+    private final Random random = new Random(42L);
+
+    /** Claves de prueba: el valor {@code i} tiene la clave {@code (msb[i], lsb[i])}. */
+    private static final class Owner implements UuidSlotTable.Keys {
+
+        final long[] msb;
+        final long[] lsb;
+        final int[] slotOf;
+
+        Owner(int n) {
+            msb = new long[n];
+            lsb = new long[n];
+            slotOf = new int[n];
+            Arrays.fill(slotOf, -1);
+        }
+
+        @Override
+        public long msb(int value) {
+            return msb[value];
+        }
+
+        @Override
+        public long lsb(int value) {
+            return lsb[value];
+        }
+
+        @Override
+        public void moved(int value, int slot) {
+            slotOf[value] = slot;
+        }
+    }
+
+    @Test
+    void putGetRemove() {
+        var owner = new Owner(2);
+        owner.msb[0] = 1;
+        owner.lsb[0] = 2;
+        owner.msb[1] = 3;
+        owner.lsb[1] = 4;
+        var table = new UuidSlotTable(owner);
+        assertThat(table.get(1, 2)).isEqualTo(-1);
+        table.put(1, 2, 0);
+        table.put(3, 4, 1);
+        assertThat(table.size()).isEqualTo(2);
+        assertThat(table.get(1, 2)).isEqualTo(0);
+        assertThat(table.get(3, 4)).isEqualTo(1);
+        assertThat(table.remove(1, 2)).isEqualTo(0);
+        assertThat(table.remove(1, 2)).isEqualTo(-1);
+        assertThat(table.get(3, 4)).isEqualTo(1);
+        assertThat(table.size()).isEqualTo(1);
+    }
+
+    @Test
+    void matchesModelWithRandomKeys() {
+        var owner = new Owner(5_000);
+        for (int i = 0; i < owner.msb.length; i++) {
+            owner.msb[i] = random.nextLong();
+            owner.lsb[i] = random.nextLong();
+        }
+        runAgainstModel(owner, new UuidSlotTable(owner), 200_000);
+    }
+
+    @Test
+    void matchesModelWithCollidingKeys() {
+        // Mismo msb ^ rotl(lsb, 32): todas las claves comparten celda inicial.
+        var owner = new Owner(300);
+        for (int i = 0; i < owner.msb.length; i++) {
+            owner.lsb[i] = i + 1;
+            owner.msb[i] = 0x9E3779B9L ^ Long.rotateLeft(owner.lsb[i], 32);
+        }
+        runAgainstModel(owner, new UuidSlotTable(owner, 4), 50_000);
+    }
+
+    private void runAgainstModel(Owner owner, UuidSlotTable table, int steps) {
+        var model = new HashMap<Integer, Integer>();
+        for (int step = 0; step < steps; step++) {
+            int v = random.nextInt(owner.msb.length);
+            long hi = owner.msb[v];
+            long lo = owner.lsb[v];
+            int op = random.nextInt(10);
+            if (op < 5) {
+                owner.slotOf[v] = table.put(hi, lo, v);
+                model.put(v, v);
+            } else if (op < 8) {
+                assertThat(table.remove(hi, lo)).isEqualTo(model.containsKey(v) ? v : -1);
+                model.remove(v);
+                owner.slotOf[v] = -1;
+            } else {
+                assertThat(table.get(hi, lo)).as("step %d", step).isEqualTo(model.getOrDefault(v, -1));
+            }
+            assertThat(table.size()).isEqualTo(model.size());
+        }
+        for (int v = 0; v < owner.msb.length; v++) {
+            assertThat(table.get(owner.msb[v], owner.lsb[v])).isEqualTo(model.getOrDefault(v, -1));
+        }
+        for (Map.Entry<Integer, Integer> e : model.entrySet()) {
+            int slot = owner.slotOf[e.getKey()];
+            assertThat(table.find(owner.msb[e.getKey()], owner.lsb[e.getKey()])).isEqualTo(slot);
+            assertThat(table.valueAt(slot)).isEqualTo(e.getValue());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package dev.cristianinbits.flashcards.common.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import dev.cristianinbits.flashcards.common.error.ApiExceptionHandler;
+
+class CursorTest {
+
+    private static final UUID ID = UUID.fromString("0b6f3c1e-9a4d-4f7e-8c2b-5d1a7e9f0c3d");
+
+    @Test
+    void roundTripsThroughToken() {
+        var cursor = new Cursor(OffsetDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_932, ZoneOffset.UTC), ID);
+        var token = cursor.encode();
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(Cursor.decodeOrNull(token)).isEqualTo(cursor);
+        assertThat(Cursor.decodeOrNull("  " + token + "\n")).isEqualTo(cursor);
+    }
+
+    @Test
+    void normalizesOffsetToUtcKeepingInstant() {
+        var at = OffsetDateTime.of(2025, 1, 1, 2, 0, 0, 0, ZoneOffset.ofHours(2));
+        var decoded = Cursor.decodeOrNull(new Cursor(at, ID).encode());
+        assertThat(decoded.at().toInstant()).isEqualTo(at.toInstant());
+        assertThat(decoded.at().getOffset()).isEqualTo(ZoneOffset.UTC);
+        assertThat(decoded.id()).isEqualTo(ID);
+    }
+
+    @Test
+    void sentinelCursorsRoundTrip() {
+        assertThat(Cursor.first(true)).isSameAs(Cursor.FIRST_ASC);
+        assertThat(Cursor.first(false)).isSameAs(Cursor.FIRST_DESC);
+        assertThat(Cursor.decodeOrNull(Cursor.FIRST_ASC.encode())).isEqualTo(Cursor.FIRST_ASC);
+        assertThat(Cursor.decodeOrNull(Cursor.FIRST_DESC.encode())).isEqualTo(Cursor.FIRST_DESC);
+    }
+
+    @Test
+    void missingTokenMeansNoCursor() {
+        assertThat(Cursor.decodeOrNull(null)).isNull();
+        assertThat(Cursor.decodeOrNull("")).isNull();
+        assertThat(Cursor.decodeOrNull("   ")).isNull();
+    }
+
+    @Test
+    void pageQueryFallsBackToSentinel() {
+        assertThat(new PageQuery(null, null, null, null, null).cursorOrFirst(true)).isSameAs(Cursor.FIRST_ASC);
+        assertThat(new PageQuery(null, null, null, null, " ").cursorOrFirst(false)).isSameAs(Cursor.FIRST_DESC);
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        var valid = new Cursor(OffsetDateTime.of(2025, 3, 14, 0, 0, 0, 0, ZoneOffset.UTC), ID).encode();
+        for (var token : new String[] {
+                "not base64!",
+                "%%%%",
+                valid.substring(0, valid.length() - 6),
+                valid.substring(0, 10),
+                base64("2025-03-14T00:00:00Z"),
+                base64("2025-03-14T00:00:00Z|"),
+                base64("|" + ID),
+                base64("yesterday|" + ID),
+                base64("2025-03-14T00:00:00Z|not-a-uuid"),
+                base64(ID + "|2025-03-14T00:00:00Z") }) {
+            assertThatThrownBy(() -> Cursor.decodeOrNull(token))
+                    .as(token)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Cursor inválido");
+        }
+    }
+
+    @Test
+    void malformedCursorMapsToBadRequest() throws Exception {
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new CursorController())
+                .setControllerAdvice(new ApiExceptionHandler())
+                .build();
+
+        mvc.perform(get("/items").param("cursor", "not base64!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("bad_request"))
+                .andExpect(jsonPath("$.message").value("Cursor inválido"));
+
+        var cursor = new Cursor(OffsetDateTime.of(2025, 3, 14, 0, 0, 0, 0, ZoneOffset.UTC), ID);
+        mvc.perform(get("/items").param("cursor", cursor.encode()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(ID.toString()));
+    }
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @RestController
+    static class CursorController {
+
+        @GetMapping("/items")
+        String items(PageQuery query) {
+            return query.cursorOrFirst(false).id().toString();
+        }
+    }
+}
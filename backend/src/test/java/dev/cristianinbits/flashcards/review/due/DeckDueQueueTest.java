@@ -0,0 +1,170 @@
+package dev.cristianinbits.flashcards.review.due;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Contrasta {@link DeckDueQueue} con un modelo ({@link HashMap} de
+ * vencimientos ordenado con una {@link PriorityQueue}) tras secuencias de
+ * operaciones aleatorias. Los vencimientos no se repiten para que el orden
+ * esperado sea único.
+ */
+class DeckDueQueueTest {
+
+    private final Random random = new Random(20251018L);
+    private final Set<Long> usedDues = new HashSet<>();
+
+    @Test
+    void returnsDueCardsInOrder() {
+        var queue = new DeckDueQueue(4);
+        var a = UUID.randomUUID();
+        var b = UUID.randomUUID();
+        var c = UUID.randomUUID();
+        queue.upsert(a, 30);
+        queue.upsert(b, 10);
+        queue.upsert(c, 20);
+        assertThat(queue.due(25, 10)).containsExactly(b, c);
+        assertThat(queue.due(30, 2)).containsExactly(b, c);
+        assertThat(queue.due(5, 10)).isEmpty();
+        assertThat(queue.due(100, 0)).isEmpty();
+    }
+
+    @Test
+    void updatesKeyInBothDirections() {
+        var queue = new DeckDueQueue(16);
+        var ids = new ArrayList<UUID>();
+        for (int i = 0; i < 15; i++) {
+            var id = UUID.randomUUID();
+            ids.add(id);
+            queue.upsert(id, 100 + i * 10L);
+        }
+        // La última hoja pasa a la raíz (subida) y la raíz baja al final (bajada).
+        queue.upsert(ids.get(14), 1);
+        queue.upsert(ids.get(0), 10_000);
+        var expected = new ArrayList<UUID>();
+        expected.add(ids.get(14));
+        expected.addAll(ids.subList(1, 14));
+        expected.add(ids.get(0));
+        assertThat(queue.due(Long.MAX_VALUE, 100)).isEqualTo(expected);
+        assertThat(queue.size()).isEqualTo(15);
+    }
+
+    @Test
+    void removesFromTheMiddle() {
+        var queue = new DeckDueQueue(16);
+        var ids = new ArrayList<UUID>();
+        for (int i = 0; i < 31; i++) {
+            var id = UUID.randomUUID();
+            ids.add(id);
+            queue.upsert(id, i);
+        }
+        var expected = new ArrayList<>(ids);
+        for (int i : new int[] { 5, 12, 1, 29, 0, 17 }) {
+            queue.remove(ids.get(i));
+            expected.remove(ids.get(i));
+        }
+        queue.remove(UUID.randomUUID());
+        assertThat(queue.size()).isEqualTo(25);
+        assertThat(queue.due(Long.MAX_VALUE, 100)).isEqualTo(expected);
+    }
+
+    @Test
+    void growsBeyondExpectedSize() {
+        var queue = new DeckDueQueue(1);
+        var model = new HashMap<UUID, Long>();
+        for (int i = 0; i < 5_000; i++) {
+            var id = UUID.randomUUID();
+            long due = freshDue();
+            queue.upsert(id, due);
+            model.put(id, due);
+        }
+        assertMatches(queue, model);
+    }
+
+    @Test
+    void survivesDeletionsInCollidingClusters() {
+        // Claves con el mismo hash forman un único grupo en la tabla; borrar
+        // dentro del grupo obliga a desplazar las entradas siguientes.
+        var queue = new DeckDueQueue(16);
+        var model = new HashMap<UUID, Long>();
+        var keys = new ArrayList<UUID>();
+        for (long lo = 1; lo <= 64; lo++) {
+            keys.add(new UUID(0x5DEECE66DL ^ Long.rotateLeft(lo, 32), lo));
+        }
+        for (int step = 0; step < 20_000; step++) {
+            var id = keys.get(random.nextInt(keys.size()));
+            if (random.nextInt(3) == 0) {
+                queue.remove(id);
+                model.remove(id);
+            } else {
+                long due = freshDue();
+                queue.upsert(id, due);
+                model.put(id, due);
+            }
+        }
+        assertMatches(queue, model);
+    }
+
+    @Test
+    void matchesModelUnderRandomOperations() {
+        var queue = new DeckDueQueue(8);
+        var model = new HashMap<UUID, Long>();
+        var pool = new ArrayList<UUID>();
+        for (int i = 0; i < 2_000; i++) {
+            pool.add(UUID.randomUUID());
+        }
+        for (int step = 0; step < 100_000; step++) {
+            var id = pool.get(random.nextInt(pool.size()));
+            int op = random.nextInt(10);
+            if (op < 6) {
+                long due = freshDue();
+                queue.upsert(id, due);
+                model.put(id, due);
+            } else if (op < 9) {
+                queue.remove(id);
+                model.remove(id);
+            } else {
+                long now = random.nextLong(1_000_000_000L);
+                int limit = random.nextInt(50);
+                assertThat(queue.due(now, limit)).as("step %d", step).isEqualTo(expectedDue(model, now, limit));
+            }
+            assertThat(queue.size()).isEqualTo(model.size());
+        }
+        assertMatches(queue, model);
+    }
+
+    private long freshDue() {
+        long due;
+        do {
+            due = random.nextLong(1_000_000_000L);
+        } while (!usedDues.add(due));
+        return due;
+    }
+
+    private static void assertMatches(DeckDueQueue queue, Map<UUID, Long> model) {
+        assertThat(queue.size()).isEqualTo(model.size());
+        assertThat(queue.due(Long.MAX_VALUE, model.size() + 1))
+                .isEqualTo(expectedDue(model, Long.MAX_VALUE, model.size() + 1));
+    }
+
+    private static List<UUID> expectedDue(Map<UUID, Long> model, long now, int limit) {
+        var heap = new PriorityQueue<Map.Entry<UUID, Long>>(Map.Entry.comparingByValue());
+        heap.addAll(model.entrySet());
+        var out = new ArrayList<UUID>();
+        while (!heap.isEmpty() && out.size() < limit && heap.peek().getValue() <= now) {
+            out.add(heap.poll().getKey());
+        }
+        return out;
+    }
+}
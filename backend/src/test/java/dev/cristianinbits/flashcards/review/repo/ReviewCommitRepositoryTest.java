@@ -0,0 +1,146 @@
+package dev.cristianinbits.flashcards.review.repo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import dev.cristianinbits.flashcards.review.srs.EaseFactors;
+import dev.cristianinbits.flashcards.review.srs.Sm2Algorithm;
+import dev.cristianinbits.flashcards.review.srs.SrsState;
+
+/**
+ * Comprueba que la regla SM-2 escrita en SQL en {@link ReviewCommitRepository}
+ * produce el mismo estado que {@link Sm2Algorithm} sobre la rejilla de
+ * {@code Sm2AlgorithmTest}. Necesita Docker; sin él, se omite.
+ */
+@SpringBootTest(properties = "flashcards.search.index.enabled=false")
+@Testcontainers(disabledWithoutDocker = true)
+class ReviewCommitRepositoryTest {
+
+    /** Misma rejilla que {@code Sm2AlgorithmTest}. */
+    private static final int[] INTERVALS = { 0, 1, 2, 3, 4, 5, 7, 9, 10, 11, 13, 17, 25, 30, 99, 101, 365, 1000,
+            3650, 36_500, 1_000_000 };
+    private static final int[] REPETITIONS = { 0, 1, 2, 3, 10 };
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> DB = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private ReviewCommitRepository commits;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final Sm2Algorithm sm2 = new Sm2Algorithm();
+    private UUID cardId;
+
+    @BeforeEach
+    void createCard() {
+        var deckId = UUID.randomUUID();
+        cardId = UUID.randomUUID();
+        jdbc.update("INSERT INTO decks (id, name, srs_algorithm) VALUES (?, 'sm2-parity', ?)", deckId,
+                Sm2Algorithm.NAME);
+        jdbc.update("INSERT INTO cards (id, deck_id, front, back) VALUES (?, ?, 'f', 'b')", cardId, deckId);
+        jdbc.update("INSERT INTO card_srs_state (card_id, due_at) VALUES (?, now())", cardId);
+    }
+
+    @Test
+    void sqlRuleMatchesSm2AlgorithmOverGrid() {
+        var now = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+        for (int interval : INTERVALS) {
+            for (int ease = Sm2Algorithm.MIN_EASE; ease <= Sm2Algorithm.MAX_EASE; ease++) {
+                for (int reps : REPETITIONS) {
+                    for (short result = 0; result <= 1; result++) {
+                        jdbc.update("UPDATE card_srs_state SET interval_days = ?, ease_factor = ?, repetitions = ?"
+                                + " WHERE card_id = ?", interval, EaseFactors.toDecimal(ease), reps, cardId);
+                        var expected = new State(interval, ease, reps);
+                        sm2.apply(expected, result);
+
+                        var event = commits.commitSm2(UUID.randomUUID(), cardId, null, result, 0, now, true)
+                                .orElseThrow().event();
+                        var stored = jdbc.queryForMap("SELECT repetitions, interval_days, ease_factor"
+                                + " FROM card_srs_state WHERE card_id = ?", cardId);
+
+                        var at = "interval=%d ease=%d reps=%d result=%d";
+                        assertThat(event.newInterval()).as(at, interval, ease, reps, result)
+                                .isEqualTo(expected.intervalDays);
+                        assertThat(EaseFactors.toHundredths(event.newEase())).as(at, interval, ease, reps, result)
+                                .isEqualTo(expected.easeHundredths);
+                        assertThat(stored.get("repetitions")).as(at, interval, ease, reps, result)
+                                .isEqualTo(expected.repetitions);
+                        assertThat(event.newDueAt().toInstant()).as(at, interval, ease, reps, result)
+                                .isEqualTo(now.plusDays(expected.intervalDays).toInstant());
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class State implements SrsState {
+
+        int intervalDays;
+        int easeHundredths;
+        int repetitions;
+        short lastResult;
+
+        State(int intervalDays, int easeHundredths, int repetitions) {
+            this.intervalDays = intervalDays;
+            this.easeHundredths = easeHundredths;
+            this.repetitions = repetitions;
+        }
+
+        @Override
+        public int getIntervalDays() {
+            return intervalDays;
+        }
+
+        @Override
+        public void setIntervalDays(int intervalDays) {
+            this.intervalDays = intervalDays;
+        }
+
+        @Override
+        public int getEaseHundredths() {
+            return easeHundredths;
+        }
+
+        @Override
+        public void setEaseHundredths(int easeHundredths) {
+            this.easeHundredths = easeHundredths;
+        }
+
+        @Override
+        public int getRepetitions() {
+            return repetitions;
+        }
+
+        @Override
+        public void setRepetitions(int repetitions) {
+            this.repetitions = repetitions;
+        }
+
+        @Override
+        public short getLastResult() {
+            return lastResult;
+        }
+
+        @Override
+        public void setLastResult(short lastResult) {
+            this.lastResult = lastResult;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package dev.cristianinbits.flashcards.review.srs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Comprueba que {@link Sm2Algorithm} en aritmética entera reproduce el cálculo
+ * anterior con {@link BigDecimal} y redondeo {@code HALF_UP}.
+ */
+class Sm2AlgorithmTest {
+
+    private static final int[] INTERVALS = { 0, 1, 2, 3, 4, 5, 7, 9, 10, 11, 13, 17, 25, 30, 99, 101, 365, 1000,
+            3650, 36_500, 1_000_000 };
+    private static final int[] REPETITIONS = { 0, 1, 2, 3, 10 };
+
+    private final Sm2Algorithm sm2 = new Sm2Algorithm();
+
+    @Test
+    void matchesBigDecimalFormulaOverGrid() {
+        for (int interval : INTERVALS) {
+            for (int ease = Sm2Algorithm.MIN_EASE; ease <= Sm2Algorithm.MAX_EASE; ease++) {
+                for (int reps : REPETITIONS) {
+                    for (short result = 0; result <= 1; result++) {
+                        var actual = new State(interval, ease, reps);
+                        sm2.apply(actual, result);
+                        var expected = baseline(new State(interval, ease, reps), result);
+                        assertThat(actual)
+                                .as("interval=%d ease=%d reps=%d result=%d", interval, ease, reps, result)
+                                .usingRecursiveComparison()
+                                .isEqualTo(expected);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void clampsEaseAtMaximumOnSuccess() {
+        var state = new State(10, 298, 5);
+        sm2.apply(state, 1);
+        assertThat(state.easeHundredths).isEqualTo(300);
+        sm2.apply(state, 1);
+        assertThat(state.easeHundredths).isEqualTo(300);
+        assertThat(state.intervalDays).isEqualTo(90);
+    }
+
+    @Test
+    void clampsEaseAtMinimumOnFailure() {
+        var state = new State(10, 140, 5);
+        sm2.apply(state, 0);
+        assertThat(state.easeHundredths).isEqualTo(130);
+        sm2.apply(state, 0);
+        assertThat(state.easeHundredths).isEqualTo(130);
+        assertThat(state.intervalDays).isEqualTo(1);
+        assertThat(state.repetitions).isZero();
+    }
+
+    @Test
+    void roundsHalfUp() {
+        // 5 * 1.30 = 6.5 → 7; 3 * 2.50 = 7.5 → 8; 7 * 1.35 = 9.45 → 9
+        assertThat(Sm2Algorithm.scaleHalfUp(5, 130)).isEqualTo(7);
+        assertThat(Sm2Algorithm.scaleHalfUp(3, 250)).isEqualTo(8);
+        assertThat(Sm2Algorithm.scaleHalfUp(7, 135)).isEqualTo(9);
+        assertThat(Sm2Algorithm.scaleHalfUp(0, 250)).isZero();
+    }
+
+    /** Regla SM-2 tal como se calculaba antes, con {@link BigDecimal}. */
+    private static State baseline(State s, short result) {
+        var ease = BigDecimal.valueOf(s.easeHundredths, 2);
+        if (result == 1) {
+            s.repetitions++;
+            if (s.repetitions == 1)
+                s.intervalDays = 1;
+            else if (s.repetitions == 2)
+                s.intervalDays = 3;
+            else
+                s.intervalDays = Math.max(1, BigDecimal.valueOf(s.intervalDays)
+                        .multiply(ease)
+                        .setScale(0, RoundingMode.HALF_UP)
+                        .intValue());
+            ease = ease.add(new BigDecimal("0.05")).min(new BigDecimal("3.00"));
+        } else {
+            s.repetitions = 0;
+            s.intervalDays = 1;
+            ease = ease.subtract(new BigDecimal("0.15")).max(new BigDecimal("1.30"));
+        }
+        s.easeHundredths = ease.movePointRight(2).intValueExact();
+        s.lastResult = result;
+        return s;
+    }
+
+    private static final class State implements SrsState {
+
+        int intervalDays;
+        int easeHundredths;
+        int repetitions;
+        short lastResult = -1;
+
+        State(int intervalDays, int easeHundredths, int repetitions) {
+            this.intervalDays = intervalDays;
+            this.easeHundredths = easeHundredths;
+            this.repetitions = repetitions;
+        }
+
+        @Override
+        public int getIntervalDays() {
+            return intervalDays;
+        }
+
+        @Override
+        public void setIntervalDays(int intervalDays) {
+            this.intervalDays = intervalDays;
+        }
+
+        @Override
+        public int getEaseHundredths() {
+            return easeHundredths;
+        }
+
+        @Override
+        public void setEaseHundredths(int easeHundredths) {
+            this.easeHundredths = easeHundredths;
+        }
+
+        @Override
+        public int getRepetitions() {
+            return repetitions;
+        }
+
+        @Override
+        public void setRepetitions(int repetitions) {
+            this.repetitions = repetitions;
+        }
+
+        @Override
+        public short getLastResult() {
+            return lastResult;
+        }
+
+        @Override
+        public void setLastResult(short lastResult) {
+            this.lastResult = lastResult;
+        }
+    }
+}